@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.triemap;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of {@link MutableTrieMap#size()} with and without a size counter, with varying number of entries.
+ * The *Snapshot benchmarks use a map created via {@link TrieMap#create()}, which walks a snapshot to compute its size,
+ * the *Counter benchmarks use a map created via {@link TrieMap#createWithSizeCounter()}. The putRemove* benchmarks
+ * measure the cost of maintaining the counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class TrieMapSizeBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    @Param({ "100", "10000", "1000000" })
+    public int size;
+
+    private MutableTrieMap<Integer, Integer> snapshotMap;
+    private MutableTrieMap<Integer, Integer> counterMap;
+    private Integer extraKey;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + TrieMapSizeBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        snapshotMap = TrieMap.create();
+        counterMap = TrieMap.createWithSizeCounter();
+        for (int i = 0; i < size; ++i) {
+            snapshotMap.put(i, i);
+            counterMap.put(i, i);
+        }
+        extraKey = size;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public int sizeSnapshot() {
+        return snapshotMap.size();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public int sizeCounter() {
+        return counterMap.size();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public Integer putRemoveSnapshot() {
+        snapshotMap.put(extraKey, extraKey);
+        return snapshotMap.remove(extraKey);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public Integer putRemoveCounter() {
+        counterMap.put(extraKey, extraKey);
+        return counterMap.remove(extraKey);
+    }
+}
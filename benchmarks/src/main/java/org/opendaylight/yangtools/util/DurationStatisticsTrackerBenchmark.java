@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of {@link DurationStatisticsTracker#addDuration(long)} across the tracker implementations, with
+ * a single thread and with multiple threads sharing the tracker. The report* benchmarks measure the cost of reading
+ * statistics, including a percentile from the histogram-based tracker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class DurationStatisticsTrackerBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final long MAX_DURATION = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Param({ "concurrent", "synchronized", "histogram" })
+    public String implementation;
+
+    private DurationStatisticsTracker tracker;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + DurationStatisticsTrackerBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (implementation) {
+            case "concurrent":
+                tracker = DurationStatisticsTracker.createConcurrent();
+                break;
+            case "synchronized":
+                tracker = DurationStatisticsTracker.createSynchronized();
+                break;
+            case "histogram":
+                tracker = DurationStatisticsTracker.createHistogram();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+
+        for (int i = 0; i < 100000; ++i) {
+            tracker.addDuration(ThreadLocalRandom.current().nextLong(MAX_DURATION));
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    @Threads(1)
+    public void addDurationSingleThread() {
+        tracker.addDuration(ThreadLocalRandom.current().nextLong(MAX_DURATION));
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    @Threads(8)
+    public void addDurationContended() {
+        tracker.addDuration(ThreadLocalRandom.current().nextLong(MAX_DURATION));
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public double reportAverage() {
+        return tracker.getAverageDuration();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public long reportPercentile() {
+        return tracker instanceof HistogramDurationStatisticsTracker
+                ? ((HistogramDurationStatisticsTracker) tracker).getDurationAtPercentile(99) : 0;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager.BackpressurePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of notification delivery through a {@link QueuedNotificationManager}. Each invocation has a number of
+ * producer threads submit notifications to a set of listeners and completes once all of them have been delivered.
+ * Average time of an invocation is inversely proportional to notification throughput, while sample time shows
+ * the distribution of delivery latency of a burst of notifications.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class QueuedNotificationManagerBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int NOTIFICATIONS_PER_PRODUCER = 1000;
+    private static final int LISTENER_COUNT = 16;
+    private static final int MAX_QUEUE_CAPACITY = 1000;
+
+    @Param({ "1", "8", "64" })
+    public int producers;
+
+    @Param({ "BLOCK", "DROP_OLDEST" })
+    public BackpressurePolicy policy;
+
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final Object[] listeners = new Object[LISTENER_COUNT];
+
+    private ExecutorService listenerExecutor;
+    private ExecutorService producerExecutor;
+    private QueuedNotificationManager<Object, Integer> manager;
+    private volatile CountDownLatch delivered;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + QueuedNotificationManagerBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        for (int i = 0; i < LISTENER_COUNT; ++i) {
+            listeners[i] = new Object();
+        }
+
+        listenerExecutor = Executors.newFixedThreadPool(LISTENER_COUNT);
+        producerExecutor = Executors.newFixedThreadPool(producers);
+        manager = QueuedNotificationManager.create(listenerExecutor, this::onNotifications, MAX_QUEUE_CAPACITY,
+            "benchmark", policy);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        producerExecutor.shutdownNow();
+        listenerExecutor.shutdownNow();
+    }
+
+    private void onNotifications(final Object listener, final Collection<? extends Integer> notifications) {
+        if (remaining.addAndGet(-notifications.size()) <= 0) {
+            delivered.countDown();
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public void submitNotifications() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        delivered = latch;
+        remaining.set(producers * NOTIFICATIONS_PER_PRODUCER);
+
+        for (int p = 0; p < producers; ++p) {
+            final int offset = p;
+            producerExecutor.execute(() -> {
+                for (int i = 0; i < NOTIFICATIONS_PER_PRODUCER; ++i) {
+                    manager.submitNotification(listeners[(offset + i) % LISTENER_COUNT], i);
+                }
+            });
+        }
+
+        // Dropped notifications are never delivered, hence we bound the wait
+        latch.await(1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import com.google.gson.stream.JsonReader;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.impl.tree.BenchmarkModel;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of {@link JsonParserStream} in its default and streaming modes, parsing a list with a varying number
+ * of entries. The *Discard benchmarks feed a writer which ignores all events, hence they measure the parser alone:
+ * in streaming mode the parser retains at most a single list entry, while the default mode holds the intermediate
+ * representation of the whole input. The *Immutable benchmarks build the resulting NormalizedNode. Run with
+ * {@code -prof gc} to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class JsonParserStreamBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final int INNER_LIST_SIZE = 3;
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private SchemaContext schemaContext;
+    private JSONCodecFactory codecs;
+    private String input;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + JsonParserStreamBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        schemaContext = BenchmarkModel.createTestContext();
+        codecs = JSONCodecFactory.getPrecomputed(schemaContext);
+
+        final StringBuilder sb = new StringBuilder("{\"odl-datastore-test:test\":{\"outer-list\":[");
+        for (int i = 0; i < size; ++i) {
+            if (i != 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"one\":\"one-").append(i).append("\",\"inner-list\":[");
+            for (int j = 0; j < INNER_LIST_SIZE; ++j) {
+                if (j != 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"name\":").append(j).append(",\"value\":\"value-").append(j).append("\"}");
+            }
+            sb.append("]}");
+        }
+        input = sb.append("]}}").toString();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public NormalizedNode<?, ?> defaultImmutable() {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), schemaContext).parse(newReader());
+        return result.getResult();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public NormalizedNode<?, ?> streamingImmutable() {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        JsonParserStream.createStreaming(ImmutableNormalizedNodeStreamWriter.from(result), codecs, schemaContext)
+            .parse(newReader());
+        return result.getResult();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public int defaultDiscard() {
+        final DiscardingStreamWriter writer = new DiscardingStreamWriter();
+        JsonParserStream.create(writer, schemaContext).parse(newReader());
+        return writer.events;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public int streamingDiscard() {
+        final DiscardingStreamWriter writer = new DiscardingStreamWriter();
+        JsonParserStream.createStreaming(writer, codecs, schemaContext).parse(newReader());
+        return writer.events;
+    }
+
+    private JsonReader newReader() {
+        return new JsonReader(new StringReader(input));
+    }
+
+    /**
+     * A writer which only counts the events it receives.
+     */
+    private static final class DiscardingStreamWriter implements NormalizedNodeStreamWriter {
+        int events;
+
+        @Override
+        public void leafNode(final NodeIdentifier name, final Object value) {
+            events++;
+        }
+
+        @Override
+        public void startLeafSet(final NodeIdentifier name, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void leafSetEntryNode(final QName name, final Object value) {
+            events++;
+        }
+
+        @Override
+        public void startContainerNode(final NodeIdentifier name, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void startMapNode(final NodeIdentifier name, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void startAugmentationNode(final AugmentationIdentifier identifier) {
+            events++;
+        }
+
+        @Override
+        public void anyxmlNode(final NodeIdentifier name, final Object value) {
+            events++;
+        }
+
+        @Override
+        public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint) {
+            events++;
+        }
+
+        @Override
+        public void endNode() {
+            events++;
+        }
+
+        @Override
+        public void close() {
+            // No-op
+        }
+
+        @Override
+        public void flush() {
+            // No-op
+        }
+    }
+}
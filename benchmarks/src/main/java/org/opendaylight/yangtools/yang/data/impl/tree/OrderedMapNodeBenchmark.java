@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOrderedMapNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of single-entry modifications of large 'ordered-by user' lists. The linkedHashMapCopy benchmark
+ * measures the cost of the full copy {@link ImmutableOrderedMapNodeBuilder} used to perform on each modification and
+ * serves as the baseline for the builder and data tree benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class OrderedMapNodeBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    @Param({ "1000", "100000", "500000" })
+    public int size;
+
+    private OrderedMapNode node;
+    private Map<NodeIdentifierWithPredicates, MapEntryNode> linkedHashMap;
+    private MapEntryNode newEntry;
+    private NodeIdentifierWithPredicates middleId;
+    private YangInstanceIdentifier newEntryPath;
+    private DataTree datastore;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + OrderedMapNodeBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws DataValidationFailedException {
+        final CollectionNodeBuilder<MapEntryNode, OrderedMapNode> builder = Builders.orderedMapBuilder()
+                .withNodeIdentifier(NodeIdentifier.create(BenchmarkModel.ORDERED_LIST_QNAME));
+        linkedHashMap = new LinkedHashMap<>();
+        for (int i = 0; i < size; ++i) {
+            final MapEntryNode entry = ImmutableNodes.mapEntry(BenchmarkModel.ORDERED_LIST_QNAME,
+                BenchmarkModel.ID_QNAME, i);
+            builder.withChild(entry);
+            linkedHashMap.put(entry.getIdentifier(), entry);
+        }
+        node = builder.build();
+
+        newEntry = ImmutableNodes.mapEntry(BenchmarkModel.ORDERED_LIST_QNAME, BenchmarkModel.ID_QNAME, size);
+        middleId = new NodeIdentifierWithPredicates(BenchmarkModel.ORDERED_LIST_QNAME, BenchmarkModel.ID_QNAME,
+            size / 2);
+        newEntryPath = BenchmarkModel.ORDERED_LIST_PATH.node(newEntry.getIdentifier());
+
+        datastore = InMemoryDataTreeFactory.getInstance().create(DataTreeConfiguration.DEFAULT_CONFIGURATION);
+        datastore.setSchemaContext(BenchmarkModel.createTestContext());
+        final DataTreeModification modification = datastore.takeSnapshot().newModification();
+        modification.write(BenchmarkModel.TEST_PATH, ImmutableNodes.containerNode(BenchmarkModel.TEST_QNAME));
+        modification.write(BenchmarkModel.ORDERED_LIST_PATH, node);
+        commit(modification);
+    }
+
+    @TearDown
+    public void tearDown() {
+        node = null;
+        linkedHashMap = null;
+        datastore = null;
+    }
+
+    private void commit(final DataTreeModification modification) throws DataValidationFailedException {
+        modification.ready();
+        datastore.validate(modification);
+        datastore.commit(datastore.prepare(modification));
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public Map<NodeIdentifierWithPredicates, MapEntryNode> linkedHashMapCopyInsertEntry() {
+        final Map<NodeIdentifierWithPredicates, MapEntryNode> copy = new LinkedHashMap<>(linkedHashMap);
+        copy.put(newEntry.getIdentifier(), newEntry);
+        return copy;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public OrderedMapNode builderInsertEntry() {
+        return ImmutableOrderedMapNodeBuilder.create(node).withChild(newEntry).build();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public OrderedMapNode builderRemoveEntry() {
+        return ImmutableOrderedMapNodeBuilder.create(node).withoutChild(middleId).build();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public void dataTreeInsertAndDeleteEntry() throws DataValidationFailedException {
+        final DataTreeModification insert = datastore.takeSnapshot().newModification();
+        insert.write(newEntryPath, newEntry);
+        commit(insert);
+
+        final DataTreeModification delete = datastore.takeSnapshot().newModification();
+        delete.delete(newEntryPath);
+        commit(delete);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.util;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of top-level SchemaContext lookups with varying number of modules. Each lookup targets the last module
+ * in the context. The linearScan benchmark performs the per-module scan previously done by
+ * {@link AbstractSchemaContext#getDataChildByName(QName)} and serves as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class SchemaContextLookupBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final Revision REVISION = Revision.of("2017-10-11");
+
+    @Param({ "50", "1000" })
+    public int moduleCount;
+
+    private SchemaContext schemaContext;
+    private QName container;
+    private QName rpc;
+    private QName notification;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + SchemaContextLookupBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, YangSyntaxErrorException, ReactorException {
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        for (int i = 0; i < moduleCount; ++i) {
+            reactor.addSource(YangStatementStreamSource.create(createModule("bench-" + i)));
+        }
+        schemaContext = reactor.buildEffective();
+
+        final Module last = schemaContext.findModule("bench-" + (moduleCount - 1), REVISION).get();
+        container = QName.create(last.getQNameModule(), "cont");
+        rpc = QName.create(last.getQNameModule(), "rpc");
+        notification = QName.create(last.getQNameModule(), "notif");
+    }
+
+    private static YangTextSchemaSource createModule(final String name) {
+        final String text = "module " + name + " {\n"
+                + "  namespace \"urn:opendaylight:benchmark:" + name + "\";\n"
+                + "  prefix p;\n"
+                + "  revision " + REVISION + ";\n"
+                + "  container cont { leaf leaf { type string; } }\n"
+                + "  rpc rpc { input { leaf in { type string; } } }\n"
+                + "  notification notif { leaf leaf { type string; } }\n"
+                + "}\n";
+        return YangTextSchemaSource.delegateForByteSource(RevisionSourceIdentifier.create(name, REVISION),
+            ByteSource.wrap(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public DataSchemaNode linearScan() {
+        for (Module module : schemaContext.getModules()) {
+            final DataSchemaNode result = module.getDataChildByName(container);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public DataSchemaNode getDataChildByName() {
+        return schemaContext.getDataChildByName(container);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public Module findModule() {
+        return schemaContext.findModule(container.getModule()).get();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public RpcDefinition findRpc() {
+        return schemaContext.findRpc(rpc).get();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public NotificationDefinition findNotification() {
+        return schemaContext.findNotification(notification).get();
+    }
+}
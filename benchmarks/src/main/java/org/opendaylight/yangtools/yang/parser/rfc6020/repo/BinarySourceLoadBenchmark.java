@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc6020.repo;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangBinarySchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of loading a set of synthetic modules from their YANG text, which requires them to be lexed and parsed,
+ * compared to loading them from their {@link YangBinarySchemaSource} encoding, as would be the case when a warm
+ * {@link org.opendaylight.yangtools.yang.model.repo.util.FilesystemSchemaSourceCache} is available. The load
+ * benchmarks measure only the creation of StatementStreamSources, the build benchmarks also include assembly
+ * of the effective SchemaContext.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class BinarySourceLoadBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final Revision REVISION = Revision.of("2017-10-16");
+
+    @Param({ "100", "500" })
+    public int moduleCount;
+
+    private List<YangTextSchemaSource> textSources;
+    private List<YangBinarySchemaSource> binarySources;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + BinarySourceLoadBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, YangSyntaxErrorException {
+        textSources = new ArrayList<>(moduleCount);
+        binarySources = new ArrayList<>(moduleCount);
+        for (int i = 0; i < moduleCount; ++i) {
+            final YangTextSchemaSource text = createModule(i);
+            textSources.add(text);
+            binarySources.add(YangTextToBinaryTransformer.transformSource(text));
+        }
+    }
+
+    private static YangTextSchemaSource createModule(final int index) {
+        final String name = "load-" + index;
+        final StringBuilder sb = new StringBuilder()
+                .append("module ").append(name).append(" {\n")
+                .append("  namespace \"urn:opendaylight:benchmark:").append(name).append("\";\n")
+                .append("  prefix p;\n")
+                .append("  description \"Synthetic module number ").append(index)
+                .append(",\n    with a \\\"quoted\\\" multi-line description\";\n")
+                .append("  revision ").append(REVISION).append(" { description 'Initial revision'; }\n")
+                .append("  container cont {\n");
+        for (int i = 0; i < 20; ++i) {
+            sb.append("    leaf leaf-").append(i).append(" {\n")
+                .append("      type string { length \"1..\" + \"255\"; pattern '[a-z]+'; }\n")
+                .append("      description \"Leaf ").append(i).append(" of ").append(name).append("\";\n")
+                .append("    }\n");
+        }
+        sb.append("  }\n")
+            .append("}\n");
+
+        return YangTextSchemaSource.delegateForByteSource(RevisionSourceIdentifier.create(name, REVISION),
+            ByteSource.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public List<YangStatementStreamSource> loadText() throws IOException, YangSyntaxErrorException {
+        final List<YangStatementStreamSource> ret = new ArrayList<>(moduleCount);
+        for (YangTextSchemaSource source : textSources) {
+            ret.add(YangStatementStreamSource.create(source));
+        }
+        return ret;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public List<YangBinaryStatementStreamSource> loadBinary() throws IOException {
+        final List<YangBinaryStatementStreamSource> ret = new ArrayList<>(moduleCount);
+        for (YangBinarySchemaSource source : binarySources) {
+            ret.add(YangBinaryStatementStreamSource.create(source));
+        }
+        return ret;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public SchemaContext buildFromText() throws IOException, ReactorException, YangSyntaxErrorException {
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.addSources(loadText());
+        return reactor.buildEffective();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public SchemaContext buildFromBinary() throws IOException, ReactorException {
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.addSources(loadBinary());
+        return reactor.buildEffective();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of building an effective SchemaContext from a synthetic set of modules, each of which imports its
+ * predecessor and instantiates its groupings and typedefs. The sequential benchmark processes all sources on the
+ * calling thread, the concurrent benchmark sets {@link ForkJoinPool#commonPool()} as the source executor. Sources are
+ * parsed once, hence the benchmarks measure only the reactor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ReactorBuildBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+    private static final Revision REVISION = Revision.of("2017-10-16");
+
+    @Param({ "100", "900" })
+    public int moduleCount;
+
+    private List<YangStatementStreamSource> sources;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + ReactorBuildBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, YangSyntaxErrorException {
+        sources = new ArrayList<>(moduleCount);
+        for (int i = 0; i < moduleCount; ++i) {
+            sources.add(YangStatementStreamSource.create(createModule(i)));
+        }
+    }
+
+    private static YangTextSchemaSource createModule(final int index) {
+        final String name = "bench-" + index;
+        final StringBuilder sb = new StringBuilder()
+                .append("module ").append(name).append(" {\n")
+                .append("  namespace \"urn:opendaylight:benchmark:").append(name).append("\";\n")
+                .append("  prefix p;\n");
+        if (index > 0) {
+            sb.append("  import bench-").append(index - 1).append(" { prefix prev; revision-date ").append(REVISION)
+                .append("; }\n");
+        }
+        sb.append("  revision ").append(REVISION).append(";\n")
+            .append("  typedef counter { type uint32 { range \"0..1000\"; } description \"A counter\"; }\n")
+            .append("  grouping entry {\n")
+            .append("    leaf name { type string { length \"1..64\"; } description \"Entry name\"; }\n")
+            .append("    leaf value { type counter; default 0; }\n")
+            .append("    container stats {\n")
+            .append("      leaf hits { type counter; mandatory true; }\n")
+            .append("      leaf misses { type counter; must \"../hits >= 0\"; }\n")
+            .append("    }\n")
+            .append("  }\n")
+            .append("  container cont {\n")
+            .append("    list entries { key name; uses entry; }\n");
+        if (index > 0) {
+            sb.append("    container previous { uses prev:entry; leaf total { type prev:counter; } }\n");
+        }
+        sb.append("  }\n")
+            .append("  rpc reset { input { uses entry; } }\n")
+            .append("  notification changed { uses entry; }\n")
+            .append("}\n");
+
+        return YangTextSchemaSource.delegateForByteSource(RevisionSourceIdentifier.create(name, REVISION),
+            ByteSource.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public SchemaContext sequential() throws ReactorException {
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.addSources(sources);
+        return reactor.buildEffective();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public SchemaContext concurrent() throws ReactorException {
+        final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        reactor.setSourceExecutor(ForkJoinPool.commonPool());
+        reactor.addSources(sources);
+        return reactor.buildEffective();
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.primitives.UnsignedLong;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable snapshot of the distribution of durations recorded by a {@link HistogramDurationStatisticsTracker}.
+ *
+ * <p>
+ * Durations are counted in log-linear buckets: each power-of-two range of durations is split into
+ * {@value #SUB_BUCKET_COUNT} equally-sized buckets, hence durations reported by this class are accurate to within
+ * about 3% of their true value. Durations shorter than {@value #SUB_BUCKET_COUNT} nanoseconds are counted exactly.
+ */
+@Beta
+@Immutable
+public final class DurationHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private static final DurationHistogram EMPTY = new DurationHistogram(new long[BUCKET_COUNT], 0, 0);
+
+    private final long[] counts;
+    private final long totalCount;
+    private final long sum;
+
+    private DurationHistogram(final long[] counts, final long totalCount, final long sum) {
+        this.counts = counts;
+        this.totalCount = totalCount;
+        this.sum = sum;
+    }
+
+    static DurationHistogram of(final long[] counts, final long sum) {
+        long totalCount = 0;
+        for (long count : counts) {
+            totalCount += count;
+        }
+        return totalCount == 0 ? EMPTY : new DurationHistogram(counts, totalCount, sum);
+    }
+
+    static int bucketIndex(final long duration) {
+        if (duration < SUB_BUCKET_COUNT) {
+            return (int) Math.max(0, duration);
+        }
+
+        // Number of low-order bits which are not significant for this duration
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(duration) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (duration >>> shift);
+    }
+
+    static long bucketLowerBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        return (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+    }
+
+    static long bucketUpperBound(final int index) {
+        // Overflows to Long.MAX_VALUE for the last bucket
+        return index == BUCKET_COUNT - 1 ? Long.MAX_VALUE : bucketLowerBound(index + 1) - 1;
+    }
+
+    /**
+     * Returns the number of durations in this histogram.
+     */
+    public long getTotalDurations() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the average duration in nanoseconds.
+     */
+    public double getAverageDuration() {
+        return totalCount == 0 ? 0 : UnsignedLong.fromLongBits(sum).doubleValue() / totalCount;
+    }
+
+    /**
+     * Returns the duration in nanoseconds at or below which the specified percentage of durations in this histogram
+     * lie. The returned value is the upper bound of the bucket containing the duration.
+     *
+     * @param percentile Percentile, between 0 and 100 inclusive
+     * @return Duration at the percentile, or 0 if this histogram is empty.
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long getDurationAtPercentile(final double percentile) {
+        checkArgument(percentile >= 0 && percentile <= 100, "Percentile %s is out of range", percentile);
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+
+        // Not reachable, as counts add up to totalCount
+        return getLongestDuration();
+    }
+
+    /**
+     * Returns the lower bound of the shortest duration's bucket, in nanoseconds, or 0 if this histogram is empty.
+     */
+    public long getShortestDuration() {
+        for (int i = 0; i < counts.length; ++i) {
+            if (counts[i] != 0) {
+                return bucketLowerBound(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the upper bound of the longest duration's bucket, in nanoseconds, or 0 if this histogram is empty.
+     */
+    public long getLongestDuration() {
+        for (int i = counts.length - 1; i >= 0; --i) {
+            if (counts[i] != 0) {
+                return bucketUpperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a histogram of durations which are in this histogram, but not in an earlier snapshot of the same
+     * tracker.
+     *
+     * @param earlier Earlier histogram
+     * @return Difference histogram
+     */
+    DurationHistogram since(final DurationHistogram earlier) {
+        final long[] diff = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            // Counts can only decrease if the tracker has been reset concurrently, do not report negative counts
+            diff[i] = Math.max(0, counts[i] - earlier.counts[i]);
+        }
+        return of(diff, sum - earlier.sum);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("count", totalCount).add("average", getAverageDuration())
+                .add("p50", getDurationAtPercentile(50)).add("p99", getDurationAtPercentile(99))
+                .add("p999", getDurationAtPercentile(99.9)).add("max", getLongestDuration()).toString();
+    }
+}
@@ -57,6 +57,16 @@ public abstract class DurationStatisticsTracker {
         return new SynchronizedDurationStatsTracker();
     }
 
+    /**
+     * Create a {@link HistogramDurationStatisticsTracker}, which does not lock when recording durations and can
+     * additionally report percentiles of recorded durations.
+     *
+     * @return A new instance.
+     */
+    public static HistogramDurationStatisticsTracker createHistogram() {
+        return new HistogramDurationStatisticsTracker();
+    }
+
     /**
      * Add a duration to track.
      *
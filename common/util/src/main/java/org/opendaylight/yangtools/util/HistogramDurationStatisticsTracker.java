@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import com.google.common.annotations.Beta;
+import com.google.common.primitives.UnsignedLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link DurationStatisticsTracker} which additionally maintains a {@link DurationHistogram} of recorded durations,
+ * allowing percentiles to be reported.
+ *
+ * <p>
+ * Recording a duration does not take any locks. Counters are striped by thread, so threads recording durations
+ * concurrently do not contend on the same memory. Stripes are allocated lazily, hence a tracker used by a single
+ * thread occupies a single stripe of {@link DurationHistogram#BUCKET_COUNT} counters.
+ *
+ * <p>
+ * In addition to the cumulative histogram, this tracker can report interval histograms, each covering the durations
+ * recorded since the previous interval histogram was taken.
+ */
+@Beta
+@ThreadSafe
+public final class HistogramDurationStatisticsTracker extends DurationStatisticsTracker {
+    private static final int STRIPE_COUNT = stripeCount(Runtime.getRuntime().availableProcessors());
+    // Each stripe holds per-bucket counts followed by the sum of durations
+    private static final int SUM_INDEX = DurationHistogram.BUCKET_COUNT;
+
+    private static final AtomicReferenceFieldUpdater<HistogramDurationStatisticsTracker, DurationWithTime>
+        LONGEST_UPDATER = AtomicReferenceFieldUpdater.newUpdater(HistogramDurationStatisticsTracker.class,
+                DurationWithTime.class, "longest");
+    private static final AtomicReferenceFieldUpdater<HistogramDurationStatisticsTracker, DurationWithTime>
+        SHORTEST_UPDATER = AtomicReferenceFieldUpdater.newUpdater(HistogramDurationStatisticsTracker.class,
+                DurationWithTime.class, "shortest");
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+
+    private volatile DurationWithTime longest = null;
+    private volatile DurationWithTime shortest = null;
+
+    @GuardedBy("this")
+    private DurationHistogram lastInterval = null;
+
+    HistogramDurationStatisticsTracker() {
+        // Hidden on purpose
+    }
+
+    private static int stripeCount(final int processors) {
+        // Power of two, so we can mask thread identifiers, capped to keep memory footprint reasonable
+        return processors <= 1 ? 1 : Math.min(64, Integer.highestOneBit(processors - 1) << 1);
+    }
+
+    @Override
+    public void addDuration(final long duration) {
+        final AtomicLongArray stripe = currentStripe();
+        stripe.getAndIncrement(DurationHistogram.bucketIndex(duration));
+        stripe.getAndAdd(SUM_INDEX, duration);
+
+        // Extremes change rarely once the tracker has warmed up, hence these are mostly plain reads
+        DurationWithTime current = shortest;
+        if (current == null || duration < current.getDuration()) {
+            final DurationWithTime newObj = new DurationWithTime(duration, System.currentTimeMillis());
+            while (!SHORTEST_UPDATER.weakCompareAndSet(this, current, newObj)) {
+                current = shortest;
+                if (current != null && duration >= current.getDuration()) {
+                    break;
+                }
+            }
+        }
+
+        current = longest;
+        if (current == null || duration > current.getDuration()) {
+            final DurationWithTime newObj = new DurationWithTime(duration, System.currentTimeMillis());
+            while (!LONGEST_UPDATER.weakCompareAndSet(this, current, newObj)) {
+                current = longest;
+                if (current != null && duration <= current.getDuration()) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Override
+    public double getAverageDuration() {
+        long count = 0;
+        long sum = 0;
+        for (int i = 0; i < STRIPE_COUNT; ++i) {
+            final AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null) {
+                for (int j = 0; j < SUM_INDEX; ++j) {
+                    count += stripe.get(j);
+                }
+                sum += stripe.get(SUM_INDEX);
+            }
+        }
+        return count == 0 ? 0 : UnsignedLong.fromLongBits(sum).doubleValue() / count;
+    }
+
+    @Override
+    public long getTotalDurations() {
+        long count = 0;
+        for (int i = 0; i < STRIPE_COUNT; ++i) {
+            final AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null) {
+                for (int j = 0; j < SUM_INDEX; ++j) {
+                    count += stripe.get(j);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the duration in nanoseconds at or below which the specified percentage of durations lie. This is
+     * a shorthand for {@code getHistogram().getDurationAtPercentile(percentile)}.
+     *
+     * @param percentile Percentile, between 0 and 100 inclusive
+     * @return Duration at the percentile, or 0 if no durations have been recorded.
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long getDurationAtPercentile(final double percentile) {
+        return getHistogram().getDurationAtPercentile(percentile);
+    }
+
+    /**
+     * Returns a histogram of all durations recorded since this tracker was created or last {@link #reset()}.
+     *
+     * @return Cumulative histogram
+     */
+    public DurationHistogram getHistogram() {
+        final long[] counts = new long[DurationHistogram.BUCKET_COUNT];
+        long sum = 0;
+        for (int i = 0; i < STRIPE_COUNT; ++i) {
+            final AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null) {
+                for (int j = 0; j < SUM_INDEX; ++j) {
+                    counts[j] += stripe.get(j);
+                }
+                sum += stripe.get(SUM_INDEX);
+            }
+        }
+        return DurationHistogram.of(counts, sum);
+    }
+
+    /**
+     * Returns a histogram of durations recorded since the previous invocation of this method, or since this tracker
+     * was created or last {@link #reset()}.
+     *
+     * @return Interval histogram
+     */
+    public synchronized DurationHistogram getIntervalHistogram() {
+        final DurationHistogram current = getHistogram();
+        final DurationHistogram prev = lastInterval;
+        lastInterval = current;
+        return prev == null ? current : current.since(prev);
+    }
+
+    @Override
+    public synchronized void reset() {
+        // Synchronized to serialize with interval snapshots. Durations recorded concurrently may be partially lost.
+        for (int i = 0; i < STRIPE_COUNT; ++i) {
+            final AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null) {
+                for (int j = 0; j <= SUM_INDEX; ++j) {
+                    stripe.set(j, 0);
+                }
+            }
+        }
+        longest = null;
+        shortest = null;
+        lastInterval = null;
+    }
+
+    @Override
+    protected DurationWithTime getLongest() {
+        return longest;
+    }
+
+    @Override
+    protected DurationWithTime getShortest() {
+        return shortest;
+    }
+
+    private AtomicLongArray currentStripe() {
+        // Spread thread identifiers, as these tend to be sequential
+        final long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        final int index = (int) (id >>> 32) & (STRIPE_COUNT - 1);
+
+        final AtomicLongArray existing = stripes.get(index);
+        if (existing != null) {
+            return existing;
+        }
+
+        final AtomicLongArray created = new AtomicLongArray(SUM_INDEX + 1);
+        return stripes.compareAndSet(index, null, created) ? created : stripes.get(index);
+    }
+}
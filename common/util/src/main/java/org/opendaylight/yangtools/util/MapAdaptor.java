@@ -10,9 +10,11 @@ package org.opendaylight.yangtools.util;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import org.opendaylight.yangtools.triemap.MutableTrieMap;
@@ -224,4 +226,115 @@ public final class MapAdaptor {
         LOG.trace("Read-only TrieMap is {}", ret);
         return ret;
     }
+
+    /**
+     * Creates an initial snapshot of an insertion-ordered map. The backing map is selected according to the expected
+     * size.
+     *
+     * @param expectedSize Expected map size
+     * @return An empty mutable map, which iterates in insertion order.
+     */
+    public <K, V> Map<K, V> initialOrderedSnapshot(final int expectedSize) {
+        checkArgument(expectedSize >= 0);
+        if (expectedSize > persistMinItems) {
+            return new ReadWriteOrderedTrieMap<>();
+        }
+
+        return new LinkedHashMap<>(expectedSize < 2 ? 1 : expectedSize + expectedSize / 3);
+    }
+
+    /**
+     * Insertion-ordered counterpart to {@link #takeSnapshot(Map)}. Input is left unmodified, result is mutable and
+     * retains the iteration order of the input.
+     */
+    @SuppressWarnings("static-method")
+    public <K, V> Map<K, V> takeOrderedSnapshot(final Map<K, V> input) {
+        if (input instanceof ReadOnlyOrderedTrieMap) {
+            return ((ReadOnlyOrderedTrieMap<K, V>)input).toReadWrite();
+        }
+
+        LOG.trace("Converting input {} to a LinkedHashMap", input);
+        final Map<K, V> ret = new LinkedHashMap<>(input);
+        LOG.trace("Read-write LinkedHashMap is {}", ret);
+        return ret;
+    }
+
+    /**
+     * Insertion-ordered counterpart to {@link #optimize(Map)}. Input will be thrown away, result will be retained for
+     * read-only access or {@link #takeOrderedSnapshot(Map)} purposes and retains the iteration order of the input.
+     *
+     * @param input non-optimized (read-write) map
+     * @return  optimized read-only map
+     */
+    public <K, V> Map<K, V> optimizeOrdered(final Map<K, V> input) {
+        if (input instanceof ReadOnlyOrderedTrieMap) {
+            LOG.warn("Optimizing read-only map {}", input);
+        }
+
+        final int size = input.size();
+        if (size == 0) {
+            LOG.trace("Reducing input {} to an empty map", input);
+            return ImmutableMap.of();
+        }
+
+        /*
+         * Same as with unordered maps, we retain the persistent map as long as it holds at least persistMinItems.
+         */
+        if (input instanceof ReadWriteOrderedTrieMap && size >= persistMinItems) {
+            return ((ReadWriteOrderedTrieMap<K, V>)input).toReadOnly();
+        }
+
+        if (useSingleton && size == 1) {
+            final Entry<K, V> e = input.entrySet().iterator().next();
+            final Map<K, V> ret = Collections.singletonMap(e.getKey(), e.getValue());
+            LOG.trace("Reducing input {} to singleton map {}", input, ret);
+            return ret;
+        }
+
+        if (size <= copyMaxItems) {
+            /*
+             * Favor access speed: use a LinkedHashMap and copy it on modification.
+             */
+            if (input instanceof LinkedHashMap) {
+                return input;
+            }
+
+            LOG.trace("Copying input {} to a LinkedHashMap ({} entries)", input, size);
+            final Map<K, V> ret = new LinkedHashMap<>(input);
+            LOG.trace("Read-only LinkedHashMap is {}", ret);
+            return ret;
+        }
+
+        /*
+         * Favor isolation speed: use a TrieMap for lookups and a persistent tree to track the order, both of which
+         * can be snapshotted in constant time.
+         */
+        LOG.trace("Copying input {} to an ordered TrieMap ({} entries)", input, size);
+        final ReadWriteOrderedTrieMap<K, V> map = new ReadWriteOrderedTrieMap<>();
+        map.putAll(input);
+        final Map<K, V> ret = map.toReadOnly();
+        LOG.trace("Read-only ordered TrieMap is {}", ret);
+        return ret;
+    }
+
+    /**
+     * Return the value at a particular position in the iteration order of a map. Maps returned from
+     * {@link #optimizeOrdered(Map)} and {@link #takeOrderedSnapshot(Map)} which are backed by a persistent tree perform
+     * this lookup in logarithmic time, all others are iterated.
+     *
+     * @param map input map
+     * @param position value position
+     * @return Value at specified position
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    @SuppressWarnings("static-method")
+    public <K, V> V getOrderedValue(final Map<K, V> map, final int position) {
+        if (map instanceof ReadOnlyOrderedTrieMap) {
+            return ((ReadOnlyOrderedTrieMap<K, V>)map).valueAt(position);
+        }
+        if (map instanceof ReadWriteOrderedTrieMap) {
+            return ((ReadWriteOrderedTrieMap<K, V>)map).valueAt(position);
+        }
+        return Iterables.get(map.values(), position);
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.opendaylight.yangtools.triemap.ImmutableTrieMap;
+import org.opendaylight.yangtools.triemap.MutableTrieMap;
+import org.opendaylight.yangtools.util.SequenceTree.Item;
+import org.opendaylight.yangtools.util.SequenceTree.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A read-only, insertion-ordered facade in front of a TrieMap and a {@link SequenceTree}. This is what we give out
+ * from {@link MapAdaptor#optimizeOrdered(Map)}. As with {@link ReadOnlyTrieMap}, the lookup snapshot is instantiated
+ * lazily on first access and shared by all readers.
+ */
+final class ReadOnlyOrderedTrieMap<K, V> extends AbstractMap<K, V> {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ReadOnlyOrderedTrieMap, ImmutableTrieMap> UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(ReadOnlyOrderedTrieMap.class, ImmutableTrieMap.class, "readOnly");
+    private static final Logger LOG = LoggerFactory.getLogger(ReadOnlyOrderedTrieMap.class);
+
+    private final MutableTrieMap<K, Item<K, V>> readWrite;
+    private final Node<K, V> root;
+    private final long nextSeq;
+    private volatile ImmutableTrieMap<K, Item<K, V>> readOnly;
+
+    ReadOnlyOrderedTrieMap(final MutableTrieMap<K, Item<K, V>> map, final Node<K, V> root, final long nextSeq) {
+        this.readWrite = requireNonNull(map);
+        this.root = root;
+        this.nextSeq = nextSeq;
+    }
+
+    Map<K, V> toReadWrite() {
+        final Map<K, V> ret = new ReadWriteOrderedTrieMap<>(readWrite.mutableSnapshot(), root, nextSeq);
+        LOG.trace("Converted read-only ordered TrieMap {} to read-write {}", this, ret);
+        return ret;
+    }
+
+    private ImmutableTrieMap<K, Item<K, V>> index() {
+        ImmutableTrieMap<K, Item<K, V>> ret = readOnly;
+        if (ret == null) {
+            ret = readWrite.immutableSnapshot();
+            if (!UPDATER.compareAndSet(this, null, ret)) {
+                ret = readOnly;
+            }
+        }
+        return ret;
+    }
+
+    V valueAt(final int position) {
+        return SequenceTree.get(root, position).getValue();
+    }
+
+    @Override
+    public int size() {
+        return SequenceTree.size(root);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return index().containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final Item<K, V> item = index().get(key);
+        return item == null ? null : item.getValue();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return SequenceTree.entrySet(root);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.yangtools.triemap.MutableTrieMap;
+import org.opendaylight.yangtools.triemap.TrieMap;
+import org.opendaylight.yangtools.util.SequenceTree.Item;
+import org.opendaylight.yangtools.util.SequenceTree.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An insertion-ordered counterpart to {@link ReadWriteTrieMap}. Lookups are served by a TrieMap, which maps each key
+ * to an {@link Item} carrying its sequence number, while iteration order is maintained by a persistent
+ * {@link SequenceTree}. Both structures support cheap snapshots, so converting to and from
+ * {@link ReadOnlyOrderedTrieMap} does not involve copying the mappings.
+ *
+ * <p>
+ * Replacing the value of an existing key retains its position, just like {@link java.util.LinkedHashMap} does. The
+ * collection views are not modifiable.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+final class ReadWriteOrderedTrieMap<K, V> extends AbstractMap<K, V> {
+    private static final Logger LOG = LoggerFactory.getLogger(ReadWriteOrderedTrieMap.class);
+
+    private final MutableTrieMap<K, Item<K, V>> index;
+    private Node<K, V> root;
+    private long nextSeq;
+
+    ReadWriteOrderedTrieMap() {
+        this.index = TrieMap.create();
+    }
+
+    ReadWriteOrderedTrieMap(final MutableTrieMap<K, Item<K, V>> index, final Node<K, V> root, final long nextSeq) {
+        this.index = requireNonNull(index);
+        this.root = root;
+        this.nextSeq = nextSeq;
+    }
+
+    Map<K, V> toReadOnly() {
+        final Map<K, V> ret = new ReadOnlyOrderedTrieMap<>(index, root, nextSeq);
+        LOG.trace("Converted read-write ordered TrieMap {} to read-only {}", this, ret);
+        return ret;
+    }
+
+    V valueAt(final int position) {
+        return SequenceTree.get(root, position).getValue();
+    }
+
+    @Override
+    public int size() {
+        return SequenceTree.size(root);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+        final Item<K, V> item = index.get(key);
+        return item == null ? null : item.getValue();
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final Item<K, V> prev = index.get(key);
+        final Item<K, V> item = new Item<>(prev == null ? nextSeq++ : prev.seq(), key, value);
+        index.put(key, item);
+        root = SequenceTree.put(root, item);
+        return prev == null ? null : prev.getValue();
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final Item<K, V> prev = index.remove(key);
+        if (prev == null) {
+            return null;
+        }
+
+        root = SequenceTree.remove(root, prev.seq());
+        return prev.getValue();
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        root = null;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return SequenceTree.entrySet(root);
+    }
+}
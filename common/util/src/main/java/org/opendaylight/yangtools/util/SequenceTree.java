@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A persistent (path-copying) AVL tree of {@link Item}s ordered by their sequence number. It is used by
+ * {@link ReadWriteOrderedTrieMap} and {@link ReadOnlyOrderedTrieMap} to maintain iteration order. Each node tracks
+ * the size of its subtree, hence positional lookups are logarithmic, too.
+ *
+ * <p>
+ * Nodes are immutable, modification methods return a new root, which shares all untouched subtrees with the original
+ * root. A {@code null} node represents an empty tree.
+ */
+final class SequenceTree {
+    /**
+     * A single mapping stored in the tree, tagged with the sequence number determining its position.
+     */
+    static final class Item<K, V> extends SimpleImmutableEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final long seq;
+
+        Item(final long seq, final K key, final V value) {
+            super(key, value);
+            this.seq = seq;
+        }
+
+        long seq() {
+            return seq;
+        }
+    }
+
+    static final class Node<K, V> {
+        final Item<K, V> item;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int height;
+        final int size;
+
+        Node(final Item<K, V> item, final Node<K, V> left, final Node<K, V> right) {
+            this.item = requireNonNull(item);
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private SequenceTree() {
+        throw new UnsupportedOperationException();
+    }
+
+    static int size(final Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(final Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Insert an item, or replace the item with the same sequence number.
+     *
+     * @param node Tree root, may be null
+     * @param item Item to insert
+     * @return New tree root
+     */
+    static <K, V> Node<K, V> put(final Node<K, V> node, final Item<K, V> item) {
+        if (node == null) {
+            return new Node<>(item, null, null);
+        }
+
+        final long seq = item.seq();
+        if (seq < node.item.seq()) {
+            return balance(node.item, put(node.left, item), node.right);
+        }
+        if (seq > node.item.seq()) {
+            return balance(node.item, node.left, put(node.right, item));
+        }
+        return new Node<>(item, node.left, node.right);
+    }
+
+    /**
+     * Remove the item with specified sequence number.
+     *
+     * @param node Tree root, may be null
+     * @param seq Sequence number
+     * @return New tree root, null if the tree became empty
+     */
+    static <K, V> Node<K, V> remove(final Node<K, V> node, final long seq) {
+        if (node == null) {
+            return null;
+        }
+
+        if (seq < node.item.seq()) {
+            return balance(node.item, remove(node.left, seq), node.right);
+        }
+        if (seq > node.item.seq()) {
+            return balance(node.item, node.left, remove(node.right, seq));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+
+        final Node<K, V> successor = first(node.right);
+        return balance(successor.item, node.left, removeFirst(node.right));
+    }
+
+    /**
+     * Return the item at a particular position in iteration order.
+     *
+     * @param root Tree root
+     * @param index Item position
+     * @return Item at specified position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    static <K, V> Item<K, V> get(final Node<K, V> root, final int index) {
+        if (index < 0 || index >= size(root)) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range [0, " + size(root) + ")");
+        }
+
+        Node<K, V> node = root;
+        int offset = index;
+        while (true) {
+            final int leftSize = size(node.left);
+            if (offset < leftSize) {
+                node = node.left;
+            } else if (offset > leftSize) {
+                offset -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.item;
+            }
+        }
+    }
+
+    /**
+     * Return an unmodifiable view of the tree as a set of map entries, iterating in sequence order.
+     *
+     * @param root Tree root, may be null
+     * @return Entry set view
+     */
+    static <K, V> Set<Entry<K, V>> entrySet(final Node<K, V> root) {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            public Iterator<Entry<K, V>> iterator() {
+                return (Iterator) new InOrderIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return SequenceTree.size(root);
+            }
+        };
+    }
+
+    private static <K, V> Node<K, V> first(final Node<K, V> root) {
+        Node<K, V> node = root;
+        while (node.left != null) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    private static <K, V> Node<K, V> removeFirst(final Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.item, removeFirst(node.left), node.right);
+    }
+
+    private static <K, V> Node<K, V> balance(final Item<K, V> item, final Node<K, V> left, final Node<K, V> right) {
+        final int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.item, left.left, new Node<>(item, left.right, right));
+            }
+            return new Node<>(left.right.item, new Node<>(left.item, left.left, left.right.left),
+                new Node<>(item, left.right.right, right));
+        }
+        if (diff < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.item, new Node<>(item, left, right.left), right.right);
+            }
+            return new Node<>(right.left.item, new Node<>(item, left, right.left.left),
+                new Node<>(right.item, right.left.right, right.right));
+        }
+        return new Node<>(item, left, right);
+    }
+
+    private static final class InOrderIterator<K, V> implements Iterator<Item<K, V>> {
+        private final Deque<Node<K, V>> stack = new ArrayDeque<>();
+
+        InOrderIterator(final Node<K, V> root) {
+            pushLeft(root);
+        }
+
+        private void pushLeft(final Node<K, V> root) {
+            for (Node<K, V> node = root; node != null; node = node.left) {
+                stack.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public Item<K, V> next() {
+            final Node<K, V> node = stack.poll();
+            if (node == null) {
+                throw new NoSuchElementException();
+            }
+            pushLeft(node.right);
+            return node.item;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
@@ -18,6 +19,7 @@ import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.util.HistogramDurationStatisticsTracker;
 import org.slf4j.LoggerFactory;
 
 /**
@@ -32,6 +34,8 @@ public class CachedThreadPoolExecutor extends ThreadPoolExecutor {
 
     private static final long IDLE_TIMEOUT_IN_SEC = 60L;
 
+    private final TaskTimingTracker taskTracker = new TaskTimingTracker();
+
     private final ExecutorQueue executorQueue;
 
     private final String threadPrefix;
@@ -108,13 +112,66 @@ public class CachedThreadPoolExecutor extends ThreadPoolExecutor {
         return ((TrackingLinkedBlockingQueue<?>)executorQueue.getBackingQueue()).getLargestQueueSize();
     }
 
+    /**
+     * Enable or disable tracking of task wait and execution times, which is disabled by default. While enabled, tasks
+     * are tracked by wrapping them, hence {@link #getQueue()} contains the wrappers rather than the tasks themselves.
+     *
+     * @param statisticsEnabled whether task times should be tracked
+     */
+    public void setStatisticsEnabled(final boolean statisticsEnabled) {
+        taskTracker.setEnabled(statisticsEnabled);
+    }
+
+    /**
+     * Returns whether task wait and execution times are tracked.
+     *
+     * @return True if task times are tracked
+     */
+    public boolean isStatisticsEnabled() {
+        return taskTracker.isEnabled();
+    }
+
+    /**
+     * Returns statistics of the time tasks spend in this executor's queue before they start executing. Only tasks
+     * submitted while statistics are {@link #setStatisticsEnabled(boolean) enabled} are tracked.
+     */
+    public HistogramDurationStatisticsTracker getTaskWaitTimeStatistics() {
+        return taskTracker.getWaitTime();
+    }
+
+    /**
+     * Returns statistics of the time tasks take to execute. Only tasks submitted while statistics are
+     * {@link #setStatisticsEnabled(boolean) enabled} are tracked.
+     */
+    public HistogramDurationStatisticsTracker getTaskExecutionTimeStatistics() {
+        return taskTracker.getExecutionTime();
+    }
+
+    /**
+     * Returns the number of tasks rejected by this executor, if its {@link RejectedExecutionHandler} is
+     * a {@link CountingRejectedExecutionHandler}, otherwise 0.
+     */
+    public long getRejectedTaskCount() {
+        return CountingRejectedExecutionHandler.getRejectedTaskCount(getRejectedExecutionHandler());
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        super.execute(taskTracker.track(command));
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return TaskTimingTracker.untrack(super.shutdownNow());
+    }
+
     protected ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
         return toStringHelper;
     }
 
     @Override
     public final String toString() {
-        return addToStringAttributes(MoreObjects.toStringHelper(this)
+        final ToStringHelper helper = MoreObjects.toStringHelper(this)
                 .add("Thread Prefix", threadPrefix)
                 .add("Current Thread Pool Size", getPoolSize())
                 .add("Largest Thread Pool Size", getLargestPoolSize())
@@ -124,7 +181,13 @@ public class CachedThreadPoolExecutor extends ThreadPoolExecutor {
                 .add("Max Queue Size", maximumQueueSize)
                 .add("Active Thread Count", getActiveCount())
                 .add("Completed Task Count", getCompletedTaskCount())
-                .add("Total Task Count", getTaskCount())).toString();
+                .add("Total Task Count", getTaskCount())
+                .add("Rejected Task Count", getRejectedTaskCount());
+        if (taskTracker.isEnabled()) {
+            helper.add("Average Task Wait Time", taskTracker.getWaitTime().getDisplayableAverageDuration())
+                .add("Average Task Execution Time", taskTracker.getExecutionTime().getDisplayableAverageDuration());
+        }
+        return addToStringAttributes(helper).toString();
     }
 
     /**
@@ -47,6 +47,11 @@ public class CountingRejectedExecutionHandler implements RejectedExecutionHandle
         return rejectedTaskCounter.sum();
     }
 
+    static long getRejectedTaskCount(final RejectedExecutionHandler handler) {
+        return handler instanceof CountingRejectedExecutionHandler
+                ? ((CountingRejectedExecutionHandler) handler).getRejectedTaskCount() : 0;
+    }
+
     /**
      * Returns a counting handler for rejected tasks that runs the rejected task directly in the
      * calling thread of the execute method, unless the executor has been shut down, in which case
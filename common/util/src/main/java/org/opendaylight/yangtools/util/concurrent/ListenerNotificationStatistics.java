@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import static java.util.Objects.requireNonNull;
+
+import java.beans.ConstructorProperties;
+import org.opendaylight.yangtools.util.DurationHistogram;
+
+/**
+ * Class used by the {@link QueuedNotificationManager} that contains a snapshot of notification
+ * delivery statistics for a listener, accumulated since the statistics were last reset. Durations
+ * are reported in nanoseconds.
+ *
+ * @see QueuedNotificationManager#getListenerNotificationStatistics()
+ */
+public class ListenerNotificationStatistics extends ListenerNotificationQueueStats {
+
+    private final long deliveredNotificationCount;
+    private final long droppedNotificationCount;
+    private final long rejectedNotificationCount;
+    private final long invocationCount;
+    private final long failedInvocationCount;
+    private final double averageWaitTime;
+    private final long longestWaitTime;
+    private final double averageInvocationTime;
+    private final long longestInvocationTime;
+    private final DurationHistogram waitTimeHistogram;
+    private final DurationHistogram invocationTimeHistogram;
+
+    @ConstructorProperties({ "listenerClassName", "currentQueueSize", "deliveredNotificationCount",
+        "droppedNotificationCount", "rejectedNotificationCount", "invocationCount", "failedInvocationCount",
+        "averageWaitTime", "longestWaitTime", "averageInvocationTime", "longestInvocationTime", "waitTimeHistogram",
+        "invocationTimeHistogram" })
+    public ListenerNotificationStatistics(final String listenerClassName, final int currentQueueSize,
+            final long deliveredNotificationCount, final long droppedNotificationCount,
+            final long rejectedNotificationCount, final long invocationCount, final long failedInvocationCount,
+            final double averageWaitTime, final long longestWaitTime, final double averageInvocationTime,
+            final long longestInvocationTime, final DurationHistogram waitTimeHistogram,
+            final DurationHistogram invocationTimeHistogram) {
+        super(listenerClassName, currentQueueSize);
+        this.deliveredNotificationCount = deliveredNotificationCount;
+        this.droppedNotificationCount = droppedNotificationCount;
+        this.rejectedNotificationCount = rejectedNotificationCount;
+        this.invocationCount = invocationCount;
+        this.failedInvocationCount = failedInvocationCount;
+        this.averageWaitTime = averageWaitTime;
+        this.longestWaitTime = longestWaitTime;
+        this.averageInvocationTime = averageInvocationTime;
+        this.longestInvocationTime = longestInvocationTime;
+        this.waitTimeHistogram = requireNonNull(waitTimeHistogram);
+        this.invocationTimeHistogram = requireNonNull(invocationTimeHistogram);
+    }
+
+    /**
+     * Returns the number of notifications handed to the listener.
+     */
+    public long getDeliveredNotificationCount() {
+        return deliveredNotificationCount;
+    }
+
+    /**
+     * Returns the number of notifications dropped because the listener's queue was full.
+     */
+    public long getDroppedNotificationCount() {
+        return droppedNotificationCount;
+    }
+
+    /**
+     * Returns the number of notifications whose submission failed with a
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    public long getRejectedNotificationCount() {
+        return rejectedNotificationCount;
+    }
+
+    /**
+     * Returns the number of times the listener has been invoked.
+     */
+    public long getInvocationCount() {
+        return invocationCount;
+    }
+
+    /**
+     * Returns the number of listener invocations which threw an exception.
+     */
+    public long getFailedInvocationCount() {
+        return failedInvocationCount;
+    }
+
+    /**
+     * Returns the average time a notification waited between being submitted and being dispatched.
+     */
+    public double getAverageWaitTime() {
+        return averageWaitTime;
+    }
+
+    /**
+     * Returns the longest time a notification waited between being submitted and being dispatched.
+     */
+    public long getLongestWaitTime() {
+        return longestWaitTime;
+    }
+
+    /**
+     * Returns the average duration of a listener invocation.
+     */
+    public double getAverageInvocationTime() {
+        return averageInvocationTime;
+    }
+
+    /**
+     * Returns the longest duration of a listener invocation.
+     */
+    public long getLongestInvocationTime() {
+        return longestInvocationTime;
+    }
+
+    /**
+     * Returns the histogram of times notifications waited between being submitted and being dispatched, which allows
+     * wait time percentiles to be reported.
+     */
+    public DurationHistogram getWaitTimeHistogram() {
+        return waitTimeHistogram;
+    }
+
+    /**
+     * Returns the histogram of listener invocation durations, which allows invocation time percentiles to be
+     * reported.
+     */
+    public DurationHistogram getInvocationTimeHistogram() {
+        return invocationTimeHistogram;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.opendaylight.yangtools.util.HistogramDurationStatisticsTracker;
+
+/**
+ * Mutable statistics of notification delivery to a single listener of a {@link QueuedNotificationManager}. These
+ * outlive individual notification tasks, so they accumulate over the lifetime of the listener.
+ */
+@ThreadSafe
+final class ListenerStatistics {
+    private final HistogramDurationStatisticsTracker waitTime = DurationStatisticsTracker.createHistogram();
+    private final HistogramDurationStatisticsTracker invocationTime = DurationStatisticsTracker.createHistogram();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    void recordWaitTime(final long nanos) {
+        waitTime.addDuration(nanos);
+    }
+
+    void recordInvocation(final int notificationCount, final long nanos, final boolean success) {
+        invocationTime.addDuration(nanos);
+        delivered.add(notificationCount);
+        if (!success) {
+            failed.increment();
+        }
+    }
+
+    void recordDropped(final int notificationCount) {
+        dropped.add(notificationCount);
+    }
+
+    void recordRejected(final int notificationCount) {
+        rejected.add(notificationCount);
+    }
+
+    void reset() {
+        waitTime.reset();
+        invocationTime.reset();
+        delivered.reset();
+        dropped.reset();
+        rejected.reset();
+        failed.reset();
+    }
+
+    ListenerNotificationStatistics toSnapshot(final String listenerName, final int currentQueueSize) {
+        return new ListenerNotificationStatistics(listenerName, currentQueueSize, delivered.sum(), dropped.sum(),
+            rejected.sum(), invocationTime.getTotalDurations(), failed.sum(), waitTime.getAverageDuration(),
+            waitTime.getLongestDuration(), invocationTime.getAverageDuration(), invocationTime.getLongestDuration(),
+            waitTime.getHistogram(), invocationTime.getHistogram());
+    }
+}
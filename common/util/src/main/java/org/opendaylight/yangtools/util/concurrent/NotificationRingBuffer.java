@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongConsumer;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A lock-free bounded queue backing a single {@link QueuedNotificationManager} listener task. It is based on Dmitry
+ * Vyukov's bounded queue, where each slot carries a sequence number indicating whether it is available to producers
+ * or to consumers. The queue is intended for multiple producers and a single consumer, but tolerates producers taking
+ * elements out of it, which is needed to implement {@link QueuedNotificationManager.BackpressurePolicy#DROP_OLDEST}.
+ *
+ * <p>
+ * The queue can be closed by its consumer once it has been drained. The closed state is recorded in the producer
+ * position, hence a producer either observes the queue as closed, or its element is guaranteed to be seen by
+ * the consumer.
+ *
+ * <p>
+ * The queue can optionally record the time at which each element was enqueued, so that the time elements spend
+ * waiting in the queue can be reported when they are dequeued.
+ *
+ * @param <E> element type
+ */
+@ThreadSafe
+final class NotificationRingBuffer<E> {
+    enum OfferResult {
+        /**
+         * The element has been enqueued.
+         */
+        SUCCESS,
+        /**
+         * The queue is full.
+         */
+        FULL,
+        /**
+         * The queue has been closed.
+         */
+        CLOSED
+    }
+
+    private static final long CLOSED_BIT = Long.MIN_VALUE;
+
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerPosition = new AtomicLong();
+    private final AtomicLong consumerPosition = new AtomicLong();
+    // Plain array, as accesses are ordered by sequences
+    private final long[] enqueueTimes;
+    private final int capacity;
+    private final int mask;
+
+    NotificationRingBuffer(final int capacity, final boolean recordEnqueueTimes) {
+        checkArgument(capacity > 0, "Invalid capacity %s", capacity);
+        checkArgument(capacity <= 1 << 30, "Capacity %s is too large", capacity);
+        this.capacity = capacity;
+
+        final int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = length - 1;
+        elements = new AtomicReferenceArray<>(length);
+        sequences = new AtomicLongArray(length);
+        enqueueTimes = recordEnqueueTimes ? new long[length] : null;
+        for (int i = 0; i < length; ++i) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Attempt to enqueue an element.
+     *
+     * @param element Element to enqueue
+     * @return Result of the attempt
+     */
+    OfferResult offer(final E element) {
+        requireNonNull(element);
+
+        long pos = producerPosition.get();
+        while (true) {
+            if ((pos & CLOSED_BIT) != 0) {
+                return OfferResult.CLOSED;
+            }
+            if (pos - consumerPosition.get() >= capacity) {
+                return OfferResult.FULL;
+            }
+
+            final int index = (int) pos & mask;
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (producerPosition.compareAndSet(pos, pos + 1)) {
+                    elements.lazySet(index, element);
+                    if (enqueueTimes != null) {
+                        enqueueTimes[index] = System.nanoTime();
+                    }
+                    // Publishes the element
+                    sequences.set(index, pos + 1);
+                    return OfferResult.SUCCESS;
+                }
+            } else if (diff < 0) {
+                // The slot has not been released by the consumer yet
+                return OfferResult.FULL;
+            }
+
+            pos = producerPosition.get();
+        }
+    }
+
+    /**
+     * Dequeue the oldest element.
+     *
+     * @return The oldest element, or null if the queue is empty or the oldest element has not been published yet.
+     */
+    @Nullable E poll() {
+        return poll(null);
+    }
+
+    /**
+     * Dequeue the oldest element, reporting the time it has spent in the queue.
+     *
+     * @param waitTimeConsumer Consumer of the time the element has spent in the queue, in nanoseconds. It is not
+     *                         invoked if this queue does not record enqueue times.
+     * @return The oldest element, or null if the queue is empty or the oldest element has not been published yet.
+     */
+    @Nullable E poll(@Nullable final LongConsumer waitTimeConsumer) {
+        long pos = consumerPosition.get();
+        while (true) {
+            final int index = (int) pos & mask;
+            final long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (consumerPosition.compareAndSet(pos, pos + 1)) {
+                    final E element = elements.get(index);
+                    elements.lazySet(index, null);
+                    final long enqueueTime = enqueueTimes != null ? enqueueTimes[index] : 0;
+                    // Releases the slot to producers
+                    sequences.set(index, pos + mask + 1);
+                    if (waitTimeConsumer != null && enqueueTimes != null) {
+                        waitTimeConsumer.accept(System.nanoTime() - enqueueTime);
+                    }
+                    return element;
+                }
+            } else if (diff < 0) {
+                return null;
+            }
+
+            pos = consumerPosition.get();
+        }
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int size() {
+        // Read consumer first, so we do not observe it overtaking the producer
+        final long consumer = consumerPosition.get();
+        final long producer = producerPosition.get() & ~CLOSED_BIT;
+        return (int) Math.max(0, producer - consumer);
+    }
+
+    boolean isClosed() {
+        return (producerPosition.get() & CLOSED_BIT) != 0;
+    }
+
+    /**
+     * Attempt to close this queue. This succeeds only if all enqueued elements have been dequeued.
+     *
+     * @return True if the queue was closed, false if there are elements pending.
+     */
+    boolean tryClose() {
+        final long pos = consumerPosition.get();
+        return producerPosition.compareAndSet(pos, pos | CLOSED_BIT);
+    }
+
+    /**
+     * Close this queue unconditionally. Elements which have not been dequeued will not be delivered.
+     */
+    void close() {
+        long pos = producerPosition.get();
+        while ((pos & CLOSED_BIT) == 0 && !producerPosition.compareAndSet(pos, pos | CLOSED_BIT)) {
+            pos = producerPosition.get();
+        }
+    }
+}
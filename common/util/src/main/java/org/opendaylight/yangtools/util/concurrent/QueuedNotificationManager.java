@@ -12,23 +12,24 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ImmutableList;
-import java.util.ArrayDeque;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.PeekingIterator;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Queue;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
-import javax.annotation.concurrent.GuardedBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +45,18 @@ import org.slf4j.LoggerFactory;
  * dispatched are appended to the existing queue. When all notifications have been dispatched, the
  * queue and task are discarded.
  *
+ * <p>Listener queues are lock-free and bounded by {@code maxQueueCapacity}. What happens when a queue is full
+ * is governed by the {@link BackpressurePolicy} specified when the manager is created.
+ *
+ * <p>Notifications which accumulate while a listener is busy are delivered to it in a single batch. A manager created
+ * through {@link #builder(Executor, BatchedInvoker, int, String)} can additionally bound the size of each batch, delay
+ * delivery for a bounded time to allow larger batches to form, and {@link Coalescer coalesce} pending notifications,
+ * so a lagging listener receives their combined effect rather than every intermediate state.
+ *
+ * <p>A manager can also be built to keep per-listener {@link ListenerNotificationStatistics statistics} of how long
+ * notifications wait before being dispatched, how long listener invocations take and how many notifications are
+ * dropped or rejected.
+ *
  * @author Thomas Pantelis
  *
  * @param <L> the listener type
@@ -84,6 +97,142 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
         void invokeListener(@Nonnull L listener, @Nonnull Collection<? extends N> notifications);
     }
 
+    /**
+     * Strategy for coalescing notifications pending for a listener before they are delivered.
+     *
+     * @param <N> the notification type
+     */
+    @FunctionalInterface
+    public interface Coalescer<N> {
+        /**
+         * Coalesce a batch of notifications pending for a listener. Implementations can merge redundant
+         * notifications, such as successive changes to the same subtree, or drop those which have been superseded.
+         *
+         * @param notifications pending notifications in the order they were submitted, must not be modified
+         * @return notifications to deliver, in delivery order
+         */
+        @Nonnull List<N> coalesce(@Nonnull List<N> notifications);
+    }
+
+    /**
+     * Builder of {@link QueuedNotificationManager} instances. Unless configured otherwise, the built manager blocks
+     * submitters when a listener queue is full, does not coalesce notifications and delivers all pending
+     * notifications as soon as the listener is available.
+     *
+     * @param <L> the listener type
+     * @param <N> the notification type
+     */
+    public static final class Builder<L, N>
+            implements org.opendaylight.yangtools.concepts.Builder<QueuedNotificationManager<L, N>> {
+        private final Executor executor;
+        private final BatchedInvoker<L, N> listenerInvoker;
+        private final int maxQueueCapacity;
+        private final String name;
+
+        private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+        private Coalescer<N> coalescer;
+        private int maxBatchSize = Integer.MAX_VALUE;
+        private long maxBatchDelayNanos = 0;
+        private boolean statisticsEnabled = false;
+
+        Builder(final Executor executor, final BatchedInvoker<L, N> listenerInvoker, final int maxQueueCapacity,
+                final String name) {
+            this.executor = requireNonNull(executor);
+            this.listenerInvoker = requireNonNull(listenerInvoker);
+            this.maxQueueCapacity = maxQueueCapacity;
+            this.name = requireNonNull(name);
+        }
+
+        /**
+         * Set the policy to apply when a listener queue is full.
+         *
+         * @param backpressurePolicy the backpressure policy
+         * @return this builder
+         */
+        public Builder<L, N> setBackpressurePolicy(final BackpressurePolicy backpressurePolicy) {
+            this.backpressurePolicy = requireNonNull(backpressurePolicy);
+            return this;
+        }
+
+        /**
+         * Set the strategy used to coalesce pending notifications before they are delivered.
+         *
+         * @param coalescer the coalescing strategy
+         * @return this builder
+         */
+        public Builder<L, N> setCoalescer(final Coalescer<N> coalescer) {
+            this.coalescer = requireNonNull(coalescer);
+            return this;
+        }
+
+        /**
+         * Set the maximum number of notifications delivered to a listener in a single invocation. Notifications
+         * are coalesced before being split into batches.
+         *
+         * @param maxBatchSize the maximum batch size
+         * @return this builder
+         */
+        public Builder<L, N> setMaxBatchSize(final int maxBatchSize) {
+            checkArgument(maxBatchSize > 0, "Invalid maxBatchSize %s must be > 0", maxBatchSize);
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Set the maximum time for which delivery of a notification can be delayed to allow a larger batch to form.
+         * A batch is delivered as soon as it reaches the maximum batch size or the queue capacity, or when this time
+         * elapses after its first notification has been dequeued. Defaults to zero, where notifications are
+         * delivered as soon as the listener is available.
+         *
+         * @param delay the maximum delay
+         * @param unit the time unit of {@code delay}
+         * @return this builder
+         */
+        public Builder<L, N> setMaxBatchDelay(final long delay, final TimeUnit unit) {
+            checkArgument(delay >= 0, "Invalid delay %s must be >= 0", delay);
+            this.maxBatchDelayNanos = unit.toNanos(delay);
+            return this;
+        }
+
+        /**
+         * Enable or disable collection of per-listener statistics. Statistics are disabled by default.
+         *
+         * @param statisticsEnabled whether statistics should be collected
+         * @return this builder
+         * @see QueuedNotificationManager#getListenerNotificationStatistics()
+         */
+        public Builder<L, N> setStatisticsEnabled(final boolean statisticsEnabled) {
+            this.statisticsEnabled = statisticsEnabled;
+            return this;
+        }
+
+        @Override
+        public QueuedNotificationManager<L, N> build() {
+            return new QueuedNotificationManager<>(executor, listenerInvoker, maxQueueCapacity, name,
+                backpressurePolicy, coalescer, maxBatchSize, maxBatchDelayNanos, statisticsEnabled);
+        }
+    }
+
+    /**
+     * Policy governing what happens when notifications are submitted to a listener whose queue is full.
+     */
+    public enum BackpressurePolicy {
+        /**
+         * Block the submitting thread until the listener catches up. If the listener does not make progress
+         * for 10 minutes, the notifications are dropped and a warning is logged.
+         */
+        BLOCK,
+        /**
+         * Drop the oldest queued notification to make room for the submitted one.
+         */
+        DROP_OLDEST,
+        /**
+         * Fail the submission with a {@link RejectedExecutionException}. Notifications which fit into
+         * the queue before it became full are still delivered.
+         */
+        FAIL
+    }
+
     private static final Logger LOG = LoggerFactory.getLogger(QueuedNotificationManager.class);
 
     /**
@@ -93,20 +242,34 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
     private static final int MAX_NOTIFICATION_OFFER_MINUTES = 10;
     private static final long GIVE_UP_NANOS = TimeUnit.MINUTES.toNanos(MAX_NOTIFICATION_OFFER_MINUTES);
     private static final long TASK_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
 
     private final ConcurrentMap<ListenerKey<L>, NotificationTask> listenerCache = new ConcurrentHashMap<>();
+    // Weakly keyed by listener identity, so statistics do not keep listeners alive. Null if statistics are disabled.
+    private final ConcurrentMap<L, ListenerStatistics> listenerStatistics;
     private final BatchedInvoker<L, N> listenerInvoker;
     private final Executor executor;
+    private final BackpressurePolicy backpressurePolicy;
+    private final Coalescer<N> coalescer;
     private final String name;
     private final int maxQueueCapacity;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
 
     private QueuedNotificationManager(final Executor executor, final BatchedInvoker<L, N> listenerInvoker,
-            final int maxQueueCapacity, final String name) {
+            final int maxQueueCapacity, final String name, final BackpressurePolicy backpressurePolicy,
+            final Coalescer<N> coalescer, final int maxBatchSize, final long maxBatchDelayNanos,
+            final boolean statisticsEnabled) {
         checkArgument(maxQueueCapacity > 0, "Invalid maxQueueCapacity %s must be > 0", maxQueueCapacity);
         this.executor = requireNonNull(executor);
         this.listenerInvoker = requireNonNull(listenerInvoker);
         this.maxQueueCapacity = maxQueueCapacity;
         this.name = requireNonNull(name);
+        this.backpressurePolicy = requireNonNull(backpressurePolicy);
+        this.coalescer = coalescer;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayNanos = maxBatchDelayNanos;
+        this.listenerStatistics = statisticsEnabled ? new MapMaker().weakKeys().makeMap() : null;
     }
 
     /**
@@ -130,12 +293,13 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
                 LOG.error("{}: Error notifying listener {} with {}", name, listener, n, e);
             }
 
-        }), maxQueueCapacity, name);
+        }), maxQueueCapacity, name, BackpressurePolicy.BLOCK, null, Integer.MAX_VALUE, 0,
+            false);
         requireNonNull(listenerInvoker);
     }
 
     /**
-     * Create a new notification manager.
+     * Create a new notification manager, which blocks submitters when a listener queue is full.
      *
      * @param executor the {@link Executor} to use for notification tasks
      * @param listenerInvoker the {@link BatchedInvoker} to use for invoking listeners
@@ -144,7 +308,36 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
      */
     public static <L, N> QueuedNotificationManager<L, N> create(final Executor executor,
             final BatchedInvoker<L, N> listenerInvoker, final int maxQueueCapacity, final String name) {
-        return new QueuedNotificationManager<>(executor, listenerInvoker, maxQueueCapacity, name);
+        return create(executor, listenerInvoker, maxQueueCapacity, name, BackpressurePolicy.BLOCK);
+    }
+
+    /**
+     * Create a new notification manager.
+     *
+     * @param executor the {@link Executor} to use for notification tasks
+     * @param listenerInvoker the {@link BatchedInvoker} to use for invoking listeners
+     * @param maxQueueCapacity the capacity of each listener queue
+     * @param name the name of this instance for logging info
+     * @param backpressurePolicy the policy to apply when a listener queue is full
+     */
+    public static <L, N> QueuedNotificationManager<L, N> create(final Executor executor,
+            final BatchedInvoker<L, N> listenerInvoker, final int maxQueueCapacity, final String name,
+            final BackpressurePolicy backpressurePolicy) {
+        return builder(executor, listenerInvoker, maxQueueCapacity, name).setBackpressurePolicy(backpressurePolicy)
+                .build();
+    }
+
+    /**
+     * Create a new {@link Builder} of notification managers.
+     *
+     * @param executor the {@link Executor} to use for notification tasks
+     * @param listenerInvoker the {@link BatchedInvoker} to use for invoking listeners
+     * @param maxQueueCapacity the capacity of each listener queue
+     * @param name the name of this instance for logging info
+     */
+    public static <L, N> Builder<L, N> builder(final Executor executor, final BatchedInvoker<L, N> listenerInvoker,
+            final int maxQueueCapacity, final String name) {
+        return new Builder<>(executor, listenerInvoker, maxQueueCapacity, name);
     }
 
     /**
@@ -154,6 +347,13 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
         return maxQueueCapacity;
     }
 
+    /**
+     * Returns the policy applied when a listener queue is full.
+     */
+    public BackpressurePolicy getBackpressurePolicy() {
+        return backpressurePolicy;
+    }
+
     /**
      * Returns the {@link Executor} to used for notification tasks.
      */
@@ -190,7 +390,7 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
         // add our notifications to an existing NotificationTask. Eventually one or the other
         // will occur.
         try {
-            Iterator<N> it = notifications.iterator();
+            PeekingIterator<N> it = Iterators.peekingIterator(notifications.iterator());
 
             while (true) {
                 NotificationTask task = listenerCache.get(key);
@@ -208,7 +408,7 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
 
                     // We have a racing task, hence we can continue, but we need to refresh our iterator from
                     // the task.
-                    it = newTask.recoverItems();
+                    it = Iterators.peekingIterator(newTask.recoverItems());
                 }
 
                 final boolean completed = task.submitNotifications(it);
@@ -223,7 +423,7 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
 
                     // We failed to replace the task, hence we need retry. Note we have to recover the items to be
                     // published from the new task.
-                    it = newTask.recoverItems();
+                    it = Iterators.peekingIterator(newTask.recoverItems());
                     LOG.debug("{}: retrying task queueing for {}", name, listener);
                     continue;
                 }
@@ -250,9 +450,58 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
             t.size())).collect(Collectors.toList());
     }
 
+    /**
+     * Returns {@link ListenerNotificationStatistics} for each listener which has been notified by this manager and has
+     * not been garbage-collected since. The returned list is empty if statistics are not enabled.
+     */
+    public List<ListenerNotificationStatistics> getListenerNotificationStatistics() {
+        if (listenerStatistics == null) {
+            return ImmutableList.of();
+        }
+
+        return listenerStatistics.entrySet().stream()
+                .map(entry -> toSnapshot(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns {@link ListenerNotificationStatistics} for a particular listener.
+     *
+     * @param listener the listener
+     * @return Statistics of the listener, or empty if statistics are not enabled or the listener has not been
+     *         notified by this manager.
+     */
+    public Optional<ListenerNotificationStatistics> getListenerNotificationStatistics(final L listener) {
+        if (listenerStatistics == null) {
+            return Optional.empty();
+        }
+
+        final ListenerStatistics stats = listenerStatistics.get(requireNonNull(listener));
+        return stats == null ? Optional.empty() : Optional.of(toSnapshot(listener, stats));
+    }
+
+    /**
+     * Resets statistics of all listeners.
+     */
+    public void resetListenerNotificationStatistics() {
+        if (listenerStatistics != null) {
+            listenerStatistics.values().forEach(ListenerStatistics::reset);
+        }
+    }
+
+    private ListenerNotificationStatistics toSnapshot(final L listener, final ListenerStatistics stats) {
+        final NotificationTask task = listenerCache.get(new ListenerKey<>(listener));
+        return stats.toSnapshot(listener.toString(), task == null ? 0 : task.size());
+    }
+
     private void runTask(final L listener, final NotificationTask task) {
         LOG.debug("{}: Submitting NotificationTask for listener {}", name, listener);
-        executor.execute(task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.recordRejected(task.size());
+            throw e;
+        }
     }
 
     /**
@@ -294,149 +543,312 @@ public class QueuedNotificationManager<L, N> implements NotificationManager<L, N
 
     /**
      * Executor task for a single listener that queues notifications and sends them serially to the
-     * listener.
+     * listener. Notifications are queued in a lock-free {@link NotificationRingBuffer}, with the executing
+     * thread being its sole consumer.
      */
     private class NotificationTask implements Runnable {
-
-        private final Lock lock = new ReentrantLock();
-        private final Condition notEmpty = lock.newCondition();
-        private final Condition notFull = lock.newCondition();
         private final ListenerKey<L> listenerKey;
+        private final NotificationRingBuffer<N> queue;
+        private final ListenerStatistics statistics;
+        private final LongConsumer waitTimeRecorder;
+        private final long createdNanos;
+
+        // Notifications handed to us at construction, these are not bounded by queue capacity
+        private volatile List<N> initial;
 
-        @GuardedBy("lock")
-        private final Queue<N> queue = new ArrayDeque<>();
-        @GuardedBy("lock")
-        private boolean exiting;
+        // The thread waiting for notifications, if any
+        private volatile Thread waiter;
 
         NotificationTask(final ListenerKey<L> listenerKey, final Iterator<N> notifications) {
             this.listenerKey = requireNonNull(listenerKey);
-            while (notifications.hasNext()) {
-                queue.offer(notifications.next());
+            if (listenerStatistics != null) {
+                statistics = listenerStatistics.computeIfAbsent(listenerKey.getListener(),
+                    k -> new ListenerStatistics());
+                waitTimeRecorder = statistics::recordWaitTime;
+                createdNanos = System.nanoTime();
+            } else {
+                statistics = null;
+                waitTimeRecorder = null;
+                createdNanos = 0;
             }
+            this.queue = new NotificationRingBuffer<>(maxQueueCapacity, statistics != null);
+            this.initial = ImmutableList.copyOf(notifications);
         }
 
         Iterator<N> recoverItems() {
-            // This violates @GuardedBy annotation, but is invoked only when the task is not started and will never
-            // get started, hence this is safe.
-            return queue.iterator();
+            // This is invoked only when the task is not started and will never get started, hence this is safe.
+            return initial.iterator();
         }
 
         int size() {
-            lock.lock();
-            try {
-                return queue.size();
-            } finally {
-                lock.unlock();
-            }
+            final List<N> local = initial;
+            return queue.size() + (local == null ? 0 : local.size());
         }
 
-        boolean submitNotifications(final Iterator<N> notifications) throws InterruptedException {
-            final long start = System.nanoTime();
-            final long deadline = start + GIVE_UP_NANOS;
+        boolean submitNotifications(final PeekingIterator<N> notifications) throws InterruptedException {
+            final long deadline = System.nanoTime() + GIVE_UP_NANOS;
+            long backoff = 1;
 
-            lock.lock();
             try {
-                // Lock may have blocked for some time, we need to take that into account. We may have exceedded
-                // the deadline, but that is unlikely and even in that case we can make some progress without further
-                // blocking.
-                long canWait = deadline - System.nanoTime();
+                while (notifications.hasNext()) {
+                    // Do not consume the notification until it is queued, so the caller can recover it if we are closed
+                    final N notification = notifications.peek();
+
+                    while (true) {
+                        final NotificationRingBuffer.OfferResult result = queue.offer(notification);
+                        if (result == NotificationRingBuffer.OfferResult.SUCCESS) {
+                            notifications.next();
+                            backoff = 1;
+                            break;
+                        }
+                        if (result == NotificationRingBuffer.OfferResult.CLOSED) {
+                            // #run is exiting, return false to indicate such. The caller will queue the remaining
+                            // notifications to a new task.
+                            return false;
+                        }
 
-                while (true) {
-                    // Check the exiting flag - if true then #run is in the process of exiting so return
-                    // false to indicate such. Otherwise, offer the notifications to the queue.
-                    if (exiting) {
-                        return false;
-                    }
+                        // The queue is full
+                        switch (backpressurePolicy) {
+                            case DROP_OLDEST:
+                                final N dropped = queue.poll();
+                                if (dropped != null) {
+                                    recordDropped(1);
+                                    LOG.debug("{}: Dropped notification {} for listener {}", name, dropped,
+                                        listenerKey);
+                                }
+                                continue;
+                            case FAIL:
+                                final List<N> rejected = ImmutableList.copyOf(notifications);
+                                recordRejected(rejected.size());
+                                throw new RejectedExecutionException(String.format(
+                                    "%s: queue for listener %s is full, rejected %s", name, listenerKey, rejected));
+                            case BLOCK:
+                            default:
+                                break;
+                        }
+
+                        // Make sure the consumer knows about what we have already published, so it can make room.
+                        wakeUp();
 
-                    final int avail = maxQueueCapacity - queue.size();
-                    if (avail <= 0) {
+                        final long canWait = deadline - System.nanoTime();
                         if (canWait <= 0) {
+                            final List<N> dropped = ImmutableList.copyOf(notifications);
+                            recordDropped(dropped.size());
                             LOG.warn("{}: Failed to offer notifications {} to the queue for listener {}. Exceeded"
                                 + "maximum allowable time of {} minutes; the listener is likely in an unrecoverable"
-                                + "state (deadlock or endless loop). ", name, ImmutableList.copyOf(notifications),
+                                + "state (deadlock or endless loop). ", name, dropped,
                                 listenerKey, MAX_NOTIFICATION_OFFER_MINUTES);
                             return true;
                         }
 
-                        canWait = notFull.awaitNanos(canWait);
-                        continue;
-                    }
-
-                    for (int i = 0; i < avail; ++i) {
-                        if (!notifications.hasNext()) {
-                            notEmpty.signal();
-                            return true;
+                        LockSupport.parkNanos(this, Math.min(backoff, canWait));
+                        if (Thread.interrupted()) {
+                            throw new InterruptedException();
                         }
-
-                        queue.offer(notifications.next());
+                        backoff = Math.min(backoff << 1, MAX_BACKOFF_NANOS);
                     }
                 }
+                return true;
             } finally {
-                lock.unlock();
+                wakeUp();
+            }
+        }
+
+        void recordRejected(final int count) {
+            if (statistics != null) {
+                statistics.recordRejected(count);
+            }
+        }
+
+        private void recordDropped(final int count) {
+            if (statistics != null) {
+                statistics.recordDropped(count);
+            }
+        }
+
+        private void wakeUp() {
+            final Thread local = waiter;
+            if (local != null) {
+                LockSupport.unpark(local);
             }
         }
 
-        @GuardedBy("lock")
         private boolean waitForQueue() {
-            long timeout = TASK_WAIT_NANOS;
+            if (!queue.isEmpty()) {
+                return true;
+            }
 
-            while (queue.isEmpty()) {
-                if (timeout <= 0) {
-                    return false;
-                }
+            final long deadline = System.nanoTime() + TASK_WAIT_NANOS;
+            waiter = Thread.currentThread();
+            try {
+                // Producers check the waiter after publishing, hence we need to re-check the queue after setting it
+                while (queue.isEmpty()) {
+                    final long timeout = deadline - System.nanoTime();
+                    if (timeout <= 0) {
+                        return false;
+                    }
 
-                try {
-                    timeout = notEmpty.awaitNanos(timeout);
-                } catch (InterruptedException e) {
-                    // The executor is probably shutting down so log as debug.
-                    LOG.debug("{}: Interrupted trying to remove from {} listener's queue", name, listenerKey);
-                    return false;
+                    LockSupport.parkNanos(this, timeout);
+                    if (Thread.interrupted()) {
+                        // The executor is probably shutting down so log as debug.
+                        LOG.debug("{}: Interrupted trying to remove from {} listener's queue", name, listenerKey);
+                        return false;
+                    }
                 }
+                return true;
+            } finally {
+                waiter = null;
             }
-
-            return true;
         }
 
         @Override
         public void run() {
             try {
+                List<N> local = initial;
+                initial = null;
+                if (!local.isEmpty()) {
+                    if (statistics != null) {
+                        final long waitTime = System.nanoTime() - createdNanos;
+                        for (int i = 0; i < local.size(); ++i) {
+                            statistics.recordWaitTime(waitTime);
+                        }
+                    }
+                    if (maxBatchDelayNanos > 0) {
+                        local = new ArrayList<>(local);
+                        lingerFor(local, Math.min(maxBatchSize, queue.capacity()));
+                    }
+                    deliver(local);
+                }
+
                 // Loop until we've dispatched all the notifications in the queue.
                 while (true) {
-                    final Collection<N> notifications;
-
-                    lock.lock();
-                    try {
-                        if (!waitForQueue()) {
-                            exiting = true;
+                    if (!waitForQueue()) {
+                        if (queue.tryClose()) {
                             break;
                         }
 
-                        // Splice the entire queue
-                        notifications = ImmutableList.copyOf(queue);
-                        queue.clear();
+                        // Raced with a producer, we need to deliver its notifications
+                        continue;
+                    }
+
+                    // Splice what has been published so far, but no more than a queue's worth, so we do not keep
+                    // accumulating notifications while producers keep up with us.
+                    final int limit = queue.capacity();
+                    final List<N> notifications = new ArrayList<>(Math.min(queue.size(), limit));
+                    drainTo(notifications, limit);
 
-                        notFull.signalAll();
-                    } finally {
-                        lock.unlock();
+                    if (notifications.isEmpty()) {
+                        // A producer has reserved a slot, but has not published the notification yet
+                        Thread.yield();
+                        continue;
                     }
 
-                    invokeListener(notifications);
+                    if (maxBatchDelayNanos > 0) {
+                        lingerFor(notifications, Math.min(maxBatchSize, limit));
+                    }
+                    deliver(notifications);
                 }
             } finally {
-                // We're exiting, gracefully or not - either way make sure we always remove
-                // ourselves from the cache.
+                // We're exiting, gracefully or not - either way make sure we always remove ourselves from the cache
+                // and make sure no producer can add to our queue.
+                queue.close();
                 listenerCache.remove(listenerKey, this);
             }
         }
 
+        private void drainTo(final List<N> notifications, final int limit) {
+            while (notifications.size() < limit) {
+                final N notification = queue.poll(waitTimeRecorder);
+                if (notification == null) {
+                    break;
+                }
+                notifications.add(notification);
+            }
+        }
+
+        /**
+         * Wait for more notifications to be published, until the batch reaches specified size or the maximum batch
+         * delay elapses.
+         */
+        private void lingerFor(final List<N> notifications, final int limit) {
+            final long deadline = System.nanoTime() + maxBatchDelayNanos;
+            waiter = Thread.currentThread();
+            try {
+                // Producers check the waiter after publishing, hence we need to drain after setting it
+                while (true) {
+                    drainTo(notifications, limit);
+                    if (notifications.size() >= limit) {
+                        return;
+                    }
+
+                    final long timeout = deadline - System.nanoTime();
+                    if (timeout <= 0) {
+                        return;
+                    }
+
+                    LockSupport.parkNanos(this, timeout);
+                    if (Thread.interrupted()) {
+                        // Deliver what we have, waitForQueue() will notice the interrupt
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            } finally {
+                waiter = null;
+            }
+        }
+
+        /**
+         * Coalesce notifications and deliver them in batches of at most {@code maxBatchSize}.
+         */
+        private void deliver(final List<N> notifications) {
+            final List<N> batch = coalesce(notifications);
+            final int size = batch.size();
+            if (size <= maxBatchSize) {
+                if (size != 0) {
+                    invokeListener(batch);
+                }
+                return;
+            }
+
+            for (int from = 0; from < size; from += maxBatchSize) {
+                invokeListener(batch.subList(from, size - from > maxBatchSize ? from + maxBatchSize : size));
+            }
+        }
+
+        @SuppressWarnings("checkstyle:illegalCatch")
+        private List<N> coalesce(final List<N> notifications) {
+            if (coalescer == null || notifications.size() < 2) {
+                return notifications;
+            }
+
+            try {
+                final List<N> coalesced = requireNonNull(coalescer.coalesce(notifications));
+                LOG.trace("{}: Coalesced {} notifications into {} for listener {}", name, notifications.size(),
+                    coalesced.size(), listenerKey);
+                return coalesced;
+            } catch (Exception e) {
+                LOG.error("{}: Error coalescing notifications {} for listener {}, delivering them as-is", name,
+                    notifications, listenerKey, e);
+                return notifications;
+            }
+        }
+
         @SuppressWarnings("checkstyle:illegalCatch")
         private void invokeListener(final Collection<N> notifications) {
             LOG.debug("{}: Invoking listener {} with notification: {}", name, listenerKey, notifications);
+            final long startNanos = statistics != null ? System.nanoTime() : 0;
+            boolean success = false;
             try {
                 listenerInvoker.invokeListener(listenerKey.getListener(), notifications);
+                success = true;
             } catch (Exception e) {
                 // We'll let a RuntimeException from the listener slide and keep sending any remaining notifications.
                 LOG.error("{}: Error notifying listener {} with {}", name, listenerKey, notifications, e);
+            } finally {
+                if (statistics != null) {
+                    statistics.recordInvocation(notifications.size(), System.nanoTime() - startNanos, success);
+                }
             }
         }
     }
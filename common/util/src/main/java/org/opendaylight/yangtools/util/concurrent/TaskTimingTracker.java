@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util.concurrent;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Future;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.util.DurationStatisticsTracker;
+import org.opendaylight.yangtools.util.HistogramDurationStatisticsTracker;
+
+/**
+ * Tracks the time tasks submitted to a thread pool spend waiting in its queue and executing. While tracking is enabled,
+ * tasks are wrapped in a {@link Runnable} which records the time at which it was submitted. Tracking is disabled by
+ * default, in which case tasks are submitted as they are.
+ */
+@ThreadSafe
+final class TaskTimingTracker {
+    private final HistogramDurationStatisticsTracker waitTime = DurationStatisticsTracker.createHistogram();
+    private final HistogramDurationStatisticsTracker executionTime = DurationStatisticsTracker.createHistogram();
+
+    private volatile boolean enabled;
+
+    HistogramDurationStatisticsTracker getWaitTime() {
+        return waitTime;
+    }
+
+    HistogramDurationStatisticsTracker getExecutionTime() {
+        return executionTime;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    Runnable track(final Runnable task) {
+        return enabled ? new TimedTask(task, System.nanoTime()) : task;
+    }
+
+    /**
+     * Find the tracking wrapper of a task in a queue.
+     *
+     * @param queue Queue to search
+     * @param task Task to find
+     * @return The wrapper, or the task itself if it is not present in the queue
+     */
+    static Runnable find(final Queue<Runnable> queue, final Runnable task) {
+        for (Runnable queued : queue) {
+            if (untrack(queued) == task) {
+                return queued;
+            }
+        }
+        return task;
+    }
+
+    static boolean isCancelled(final Runnable task) {
+        final Runnable unwrapped = untrack(task);
+        return unwrapped instanceof Future && ((Future<?>) unwrapped).isCancelled();
+    }
+
+    static Runnable untrack(final Runnable task) {
+        return task instanceof TimedTask ? ((TimedTask) task).delegate : task;
+    }
+
+    static List<Runnable> untrack(final List<Runnable> tasks) {
+        tasks.replaceAll(TaskTimingTracker::untrack);
+        return tasks;
+    }
+
+    private final class TimedTask implements Runnable {
+        private final Runnable delegate;
+        private final long submitNanos;
+
+        TimedTask(final Runnable delegate, final long submitNanos) {
+            this.delegate = requireNonNull(delegate);
+            this.submitNanos = submitNanos;
+        }
+
+        @Override
+        public void run() {
+            final long startNanos = System.nanoTime();
+            waitTime.addDuration(startNanos - submitNanos);
+            try {
+                delegate.run();
+            } finally {
+                executionTime.addDuration(System.nanoTime() - startNanos);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
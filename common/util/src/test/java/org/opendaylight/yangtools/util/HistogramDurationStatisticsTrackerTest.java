@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class HistogramDurationStatisticsTrackerTest {
+
+    @Test
+    public void testBucketBounds() {
+        for (long duration : new long[] { 0, 1, 31, 32, 33, 63, 64, 65, 1000, 123456789, Long.MAX_VALUE }) {
+            final int index = DurationHistogram.bucketIndex(duration);
+            assertTrue(DurationHistogram.bucketLowerBound(index) <= duration);
+            assertTrue(DurationHistogram.bucketUpperBound(index) >= duration);
+        }
+
+        for (int i = 1; i < DurationHistogram.BUCKET_COUNT; ++i) {
+            assertEquals(DurationHistogram.bucketUpperBound(i - 1) + 1, DurationHistogram.bucketLowerBound(i));
+        }
+    }
+
+    @Test
+    public void testStatistics() {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+
+        tracker.addDuration(10000);
+        tracker.addDuration(30000);
+        assertEquals("getTotalDurations", 2, tracker.getTotalDurations());
+        assertEquals("getAverageDuration", 20000.0, tracker.getAverageDuration(), 0.1);
+        assertEquals("getLongestDuration", 30000, tracker.getLongestDuration());
+        assertEquals("getShortestDuration", 10000, tracker.getShortestDuration());
+
+        tracker.reset();
+        assertEquals("getTotalDurations", 0, tracker.getTotalDurations());
+        assertEquals("getAverageDuration", 0.0, tracker.getAverageDuration(), 0.1);
+        assertEquals("getLongestDuration", 0, tracker.getLongestDuration());
+        assertEquals("getDurationAtPercentile", 0, tracker.getDurationAtPercentile(50));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        for (int i = 1; i <= 1000; ++i) {
+            tracker.addDuration(i * 1000L);
+        }
+
+        final DurationHistogram histogram = tracker.getHistogram();
+        assertEquals(1000, histogram.getTotalDurations());
+        assertEquals(500500.0, histogram.getAverageDuration(), 0.1);
+        assertPercentile(500000, histogram.getDurationAtPercentile(50));
+        assertPercentile(990000, histogram.getDurationAtPercentile(99));
+        assertPercentile(999000, histogram.getDurationAtPercentile(99.9));
+        assertPercentile(1000000, histogram.getDurationAtPercentile(100));
+        assertPercentile(1000, histogram.getDurationAtPercentile(0));
+    }
+
+    @Test
+    public void testIntervalHistogram() {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        tracker.addDuration(1000);
+        tracker.addDuration(2000);
+        assertEquals(2, tracker.getIntervalHistogram().getTotalDurations());
+
+        tracker.addDuration(1000000);
+        final DurationHistogram interval = tracker.getIntervalHistogram();
+        assertEquals(1, interval.getTotalDurations());
+        assertEquals(1000000.0, interval.getAverageDuration(), 0.1);
+        assertPercentile(1000000, interval.getDurationAtPercentile(50));
+        assertEquals(0, tracker.getIntervalHistogram().getTotalDurations());
+        assertEquals(3, tracker.getHistogram().getTotalDurations());
+
+        tracker.reset();
+        tracker.addDuration(1000);
+        assertEquals(1, tracker.getIntervalHistogram().getTotalDurations());
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        final HistogramDurationStatisticsTracker tracker = DurationStatisticsTracker.createHistogram();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            final Thread thread = new Thread(() -> {
+                for (int j = 1; j <= 100000; ++j) {
+                    tracker.addDuration(j);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(800000, tracker.getTotalDurations());
+        assertEquals(50000.5, tracker.getAverageDuration(), 0.1);
+        assertEquals(100000, tracker.getLongestDuration());
+        assertEquals(1, tracker.getShortestDuration());
+    }
+
+    private static void assertPercentile(final long expected, final long actual) {
+        assertEquals(expected, actual, expected / (double) DurationHistogram.SUB_BUCKET_COUNT);
+    }
+}
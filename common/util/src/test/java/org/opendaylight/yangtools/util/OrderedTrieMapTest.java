@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OrderedTrieMapTest {
+    private MapAdaptor adaptor;
+
+    @Before
+    public void setUp() {
+        adaptor = MapAdaptor.getInstance(true, 10, 5);
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        final Map<String, String> map = new ReadWriteOrderedTrieMap<>();
+        map.put("c", "1");
+        map.put("a", "2");
+        map.put("b", "3");
+        map.put("a", "4");
+
+        assertEquals(3, map.size());
+        assertEquals("4", map.get("a"));
+        assertEquals(ImmutableList.of("c", "a", "b"), ImmutableList.copyOf(map.keySet()));
+        assertEquals(ImmutableList.of("1", "4", "3"), ImmutableList.copyOf(map.values()));
+
+        assertEquals("4", map.remove("a"));
+        assertNull(map.remove("a"));
+        assertFalse(map.containsKey("a"));
+        map.put("a", "5");
+        assertEquals(ImmutableList.of("c", "b", "a"), ImmutableList.copyOf(map.keySet()));
+    }
+
+    @Test
+    public void testSnapshotIsolation() {
+        final Map<String, String> input = new LinkedHashMap<>();
+        for (char c = 'z'; c >= 'a'; --c) {
+            input.put(String.valueOf(c), String.valueOf(c));
+        }
+
+        final Map<String, String> opt = adaptor.optimizeOrdered(new LinkedHashMap<>(input));
+        assertTrue(opt instanceof ReadOnlyOrderedTrieMap);
+        assertEquals(input, opt);
+        assertEquals(ImmutableList.copyOf(input.keySet()), ImmutableList.copyOf(opt.keySet()));
+
+        final Map<String, String> snap = adaptor.takeOrderedSnapshot(opt);
+        assertTrue(snap instanceof ReadWriteOrderedTrieMap);
+        snap.remove("m");
+        snap.put("z", "last");
+        snap.put("0", "0");
+
+        // The original must not be affected
+        assertEquals(input, opt);
+        assertEquals(ImmutableList.copyOf(input.keySet()), ImmutableList.copyOf(opt.keySet()));
+
+        final Map<String, String> expected = new LinkedHashMap<>(input);
+        expected.remove("m");
+        expected.put("z", "last");
+        expected.put("0", "0");
+        final Map<String, String> opt2 = adaptor.optimizeOrdered(snap);
+        assertTrue(opt2 instanceof ReadOnlyOrderedTrieMap);
+        assertEquals(expected, opt2);
+        assertEquals(ImmutableList.copyOf(expected.entrySet()), ImmutableList.copyOf(opt2.entrySet()));
+    }
+
+    @Test
+    public void testShrinkToLinkedHashMap() {
+        final Map<String, String> input = new LinkedHashMap<>();
+        for (char c = 'a'; c <= 'z'; ++c) {
+            input.put(String.valueOf(c), String.valueOf(c));
+        }
+
+        final Map<String, String> snap = adaptor.takeOrderedSnapshot(adaptor.optimizeOrdered(input));
+        for (char c = 'a'; c <= 'w'; ++c) {
+            snap.remove(String.valueOf(c));
+        }
+
+        final Map<String, String> opt = adaptor.optimizeOrdered(snap);
+        assertTrue(opt instanceof LinkedHashMap);
+        assertEquals(ImmutableList.of("x", "y", "z"), ImmutableList.copyOf(opt.keySet()));
+        assertSame(opt, adaptor.optimizeOrdered(opt));
+    }
+
+    @Test
+    public void testGetOrderedValue() {
+        final Map<Integer, Integer> input = new LinkedHashMap<>();
+        for (int i = 0; i < 100; ++i) {
+            input.put(99 - i, i);
+        }
+
+        final Map<Integer, Integer> opt = adaptor.optimizeOrdered(new LinkedHashMap<>(input));
+        assertTrue(opt instanceof ReadOnlyOrderedTrieMap);
+        final Map<Integer, Integer> snap = adaptor.takeOrderedSnapshot(opt);
+        snap.remove(99);
+        snap.put(-1, 100);
+
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(Integer.valueOf(i), adaptor.getOrderedValue(opt, i));
+            assertEquals(Integer.valueOf(i + 1), adaptor.getOrderedValue(snap, i));
+            assertEquals(Integer.valueOf(i), adaptor.getOrderedValue(input, i));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOrderedValueOutOfRange() {
+        final Map<String, String> map = new ReadWriteOrderedTrieMap<>();
+        map.put("a", "a");
+        adaptor.getOrderedValue(map, 1);
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        final Map<Integer, Integer> expected = new LinkedHashMap<>();
+        Map<Integer, Integer> actual = new ReadWriteOrderedTrieMap<>();
+
+        for (int i = 0; i < 10000; ++i) {
+            final Integer key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), actual.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), actual.put(key, i));
+            }
+
+            if (i % 1000 == 0) {
+                final Map<Integer, Integer> readOnly = ((ReadWriteOrderedTrieMap<Integer, Integer>) actual)
+                        .toReadOnly();
+                actual = ((ReadOnlyOrderedTrieMap<Integer, Integer>) readOnly).toReadWrite();
+            }
+        }
+
+        assertEquals(expected.size(), actual.size());
+        final List<Map.Entry<Integer, Integer>> expectedEntries = new ArrayList<>(expected.entrySet());
+        final List<Map.Entry<Integer, Integer>> actualEntries = new ArrayList<>(actual.entrySet());
+        assertEquals(expectedEntries, actualEntries);
+    }
+}
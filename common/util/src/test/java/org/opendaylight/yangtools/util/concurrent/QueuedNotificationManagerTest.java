@@ -24,10 +24,12 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Test;
+import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager.BackpressurePolicy;
 import org.opendaylight.yangtools.util.concurrent.QueuedNotificationManager.BatchedInvoker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -296,4 +298,154 @@ public class QueuedNotificationManagerTest {
         List<Runnable> tasks = queueExecutor.shutdownNow();
         assertTrue(tasks.isEmpty());
     }
+
+    @Test(timeout = 10000)
+    public void testNotificationsDropOldest() {
+        queueExecutor = Executors.newFixedThreadPool(1);
+        final NotificationManager<TestListener<Integer>, Integer> manager = QueuedNotificationManager.create(
+            queueExecutor, new TestNotifier<>(), 4, "TestMgr", BackpressurePolicy.DROP_OLDEST);
+
+        final TestListener<Integer> listener = new TestListener<>(5, 1);
+        listener.sleepTime = 200;
+
+        // Wait for the listener to block on the first notification, then overflow its queue
+        manager.submitNotification(listener, 0);
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        for (int i = 1; i <= 10; i++) {
+            manager.submitNotification(listener, i);
+        }
+
+        listener.verifyNotifications(Arrays.asList(0, 7, 8, 9, 10));
+    }
+
+    @Test(timeout = 10000)
+    public void testNotificationsFail() {
+        queueExecutor = Executors.newFixedThreadPool(1);
+        final NotificationManager<TestListener<Integer>, Integer> manager = QueuedNotificationManager.create(
+            queueExecutor, new TestNotifier<>(), 4, "TestMgr", BackpressurePolicy.FAIL);
+
+        final TestListener<Integer> listener = new TestListener<>(5, 1);
+        listener.sleepTime = 200;
+
+        manager.submitNotification(listener, 0);
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        try {
+            manager.submitNotifications(listener, Arrays.asList(1, 2, 3, 4, 5, 6));
+            fail("Submission should have been rejected");
+        } catch (RejectedExecutionException e) {
+            assertTrue(e.getMessage().contains("[5, 6]"));
+        }
+
+        // Notifications which fit into the queue are still delivered
+        listener.verifyNotifications(Arrays.asList(0, 1, 2, 3, 4));
+    }
+
+    @Test(timeout = 10000)
+    public void testNotificationsCoalesced() {
+        queueExecutor = Executors.newFixedThreadPool(1);
+        final NotificationManager<TestListener<Integer>, Integer> manager = QueuedNotificationManager.builder(
+            queueExecutor, new TestNotifier<Integer>(), 20, "TestMgr")
+                .setCoalescer(notifications -> notifications.subList(notifications.size() - 1, notifications.size()))
+                .build();
+
+        final TestListener<Integer> listener = new TestListener<>(2, 1);
+        listener.sleepTime = 200;
+
+        // Pending notifications are coalesced while the listener is busy with the first one
+        manager.submitNotification(listener, 0);
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        for (int i = 1; i <= 10; i++) {
+            manager.submitNotification(listener, i);
+        }
+
+        listener.verifyNotifications(Arrays.asList(0, 10));
+    }
+
+    @Test(timeout = 10000)
+    public void testNotificationsBatched() {
+        queueExecutor = Executors.newFixedThreadPool(1);
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        final NotificationManager<TestListener<Integer>, Integer> manager = QueuedNotificationManager.builder(
+            queueExecutor, (TestListener<Integer> listener, Collection<? extends Integer> notifications) -> {
+                batchSizes.add(notifications.size());
+                listener.onNotification(notifications);
+            }, 20, "TestMgr").setMaxBatchSize(3).build();
+
+        final TestListener<Integer> listener = new TestListener<>(11, 1);
+        listener.sleepTime = 100;
+
+        manager.submitNotification(listener, 0);
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        manager.submitNotifications(listener, Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+
+        listener.verifyNotifications(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+        assertEquals(Arrays.asList(1, 3, 3, 3, 1), batchSizes);
+    }
+
+    @Test(timeout = 10000)
+    public void testNotificationsBatchDelay() {
+        queueExecutor = Executors.newFixedThreadPool(1);
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        final NotificationManager<TestListener<Integer>, Integer> manager = QueuedNotificationManager.builder(
+            queueExecutor, (TestListener<Integer> listener, Collection<? extends Integer> notifications) -> {
+                batchSizes.add(notifications.size());
+                listener.onNotification(notifications);
+            }, 20, "TestMgr").setMaxBatchSize(3).setMaxBatchDelay(500, TimeUnit.MILLISECONDS).build();
+
+        final TestListener<Integer> listener = new TestListener<>(4, 1);
+
+        // Notifications are held until the batch fills up or the delay elapses
+        manager.submitNotification(listener, 0);
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        manager.submitNotification(listener, 1);
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        manager.submitNotification(listener, 2);
+        manager.submitNotification(listener, 3);
+
+        listener.verifyNotifications(Arrays.asList(0, 1, 2, 3));
+        assertEquals(Arrays.asList(3, 1), batchSizes);
+    }
+
+    @Test(timeout = 10000)
+    public void testListenerNotificationStatistics() {
+        queueExecutor = Executors.newFixedThreadPool(1);
+        final QueuedNotificationManager<TestListener<Integer>, Integer> manager = QueuedNotificationManager.builder(
+            queueExecutor, new TestNotifier<Integer>(), 4, "TestMgr").setBackpressurePolicy(BackpressurePolicy.FAIL)
+                .setStatisticsEnabled(true).build();
+
+        final TestListener<Integer> listener = new TestListener<>(5, 1);
+        listener.sleepTime = 200;
+        listener.runtimeEx = new IllegalStateException("mock");
+
+        manager.submitNotification(listener, 0);
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        try {
+            manager.submitNotifications(listener, Arrays.asList(1, 2, 3, 4, 5, 6));
+            fail("Submission should have been rejected");
+        } catch (RejectedExecutionException e) {
+            // Expected
+        }
+        listener.verifyNotifications(Arrays.asList(0, 1, 2, 3, 4));
+
+        // Statistics are updated once the invocation returns, which may be after the listener has counted down
+        ListenerNotificationStatistics stats = manager.getListenerNotificationStatistics(listener).get();
+        while (stats.getInvocationCount() < 2) {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+            stats = manager.getListenerNotificationStatistics(listener).get();
+        }
+
+        assertEquals(5, stats.getDeliveredNotificationCount());
+        assertEquals(1, stats.getFailedInvocationCount());
+        assertEquals(2, stats.getRejectedNotificationCount());
+        assertEquals(0, stats.getDroppedNotificationCount());
+        assertTrue(stats.getLongestWaitTime() >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(stats.getLongestInvocationTime() >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(2, stats.getInvocationTimeHistogram().getTotalDurations());
+        assertTrue(stats.getInvocationTimeHistogram().getDurationAtPercentile(50)
+            >= TimeUnit.MILLISECONDS.toNanos(190));
+        assertEquals(1, manager.getListenerNotificationStatistics().size());
+
+        manager.resetListenerNotificationStatistics();
+        assertEquals(0, manager.getListenerNotificationStatistics(listener).get().getDeliveredNotificationCount());
+    }
 }
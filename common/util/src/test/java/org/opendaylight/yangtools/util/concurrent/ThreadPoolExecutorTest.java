@@ -7,10 +7,15 @@
  */
 package org.opendaylight.yangtools.util.concurrent;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -83,6 +88,70 @@ public class ThreadPoolExecutorTest {
         testThreadPoolExecution(SpecialExecutors.newBlockingBoundedCachedThreadPool(2, 1, "TestPool"), 1000, null, 10);
     }
 
+    @Test(timeout = 10000)
+    public void testFastThreadPoolTaskStatistics() throws InterruptedException {
+        final FastThreadPoolExecutor fastExecutor = new FastThreadPoolExecutor(1, 1, "TestPool",
+            ThreadPoolExecutorTest.class);
+        executor = fastExecutor;
+        assertFalse(fastExecutor.isStatisticsEnabled());
+        fastExecutor.setStatisticsEnabled(true);
+
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        final CountDownLatch tasksRunLatch = new CountDownLatch(1);
+        final Task queued = new Task(null, null);
+        fastExecutor.execute(new Task(tasksRunLatch, blockLatch));
+        fastExecutor.execute(queued);
+        try {
+            fastExecutor.execute(new Task(null, null));
+            fail("Task should have been rejected");
+        } catch (RejectedExecutionException e) {
+            assertEquals(1, fastExecutor.getRejectedTaskCount());
+        }
+
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        blockLatch.countDown();
+        assertTrue(tasksRunLatch.await(5, TimeUnit.SECONDS));
+        while (fastExecutor.getTaskExecutionTimeStatistics().getTotalDurations() < 2) {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(2, fastExecutor.getTaskWaitTimeStatistics().getTotalDurations());
+        assertTrue(fastExecutor.getTaskWaitTimeStatistics().getLongestDuration()
+            >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(fastExecutor.getTaskExecutionTimeStatistics().getLongestDuration()
+            >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(fastExecutor.getTaskWaitTimeStatistics().getDurationAtPercentile(100)
+            >= TimeUnit.MILLISECONDS.toNanos(45));
+
+        // The queued task is reported as itself, not its tracking wrapper
+        fastExecutor.execute(new Task(null, new CountDownLatch(1)));
+        Uninterruptibles.sleepUninterruptibly(50, TimeUnit.MILLISECONDS);
+        fastExecutor.execute(queued);
+        final List<Runnable> pending = fastExecutor.shutdownNow();
+        assertEquals(1, pending.size());
+        assertSame(queued, pending.get(0));
+    }
+
+    @Test(timeout = 10000)
+    public void testFastThreadPoolStatisticsDisabled() throws InterruptedException {
+        final FastThreadPoolExecutor fastExecutor = new FastThreadPoolExecutor(1, 1, "TestPool",
+            ThreadPoolExecutorTest.class);
+        executor = fastExecutor;
+
+        // Without statistics, tasks are queued as they are
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        final CountDownLatch tasksRunLatch = new CountDownLatch(1);
+        final Task queued = new Task(null, null);
+        fastExecutor.execute(new Task(tasksRunLatch, blockLatch));
+        fastExecutor.execute(queued);
+        assertSame(queued, fastExecutor.getQueue().peek());
+
+        blockLatch.countDown();
+        assertTrue(tasksRunLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, fastExecutor.getTaskWaitTimeStatistics().getTotalDurations());
+        assertEquals(0, fastExecutor.getTaskExecutionTimeStatistics().getTotalDurations());
+    }
+
     void testThreadPoolExecution(final ExecutorService executor, final int numTasksToRun, final String expThreadPrefix,
             final long taskDelay) throws InterruptedException {
 
@@ -0,0 +1,250 @@
+/*
+ * (C) Copyright 2017 Pantheon Technologies, s.r.o. and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opendaylight.yangtools.triemap;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map.Entry;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Abstract base class for spliterators over an {@link ImmutableTrieMap}. Unlike an iterator-backed spliterator, this
+ * implementation splits along the trie structure: it hands out halves of the {@link CNode} array it is positioned at,
+ * descending into the single remaining {@link INode} when there is nothing left to split at the current level. Since
+ * keys are distributed by their hash, the size estimate of a split is proportional to the share of the array it
+ * covers.
+ *
+ * @author Robert Varga
+ *
+ * @param <K> the type of entry keys
+ * @param <V> the type of entry values
+ * @param <T> the type of elements returned by this spliterator
+ */
+abstract class AbstractSpliterator<K, V, T> implements Spliterator<T> {
+    private static final BasicNode[] EMPTY_ARRAY = new BasicNode[0];
+
+    private final ImmutableTrieMap<K, V> map;
+
+    // Current level of the trie and the range of it covered by this spliterator
+    private BasicNode[] array;
+    private int index;
+    private int fence;
+
+    // Iterator over the INode being traversed by tryAdvance(), if any
+    private ImmutableIterator<K, V> current;
+
+    // Size estimate, negative if it has not been computed yet
+    private long est;
+
+    AbstractSpliterator(final ImmutableTrieMap<K, V> map) {
+        this.map = requireNonNull(map);
+        this.est = -1;
+
+        final INode<K, V> root = map.RDCSS_READ_ROOT();
+        final MainNode<K, V> main = root.gcasRead(map);
+        if (main instanceof CNode) {
+            array = ((CNode<K, V>) main).array;
+            fence = array.length;
+        } else {
+            // Not expected to happen, but fall back to iterating over the root
+            array = EMPTY_ARRAY;
+            current = new ImmutableIterator<>(map, root);
+        }
+    }
+
+    AbstractSpliterator(final AbstractSpliterator<K, V, T> parent, final int fence, final long est) {
+        this.map = parent.map;
+        this.array = parent.array;
+        this.index = parent.index;
+        this.fence = fence;
+        this.est = est;
+    }
+
+    static <K, V> Spliterator<Entry<K, V>> entrySpliterator(final ImmutableTrieMap<K, V> map) {
+        return new EntrySpliterator<>(map);
+    }
+
+    static <K> Spliterator<K> keySpliterator(final ImmutableTrieMap<K, ?> map) {
+        return new KeySpliterator<>(map);
+    }
+
+    /**
+     * Wrap an entry so it can be presented to the user.
+     *
+     * @param entry An immutable entry, guaranteed to be non-null
+     * @return Wrapped element, may not be null
+     */
+    abstract T wrapEntry(Entry<K, V> entry);
+
+    /**
+     * Create a spliterator covering elements from current index up to the specified fence in the current array.
+     *
+     * @param splitFence end of the range, exclusive
+     * @param splitEst size estimate of the range
+     * @return A new spliterator
+     */
+    abstract AbstractSpliterator<K, V, T> newSplit(int splitFence, long splitEst);
+
+    @Override
+    public final boolean tryAdvance(final Consumer<? super T> action) {
+        requireNonNull(action);
+        while (true) {
+            if (current != null) {
+                if (current.hasNext()) {
+                    action.accept(wrapEntry(current.next()));
+                    return true;
+                }
+                current = null;
+            }
+            if (index >= fence) {
+                return false;
+            }
+
+            final BasicNode elem = array[index++];
+            if (elem instanceof SNode) {
+                action.accept(wrapEntry((SNode<K, V>) elem));
+                return true;
+            }
+            current = new ImmutableIterator<>(map, (INode<K, V>) elem);
+        }
+    }
+
+    @Override
+    public final void forEachRemaining(final Consumer<? super T> action) {
+        requireNonNull(action);
+        if (current != null) {
+            while (current.hasNext()) {
+                action.accept(wrapEntry(current.next()));
+            }
+            current = null;
+        }
+
+        final BasicNode[] local = array;
+        final int hi = fence;
+        for (int i = index; i < hi; ++i) {
+            visit(local[i], action);
+        }
+        index = hi;
+    }
+
+    @Override
+    public final Spliterator<T> trySplit() {
+        while (fence - index < 2) {
+            // At most one element left: we can only split by descending into an INode, which we cannot do if we are
+            // already iterating over it.
+            if (current != null || index >= fence || !(array[index] instanceof INode)) {
+                return null;
+            }
+
+            final MainNode<K, V> main = ((INode<K, V>) array[index]).gcasRead(map);
+            if (!(main instanceof CNode)) {
+                return null;
+            }
+
+            // Descend, retaining our estimate as we cover the same elements
+            array = ((CNode<K, V>) main).array;
+            index = 0;
+            fence = array.length;
+        }
+
+        final long size = estimateSize();
+        final int mid = (index + fence) >>> 1;
+        final long splitEst = size * (mid - index) / (fence - index);
+        final AbstractSpliterator<K, V, T> ret = newSplit(mid, splitEst);
+        index = mid;
+        est = size - splitEst;
+        return ret;
+    }
+
+    @Override
+    public final long estimateSize() {
+        long local = est;
+        if (local < 0) {
+            // Root spliterator: the immutable map caches its size once computed
+            est = local = map.size();
+        }
+        return local;
+    }
+
+    @Override
+    public final int characteristics() {
+        // XXX: Distinct as far as associated Equivalence allows
+        return Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+    }
+
+    private void visit(final BasicNode elem, final Consumer<? super T> action) {
+        if (elem instanceof SNode) {
+            action.accept(wrapEntry((SNode<K, V>) elem));
+        } else if (elem instanceof INode) {
+            final MainNode<K, V> main = ((INode<K, V>) elem).gcasRead(map);
+            if (main instanceof CNode) {
+                for (BasicNode child : ((CNode<K, V>) main).array) {
+                    visit(child, action);
+                }
+            } else if (main instanceof TNode) {
+                action.accept(wrapEntry((TNode<K, V>) main));
+            } else if (main instanceof LNode) {
+                for (LNodeEntries<K, V> entry = ((LNode<K, V>) main).entries(); entry != null;
+                        entry = entry.next()) {
+                    action.accept(wrapEntry(entry));
+                }
+            }
+        } else {
+            throw CNode.invalidElement(elem);
+        }
+    }
+
+    private static final class EntrySpliterator<K, V> extends AbstractSpliterator<K, V, Entry<K, V>> {
+        EntrySpliterator(final ImmutableTrieMap<K, V> map) {
+            super(map);
+        }
+
+        private EntrySpliterator(final EntrySpliterator<K, V> parent, final int fence, final long est) {
+            super(parent, fence, est);
+        }
+
+        @Override
+        Entry<K, V> wrapEntry(final Entry<K, V> entry) {
+            return entry;
+        }
+
+        @Override
+        EntrySpliterator<K, V> newSplit(final int splitFence, final long splitEst) {
+            return new EntrySpliterator<>(this, splitFence, splitEst);
+        }
+    }
+
+    private static final class KeySpliterator<K, V> extends AbstractSpliterator<K, V, K> {
+        KeySpliterator(final ImmutableTrieMap<K, V> map) {
+            super(map);
+        }
+
+        private KeySpliterator(final KeySpliterator<K, V> parent, final int fence, final long est) {
+            super(parent, fence, est);
+        }
+
+        @Override
+        K wrapEntry(final Entry<K, V> entry) {
+            return entry.getKey();
+        }
+
+        @Override
+        KeySpliterator<K, V> newSplit(final int splitFence, final long splitEst) {
+            return new KeySpliterator<>(this, splitFence, splitEst);
+        }
+    }
+}
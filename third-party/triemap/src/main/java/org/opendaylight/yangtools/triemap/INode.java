@@ -24,6 +24,7 @@ import com.google.common.base.VerifyException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.BiFunction;
 
 final class INode<K, V> extends BasicNode {
     @SuppressWarnings("rawtypes")
@@ -429,6 +430,119 @@ final class INode<K, V> extends BasicNode {
         return RESTART;
     }
 
+    /**
+     * Computes a new mapping for the key based on its current value, performing the lookup and the modification in
+     * a single traversal. The remapping function is invoked with the current value, or null if there is no mapping,
+     * and may be invoked multiple times if the modification needs to be restarted.
+     *
+     * @param fn remapping function, returning the new value or null if the mapping should be removed
+     * @return RESTART if the operation needs to be restarted, the resulting value otherwise (null indicating
+     *         there is no mapping for the key)
+     */
+    Object recCompute(final K k, final int hc, final BiFunction<? super K, ? super V, ? extends V> fn,
+            final int lev, final INode<K, V> parent, final TrieMap<K, V> ct) {
+        return recCompute(k, hc, fn, lev, parent, gen, ct);
+    }
+
+    private Object recCompute(final K k, final int hc, final BiFunction<? super K, ? super V, ? extends V> fn,
+            final int lev, final INode<K, V> parent, final Gen startgen, final TrieMap<K, V> ct) {
+        while (true) {
+            final MainNode<K, V> m = GCAS_READ(ct);
+
+            if (m instanceof CNode) {
+                final CNode<K, V> cn = (CNode<K, V>) m;
+                final int idx = (hc >>> lev) & 0x1f;
+                final int flag = 1 << idx;
+                final int bmp = cn.bitmap;
+                final int mask = flag - 1;
+                final int pos = Integer.bitCount(bmp & mask);
+
+                if ((bmp & flag) == 0) {
+                    final V v = fn.apply(k, null);
+                    if (v == null) {
+                        return null;
+                    }
+
+                    final CNode<K, V> rn = (cn.gen == gen) ? cn : cn.renewed(gen, ct);
+                    return GCAS(cn, rn.insertedAt(pos, flag, new SNode<>(k, v, hc), gen), ct) ? v : RESTART;
+                }
+
+                final BasicNode cnAtPos = cn.array[pos];
+                if (cnAtPos instanceof INode) {
+                    final INode<K, V> in = (INode<K, V>) cnAtPos;
+                    if (startgen == in.gen) {
+                        return in.recCompute(k, hc, fn, lev + LEVEL_BITS, this, startgen, ct);
+                    }
+                    if (GCAS(cn, cn.renewed(startgen, ct), ct)) {
+                        // Tail recursion: return recCompute(k, hc, fn, lev, parent, startgen, ct);
+                        continue;
+                    }
+
+                    return RESTART;
+                } else if (cnAtPos instanceof SNode) {
+                    final SNode<K, V> sn = (SNode<K, V>) cnAtPos;
+                    if (sn.hc != hc || !ct.equal(sn.key, k)) {
+                        final V v = fn.apply(k, null);
+                        if (v == null) {
+                            return null;
+                        }
+
+                        final CNode<K, V> rn = (cn.gen == gen) ? cn : cn.renewed(gen, ct);
+                        final MainNode<K, V> nn = rn.updatedAt(pos, inode(CNode.dual(sn, k, v, hc, lev + LEVEL_BITS,
+                            gen)), gen);
+                        return GCAS(cn, nn, ct) ? v : RESTART;
+                    }
+
+                    final V v = fn.apply(k, sn.value);
+                    if (v == sn.value) {
+                        // Nothing to do
+                        return v;
+                    }
+                    if (v != null) {
+                        return GCAS(cn, cn.updatedAt(pos, new SNode<>(k, v, hc), gen), ct) ? v : RESTART;
+                    }
+                    if (!GCAS(cn, cn.removedAt(pos, flag, gen).toContracted(lev), ct)) {
+                        return RESTART;
+                    }
+                    if (parent != null) {
+                        // never tomb at root
+                        final MainNode<K, V> n = GCAS_READ(ct);
+                        if (n instanceof TNode) {
+                            cleanParent(n, parent, ct, hc, lev, startgen);
+                        }
+                    }
+                    return null;
+                } else {
+                    throw CNode.invalidElement(cnAtPos);
+                }
+            } else if (m instanceof TNode) {
+                clean(parent, ct, lev - LEVEL_BITS);
+                return RESTART;
+            } else if (m instanceof LNode) {
+                final LNode<K, V> ln = (LNode<K, V>) m;
+                final LNodeEntry<K, V> entry = ln.get(ct.equiv(), k);
+                final V value = entry == null ? null : entry.getValue();
+                final V v = fn.apply(k, value);
+                if (v == value) {
+                    // Nothing to do
+                    return v;
+                }
+
+                final boolean success;
+                if (v == null) {
+                    success = GCAS(ln, ln.removeChild(entry, hc), ct);
+                } else if (entry != null) {
+                    success = replaceln(ln, entry, v, ct);
+                } else {
+                    success = insertln(ln, k, v, ct);
+                }
+                return success ? v : RESTART;
+            } else {
+                throw invalidElement(m);
+            }
+        }
+    }
+
     /**
      * Removes the key associated with the given value.
      *
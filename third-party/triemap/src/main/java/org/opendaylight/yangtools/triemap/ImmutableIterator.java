@@ -30,6 +30,10 @@ final class ImmutableIterator<K, V> extends AbstractIterator<K, V> {
         super(map);
     }
 
+    ImmutableIterator(final ImmutableTrieMap<K, V> map, final INode<K, V> root) {
+        super(map, root);
+    }
+
     @Override
     Entry<K, V> wrapEntry(final Entry<K, V> entry) {
         return entry;
@@ -17,18 +17,30 @@ package org.opendaylight.yangtools.triemap;
 
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
+import static org.opendaylight.yangtools.triemap.LookupResult.RESTART;
 import static org.opendaylight.yangtools.triemap.PresencePredicate.ABSENT;
 import static org.opendaylight.yangtools.triemap.PresencePredicate.PRESENT;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Verify;
+import com.google.common.primitives.Ints;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * A mutable TrieMap.
  *
+ * <p>
+ * A map created via {@link TrieMap#createWithSizeCounter()} maintains a striped counter of its entries, which is
+ * updated by each modification, making {@link #size()} and {@link #isEmpty()} constant-time operations. The reported
+ * size is exact when there are no concurrent modifications and weakly consistent otherwise, similar to
+ * {@link java.util.concurrent.ConcurrentHashMap#size()}. Other maps compute their size by walking an immutable
+ * snapshot.
+ *
  * @author Robert Varga
  *
  * @param <K> the type of keys maintained by this map
@@ -44,13 +56,26 @@ public final class MutableTrieMap<K, V> extends TrieMap<K, V> {
 
     private volatile Object root;
 
+    // Non-null if this map maintains a size counter. The size is sizeBase + sizeCounter.sum().
+    private final LongAdder sizeCounter;
+
+    // Either an Integer, or an ImmutableTrieMap holding the contents of this map at the time it was created, whose
+    // size has not been computed yet.
+    private volatile Object sizeBase;
+
     MutableTrieMap(final Equivalence<? super K> equiv) {
-        this(equiv, newRootNode());
+        this(equiv, false);
     }
 
-    MutableTrieMap(final Equivalence<? super K> equiv, final INode<K, V> root) {
+    MutableTrieMap(final Equivalence<? super K> equiv, final boolean countSize) {
+        this(equiv, newRootNode(), countSize ? 0 : null);
+    }
+
+    MutableTrieMap(final Equivalence<? super K> equiv, final INode<K, V> root, final Object sizeBase) {
         super(equiv);
         this.root = requireNonNull(root);
+        this.sizeBase = sizeBase;
+        this.sizeCounter = sizeBase != null ? new LongAdder() : null;
     }
 
     @Override
@@ -59,6 +84,49 @@ public final class MutableTrieMap<K, V> extends TrieMap<K, V> {
         do {
             r = RDCSS_READ_ROOT();
         } while (!RDCSS_ROOT(r, r.gcasRead(this), newRootNode()));
+
+        if (sizeCounter != null) {
+            // The old root is no longer reachable by writers, hence its contents are stable. Modifications committed
+            // before it has been replaced are accounted for in its size, even if they have not updated the counter
+            // yet.
+            sizeCounter.add(-new ImmutableTrieMap<>(r, equiv()).size());
+        }
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        final K k = requireNonNull(key);
+        return computehc(k, computeHash(k), requireNonNull(remappingFunction));
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        final K k = requireNonNull(key);
+        final int hc = computeHash(k);
+        requireNonNull(mappingFunction);
+
+        // Fast path: do not touch the trie if the mapping already exists
+        final V existing = lookuphc(k, hc);
+        return existing != null ? existing
+                : computehc(k, hc, (ignored, old) -> old != null ? old : mappingFunction.apply(k));
+    }
+
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        final K k = requireNonNull(key);
+        final int hc = computeHash(k);
+        requireNonNull(remappingFunction);
+
+        return lookuphc(k, hc) == null ? null
+                : computehc(k, hc, (ignored, old) -> old == null ? null : remappingFunction.apply(k, old));
+    }
+
+    @Override
+    public V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        final K k = requireNonNull(key);
+        final V v = requireNonNull(value);
+        requireNonNull(remappingFunction);
+        return computehc(k, computeHash(k), (ignored, old) -> old == null ? v : remappingFunction.apply(old, v));
     }
 
     @Override
@@ -103,7 +171,28 @@ public final class MutableTrieMap<K, V> extends TrieMap<K, V> {
 
     @Override
     public int size() {
-        return immutableSnapshot().size();
+        if (sizeCounter == null) {
+            return immutableSnapshot().size();
+        }
+
+        return Ints.saturatedCast(Math.max(0, sizeBase() + sizeCounter.sum()));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private int sizeBase() {
+        final Object base = sizeBase;
+        if (base instanceof Integer) {
+            return (Integer) base;
+        }
+
+        // Computing the size multiple times is harmless, as the snapshot does not change
+        final int ret = ((ImmutableTrieMap<?, ?>) base).size();
+        sizeBase = ret;
+        return ret;
     }
 
     private INode<K, V> snapshot() {
@@ -122,7 +211,9 @@ public final class MutableTrieMap<K, V> extends TrieMap<K, V> {
 
     @Override
     public MutableTrieMap<K, V> mutableSnapshot() {
-        return new MutableTrieMap<>(equiv(), snapshot().copyToGen(new Gen(), this));
+        final INode<K, V> snap = snapshot();
+        return new MutableTrieMap<>(equiv(), snap.copyToGen(new Gen(), this),
+            sizeCounter == null ? null : new ImmutableTrieMap<>(snap, equiv()));
     }
 
     @Override
@@ -159,6 +250,7 @@ public final class MutableTrieMap<K, V> extends TrieMap<K, V> {
         return RDCSS_Complete(abort);
     }
 
+    // Used by deserialization only, which does not restore the size counter
     void add(final K key, final V value) {
         final K k = requireNonNull(key);
         inserthc(k, computeHash(k), requireNonNull(value));
@@ -183,6 +275,10 @@ public final class MutableTrieMap<K, V> extends TrieMap<K, V> {
             res = RDCSS_READ_ROOT().recInsertIf(key, value, hc, cond, 0, null, this);
         } while (res == null);
 
+        // An absent previous value means a new mapping has been created, unless we required it to be present
+        if (sizeCounter != null && !res.isPresent() && (cond == null || cond == ABSENT)) {
+            sizeCounter.increment();
+        }
         return res;
     }
 
@@ -193,9 +289,41 @@ public final class MutableTrieMap<K, V> extends TrieMap<K, V> {
             res = RDCSS_READ_ROOT().recRemove(key, cond, hc, 0, null, this);
         } while (res == null);
 
+        if (sizeCounter != null && res.isPresent()) {
+            sizeCounter.decrement();
+        }
         return res;
     }
 
+    @SuppressWarnings("unchecked")
+    private V computehc(final K key, final int hc, final BiFunction<? super K, ? super V, ? extends V> fn) {
+        if (sizeCounter == null) {
+            Object res;
+            do {
+                // Keep looping as long as RESTART is being indicated
+                res = RDCSS_READ_ROOT().recCompute(key, hc, fn, 0, null, this);
+            } while (res == RESTART);
+            return (V) res;
+        }
+
+        // The function is invoked for each attempt, hence the last invocation tells us whether there was a mapping
+        // before the successful attempt
+        final CountingFunction<K, V> counting = new CountingFunction<>(fn);
+        Object res;
+        do {
+            res = RDCSS_READ_ROOT().recCompute(key, hc, counting, 0, null, this);
+        } while (res == RESTART);
+
+        if (res == null) {
+            if (counting.hadValue) {
+                sizeCounter.decrement();
+            }
+        } else if (!counting.hadValue) {
+            sizeCounter.increment();
+        }
+        return (V) res;
+    }
+
     private boolean CAS_ROOT(final Object ov, final Object nv) {
         return ROOT_UPDATER.compareAndSet(this, ov, nv);
     }
@@ -265,4 +393,20 @@ public final class MutableTrieMap<K, V> extends TrieMap<K, V> {
             this.nv = nv;
         }
     }
+
+    private static final class CountingFunction<K, V> implements BiFunction<K, V, V> {
+        private final BiFunction<? super K, ? super V, ? extends V> delegate;
+
+        boolean hadValue;
+
+        CountingFunction(final BiFunction<? super K, ? super V, ? extends V> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public V apply(final K key, final V value) {
+            hadValue = value != null;
+            return delegate.apply(key, value);
+        }
+    }
 }
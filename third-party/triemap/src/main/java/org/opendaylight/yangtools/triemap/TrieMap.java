@@ -25,6 +25,7 @@ import java.util.AbstractMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 
 /**
  * This is a port of Scala's TrieMap class from the Scala Collections library. This implementation does not support
@@ -54,6 +55,17 @@ public abstract class TrieMap<K, V> extends AbstractMap<K, V> implements Concurr
         return new MutableTrieMap<>(Equivalence.equals());
     }
 
+    /**
+     * Create a new mutable TrieMap, which maintains a counter of its entries, making {@link #size()} a constant-time
+     * operation at the cost of updating the counter on each modification. The counter is inherited by mutable
+     * snapshots of the returned map.
+     *
+     * @return A new mutable TrieMap with a size counter.
+     */
+    public static <K, V> MutableTrieMap<K, V> createWithSizeCounter() {
+        return new MutableTrieMap<>(Equivalence.equals(), true);
+    }
+
     /**
      * Returns a snapshot of this TrieMap. This operation is lock-free and
      * linearizable. Modification operations on this Map and the returned one
@@ -118,6 +130,14 @@ public abstract class TrieMap<K, V> extends AbstractMap<K, V> implements Concurr
         return lookuphc(k, computeHash(k));
     }
 
+    @Override
+    public final void forEach(final BiConsumer<? super K, ? super V> action) {
+        requireNonNull(action);
+        // Walk a snapshot directly, without going through an iterator
+        AbstractSpliterator.entrySpliterator(immutableSnapshot())
+            .forEachRemaining(entry -> action.accept(entry.getKey(), entry.getValue()));
+    }
+
     @Override
     public abstract void clear();
 
@@ -213,10 +233,8 @@ public abstract class TrieMap<K, V> extends AbstractMap<K, V> implements Concurr
         return equiv.equivalent(k1, k2);
     }
 
-    /* private implementation methods */
-
     @SuppressWarnings("unchecked")
-    private V lookuphc(final K key, final int hc) {
+    final V lookuphc(final K key, final int hc) {
         Object res;
         do {
             // Keep looping as long as RESTART is being indicated
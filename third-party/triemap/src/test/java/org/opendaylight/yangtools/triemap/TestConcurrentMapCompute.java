@@ -0,0 +1,132 @@
+/*
+ * (C) Copyright 2017 Pantheon Technologies, s.r.o. and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opendaylight.yangtools.triemap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class TestConcurrentMapCompute {
+    private static final int COUNT = 10000;
+
+    @Test
+    public void testCompute() {
+        final MutableTrieMap<Integer, Integer> map = TrieMap.createWithSizeCounter();
+
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(Integer.valueOf(i), map.compute(i, (k, v) -> v == null ? k : v + 1));
+            assertEquals(Integer.valueOf(i + 1), map.compute(i, (k, v) -> v == null ? k : v + 1));
+        }
+        assertEquals(COUNT, map.size());
+
+        for (int i = 0; i < COUNT; i++) {
+            assertNull(map.compute(i, (k, v) -> null));
+            assertNull(map.compute(i, (k, v) -> null));
+        }
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.immutableSnapshot().size());
+    }
+
+    @Test
+    public void testComputeIfAbsentPresent() {
+        final MutableTrieMap<Integer, Integer> map = TrieMap.createWithSizeCounter();
+
+        for (int i = 0; i < COUNT; i++) {
+            assertNull(map.computeIfPresent(i, (k, v) -> v + 1));
+            assertNull(map.computeIfAbsent(i, k -> null));
+            assertEquals(Integer.valueOf(i), map.computeIfAbsent(i, k -> k));
+            assertEquals(Integer.valueOf(i), map.computeIfAbsent(i, k -> k + 1));
+            assertEquals(Integer.valueOf(i + 1), map.computeIfPresent(i, (k, v) -> v + 1));
+        }
+        assertEquals(COUNT, map.size());
+
+        for (int i = 0; i < COUNT; i++) {
+            assertNull(map.computeIfPresent(i, (k, v) -> null));
+            assertFalse(map.containsKey(i));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testMerge() {
+        final MutableTrieMap<Integer, Integer> map = TrieMap.createWithSizeCounter();
+
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(Integer.valueOf(1), map.merge(i, 1, Integer::sum));
+            assertEquals(Integer.valueOf(2), map.merge(i, 1, Integer::sum));
+        }
+        assertEquals(COUNT, map.size());
+
+        for (int i = 0; i < COUNT; i++) {
+            assertNull(map.merge(i, 1, (a, b) -> null));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testConflictingHash() {
+        final ZeroHashInt k1 = new ZeroHashInt(1);
+        final ZeroHashInt k2 = new ZeroHashInt(2);
+        final ZeroHashInt k2dup = new ZeroHashInt(2);
+        final ZeroHashInt v1 = new ZeroHashInt(3);
+        final ZeroHashInt v2 = new ZeroHashInt(4);
+
+        final MutableTrieMap<ZeroHashInt, ZeroHashInt> map = TrieMap.createWithSizeCounter();
+
+        // SNode
+        assertSame(v1, map.computeIfAbsent(k1, k -> v1));
+        assertSame(v1, map.computeIfAbsent(k1, k -> v2));
+
+        // Bump up to LNode
+        assertSame(v2, map.merge(k2, v2, (a, b) -> v1));
+        assertSame(v1, map.merge(k2dup, v2, (a, b) -> v1));
+        assertEquals(2, map.size());
+        assertSame(v1, map.get(k2));
+
+        assertNull(map.compute(k2dup, (k, v) -> null));
+        assertNull(map.computeIfPresent(k1, (k, v) -> null));
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.immutableSnapshot().size());
+    }
+
+    @Test
+    public void testConcurrentMerge() throws InterruptedException {
+        final int threads = 4;
+        final MutableTrieMap<Integer, Integer> map = TrieMap.createWithSizeCounter();
+        final ExecutorService es = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            es.execute(() -> {
+                for (int i = 0; i < COUNT; i++) {
+                    map.merge(i, 1, Integer::sum);
+                }
+            });
+        }
+
+        es.shutdown();
+        assertTrue(es.awaitTermination(5, TimeUnit.MINUTES));
+        assertEquals(COUNT, map.size());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(Integer.valueOf(threads), map.get(i));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * (C) Copyright 2017 Pantheon Technologies, s.r.o. and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opendaylight.yangtools.triemap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class TestSizeCounter {
+    private static final int COUNT = 10000;
+
+    @Test
+    public void testModifications() {
+        final MutableTrieMap<Integer, Integer> map = TrieMap.createWithSizeCounter();
+        assertTrue(map.isEmpty());
+
+        for (int i = 0; i < COUNT; i++) {
+            map.put(i, i);
+        }
+        assertEquals(COUNT, map.size());
+
+        // Replacing existing mappings does not change the size
+        map.put(0, 1);
+        map.replace(1, 2);
+        map.replace(2, 2, 3);
+        map.putIfAbsent(3, 4);
+        assertEquals(COUNT, map.size());
+
+        // Conditional operations which do not take effect do not change the size
+        map.replace(COUNT, 0);
+        map.replace(COUNT, 0, 1);
+        map.remove(COUNT);
+        map.remove(4, 5);
+        assertEquals(COUNT, map.size());
+
+        map.putIfAbsent(COUNT, COUNT);
+        assertEquals(COUNT + 1, map.size());
+        map.remove(COUNT, COUNT);
+        map.remove(0);
+        assertEquals(COUNT - 1, map.size());
+
+        for (int i = 0; i < COUNT; i++) {
+            map.remove(i);
+        }
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testViews() {
+        final MutableTrieMap<Integer, Integer> map = TrieMap.createWithSizeCounter();
+        for (int i = 0; i < COUNT; i++) {
+            map.put(i, i);
+        }
+
+        final Iterator<Integer> it = map.keySet().iterator();
+        for (int i = 0; i < COUNT / 2; i++) {
+            it.next();
+            it.remove();
+        }
+        assertEquals(COUNT / 2, map.size());
+        assertEquals(map.immutableSnapshot().size(), map.size());
+    }
+
+    @Test
+    public void testClear() {
+        final MutableTrieMap<Integer, Integer> map = TrieMap.createWithSizeCounter();
+        for (int i = 0; i < COUNT; i++) {
+            map.put(i, i);
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        map.put(0, 0);
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testSnapshots() {
+        final MutableTrieMap<Integer, Integer> map = TrieMap.createWithSizeCounter();
+        for (int i = 0; i < COUNT; i++) {
+            map.put(i, i);
+        }
+
+        final MutableTrieMap<Integer, Integer> snapshot = map.mutableSnapshot();
+        map.remove(0);
+        snapshot.put(COUNT, COUNT);
+        snapshot.put(COUNT + 1, COUNT + 1);
+
+        assertEquals(COUNT - 1, map.size());
+        assertEquals(COUNT + 2, snapshot.size());
+        assertEquals(COUNT - 1, map.immutableSnapshot().mutableSnapshot().size());
+
+        snapshot.clear();
+        assertTrue(snapshot.isEmpty());
+        assertFalse(map.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentModifications() throws InterruptedException {
+        final int threads = 4;
+        final MutableTrieMap<Integer, Integer> map = TrieMap.createWithSizeCounter();
+        final ExecutorService es = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            es.execute(() -> {
+                for (int i = offset; i < COUNT; i += threads) {
+                    map.put(i, i);
+                }
+                for (int i = offset; i < COUNT; i += 2 * threads) {
+                    map.remove(i);
+                }
+            });
+        }
+
+        es.shutdown();
+        assertTrue(es.awaitTermination(5, TimeUnit.MINUTES));
+        assertEquals(map.immutableSnapshot().size(), map.size());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * (C) Copyright 2017 Pantheon Technologies, s.r.o. and others.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opendaylight.yangtools.triemap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import org.junit.Test;
+
+public class TestSpliterator {
+    private static final int COUNT = 100000;
+
+    private static TrieMap<Integer, Integer> createMap(final int count) {
+        final TrieMap<Integer, Integer> map = TrieMap.create();
+        for (int i = 0; i < count; i++) {
+            map.put(i, i);
+        }
+        return map;
+    }
+
+    @Test
+    public void testSplitCoversAllEntries() {
+        final TrieMap<Integer, Integer> map = createMap(COUNT);
+        final Spliterator<Entry<Integer, Integer>> root = map.entrySet().spliterator();
+        assertEquals(COUNT, root.estimateSize());
+
+        // Split as far as possible, alternating between traversal methods
+        final List<Spliterator<Entry<Integer, Integer>>> parts = new ArrayList<>();
+        parts.add(root);
+        for (int i = 0; i < parts.size(); i++) {
+            Spliterator<Entry<Integer, Integer>> split;
+            while ((split = parts.get(i).trySplit()) != null) {
+                parts.add(split);
+            }
+        }
+        assertTrue(parts.size() > 32);
+
+        final Map<Integer, Integer> seen = new HashMap<>();
+        for (int i = 0; i < parts.size(); i++) {
+            final Spliterator<Entry<Integer, Integer>> part = parts.get(i);
+            if (i % 2 == 0) {
+                part.forEachRemaining(e -> assertEquals(null, seen.put(e.getKey(), e.getValue())));
+            } else {
+                while (part.tryAdvance(e -> assertEquals(null, seen.put(e.getKey(), e.getValue())))) {
+                    // Nothing else
+                }
+            }
+        }
+        assertEquals(map, seen);
+    }
+
+    @Test
+    public void testSplitAfterAdvance() {
+        final TrieMap<Integer, Integer> map = createMap(1000);
+        final Spliterator<Integer> root = map.keySet().spliterator();
+
+        final Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(root.tryAdvance(k -> assertTrue(seen.add(k))));
+        }
+        final Spliterator<Integer> split = root.trySplit();
+        assertNotNull(split);
+        split.forEachRemaining(k -> assertTrue(seen.add(k)));
+        root.forEachRemaining(k -> assertTrue(seen.add(k)));
+        assertEquals(map.keySet(), seen);
+    }
+
+    @Test
+    public void testHashCollisions() {
+        final TrieMap<ZeroHashInt, Integer> map = TrieMap.create();
+        for (int i = 0; i < 100; i++) {
+            map.put(new ZeroHashInt(i), i);
+        }
+
+        assertEquals(map.keySet(), map.keySet().stream().collect(Collectors.toSet()));
+        assertEquals(map.keySet(), map.keySet().parallelStream().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testParallelStream() {
+        final TrieMap<Integer, Integer> map = createMap(COUNT);
+        assertEquals((long) COUNT * (COUNT - 1) / 2,
+            map.entrySet().parallelStream().mapToLong(Entry::getValue).sum());
+        assertEquals(COUNT, map.immutableSnapshot().keySet().parallelStream().count());
+    }
+
+    @Test
+    public void testForEach() {
+        final TrieMap<Integer, Integer> map = createMap(COUNT);
+        final Map<Integer, Integer> seen = new HashMap<>();
+        map.forEach((k, v) -> assertEquals(null, seen.put(k, v)));
+        assertEquals(map, seen);
+    }
+}
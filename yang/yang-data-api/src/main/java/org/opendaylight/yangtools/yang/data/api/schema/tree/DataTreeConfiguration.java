@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
@@ -24,6 +25,8 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
  * <li>treeType</li>
  * <li>enable/disable unique indexes and unique constraint validation</li>
  * <li>enable/disable mandatory nodes validation</li>
+ * <li>parallel application of large modifications</li>
+ * <li>enable/disable leafref validation</li>
  * </ul>
  *
  * <p>
@@ -50,13 +53,18 @@ public class DataTreeConfiguration implements Immutable {
     private final YangInstanceIdentifier rootPath;
     private final boolean uniqueIndexes;
     private final boolean mandatoryNodesValidation;
+    private final int parallelApplyThreshold;
+    private final boolean leafRefValidation;
 
     DataTreeConfiguration(final TreeType treeType, final YangInstanceIdentifier rootPath, final boolean uniqueIndexes,
-            final boolean mandatoryNodesValidation) {
+            final boolean mandatoryNodesValidation, final int parallelApplyThreshold,
+            final boolean leafRefValidation) {
         this.treeType = requireNonNull(treeType);
         this.rootPath = requireNonNull(rootPath);
         this.uniqueIndexes = uniqueIndexes;
         this.mandatoryNodesValidation = mandatoryNodesValidation;
+        this.parallelApplyThreshold = parallelApplyThreshold;
+        this.leafRefValidation = leafRefValidation;
     }
 
     public @Nonnull YangInstanceIdentifier getRootPath() {
@@ -75,11 +83,30 @@ public class DataTreeConfiguration implements Immutable {
         return mandatoryNodesValidation;
     }
 
+    /**
+     * Return the minimum number of child modifications of a single node, which are applied in parallel when the
+     * modification is prepared.
+     *
+     * @return Parallel application threshold, 0 if parallel application is disabled
+     */
+    public int getParallelApplyThreshold() {
+        return parallelApplyThreshold;
+    }
+
+    public boolean isParallelApplyEnabled() {
+        return parallelApplyThreshold != 0;
+    }
+
+    public boolean isLeafRefValidationEnabled() {
+        return leafRefValidation;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).add("type", treeType).add("root", rootPath)
                 .add("mandatory", mandatoryNodesValidation)
-                .add("unique", uniqueIndexes).toString();
+                .add("unique", uniqueIndexes).add("parallelApply", parallelApplyThreshold)
+                .add("leafRef", leafRefValidation).toString();
     }
 
     public static DataTreeConfiguration getDefault(final TreeType treeType) {
@@ -89,7 +116,7 @@ public class DataTreeConfiguration implements Immutable {
             case OPERATIONAL:
                 return DEFAULT_OPERATIONAL;
             default:
-                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.EMPTY, false, true);
+                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.EMPTY, false, true, 0, false);
         }
     }
 
@@ -98,6 +125,8 @@ public class DataTreeConfiguration implements Immutable {
         private YangInstanceIdentifier rootPath;
         private boolean uniqueIndexes;
         private boolean mandatoryNodesValidation;
+        private int parallelApplyThreshold;
+        private boolean leafRefValidation;
 
         public Builder(final TreeType treeType) {
             this.treeType = requireNonNull(treeType);
@@ -114,6 +143,36 @@ public class DataTreeConfiguration implements Immutable {
             return this;
         }
 
+        /**
+         * Enable parallel application of child modifications. When a modification of a single node has at least
+         * the specified number of children, they are applied concurrently in the common
+         * {@link java.util.concurrent.ForkJoinPool} during {@link DataTree#prepare(DataTreeModification)}. The result
+         * is the same as if the children were applied sequentially.
+         *
+         * @param parallelApplyThreshold Minimum number of child modifications, 0 to disable parallel application
+         * @return This builder
+         * @throws IllegalArgumentException if the threshold is negative
+         */
+        public Builder setParallelApplyThreshold(final int parallelApplyThreshold) {
+            checkArgument(parallelApplyThreshold >= 0, "Invalid parallel apply threshold %s", parallelApplyThreshold);
+            this.parallelApplyThreshold = parallelApplyThreshold;
+            return this;
+        }
+
+        /**
+         * Enable validation of leafref constraints. When enabled, {@link DataTree#validate(DataTreeModification)}
+         * also verifies that the modification does not leave any leafref pointing to a non-existent value. The data
+         * tree maintains an index of leafref values, so that only the values affected by a modification need to be
+         * checked. Leafref validation can be enabled only for data trees rooted at the conceptual root.
+         *
+         * @param leafRefValidation True if leafref constraints should be validated
+         * @return This builder
+         */
+        public Builder setLeafRefValidation(final boolean leafRefValidation) {
+            this.leafRefValidation = leafRefValidation;
+            return this;
+        }
+
         public Builder setRootPath(final YangInstanceIdentifier rootPath) {
             this.rootPath = rootPath.toOptimized();
             return this;
@@ -121,7 +180,10 @@ public class DataTreeConfiguration implements Immutable {
 
         @Override
         public DataTreeConfiguration build() {
-            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation);
+            checkArgument(!leafRefValidation || rootPath.isEmpty(),
+                "Leafref validation is not supported for data tree rooted at %s", rootPath);
+            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation,
+                parallelApplyThreshold, leafRefValidation);
         }
     }
 }
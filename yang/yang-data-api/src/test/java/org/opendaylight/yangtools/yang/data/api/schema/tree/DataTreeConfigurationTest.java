@@ -21,11 +21,13 @@ public class DataTreeConfigurationTest {
         DataTreeConfiguration.Builder builder = new DataTreeConfiguration.Builder(TreeType.CONFIGURATION);
         builder.setUniqueIndexes(true);
         builder.setMandatoryNodesValidation(true);
+        builder.setLeafRefValidation(true);
 
         DataTreeConfiguration dataTreeConfiguration = builder.build();
         assertEquals(TreeType.CONFIGURATION, dataTreeConfiguration.getTreeType());
         assertTrue(dataTreeConfiguration.isUniqueIndexEnabled());
         assertTrue(dataTreeConfiguration.isMandatoryNodesValidationEnabled());
+        assertTrue(dataTreeConfiguration.isLeafRefValidationEnabled());
 
         builder = new DataTreeConfiguration.Builder(TreeType.OPERATIONAL);
         builder.setUniqueIndexes(false);
@@ -35,6 +37,7 @@ public class DataTreeConfigurationTest {
         assertEquals(TreeType.OPERATIONAL, dataTreeConfiguration.getTreeType());
         assertFalse(dataTreeConfiguration.isUniqueIndexEnabled());
         assertFalse(dataTreeConfiguration.isMandatoryNodesValidationEnabled());
+        assertFalse(dataTreeConfiguration.isLeafRefValidationEnabled());
 
         dataTreeConfiguration = DataTreeConfiguration.getDefault(TreeType.CONFIGURATION);
         assertEquals(TreeType.CONFIGURATION, dataTreeConfiguration.getTreeType());
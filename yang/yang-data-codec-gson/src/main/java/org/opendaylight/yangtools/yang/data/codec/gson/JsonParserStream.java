@@ -16,6 +16,7 @@ import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.MalformedJsonException;
 import java.io.Closeable;
 import java.io.EOFException;
@@ -44,10 +45,16 @@ import org.opendaylight.yangtools.yang.data.util.ListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
 import org.opendaylight.yangtools.yang.data.util.RpcAsContainer;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
+import org.opendaylight.yangtools.yang.data.util.StreamingCompositeNode;
+import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -71,33 +78,61 @@ public final class JsonParserStream implements Closeable, Flushable {
     private final JSONCodecFactory codecs;
     private final SchemaContext schema;
     private final DataSchemaNode parentNode;
+    private final boolean streaming;
 
     private JsonParserStream(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
-            final JSONCodecFactory codecs, final DataSchemaNode parentNode) {
+            final JSONCodecFactory codecs, final DataSchemaNode parentNode, final boolean streaming) {
         this.schema = requireNonNull(schemaContext);
         this.writer = requireNonNull(writer);
         this.codecs = requireNonNull(codecs);
         this.parentNode = parentNode;
+        this.streaming = streaming;
     }
 
     private JsonParserStream(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
             final DataSchemaNode parentNode) {
-        this(writer, schemaContext, JSONCodecFactory.getShared(schemaContext), parentNode);
+        this(writer, schemaContext, JSONCodecFactory.getShared(schemaContext), parentNode, false);
     }
 
     public static JsonParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
             final SchemaNode parentNode) {
-        if (parentNode instanceof RpcDefinition) {
-            return new JsonParserStream(writer, schemaContext, new RpcAsContainer((RpcDefinition) parentNode));
-        }
-        checkArgument(parentNode instanceof DataSchemaNode, "Instance of DataSchemaNode class awaited.");
-        return new JsonParserStream(writer, schemaContext, (DataSchemaNode) parentNode);
+        return new JsonParserStream(writer, schemaContext, toDataSchemaNode(parentNode));
     }
 
     public static JsonParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext) {
         return new JsonParserStream(writer, schemaContext, schemaContext);
     }
 
+    /**
+     * Create a new {@link JsonParserStream} operating in streaming mode. Unlike the default mode, which builds
+     * an intermediate representation of the whole input before emitting any events, this mode emits events into
+     * the writer as soon as the corresponding JSON values are read. Only children of choices and augmentations,
+     * and list entry children which precede the last key leaf, are buffered, hence memory usage is bounded by
+     * the depth of the tree rather than by the size of the input.
+     *
+     * <p>
+     * Note that if the input is found to be invalid, the writer will have already received events for the part
+     * of the input preceding the error.
+     *
+     * @param writer Output writer
+     * @param codecs Codec factory, which also provides the SchemaContext
+     * @param parentNode Parent root node
+     * @return A new stream instance
+     */
+    @Beta
+    public static JsonParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final JSONCodecFactory codecs, final SchemaNode parentNode) {
+        return new JsonParserStream(writer, codecs.getSchemaContext(), codecs, toDataSchemaNode(parentNode), true);
+    }
+
+    private static DataSchemaNode toDataSchemaNode(final SchemaNode parentNode) {
+        if (parentNode instanceof RpcDefinition) {
+            return new RpcAsContainer((RpcDefinition) parentNode);
+        }
+        checkArgument(parentNode instanceof DataSchemaNode, "Instance of DataSchemaNode class awaited.");
+        return (DataSchemaNode) parentNode;
+    }
+
     public JsonParserStream parse(final JsonReader reader) {
         // code copied from gson's JsonParser and Stream classes
 
@@ -105,8 +140,13 @@ public final class JsonParserStream implements Closeable, Flushable {
         reader.setLenient(true);
         boolean isEmpty = true;
         try {
-            reader.peek();
+            final JsonToken token = reader.peek();
             isEmpty = false;
+            if (streaming && token == JsonToken.BEGIN_OBJECT) {
+                streamObject(reader, StreamingCompositeNode.startInvisible(writer, parentNode));
+                return this;
+            }
+
             final CompositeNodeDataWithSchema compositeNodeDataWithSchema = new CompositeNodeDataWithSchema(parentNode);
             read(reader, compositeNodeDataWithSchema);
             compositeNodeDataWithSchema.write(writer);
@@ -255,6 +295,98 @@ public final class JsonParserStream implements Closeable, Flushable {
         }
     }
 
+    private void streamObject(final JsonReader in, final StreamingCompositeNode node) throws IOException {
+        final Set<String> namesakes = new HashSet<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            final String jsonElementName = in.nextName();
+            DataSchemaNode parentSchema = node.getSchema();
+            if (parentSchema instanceof YangModeledAnyXmlSchemaNode) {
+                parentSchema = ((YangModeledAnyXmlSchemaNode) parentSchema).getSchemaOfAnyXmlData();
+            }
+            final Entry<String, URI> namespaceAndName = resolveNamespace(jsonElementName, parentSchema);
+            final String localName = namespaceAndName.getKey();
+            addNamespace(namespaceAndName.getValue());
+            if (!namesakes.add(jsonElementName)) {
+                throw new JsonSyntaxException("Duplicate name " + jsonElementName + " in JSON input.");
+            }
+
+            final Deque<DataSchemaNode> childDataSchemaNodes =
+                    ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, localName,
+                        getCurrentNamespace());
+            checkState(!childDataSchemaNodes.isEmpty(),
+                "Schema for node with name %s and namespace %s does not exist.", localName,
+                getCurrentNamespace());
+
+            if (node.isStreamable(childDataSchemaNodes)) {
+                streamChild(in, parentSchema, childDataSchemaNodes.pop(), jsonElementName);
+            } else {
+                final AbstractNodeDataWithSchema newChild = node.bufferChild(childDataSchemaNodes);
+                if (newChild instanceof AnyXmlNodeDataWithSchema) {
+                    readAnyXmlValue(in, (AnyXmlNodeDataWithSchema) newChild, jsonElementName);
+                } else {
+                    read(in, newChild);
+                }
+            }
+            removeNamespace();
+        }
+        in.endObject();
+        node.end();
+    }
+
+    private void streamChild(final JsonReader in, final DataSchemaNode parentSchema, final DataSchemaNode childSchema,
+            final String jsonElementName) throws IOException {
+        if (childSchema instanceof LeafSchemaNode) {
+            final LeafNodeDataWithSchema leaf = new LeafNodeDataWithSchema(childSchema);
+            read(in, leaf);
+            leaf.write(writer);
+        } else if (childSchema instanceof AnyXmlSchemaNode && !(childSchema instanceof YangModeledAnyXmlSchemaNode)) {
+            final AnyXmlNodeDataWithSchema anyXml = new AnyXmlNodeDataWithSchema(childSchema);
+            readAnyXmlValue(in, anyXml, jsonElementName);
+            anyXml.write(writer);
+        } else if (childSchema instanceof LeafListSchemaNode && in.peek() == JsonToken.BEGIN_ARRAY) {
+            StreamingCompositeNode.startLeafSet(writer, (LeafListSchemaNode) childSchema);
+            in.beginArray();
+            while (in.hasNext()) {
+                final LeafListEntryNodeDataWithSchema entry = new LeafListEntryNodeDataWithSchema(childSchema);
+                read(in, entry);
+                entry.write(writer);
+            }
+            in.endArray();
+            writer.endNode();
+        } else if (childSchema instanceof ListSchemaNode && in.peek() == JsonToken.BEGIN_ARRAY) {
+            StreamingCompositeNode.startList(writer, (ListSchemaNode) childSchema);
+            in.beginArray();
+            while (in.hasNext()) {
+                streamListEntry(in, (ListSchemaNode) childSchema);
+            }
+            in.endArray();
+            writer.endNode();
+        } else if (childSchema instanceof ListSchemaNode && in.peek() == JsonToken.BEGIN_OBJECT) {
+            // Single list entry without a wrapping array, see read()
+            StreamingCompositeNode.startList(writer, (ListSchemaNode) childSchema);
+            streamListEntry(in, (ListSchemaNode) childSchema);
+            writer.endNode();
+        } else if ((childSchema instanceof ContainerSchemaNode || childSchema instanceof YangModeledAnyXmlSchemaNode)
+                && in.peek() == JsonToken.BEGIN_OBJECT) {
+            streamObject(in, StreamingCompositeNode.start(writer, childSchema, null));
+        } else {
+            // Unexpected input, fall back to the non-streaming code path for consistent reporting
+            final CompositeNodeDataWithSchema holder = new CompositeNodeDataWithSchema(parentSchema);
+            read(in, holder.addChild(new ArrayDeque<>(Collections.singleton(childSchema))));
+            holder.write(writer);
+        }
+    }
+
+    private void streamListEntry(final JsonReader in, final ListSchemaNode listSchema) throws IOException {
+        if (in.peek() == JsonToken.BEGIN_OBJECT) {
+            streamObject(in, StreamingCompositeNode.start(writer, listSchema, null));
+        } else {
+            // Not an object, report the same error as the non-streaming code path
+            read(in, new ListEntryNodeDataWithSchema(listSchema));
+        }
+    }
+
     private static boolean isArray(final AbstractNodeDataWithSchema parent) {
         return parent instanceof ListNodeDataWithSchema || parent instanceof LeafListNodeDataWithSchema;
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+/**
+ * Each test verifies that the streaming mode of {@link JsonParserStream} produces the same result as the default mode.
+ */
+public class StreamingJsonParserTest {
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void initialization() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/complexjson/yang");
+    }
+
+    @Test
+    public void testComplexJson() throws IOException, URISyntaxException {
+        assertSameResult(loadTextFile("/complexjson/complex-json.json"));
+    }
+
+    @Test
+    public void testKeyedLists() throws IOException, URISyntaxException {
+        assertSameResult(loadTextFile("/complexjson/keyed-list-node-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/keyed-list-restconf-behaviour.json"));
+        assertSameResult(loadTextFile("/complexjson/keyed-list-yang-json-behaviour.json"));
+        assertSameResult(loadTextFile("/complexjson/unkeyed-node-in-container.json"));
+    }
+
+    @Test
+    public void testChoicesAndAugmentations() throws IOException, URISyntaxException {
+        assertSameResult(loadTextFile("/complexjson/leaf-node-via-augmentation-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/choice-node-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/choice-node-augmentation-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/case-node-augmentation-in-choice-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/case-node-external-augmentation-in-choice-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/multiple-choice-augmentation-in-container.json"));
+    }
+
+    @Test
+    public void testSimpleValues() throws IOException, URISyntaxException {
+        assertSameResult(loadTextFile("/complexjson/leaflist-node-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/type-empty.json"));
+    }
+
+    private static void assertSameResult(final String inputJson) {
+        final NormalizedNode<?, ?> expected = parse(inputJson, false);
+        assertNotNull(expected);
+        assertEquals(expected, parse(inputJson, true));
+    }
+
+    private static NormalizedNode<?, ?> parse(final String inputJson, final boolean streaming) {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        final JsonParserStream jsonParser = streaming
+                ? JsonParserStream.createStreaming(streamWriter, JSONCodecFactory.getShared(schemaContext),
+                    schemaContext)
+                : JsonParserStream.create(streamWriter, schemaContext);
+        jsonParser.parse(new JsonReader(new StringReader(inputJson)));
+        return result.getResult();
+    }
+}
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.xml;
 
+import static java.util.Objects.requireNonNull;
+
 import java.net.URI;
 import java.util.Map.Entry;
 import javax.annotation.Nonnull;
@@ -14,14 +16,13 @@ import javax.xml.namespace.NamespaceContext;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.util.AbstractStringInstanceIdentifierCodec;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
-import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 
 final class RandomPrefixInstanceIdentifierSerializer extends AbstractStringInstanceIdentifierCodec {
     private final DataSchemaContextTree schemaTree;
     private final RandomPrefix prefixes;
 
-    RandomPrefixInstanceIdentifierSerializer(final SchemaContext schemaContext, final NamespaceContext nsContext) {
-        schemaTree = DataSchemaContextTree.from(schemaContext);
+    RandomPrefixInstanceIdentifierSerializer(final DataSchemaContextTree schemaTree, final NamespaceContext nsContext) {
+        this.schemaTree = requireNonNull(schemaTree);
         prefixes = new RandomPrefix(nsContext);
     }
 
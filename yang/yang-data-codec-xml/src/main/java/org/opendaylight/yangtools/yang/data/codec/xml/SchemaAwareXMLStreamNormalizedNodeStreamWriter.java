@@ -25,7 +25,6 @@ import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
-import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
@@ -33,16 +32,16 @@ final class SchemaAwareXMLStreamNormalizedNodeStreamWriter extends XMLStreamNorm
     private final SchemaTracker tracker;
     private final XMLStreamWriterUtils streamUtils;
 
-    private SchemaAwareXMLStreamNormalizedNodeStreamWriter(final XMLStreamWriter writer, final SchemaContext context,
-                                                           final SchemaPath path) {
+    private SchemaAwareXMLStreamNormalizedNodeStreamWriter(final XMLStreamWriter writer,
+            final XmlCodecFactory codecFactory, final SchemaPath path) {
         super(writer);
-        this.tracker = SchemaTracker.create(context, path);
-        this.streamUtils = XMLStreamWriterUtils.create(context);
+        this.tracker = SchemaTracker.create(codecFactory.getSchemaContext(), path);
+        this.streamUtils = new XMLStreamWriterUtils(codecFactory);
     }
 
-    static NormalizedNodeStreamWriter newInstance(final XMLStreamWriter writer, final SchemaContext context,
+    static NormalizedNodeStreamWriter newInstance(final XMLStreamWriter writer, final XmlCodecFactory codecFactory,
             final SchemaPath path) {
-        return new SchemaAwareXMLStreamNormalizedNodeStreamWriter(writer, context, path);
+        return new SchemaAwareXMLStreamNormalizedNodeStreamWriter(writer, codecFactory, path);
     }
 
     @Override
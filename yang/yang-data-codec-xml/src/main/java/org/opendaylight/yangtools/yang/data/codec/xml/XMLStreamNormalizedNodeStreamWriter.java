@@ -104,7 +104,23 @@ public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements Normaliz
      */
     public static NormalizedNodeStreamWriter create(final XMLStreamWriter writer, final SchemaContext context,
             final SchemaPath path) {
-        return SchemaAwareXMLStreamNormalizedNodeStreamWriter.newInstance(writer, context, path);
+        return create(writer, XmlCodecFactory.getShared(context), path);
+    }
+
+    /**
+     * Create a new writer with the specified codec factory and rooted in the specified schema path. Leaf values are
+     * encoded using the codecs provided by the factory, hence callers can choose its caching behavior, for example
+     * by passing a {@link XmlCodecFactory#getPrecomputed(SchemaContext)} instance.
+     *
+     * @param writer Output {@link XMLStreamWriter}
+     * @param codecFactory {@link XmlCodecFactory} providing the value codecs
+     * @param path path
+     *
+     * @return A new {@link NormalizedNodeStreamWriter}
+     */
+    public static NormalizedNodeStreamWriter create(final XMLStreamWriter writer, final XmlCodecFactory codecFactory,
+            final SchemaPath path) {
+        return SchemaAwareXMLStreamNormalizedNodeStreamWriter.newInstance(writer, codecFactory, path);
     }
 
     /**
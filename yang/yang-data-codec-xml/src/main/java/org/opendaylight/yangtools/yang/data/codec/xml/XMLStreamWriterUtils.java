@@ -9,6 +9,7 @@
 package org.opendaylight.yangtools.yang.data.codec.xml;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.VisibleForTesting;
 import java.util.Map.Entry;
@@ -17,15 +18,9 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
-import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
-import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
-import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
-import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.type.IdentityrefTypeDefinition;
-import org.opendaylight.yangtools.yang.model.api.type.InstanceIdentifierTypeDefinition;
-import org.opendaylight.yangtools.yang.model.api.type.LeafrefTypeDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,12 +28,13 @@ import org.slf4j.LoggerFactory;
  * Utility class for bridging JAXP Stream and YANG Data APIs. Note that the definition of this class
  * by no means final and subject to change as more functionality is centralized here.
  */
-abstract class XMLStreamWriterUtils {
+final class XMLStreamWriterUtils {
     private static final Logger LOG = LoggerFactory.getLogger(XMLStreamWriterUtils.class);
 
-    static XMLStreamWriterUtils create(final SchemaContext schemaContext) {
-        return schemaContext == null ? SchemalessXMLStreamWriterUtils.INSTANCE
-                : new SchemaAwareXMLStreamWriterUtils(schemaContext);
+    private final XmlCodecFactory codecFactory;
+
+    XMLStreamWriterUtils(final XmlCodecFactory codecFactory) {
+        this.codecFactory = requireNonNull(codecFactory);
     }
 
     @VisibleForTesting
@@ -52,7 +48,8 @@ abstract class XMLStreamWriterUtils {
 
     /**
      * Write a value into a XML stream writer. This method assumes the start and end of element is
-     * emitted by the caller.
+     * emitted by the caller. The value is encoded by the codec {@link XmlCodecFactory} provides for the schema node,
+     * hence repeated writes of the same leaf do not instantiate any codecs.
      *
      * @param writer XML Stream writer
      * @param schemaNode Schema node that describes the value
@@ -72,71 +69,37 @@ abstract class XMLStreamWriterUtils {
             "Unable to write value for node %s, only nodes of type: leaf and leaf-list can be written at this point",
             schemaNode.getQName());
 
-        TypeDefinition<?> type = ((TypedSchemaNode) schemaNode).getType();
-        if (type instanceof LeafrefTypeDefinition) {
-            type = getBaseTypeForLeafRef(schemaNode, (LeafrefTypeDefinition) type);
+        final XmlCodec<?> codec = codecFactory.codecFor((TypedSchemaNode) schemaNode);
+        if (codec instanceof IdentityrefXmlCodec && value instanceof QName) {
+            writeIdentityRef(writer, (QName) value, parent);
+            return;
         }
-
-        writeValue(writer, type, value, parent);
-    }
-
-    /**
-     * Write a value into a XML stream writer. This method assumes the start and end of element is
-     * emitted by the caller.
-     *
-     * @param writer XML Stream writer
-     * @param type data type. In case of leaf ref this should be the type of leaf being referenced
-     * @param value data value
-     * @param parent optional parameter of a module QName owning the leaf definition
-     * @throws XMLStreamException if an encoding problem occurs
-     */
-    private void writeValue(@Nonnull final XMLStreamWriter writer, @Nonnull final TypeDefinition<?> type,
-            final Object value, final QNameModule parent) throws XMLStreamException {
-        if (value == null) {
-            LOG.debug("Value of {}:{} is null, not encoding it", type.getQName().getNamespace(),
-                    type.getQName().getLocalName());
+        if (codec == NullXmlCodec.INSTANCE) {
+            LOG.warn("Failed to find codec for {}, falling back to using stream", schemaNode);
+            writer.writeCharacters(String.valueOf(value));
             return;
         }
 
-        if (type instanceof IdentityrefTypeDefinition) {
-            write(writer, (IdentityrefTypeDefinition) type, value, parent);
-        } else if (type instanceof InstanceIdentifierTypeDefinition) {
-            write(writer, (InstanceIdentifierTypeDefinition) type, value);
-        } else {
-            final TypeDefinitionAwareCodec<Object, ?> codec = TypeDefinitionAwareCodec.from(type);
-            String text;
-            if (codec != null) {
-                try {
-                    text = codec.serialize(value);
-                } catch (ClassCastException e) {
-                    LOG.warn("Provided node value {} did not have type {} required by mapping. Using stream instead.",
-                            value, type, e);
-                    text = String.valueOf(value);
-                }
-            } else {
-                LOG.warn("Failed to find codec for {}, falling back to using stream", type);
-                text = String.valueOf(value);
-            }
-            writer.writeCharacters(text);
+        try {
+            writeValue(writer, codec, value);
+        } catch (ClassCastException e) {
+            LOG.warn("Provided node value {} did not have type {} required by mapping. Using stream instead.",
+                value, ((TypedSchemaNode) schemaNode).getType(), e);
+            writer.writeCharacters(String.valueOf(value));
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static <T> void writeValue(final XMLStreamWriter writer, final XmlCodec<T> codec, final Object value)
+            throws XMLStreamException {
+        codec.writeValue(writer, (T) value);
+    }
+
     @VisibleForTesting
     static void write(@Nonnull final XMLStreamWriter writer, @Nonnull final IdentityrefTypeDefinition type,
                       @Nonnull final Object value, final QNameModule parent) throws XMLStreamException {
         if (value instanceof QName) {
-            final QName qname = (QName) value;
-
-            //in case parent is present and same as element namespace write value without namespace
-            if (qname.getNamespace().equals(parent.getNamespace())) {
-                writer.writeCharacters(qname.getLocalName());
-            } else {
-                final String ns = qname.getNamespace().toString();
-                final String prefix = "x";
-                writer.writeNamespace(prefix, ns);
-                writer.writeCharacters(prefix + ':' + qname.getLocalName());
-            }
-
+            writeIdentityRef(writer, (QName) value, parent);
         } else {
             LOG.debug("Value of {}:{} is not a QName but {}", type.getQName().getNamespace(),
                     type.getQName().getLocalName(), value.getClass());
@@ -144,19 +107,16 @@ abstract class XMLStreamWriterUtils {
         }
     }
 
-    private void write(@Nonnull final XMLStreamWriter writer, @Nonnull final InstanceIdentifierTypeDefinition type,
-                       @Nonnull final Object value) throws XMLStreamException {
-        if (value instanceof YangInstanceIdentifier) {
-            writeInstanceIdentifier(writer, (YangInstanceIdentifier)value);
+    private static void writeIdentityRef(final XMLStreamWriter writer, final QName qname, final QNameModule parent)
+            throws XMLStreamException {
+        //in case parent is present and same as element namespace write value without namespace
+        if (qname.getNamespace().equals(parent.getNamespace())) {
+            writer.writeCharacters(qname.getLocalName());
         } else {
-            LOG.warn("Value of {}:{} is not an InstanceIdentifier but {}", type.getQName().getNamespace(),
-                    type.getQName().getLocalName(), value.getClass());
-            writer.writeCharacters(String.valueOf(value));
+            final String ns = qname.getNamespace().toString();
+            final String prefix = "x";
+            writer.writeNamespace(prefix, ns);
+            writer.writeCharacters(prefix + ':' + qname.getLocalName());
         }
     }
-
-    abstract TypeDefinition<?> getBaseTypeForLeafRef(SchemaNode schemaNode, LeafrefTypeDefinition type);
-
-    abstract void writeInstanceIdentifier(XMLStreamWriter writer, YangInstanceIdentifier value)
-            throws XMLStreamException;
 }
@@ -50,6 +50,7 @@ import org.opendaylight.yangtools.yang.data.util.ListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
 import org.opendaylight.yangtools.yang.data.util.RpcAsContainer;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
+import org.opendaylight.yangtools.yang.data.util.StreamingCompositeNode;
 import org.opendaylight.yangtools.yang.data.util.YangModeledAnyXmlNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
@@ -78,13 +79,15 @@ public final class XmlParserStream implements Closeable, Flushable {
     private final XmlCodecFactory codecs;
     private final DataSchemaNode parentNode;
     private final boolean strictParsing;
+    private final boolean streaming;
 
     private XmlParserStream(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
-            final DataSchemaNode parentNode, final boolean strictParsing) {
+            final DataSchemaNode parentNode, final boolean strictParsing, final boolean streaming) {
         this.writer = requireNonNull(writer);
         this.codecs = requireNonNull(codecs);
         this.parentNode = parentNode;
         this.strictParsing = strictParsing;
+        this.streaming = streaming;
     }
 
     /**
@@ -114,11 +117,43 @@ public final class XmlParserStream implements Closeable, Flushable {
      */
     public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
             final SchemaNode parentNode, final boolean strictParsing) {
+        return create(writer, codecs, parentNode, strictParsing, false);
+    }
+
+    /**
+     * Construct a new {@link XmlParserStream} operating in streaming mode. Unlike the default mode, which builds
+     * an intermediate representation of the whole input before emitting any events, this mode emits events into
+     * the writer as soon as the corresponding XML elements are read. Only children of choices and augmentations,
+     * and list entry children which precede the last key leaf, are buffered, hence memory usage is bounded by
+     * the depth of the tree rather than by the size of the input.
+     *
+     * <p>
+     * Note that if the input is found to be invalid, the writer will have already received events for the part
+     * of the input preceding the error.
+     *
+     * @param writer Output writer
+     * @param codecs Shared codecs
+     * @param parentNode Parent root node
+     * @param strictParsing parsing mode
+     *            if set to true, the parser will throw an exception if it encounters unknown child nodes
+     *            (nodes, that are not defined in the provided SchemaContext) in containers and lists
+     *            if set to false, the parser will skip unknown child nodes
+     * @return A new stream instance
+     */
+    @Beta
+    public static XmlParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final XmlCodecFactory codecs, final SchemaNode parentNode, final boolean strictParsing) {
+        return create(writer, codecs, parentNode, strictParsing, true);
+    }
+
+    private static XmlParserStream create(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
+            final SchemaNode parentNode, final boolean strictParsing, final boolean streaming) {
         if (parentNode instanceof RpcDefinition) {
-            return new XmlParserStream(writer, codecs, new RpcAsContainer((RpcDefinition) parentNode), strictParsing);
+            return new XmlParserStream(writer, codecs, new RpcAsContainer((RpcDefinition) parentNode), strictParsing,
+                streaming);
         }
         checkArgument(parentNode instanceof DataSchemaNode, "Instance of DataSchemaNode class awaited.");
-        return new XmlParserStream(writer, codecs, (DataSchemaNode) parentNode, strictParsing);
+        return new XmlParserStream(writer, codecs, (DataSchemaNode) parentNode, strictParsing, streaming);
     }
 
     /**
@@ -148,7 +183,7 @@ public final class XmlParserStream implements Closeable, Flushable {
      */
     public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
             final SchemaNode parentNode, final boolean strictParsing) {
-        return create(writer, XmlCodecFactory.create(schemaContext), parentNode, strictParsing);
+        return create(writer, XmlCodecFactory.getShared(schemaContext), parentNode, strictParsing);
     }
 
     /**
@@ -174,6 +209,11 @@ public final class XmlParserStream implements Closeable, Flushable {
             IOException, ParserConfigurationException, SAXException {
         if (reader.hasNext()) {
             reader.nextTag();
+            if (streaming) {
+                stream(reader, parentNode, reader.getLocalName());
+                return this;
+            }
+
             final AbstractNodeDataWithSchema nodeDataWithSchema;
             if (parentNode instanceof ContainerSchemaNode) {
                 nodeDataWithSchema = new ContainerNodeDataWithSchema(parentNode);
@@ -389,6 +429,138 @@ public final class XmlParserStream implements Closeable, Flushable {
         }
     }
 
+    private void stream(final XMLStreamReader in, final DataSchemaNode schema, final String rootElement)
+            throws XMLStreamException, URISyntaxException, ParserConfigurationException, SAXException, IOException {
+        if (schema instanceof ContainerSchemaNode || schema instanceof YangModeledAnyXmlSchemaNode) {
+            streamComposite(in, schema, rootElement);
+        } else if (schema instanceof ListSchemaNode) {
+            streamList(in, (ListSchemaNode) schema, rootElement);
+        } else if (schema instanceof AnyXmlSchemaNode) {
+            streamSimple(in, new AnyXmlNodeDataWithSchema(schema), rootElement);
+        } else if (schema instanceof LeafSchemaNode) {
+            streamSimple(in, new LeafNodeDataWithSchema(schema), rootElement);
+        } else if (schema instanceof LeafListSchemaNode) {
+            streamLeafList(in, (LeafListSchemaNode) schema, rootElement);
+        } else {
+            throw new IllegalStateException("Unsupported schema node type " + schema.getClass() + ".");
+        }
+    }
+
+    private void streamSimple(final XMLStreamReader in, final SimpleNodeDataWithSchema node,
+            final String rootElement)
+            throws XMLStreamException, URISyntaxException, ParserConfigurationException, SAXException, IOException {
+        read(in, node, rootElement);
+        node.write(writer);
+    }
+
+    private void streamLeafList(final XMLStreamReader in, final LeafListSchemaNode schema, final String rootElement)
+            throws XMLStreamException, URISyntaxException, ParserConfigurationException, SAXException, IOException {
+        StreamingCompositeNode.startLeafSet(writer, schema);
+        if (in.hasNext()) {
+            String xmlElementName = in.getLocalName();
+            while (xmlElementName.equals(schema.getQName().getLocalName())) {
+                streamSimple(in, new LeafListEntryNodeDataWithSchema(schema), rootElement);
+                if (in.getEventType() == XMLStreamConstants.END_DOCUMENT) {
+                    break;
+                }
+                xmlElementName = in.getLocalName();
+            }
+        }
+        writer.endNode();
+    }
+
+    private void streamList(final XMLStreamReader in, final ListSchemaNode schema, final String rootElement)
+            throws XMLStreamException, URISyntaxException, ParserConfigurationException, SAXException, IOException {
+        StreamingCompositeNode.startList(writer, schema);
+        if (in.hasNext()) {
+            String xmlElementName = in.getLocalName();
+            while (xmlElementName.equals(schema.getQName().getLocalName())) {
+                streamComposite(in, schema, rootElement);
+                if (in.getEventType() == XMLStreamConstants.END_DOCUMENT) {
+                    break;
+                }
+                xmlElementName = in.getLocalName();
+            }
+        }
+        writer.endNode();
+    }
+
+    private void streamComposite(final XMLStreamReader in, final DataSchemaNode schema, final String rootElement)
+            throws XMLStreamException, URISyntaxException, ParserConfigurationException, SAXException, IOException {
+        if (!in.hasNext()) {
+            StreamingCompositeNode.start(writer, schema, null).end();
+            return;
+        }
+
+        // Attributes of YANG-modeled anyxml nodes are not retained, just as in the non-streaming mode
+        final StreamingCompositeNode node = StreamingCompositeNode.start(writer, schema,
+            schema instanceof YangModeledAnyXmlSchemaNode ? null : getElementAttributes(in));
+        final DataSchemaNode childParentSchema = schema instanceof YangModeledAnyXmlSchemaNode
+                ? ((YangModeledAnyXmlSchemaNode) schema).getSchemaOfAnyXmlData() : schema;
+
+        switch (in.nextTag()) {
+            case XMLStreamConstants.START_ELEMENT:
+                final Set<String> namesakes = new HashSet<>();
+                while (in.hasNext()) {
+                    final String xmlElementName = in.getLocalName();
+                    if (schema.getQName().getLocalName().equals(xmlElementName)
+                            && in.getEventType() == XMLStreamConstants.END_ELEMENT) {
+                        if (isNextEndDocument(in)) {
+                            break;
+                        }
+
+                        if (!isAtElement(in)) {
+                            in.nextTag();
+                        }
+                        break;
+                    }
+
+                    if (in.isEndElement() && rootElement.equals(xmlElementName)) {
+                        break;
+                    }
+
+                    if (!namesakes.add(xmlElementName)) {
+                        final Location loc = in.getLocation();
+                        throw new IllegalStateException(String.format(
+                                "Duplicate element \"%s\" in XML input at: line %s column %s", xmlElementName,
+                                loc.getLineNumber(), loc.getColumnNumber()));
+                    }
+
+                    final String xmlElementNamespace = in.getNamespaceURI();
+                    final Deque<DataSchemaNode> childDataSchemaNodes =
+                            ParserStreamUtils.findSchemaNodeByNameAndNamespace(childParentSchema, xmlElementName,
+                                    new URI(xmlElementNamespace));
+
+                    if (childDataSchemaNodes.isEmpty()) {
+                        checkState(!strictParsing, "Schema for node with name %s and namespace %s doesn't exist.",
+                            xmlElementName, xmlElementNamespace);
+                        skipUnknownNode(in);
+                        continue;
+                    }
+
+                    if (node.isStreamable(childDataSchemaNodes)) {
+                        stream(in, childDataSchemaNodes.pop(), rootElement);
+                    } else {
+                        read(in, node.bufferChild(childDataSchemaNodes), rootElement);
+                    }
+                }
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                if (isNextEndDocument(in)) {
+                    break;
+                }
+
+                if (!isAtElement(in)) {
+                    in.nextTag();
+                }
+                break;
+            default:
+                break;
+        }
+
+        node.end();
+    }
+
     private static boolean isNextEndDocument(final XMLStreamReader in) throws XMLStreamException {
         return in.next() == XMLStreamConstants.END_DOCUMENT;
     }
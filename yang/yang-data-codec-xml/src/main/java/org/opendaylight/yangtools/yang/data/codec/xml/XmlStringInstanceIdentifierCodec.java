@@ -15,6 +15,7 @@ import java.net.URI;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.Map.Entry;
 import javax.annotation.Nonnull;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLStreamException;
@@ -87,7 +88,14 @@ final class XmlStringInstanceIdentifierCodec extends AbstractModuleStringInstanc
     @Override
     public void writeValue(final XMLStreamWriter ctx, final YangInstanceIdentifier value)
             throws XMLStreamException {
-        ctx.writeCharacters(serialize(value));
+        final RandomPrefixInstanceIdentifierSerializer serializer = new RandomPrefixInstanceIdentifierSerializer(
+            dataContextTree, ctx.getNamespaceContext());
+        final String str = serializer.serialize(value);
+
+        for (Entry<URI, String> e : serializer.getPrefixes()) {
+            ctx.writeNamespace(e.getValue(), e.getKey().toString());
+        }
+        ctx.writeCharacters(str);
     }
 
     private static NamespaceContext getNamespaceContext() {
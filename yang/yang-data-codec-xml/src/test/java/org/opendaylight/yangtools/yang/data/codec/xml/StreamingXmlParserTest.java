@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.xml.sax.SAXException;
+
+public class StreamingXmlParserTest {
+    private static final QName OUTER_CONTAINER = QName.create("baz-namespace", "outer-container");
+    private static final QName PARENT_CONTAINER = QName.create("foo-namespace", "parent-container");
+
+    private static SchemaContext schemaContext;
+    private static XmlCodecFactory codecs;
+
+    @BeforeClass
+    public static void setup() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/");
+        codecs = XmlCodecFactory.getShared(schemaContext);
+    }
+
+    @Test
+    public void testComplexXml() throws Exception {
+        assertSameResult(OUTER_CONTAINER, "/baz.xml");
+    }
+
+    @Test
+    public void testSimpleTypesAndAnyxml() throws Exception {
+        assertSameResult(PARENT_CONTAINER, "/foo.xml");
+    }
+
+    @Test
+    public void testKeysAfterOtherChildren() throws Exception {
+        final String xml = "<outer-container xmlns=\"baz-namespace\"><my-container-3><my-doubly-keyed-list>"
+                + "<my-leaf-in-list-3>listleafvalue1</my-leaf-in-list-3>"
+                + "<my-second-key-leaf>listkeyvalue2</my-second-key-leaf>"
+                + "<my-first-key-leaf>listkeyvalue1</my-first-key-leaf>"
+                + "</my-doubly-keyed-list></my-container-3></outer-container>";
+        final NormalizedNode<?, ?> expected = parse(OUTER_CONTAINER, toStream(xml), false);
+        assertNotNull(expected);
+        assertEquals(expected, parse(OUTER_CONTAINER, toStream(xml), true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMissingKey() throws Exception {
+        parse(OUTER_CONTAINER, toStream("<outer-container xmlns=\"baz-namespace\"><my-container-3>"
+                + "<my-doubly-keyed-list><my-first-key-leaf>listkeyvalue1</my-first-key-leaf>"
+                + "</my-doubly-keyed-list></my-container-3></outer-container>"), true);
+    }
+
+    private static void assertSameResult(final QName root, final String resource) throws Exception {
+        final NormalizedNode<?, ?> expected = parse(root, StreamingXmlParserTest.class.getResourceAsStream(resource),
+            false);
+        assertNotNull(expected);
+        assertEquals(expected, parse(root, StreamingXmlParserTest.class.getResourceAsStream(resource), true));
+    }
+
+    private static InputStream toStream(final String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static NormalizedNode<?, ?> parse(final QName root, final InputStream input, final boolean streaming)
+            throws XMLStreamException, URISyntaxException, IOException, ParserConfigurationException, SAXException {
+        final SchemaNode parentNode = SchemaContextUtil.findNodeInSchemaContext(schemaContext,
+            ImmutableList.of(root));
+        final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(input);
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+
+        final XmlParserStream xmlParser = streaming ? XmlParserStream.createStreaming(streamWriter, codecs, parentNode,
+            true) : XmlParserStream.create(streamWriter, codecs, parentNode);
+        xmlParser.parse(reader);
+        xmlParser.flush();
+        xmlParser.close();
+        return result.getResult();
+    }
+}
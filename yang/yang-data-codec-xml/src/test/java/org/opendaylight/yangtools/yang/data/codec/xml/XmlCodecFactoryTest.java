@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class XmlCodecFactoryTest {
+    private static final QName PARENT_CONTAINER = QName.create("foo-namespace", "parent-container");
+    private static final QName LEAF_CONTAINER = QName.create(PARENT_CONTAINER, "leaf-container");
+    private static final QName STRING_LEAF = QName.create(PARENT_CONTAINER, "string-leaf");
+    private static final QName LEAFREF_LEAF = QName.create(PARENT_CONTAINER, "leafref-leaf");
+    private static final QName INT32_LEAF = QName.create(PARENT_CONTAINER, "int32-leaf");
+    private static final QName EMPTY_LEAF = QName.create(PARENT_CONTAINER, "empty-leaf");
+
+    private static SchemaContext schemaContext;
+    private static LeafSchemaNode stringLeaf;
+    private static LeafSchemaNode leafrefLeaf;
+    private static LeafSchemaNode emptyLeaf;
+
+    @BeforeClass
+    public static void setup() {
+        schemaContext = YangParserTestUtils.parseYangResource("/foo.yang");
+        final ContainerSchemaNode leafContainer = (ContainerSchemaNode) ((ContainerSchemaNode) schemaContext
+                .getDataChildByName(PARENT_CONTAINER)).getDataChildByName(LEAF_CONTAINER);
+        stringLeaf = (LeafSchemaNode) leafContainer.getDataChildByName(STRING_LEAF);
+        leafrefLeaf = (LeafSchemaNode) leafContainer.getDataChildByName(LEAFREF_LEAF);
+        emptyLeaf = (LeafSchemaNode) leafContainer.getDataChildByName(EMPTY_LEAF);
+    }
+
+    @Test
+    public void testPrecomputed() {
+        final XmlCodecFactory factory = XmlCodecFactory.getPrecomputed(schemaContext);
+        assertSame(factory, XmlCodecFactory.getPrecomputed(schemaContext));
+        assertSame(factory, XmlCodecFactory.getPrecomputedIfAvailable(schemaContext).get());
+        assertSame(schemaContext, factory.getSchemaContext());
+
+        final XmlCodec<?> codec = factory.codecFor(stringLeaf);
+        assertSame(codec, factory.codecFor(stringLeaf));
+        final XmlCodec<?> leafrefCodec = factory.codecFor(leafrefLeaf);
+        assertSame(leafrefCodec, factory.codecFor(leafrefLeaf));
+        assertSame(EmptyXmlCodec.INSTANCE, factory.codecFor(emptyLeaf));
+    }
+
+    @Test
+    public void testShared() {
+        final XmlCodecFactory factory = XmlCodecFactory.getShared(schemaContext);
+        assertSame(factory, XmlCodecFactory.getShared(schemaContext));
+        assertNotSame(factory, XmlCodecFactory.getPrecomputed(schemaContext));
+        assertSame(factory.codecFor(stringLeaf), factory.codecFor(stringLeaf));
+        assertSame(factory.codecFor(leafrefLeaf), factory.codecFor(leafrefLeaf));
+    }
+
+    @Test
+    public void testLazy() {
+        final XmlCodecFactory factory = XmlCodecFactory.createLazy(schemaContext);
+        assertNotSame(factory, XmlCodecFactory.createLazy(schemaContext));
+        assertSame(factory.codecFor(stringLeaf), factory.codecFor(stringLeaf));
+        assertSame(factory.codecFor(leafrefLeaf), factory.codecFor(leafrefLeaf));
+    }
+
+    @Test
+    public void testSimple() {
+        final XmlCodecFactory factory = XmlCodecFactory.createSimple(schemaContext);
+        assertNotSame(factory, XmlCodecFactory.createSimple(schemaContext));
+        assertNotSame(factory.codecFor(stringLeaf), factory.codecFor(stringLeaf));
+    }
+
+    @Test
+    public void testWriterWithPrecomputedFactory() throws Exception {
+        final ContainerNode data = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(PARENT_CONTAINER))
+                .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(LEAF_CONTAINER))
+                    .withChild(ImmutableNodes.leafNode(STRING_LEAF, "foo"))
+                    .withChild(ImmutableNodes.leafNode(LEAFREF_LEAF, "foo"))
+                    .withChild(ImmutableNodes.leafNode(INT32_LEAF, 42))
+                    .build())
+                .build();
+
+        final StringWriter out = new StringWriter();
+        final XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+        outputFactory.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, Boolean.TRUE);
+        final XMLStreamWriter xmlWriter = outputFactory.createXMLStreamWriter(out);
+        final NormalizedNodeStreamWriter streamWriter = XMLStreamNormalizedNodeStreamWriter.create(xmlWriter,
+            XmlCodecFactory.getPrecomputed(schemaContext), SchemaPath.ROOT);
+        try (NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(streamWriter)) {
+            writer.write(data);
+        }
+        xmlWriter.close();
+
+        final String xml = out.toString();
+        assertTrue(xml, xml.startsWith("<parent-container xmlns=\"foo-namespace\">"));
+        assertThat(xml, containsString("<string-leaf>foo</string-leaf>"));
+        assertThat(xml, containsString("<leafref-leaf>foo</leafref-leaf>"));
+        assertThat(xml, containsString("<int32-leaf>42</int32-leaf>"));
+        assertEquals(1, xml.split("<leaf-container").length - 1);
+    }
+}
@@ -8,6 +8,7 @@
 package org.opendaylight.yangtools.yang.data.impl.codec;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.annotations.Beta;
 import com.google.common.collect.Iterables;
@@ -15,22 +16,20 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.HashSet;
 import java.util.Optional;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.SchemaNavigationIndex;
 import org.opendaylight.yangtools.yang.data.impl.schema.SchemaUtils;
 import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
-import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
-import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
 import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
@@ -40,7 +39,6 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.YangModeledAnyXmlSchemaNode;
-import org.opendaylight.yangtools.yang.model.util.EffectiveAugmentationSchema;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,9 +50,11 @@ import org.slf4j.LoggerFactory;
 public final class SchemaTracker {
     private static final Logger LOG = LoggerFactory.getLogger(SchemaTracker.class);
     private final Deque<Object> schemaStack = new ArrayDeque<>();
+    private final SchemaNavigationIndex index;
     private final DataNodeContainer root;
 
     private SchemaTracker(final SchemaContext context, final SchemaPath path) {
+        index = SchemaNavigationIndex.from(context);
         final Collection<SchemaNode> schemaNodes = SchemaUtils.findParentSchemaNodesOnPath(context, path);
         checkArgument(!schemaNodes.isEmpty(), "Unable to find schema node for supplied schema path: %s", path);
         if (schemaNodes.size() > 1) {
@@ -110,7 +110,7 @@ public final class SchemaTracker {
                 }
             }
         } else if (parent instanceof ChoiceSchemaNode) {
-            schema = findChildInCases((ChoiceSchemaNode) parent, qname);
+            schema = index.findChild((ChoiceSchemaNode) parent, qname).orElse(null);
         } else {
             throw new IllegalStateException("Unsupported schema type " + parent.getClass() + " on stack.");
         }
@@ -119,30 +119,6 @@ public final class SchemaTracker {
         return schema;
     }
 
-    private static SchemaNode findChildInCases(final ChoiceSchemaNode parent, final QName qname) {
-        DataSchemaNode schema = null;
-        for (final ChoiceCaseNode caze : parent.getCases()) {
-            final DataSchemaNode potential = caze.getDataChildByName(qname);
-            if (potential != null) {
-                schema = potential;
-                break;
-            }
-        }
-        return schema;
-    }
-
-    private static SchemaNode findCaseByChild(final ChoiceSchemaNode parent, final QName qname) {
-        DataSchemaNode schema = null;
-        for (final ChoiceCaseNode caze : parent.getCases()) {
-            final DataSchemaNode potential = caze.getDataChildByName(qname);
-            if (potential != null) {
-                schema = caze;
-                break;
-            }
-        }
-        return schema;
-    }
-
     public void startList(final PathArgument name) {
         final SchemaNode schema = getSchema(name);
         checkArgument(schema instanceof ListSchemaNode, "Node %s is not a list", schema.getPath());
@@ -231,18 +207,15 @@ public final class SchemaTracker {
         checkArgument(parent instanceof AugmentationTarget, "Augmentation not allowed under %s", parent);
         if (parent instanceof ChoiceSchemaNode) {
             final QName name = Iterables.get(identifier.getPossibleChildNames(), 0);
-            parent = findCaseByChild((ChoiceSchemaNode) parent, name);
+            parent = index.findCaseByChild((ChoiceSchemaNode) parent, name).orElse(null);
         }
         checkArgument(parent instanceof DataNodeContainer, "Augmentation allowed only in DataNodeContainer", parent);
-        final AugmentationSchemaNode schema = SchemaUtils.findSchemaForAugment((AugmentationTarget) parent,
-            identifier.getPossibleChildNames());
-        final HashSet<DataSchemaNode> realChildSchemas = new HashSet<>();
-        for (final DataSchemaNode child : schema.getChildNodes()) {
-            realChildSchemas.add(((DataNodeContainer) parent).getDataChildByName(child.getQName()));
-        }
-        final AugmentationSchemaNode resolvedSchema = new EffectiveAugmentationSchema(schema, realChildSchemas);
-        schemaStack.push(resolvedSchema);
-        return resolvedSchema;
+        final Optional<AugmentationSchemaNode> resolvedSchema = index.findResolvedAugmentation(
+            (AugmentationTarget) parent, identifier.getPossibleChildNames());
+        checkState(resolvedSchema.isPresent(), "Unknown augmentation node detected, identified by: %s, in: %s",
+            identifier.getPossibleChildNames(), parent);
+        schemaStack.push(resolvedSchema.get());
+        return resolvedSchema.get();
     }
 
     public AnyXmlSchemaNode anyxmlNode(final NodeIdentifier name) {
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.leafref;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An index of leafref values, maintained alongside a
+ * {@link org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree} and used to validate {@link DataTreeCandidate}s
+ * incrementally. For each leafref target path the index counts the
+ * number of target leaves holding a particular value, and for each leafref the number of referencing leaves holding
+ * a particular value. Validation of a candidate then walks only the modified parts of the candidate and checks the
+ * affected values against the index, instead of collecting all referencing and target values from the whole tree,
+ * as {@link LeafRefValidatation} does.
+ *
+ * <p>
+ * Leafrefs whose paths contain predicates cannot be resolved from values alone. Candidates touching such leafrefs
+ * or their targets are validated via {@link LeafRefValidatation#validate(DataTreeCandidate, LeafRefContext)}.
+ *
+ * <p>
+ * The expected usage is to {@link #validate(DataTreeCandidate)} each candidate before it is committed to the data tree
+ * and to {@link #apply(DataTreeCandidate)} it once it has been committed.
+ */
+@Beta
+@NotThreadSafe
+public final class LeafRefIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(LeafRefIndex.class);
+
+    private final LeafRefContext rootLeafRefCtx;
+    // Target leaf contexts to their data paths
+    private final Map<LeafRefContext, LeafRefPath> targetPaths = new HashMap<>();
+    // Indexed target paths to leafrefs pointing to them
+    private final Map<LeafRefPath, List<LeafRefContext>> referencingCtxs = new HashMap<>();
+    // Leafrefs with predicates and their target paths, which are not indexed
+    private final Set<LeafRefContext> unindexedReferencingCtxs = new HashSet<>();
+    private final Set<LeafRefPath> unindexedTargetPaths = new HashSet<>();
+
+    private final Map<LeafRefPath, Multiset<Object>> targetValues = new HashMap<>();
+    private final Map<LeafRefContext, Multiset<Object>> referenceValues = new HashMap<>();
+
+    private LeafRefIndex(final LeafRefContext rootLeafRefCtx) {
+        this.rootLeafRefCtx = requireNonNull(rootLeafRefCtx);
+        collectReferencingCtxs(rootLeafRefCtx);
+        collectTargetCtxs(rootLeafRefCtx);
+    }
+
+    /**
+     * Create an index for an empty data tree.
+     *
+     * @param rootLeafRefCtx Root leafref context of the data tree's schema
+     * @return A new empty index
+     */
+    public static LeafRefIndex create(final LeafRefContext rootLeafRefCtx) {
+        return new LeafRefIndex(rootLeafRefCtx);
+    }
+
+    /**
+     * Create an index populated with the contents of a data tree.
+     *
+     * @param rootLeafRefCtx Root leafref context of the data tree's schema
+     * @param root Root node of the data tree
+     * @return A new index
+     */
+    public static LeafRefIndex create(final LeafRefContext rootLeafRefCtx, final NormalizedNode<?, ?> root) {
+        final LeafRefIndex ret = new LeafRefIndex(rootLeafRefCtx);
+        final Delta delta = new Delta();
+        ret.collectData(delta, root, rootLeafRefCtx, rootLeafRefCtx, 1);
+        ret.applyDelta(delta);
+        return ret;
+    }
+
+    /**
+     * Validate leafrefs affected by a candidate against the current state of the index. The index is not modified.
+     *
+     * @param candidate Data tree candidate, rooted at the data tree root
+     * @throws LeafRefDataValidationFailedException if the candidate violates any leafref constraints
+     * @throws IllegalArgumentException if the candidate is not rooted at the data tree root
+     */
+    public void validate(final DataTreeCandidate candidate) throws LeafRefDataValidationFailedException {
+        final Delta delta = collectCandidate(candidate);
+        if (delta.needsFullValidation) {
+            LOG.debug("Candidate {} affects leafrefs with predicates, performing full validation", candidate);
+            LeafRefValidatation.validate(candidate, rootLeafRefCtx);
+            return;
+        }
+
+        final List<String> errorsMessages = new ArrayList<>();
+
+        // New references need to point to an existing target value
+        for (final Entry<LeafRefContext, Map<Object, Integer>> entry : delta.references.entrySet()) {
+            final LeafRefContext referencingCtx = entry.getKey();
+            final LeafRefPath targetPath = referencingCtx.getAbsoluteLeafRefTargetPath();
+            for (final Entry<Object, Integer> value : entry.getValue().entrySet()) {
+                if (value.getValue() > 0 && targetCount(delta, targetPath, value.getKey()) <= 0) {
+                    errorsMessages.add(String.format("Invalid leafref value [%s] of LEAFREF node: %s leafRef target "
+                            + "path: %s", value.getKey(), referencingCtx.getNodeName(), targetPath));
+                }
+            }
+        }
+
+        // Removed target values must not be referenced anymore
+        for (final Entry<LeafRefPath, Map<Object, Integer>> entry : delta.targets.entrySet()) {
+            final LeafRefPath targetPath = entry.getKey();
+            for (final Entry<Object, Integer> value : entry.getValue().entrySet()) {
+                final Object targetValue = value.getKey();
+                if (value.getValue() >= 0 || targetCount(delta, targetPath, targetValue) > 0) {
+                    continue;
+                }
+
+                for (final LeafRefContext referencingCtx : referencingCtxs.get(targetPath)) {
+                    // Values referenced by this candidate have already been reported above
+                    if (referenceDelta(delta, referencingCtx, targetValue) <= 0
+                            && referenceCount(delta, referencingCtx, targetValue) > 0) {
+                        errorsMessages.add(String.format("Invalid leafref value [%s] by validation of leafref TARGET "
+                                + "node: %s path of invalid LEAFREF node: %s leafRef target path: %s", targetValue,
+                                targetPath.getLastComponent().getQName(), referencingCtx.getCurrentNodePath(),
+                                targetPath));
+                    }
+                }
+            }
+        }
+
+        if (!errorsMessages.isEmpty()) {
+            final StringBuilder message = new StringBuilder();
+            for (final String errorMessage : errorsMessages) {
+                message.append(errorMessage);
+            }
+            throw new LeafRefDataValidationFailedException(message.toString(), errorsMessages.size());
+        }
+    }
+
+    /**
+     * Update the index to reflect a candidate which has been committed to the data tree.
+     *
+     * @param candidate Committed data tree candidate, rooted at the data tree root
+     * @throws IllegalArgumentException if the candidate is not rooted at the data tree root
+     */
+    public void apply(final DataTreeCandidate candidate) {
+        applyDelta(collectCandidate(candidate));
+    }
+
+    private void collectReferencingCtxs(final LeafRefContext ctx) {
+        if (ctx.isReferencing()) {
+            final LeafRefPath targetPath = ctx.getAbsoluteLeafRefTargetPath();
+            if (hasPredicates(targetPath)) {
+                unindexedReferencingCtxs.add(ctx);
+                unindexedTargetPaths.add(targetPath);
+            } else {
+                referencingCtxs.computeIfAbsent(targetPath, k -> new ArrayList<>()).add(ctx);
+            }
+        }
+        for (final LeafRefContext child : ctx.getReferencingChilds().values()) {
+            collectReferencingCtxs(child);
+        }
+    }
+
+    private void collectTargetCtxs(final LeafRefContext ctx) {
+        if (ctx.isReferenced()) {
+            targetPaths.put(ctx, LeafRefUtils.schemaPathToLeafRefPath(ctx.getCurrentNodePath(),
+                ctx.getLeafRefContextModule()));
+        }
+        for (final LeafRefContext child : ctx.getReferencedByChilds().values()) {
+            collectTargetCtxs(child);
+        }
+    }
+
+    private static boolean hasPredicates(final LeafRefPath path) {
+        for (final QNameWithPredicate qname : path.getPathFromRoot()) {
+            if (!qname.getQNamePredicates().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Delta collectCandidate(final DataTreeCandidate candidate) {
+        checkArgument(candidate.getRootPath().isEmpty(), "Candidate %s is not rooted at data tree root", candidate);
+        final Delta delta = new Delta();
+        collectNode(delta, candidate.getRootNode(), rootLeafRefCtx, rootLeafRefCtx);
+        return delta;
+    }
+
+    private void collectNode(final Delta delta, final DataTreeCandidateNode node, final LeafRefContext referencedByCtx,
+            final LeafRefContext referencingCtx) {
+        switch (node.getModificationType()) {
+            case UNMODIFIED:
+                return;
+            case SUBTREE_MODIFIED:
+                final NormalizedNode<?, ?> data = node.getDataAfter().get();
+                for (final DataTreeCandidateNode childNode : node.getChildNodes()) {
+                    final PathArgument childId = childNode.getIdentifier();
+                    final LeafRefContext childReferencedByCtx = getChildCtx(referencedByCtx, data, childId, true);
+                    final LeafRefContext childReferencingCtx = getChildCtx(referencingCtx, data, childId, false);
+                    if (childReferencedByCtx != null || childReferencingCtx != null) {
+                        collectNode(delta, childNode, childReferencedByCtx, childReferencingCtx);
+                    }
+                }
+                return;
+            default:
+                // Replaced subtree: forget all values from before and learn all values from after
+                if (node.getDataBefore().isPresent()) {
+                    collectData(delta, node.getDataBefore().get(), referencedByCtx, referencingCtx, -1);
+                }
+                if (node.getDataAfter().isPresent()) {
+                    collectData(delta, node.getDataAfter().get(), referencedByCtx, referencingCtx, 1);
+                }
+        }
+    }
+
+    private void collectData(final Delta delta, final NormalizedNode<?, ?> node, final LeafRefContext referencedByCtx,
+            final LeafRefContext referencingCtx, final int count) {
+        if (node instanceof LeafNode || node instanceof LeafSetEntryNode) {
+            if (referencedByCtx != null && referencedByCtx.isReferenced()) {
+                collectTargetValue(delta, referencedByCtx, node.getValue(), count);
+            }
+            if (referencingCtx != null && referencingCtx.isReferencing()) {
+                collectReferenceValue(delta, referencingCtx, node.getValue(), count);
+            }
+            return;
+        }
+
+        final Collection<? extends NormalizedNode<?, ?>> children;
+        if (node instanceof NormalizedNodeContainer) {
+            children = ((NormalizedNodeContainer<?, ?, ?>) node).getValue();
+        } else if (node instanceof UnkeyedListNode) {
+            children = ((UnkeyedListNode) node).getValue();
+        } else {
+            return;
+        }
+
+        for (final NormalizedNode<?, ?> child : children) {
+            final PathArgument childId = child.getIdentifier();
+            final LeafRefContext childReferencedByCtx = getChildCtx(referencedByCtx, node, childId, true);
+            final LeafRefContext childReferencingCtx = getChildCtx(referencingCtx, node, childId, false);
+            if (childReferencedByCtx != null || childReferencingCtx != null) {
+                collectData(delta, child, childReferencedByCtx, childReferencingCtx, count);
+            }
+        }
+    }
+
+    private void collectTargetValue(final Delta delta, final LeafRefContext referencedByCtx, final Object value,
+            final int count) {
+        final LeafRefPath targetPath = targetPaths.get(referencedByCtx);
+        if (unindexedTargetPaths.contains(targetPath)) {
+            delta.needsFullValidation = true;
+        }
+        if (referencingCtxs.containsKey(targetPath)) {
+            delta.targets.computeIfAbsent(targetPath, k -> new HashMap<>()).merge(value, count, Integer::sum);
+        }
+    }
+
+    private void collectReferenceValue(final Delta delta, final LeafRefContext referencingCtx, final Object value,
+            final int count) {
+        if (unindexedReferencingCtxs.contains(referencingCtx)) {
+            delta.needsFullValidation = true;
+        } else {
+            delta.references.computeIfAbsent(referencingCtx, k -> new HashMap<>()).merge(value, count, Integer::sum);
+        }
+    }
+
+    private static LeafRefContext getChildCtx(final LeafRefContext ctx, final NormalizedNode<?, ?> parent,
+            final PathArgument childId, final boolean referencedBy) {
+        if (ctx == null) {
+            return null;
+        }
+        // List entries, leaf-list entries and augmentations share the context of their parent
+        if (parent instanceof MapNode || parent instanceof UnkeyedListNode || parent instanceof LeafSetNode
+                || childId instanceof AugmentationIdentifier) {
+            return ctx;
+        }
+
+        final QName qname = childId.getNodeType();
+        if (parent instanceof ChoiceNode) {
+            // Choice contexts have a level of case contexts, which are not present in data
+            final Map<QName, LeafRefContext> cases = referencedBy ? ctx.getReferencedByChilds()
+                    : ctx.getReferencingChilds();
+            for (final LeafRefContext caseCtx : cases.values()) {
+                final LeafRefContext childCtx = getChildCtx(caseCtx, null, childId, referencedBy);
+                if (childCtx != null) {
+                    return childCtx;
+                }
+            }
+            return null;
+        }
+
+        return referencedBy ? ctx.getReferencedChildByName(qname) : ctx.getReferencingChildByName(qname);
+    }
+
+    private int targetCount(final Delta delta, final LeafRefPath targetPath, final Object value) {
+        final Multiset<Object> values = targetValues.get(targetPath);
+        final Map<Object, Integer> changes = delta.targets.get(targetPath);
+        return (values == null ? 0 : values.count(value)) + (changes == null ? 0 : changes.getOrDefault(value, 0));
+    }
+
+    private int referenceCount(final Delta delta, final LeafRefContext referencingCtx, final Object value) {
+        final Multiset<Object> values = referenceValues.get(referencingCtx);
+        return (values == null ? 0 : values.count(value)) + referenceDelta(delta, referencingCtx, value);
+    }
+
+    private static int referenceDelta(final Delta delta, final LeafRefContext referencingCtx, final Object value) {
+        final Map<Object, Integer> changes = delta.references.get(referencingCtx);
+        return changes == null ? 0 : changes.getOrDefault(value, 0);
+    }
+
+    private void applyDelta(final Delta delta) {
+        for (final Entry<LeafRefPath, Map<Object, Integer>> entry : delta.targets.entrySet()) {
+            applyChanges(targetValues.computeIfAbsent(entry.getKey(), k -> HashMultiset.create()), entry.getValue());
+        }
+        for (final Entry<LeafRefContext, Map<Object, Integer>> entry : delta.references.entrySet()) {
+            applyChanges(referenceValues.computeIfAbsent(entry.getKey(), k -> HashMultiset.create()),
+                entry.getValue());
+        }
+    }
+
+    private static void applyChanges(final Multiset<Object> values, final Map<Object, Integer> changes) {
+        for (final Entry<Object, Integer> change : changes.entrySet()) {
+            final int count = change.getValue();
+            if (count > 0) {
+                values.add(change.getKey(), count);
+            } else if (count < 0) {
+                values.remove(change.getKey(), -count);
+            }
+        }
+    }
+
+    /**
+     * Changes to value counts caused by a single candidate.
+     */
+    private static final class Delta {
+        final Map<LeafRefPath, Map<Object, Integer>> targets = new HashMap<>();
+        final Map<LeafRefContext, Map<Object, Integer>> references = new HashMap<>();
+        boolean needsFullValidation;
+    }
+}
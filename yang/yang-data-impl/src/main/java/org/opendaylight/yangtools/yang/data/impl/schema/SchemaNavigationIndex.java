@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.util.EffectiveAugmentationSchema;
+
+/**
+ * Navigation index of a {@link SchemaContext}, providing constant-time lookups of relationships between schema nodes
+ * which {@link SchemaUtils} recovers by iterating over choice cases and available augmentations.
+ *
+ * <p>
+ * Indices are immutable and shared: a single instance is maintained for each {@link SchemaContext} for as long as it
+ * is in use. Index entries for individual schema nodes are built on first access.
+ */
+@Beta
+@ThreadSafe
+public final class SchemaNavigationIndex {
+    private static final LoadingCache<SchemaContext, SchemaNavigationIndex> INDICES = CacheBuilder.newBuilder()
+            .weakKeys().weakValues().build(new CacheLoader<SchemaContext, SchemaNavigationIndex>() {
+                @Override
+                public SchemaNavigationIndex load(@Nonnull final SchemaContext key) {
+                    return new SchemaNavigationIndex(key);
+                }
+            });
+
+    // Schema nodes are looked up by identity. Nodes which are not part of the context, such as resolved augmentations,
+    // may be looked up, too, hence entries are not retained beyond the lifetime of their node.
+    private final LoadingCache<ChoiceSchemaNode, ChoiceEntry> choices = CacheBuilder.newBuilder().weakKeys()
+            .build(new CacheLoader<ChoiceSchemaNode, ChoiceEntry>() {
+                @Override
+                public ChoiceEntry load(@Nonnull final ChoiceSchemaNode key) {
+                    return new ChoiceEntry(key);
+                }
+            });
+    private final LoadingCache<AugmentationTarget, AugmentationEntry> augmentations = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<AugmentationTarget, AugmentationEntry>() {
+                @Override
+                public AugmentationEntry load(@Nonnull final AugmentationTarget key) {
+                    return new AugmentationEntry(key);
+                }
+            });
+
+    private final SchemaContext context;
+
+    private SchemaNavigationIndex(final SchemaContext context) {
+        this.context = requireNonNull(context);
+    }
+
+    /**
+     * Return the navigation index of a {@link SchemaContext}.
+     *
+     * @param context Schema context
+     * @return Navigation index
+     * @throws NullPointerException if context is null
+     */
+    @Nonnull public static SchemaNavigationIndex from(@Nonnull final SchemaContext context) {
+        return INDICES.getUnchecked(context);
+    }
+
+    /**
+     * Return the {@link SchemaContext} this index was built for.
+     *
+     * @return Schema context
+     */
+    @Nonnull public SchemaContext getSchemaContext() {
+        return context;
+    }
+
+    /**
+     * Find a child of one of the cases of a choice. If more than one case contains the child, the first such case
+     * is used.
+     *
+     * @param choice Choice schema node
+     * @param qname QName of the child
+     * @return Child schema node, or empty if none of the cases contains it
+     */
+    @Nonnull public Optional<DataSchemaNode> findChild(@Nonnull final ChoiceSchemaNode choice,
+            @Nonnull final QName qname) {
+        return Optional.ofNullable(choices.getUnchecked(choice).children.get(qname));
+    }
+
+    /**
+     * Find the case of a choice which contains a child. If more than one case contains the child, the first such case
+     * is returned.
+     *
+     * @param choice Choice schema node
+     * @param qname QName of the child
+     * @return Case schema node, or empty if none of the cases contains the child
+     */
+    @Nonnull public Optional<ChoiceCaseNode> findCaseByChild(@Nonnull final ChoiceSchemaNode choice,
+            @Nonnull final QName qname) {
+        return Optional.ofNullable(choices.getUnchecked(choice).cases.get(qname));
+    }
+
+    /**
+     * Find the augmentation of a target which defines exactly the specified children. This is equivalent to
+     * {@link SchemaUtils#findSchemaForAugment(AugmentationTarget, Set)}.
+     *
+     * @param target Augmentation target
+     * @param childNames QNames of the augmentation's children
+     * @return Augmentation schema node, or empty if no such augmentation exists
+     */
+    @Nonnull public Optional<AugmentationSchemaNode> findAugmentation(@Nonnull final AugmentationTarget target,
+            @Nonnull final Set<QName> childNames) {
+        return Optional.ofNullable(augmentations.getUnchecked(target).augmentations.get(childNames));
+    }
+
+    /**
+     * Find the augmentation of a target which defines exactly the specified children, resolved against the target.
+     * Unlike the augmentation itself, the returned {@link EffectiveAugmentationSchema} contains the target's complete
+     * schemas of the augmented children, including any nodes added to them by other augmentations.
+     *
+     * @param target Augmentation target
+     * @param childNames QNames of the augmentation's children
+     * @return Resolved augmentation schema node, or empty if no such augmentation exists or the target is not
+     *         a {@link DataNodeContainer}
+     */
+    @Nonnull public Optional<AugmentationSchemaNode> findResolvedAugmentation(@Nonnull final AugmentationTarget target,
+            @Nonnull final Set<QName> childNames) {
+        return Optional.ofNullable(augmentations.getUnchecked(target).resolved.get(childNames));
+    }
+
+    private static final class ChoiceEntry {
+        final Map<QName, ChoiceCaseNode> cases;
+        final Map<QName, DataSchemaNode> children;
+
+        ChoiceEntry(final ChoiceSchemaNode choice) {
+            final Map<QName, ChoiceCaseNode> caseMap = new LinkedHashMap<>();
+            final Map<QName, DataSchemaNode> childMap = new LinkedHashMap<>();
+            for (final ChoiceCaseNode caze : choice.getCases()) {
+                for (final DataSchemaNode child : caze.getChildNodes()) {
+                    // First case wins, as it would when iterating over the cases
+                    if (caseMap.putIfAbsent(child.getQName(), caze) == null) {
+                        childMap.put(child.getQName(), child);
+                    }
+                }
+            }
+            cases = ImmutableMap.copyOf(caseMap);
+            children = ImmutableMap.copyOf(childMap);
+        }
+    }
+
+    private static final class AugmentationEntry {
+        final Map<Set<QName>, AugmentationSchemaNode> augmentations;
+        final Map<Set<QName>, AugmentationSchemaNode> resolved;
+
+        AugmentationEntry(final AugmentationTarget target) {
+            final Map<Set<QName>, AugmentationSchemaNode> augmentationMap = new LinkedHashMap<>();
+            for (final AugmentationSchemaNode augmentation : target.getAvailableAugmentations()) {
+                augmentationMap.putIfAbsent(
+                    SchemaUtils.getNodeIdentifierForAugmentation(augmentation).getPossibleChildNames(), augmentation);
+            }
+            augmentations = ImmutableMap.copyOf(augmentationMap);
+
+            if (target instanceof DataNodeContainer) {
+                final Map<Set<QName>, AugmentationSchemaNode> resolvedMap = new LinkedHashMap<>();
+                augmentations.forEach((childNames, augmentation) -> {
+                    final Set<DataSchemaNode> realChildSchemas = SchemaUtils.getRealSchemasForAugment(
+                        (DataNodeContainer) target, augmentation);
+                    // Do not fail the entire entry on an augmentation whose children are missing from the target
+                    if (!realChildSchemas.contains(null)) {
+                        resolvedMap.put(childNames, new EffectiveAugmentationSchema(augmentation, realChildSchemas));
+                    }
+                });
+                resolved = ImmutableMap.copyOf(resolvedMap);
+            } else {
+                resolved = ImmutableMap.of();
+            }
+        }
+    }
+}
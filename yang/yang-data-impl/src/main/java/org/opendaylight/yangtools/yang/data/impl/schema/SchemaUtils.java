@@ -440,9 +440,12 @@ public final class SchemaUtils {
         if (node instanceof DataNodeContainer) {
             SchemaNode child = ((DataNodeContainer) node).getDataChildByName(qname);
             if (child == null && node instanceof SchemaContext) {
-                child = tryFind(((SchemaContext) node).getOperations(), qname).orElse(null);
-            }
-            if (child == null && node instanceof NotificationNodeContainer) {
+                final SchemaContext context = (SchemaContext) node;
+                child = context.findRpc(qname).orElse(null);
+                if (child == null) {
+                    child = context.findNotification(qname).orElse(null);
+                }
+            } else if (child == null && node instanceof NotificationNodeContainer) {
                 child = tryFind(((NotificationNodeContainer) node).getNotifications(), qname).orElse(null);
             }
             if (child == null && node instanceof ActionNodeContainer) {
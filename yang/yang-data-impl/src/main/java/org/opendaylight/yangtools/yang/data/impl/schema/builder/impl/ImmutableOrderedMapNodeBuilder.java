@@ -7,12 +7,12 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
-import com.google.common.collect.Iterables;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.util.UnmodifiableCollection;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
@@ -38,7 +38,7 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
     protected ImmutableOrderedMapNodeBuilder(final int sizeHint) {
         if (sizeHint >= 0) {
-            this.value = new LinkedHashMap<>(sizeHint + sizeHint / 3);
+            this.value = MapAdaptor.getDefaultInstance().initialOrderedSnapshot(sizeHint);
         } else {
             this.value = new LinkedHashMap<>(DEFAULT_CAPACITY);
         }
@@ -69,7 +69,7 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
     private void checkDirty() {
         if (dirty) {
-            value = new LinkedHashMap<>(value);
+            value = MapAdaptor.getDefaultInstance().takeOrderedSnapshot(value);
             dirty = false;
         }
     }
@@ -106,7 +106,10 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
     @Override
     public OrderedMapNode build() {
-        dirty = true;
+        if (!dirty) {
+            value = MapAdaptor.getDefaultInstance().optimizeOrdered(value);
+            dirty = true;
+        }
         return new ImmutableOrderedMapNode(nodeIdentifier, value);
     }
 
@@ -142,7 +145,7 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
         @Override
         public MapEntryNode getChild(final int position) {
-            return Iterables.get(children.values(), position);
+            return MapAdaptor.getDefaultInstance().getOrderedValue(children, position);
         }
 
         @Override
@@ -34,6 +34,18 @@ abstract class AbstractDataTreeTip implements DataTreeTip {
 
         m.getStrategy().checkApplicable(YangInstanceIdentifier.EMPTY, m.getRootModification(),
             Optional.of(getTipRoot()), m.getVersion());
+        validateApplicable(m);
+    }
+
+    /**
+     * Perform additional validation of a modification, which has been found to be applicable to this tip. Default
+     * implementation does nothing.
+     *
+     * @param modification Sealed modification
+     * @throws DataValidationFailedException if the modification is not valid
+     */
+    void validateApplicable(final InMemoryDataTreeModification modification) throws DataValidationFailedException {
+        // No-op by default
     }
 
     @Override
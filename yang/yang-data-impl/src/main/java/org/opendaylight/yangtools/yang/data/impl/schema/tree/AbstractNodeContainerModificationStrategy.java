@@ -13,6 +13,9 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -33,11 +36,13 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
 
     private final Class<? extends NormalizedNode<?, ?>> nodeClass;
     private final boolean verifyChildrenStructure;
+    private final int parallelApplyThreshold;
 
     protected AbstractNodeContainerModificationStrategy(final Class<? extends NormalizedNode<?, ?>> nodeClass,
             final DataTreeConfiguration treeConfig) {
         this.nodeClass = Preconditions.checkNotNull(nodeClass , "nodeClass");
         this.verifyChildrenStructure = treeConfig.getTreeType() == TreeType.CONFIGURATION;
+        this.parallelApplyThreshold = treeConfig.getParallelApplyThreshold();
     }
 
     @SuppressWarnings("rawtypes")
@@ -128,29 +133,116 @@ abstract class AbstractNodeContainerModificationStrategy extends SchemaAwareAppl
      * @param modifications modification operations to apply
      * @return Sealed immutable copy of TreeNode structure with all Data Node references set.
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @SuppressWarnings("rawtypes")
     private TreeNode mutateChildren(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
-            final Version nodeVersion, final Iterable<ModifiedNode> modifications) {
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        if (parallelApplyThreshold != 0 && modifications.size() >= parallelApplyThreshold) {
+            return mutateChildrenInParallel(meta, data, nodeVersion, modifications);
+        }
 
         for (final ModifiedNode mod : modifications) {
             final YangInstanceIdentifier.PathArgument id = mod.getIdentifier();
             final Optional<TreeNode> cm = meta.getChild(id);
 
             final Optional<TreeNode> result = resolveChildOperation(id).apply(mod, cm, nodeVersion);
-            if (result.isPresent()) {
-                final TreeNode tn = result.get();
-                meta.addChild(tn);
-                data.addChild(tn.getData());
-            } else {
-                meta.removeChild(id);
-                data.removeChild(id);
-            }
+            applyChildResult(meta, data, id, result);
         }
 
         meta.setData(data.build());
         return meta.seal();
     }
 
+    /**
+     * Parallel version of {@link #mutateChildren(MutableTreeNode, NormalizedNodeContainerBuilder, Version,
+     * Collection)}. Child modifications are independent of each other, hence we can apply them concurrently as long as
+     * we look up their current state before touching meta and then merge the results in the original order. The
+     * outcome is therefore exactly the same as with sequential application.
+     */
+    @SuppressWarnings("rawtypes")
+    private TreeNode mutateChildrenInParallel(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        final ModifiedNode[] mods = modifications.toArray(new ModifiedNode[0]);
+        final ModificationApplyOperation[] ops = new ModificationApplyOperation[mods.length];
+        @SuppressWarnings("unchecked")
+        final Optional<TreeNode>[] results = new Optional[mods.length];
+        for (int i = 0; i < mods.length; ++i) {
+            final PathArgument id = mods[i].getIdentifier();
+            ops[i] = resolveChildOperation(id);
+            results[i] = meta.getChild(id);
+        }
+
+        final ChildApplyTask task = new ChildApplyTask(mods, ops, results, nodeVersion, 0, mods.length,
+            Math.max(1, mods.length / (ForkJoinPool.getCommonPoolParallelism() * 4)));
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        for (int i = 0; i < mods.length; ++i) {
+            applyChildResult(meta, data, mods[i].getIdentifier(), results[i]);
+        }
+
+        meta.setData(data.build());
+        return meta.seal();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static void applyChildResult(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final PathArgument id, final Optional<TreeNode> result) {
+        if (result.isPresent()) {
+            final TreeNode tn = result.get();
+            meta.addChild(tn);
+            data.addChild(tn.getData());
+        } else {
+            meta.removeChild(id);
+            data.removeChild(id);
+        }
+    }
+
+    /**
+     * Applies a range of child modifications, splitting it until it is no larger than the requested granularity.
+     * The results array is initially populated with the current state of each child and is overwritten with the
+     * result of applying the corresponding modification.
+     */
+    private static final class ChildApplyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ModifiedNode[] mods;
+        private final transient ModificationApplyOperation[] ops;
+        private final transient Optional<TreeNode>[] results;
+        private final transient Version version;
+        private final int from;
+        private final int to;
+        private final int granularity;
+
+        ChildApplyTask(final ModifiedNode[] mods, final ModificationApplyOperation[] ops,
+                final Optional<TreeNode>[] results, final Version version, final int from, final int to,
+                final int granularity) {
+            this.mods = mods;
+            this.ops = ops;
+            this.results = results;
+            this.version = version;
+            this.from = from;
+            this.to = to;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= granularity) {
+                for (int i = from; i < to; ++i) {
+                    results[i] = ops[i].apply(mods[i], results[i], version);
+                }
+                return;
+            }
+
+            final int mid = (from + to) >>> 1;
+            invokeAll(new ChildApplyTask(mods, ops, results, version, from, mid, granularity),
+                new ChildApplyTask(mods, ops, results, version, mid, to, granularity));
+        }
+    }
+
     @Override
     protected TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta, final Version version) {
         /*
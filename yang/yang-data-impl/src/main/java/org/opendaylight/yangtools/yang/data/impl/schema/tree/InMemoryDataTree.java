@@ -11,12 +11,18 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefContext;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefDataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefIndex;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefValidatation;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
@@ -37,6 +43,18 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducing
     private final DataTreeConfiguration treeConfig;
     private final boolean maskMandatory;
 
+    /*
+     * Leafref validation state, present only if leafref validation is enabled and a schema context is set. Commits
+     * update the tree state while holding the lock, so that the index always reflects leafRefRoot.
+     */
+    private final Object leafRefLock = new Object();
+    @GuardedBy("leafRefLock")
+    private LeafRefContext leafRefContext;
+    @GuardedBy("leafRefLock")
+    private LeafRefIndex leafRefIndex;
+    @GuardedBy("leafRefLock")
+    private TreeNode leafRefRoot;
+
     /**
      * Current data store state generation.
      */
@@ -58,6 +76,11 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducing
         this.maskMandatory = maskMandatory;
 
         state = DataTreeState.createInitial(rootNode).withSchemaContext(schemaContext, getOperation(rootSchemaNode));
+        if (treeConfig.isLeafRefValidationEnabled()) {
+            synchronized (leafRefLock) {
+                resetLeafRefIndex(schemaContext, rootNode);
+            }
+        }
     }
 
     private ModificationApplyOperation getOperation(final DataSchemaNode rootSchemaNode) {
@@ -92,12 +115,61 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducing
         }
 
         final ModificationApplyOperation rootNode = getOperation(rootSchemaNode);
+        if (treeConfig.isLeafRefValidationEnabled()) {
+            synchronized (leafRefLock) {
+                resetLeafRefIndex(newSchemaContext, updateSchemaContext(newSchemaContext, rootNode).getRoot());
+            }
+        } else {
+            updateSchemaContext(newSchemaContext, rootNode);
+        }
+    }
+
+    private DataTreeState updateSchemaContext(final SchemaContext newSchemaContext,
+            final ModificationApplyOperation rootNode) {
         DataTreeState currentState;
         DataTreeState newState;
         do {
             currentState = state;
             newState = currentState.withSchemaContext(newSchemaContext, rootNode);
         } while (!STATE_UPDATER.compareAndSet(this, currentState, newState));
+        return newState;
+    }
+
+    @GuardedBy("leafRefLock")
+    private void resetLeafRefIndex(final SchemaContext schemaContext, final TreeNode root) {
+        leafRefContext = LeafRefContext.create(schemaContext);
+        leafRefIndex = LeafRefIndex.create(leafRefContext, root.getData());
+        leafRefRoot = root;
+    }
+
+    @Override
+    void validateApplicable(final InMemoryDataTreeModification modification) throws DataValidationFailedException {
+        if (!treeConfig.isLeafRefValidationEnabled()) {
+            return;
+        }
+
+        final DataTreeCandidate candidate = prepare(modification);
+        if (!(candidate instanceof InMemoryDataTreeCandidate)) {
+            return;
+        }
+
+        synchronized (leafRefLock) {
+            if (leafRefIndex == null) {
+                LOG.debug("No schema context set, not validating leafrefs of {}", modification);
+                return;
+            }
+
+            try {
+                if (((InMemoryDataTreeCandidate) candidate).getBeforeRoot() == leafRefRoot) {
+                    leafRefIndex.validate(candidate);
+                } else {
+                    // A commit has raced with us and the index does not reflect the candidate's base
+                    LeafRefValidatation.validate(candidate, leafRefContext);
+                }
+            } catch (LeafRefDataValidationFailedException e) {
+                throw new DataValidationFailedException(YangInstanceIdentifier.EMPTY, e.getMessage(), e);
+            }
+        }
     }
 
     @Override
@@ -118,6 +190,20 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements TipProducing
             LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(c.getTipRoot().getData()));
         }
 
+        if (treeConfig.isLeafRefValidationEnabled()) {
+            synchronized (leafRefLock) {
+                updateRoot(c);
+                if (leafRefIndex != null) {
+                    leafRefIndex.apply(c);
+                    leafRefRoot = c.getTipRoot();
+                }
+            }
+        } else {
+            updateRoot(c);
+        }
+    }
+
+    private void updateRoot(final InMemoryDataTreeCandidate c) {
         final TreeNode newRoot = c.getTipRoot();
         DataTreeState currentState;
         DataTreeState newState;
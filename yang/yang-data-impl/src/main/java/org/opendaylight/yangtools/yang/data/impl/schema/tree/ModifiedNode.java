@@ -353,6 +353,22 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
     }
 
     TreeNode getValidatedNode(final SchemaAwareApplyOperation op, final Optional<TreeNode> current) {
-        return op.equals(validatedOp) && current.equals(validatedCurrent) ? validatedNode : null;
+        return op.equals(validatedOp) && isSameNode(current, validatedCurrent) ? validatedNode : null;
+    }
+
+    /*
+     * Untouched children of a lazily-materialized container are instantiated on each access, hence we can see
+     * different TreeNode objects wrapping the same data. These are interchangeable as far as apply is concerned.
+     */
+    private static boolean isSameNode(final Optional<TreeNode> current, final Optional<TreeNode> validated) {
+        if (!current.isPresent() || !validated.isPresent()) {
+            return current.isPresent() == validated.isPresent();
+        }
+
+        final TreeNode first = current.get();
+        final TreeNode second = validated.get();
+        return first == second || first.getData() == second.getData()
+                && first.getVersion().equals(second.getVersion())
+                && first.getSubtreeVersion().equals(second.getSubtreeVersion());
     }
 }
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Verify;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.opendaylight.yangtools.util.MapAdaptor;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.UniqueConstraint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Enforcement of YANG 'unique' constraints on keyed lists, enabled via
+ * {@link DataTreeConfiguration#isUniqueIndexEnabled()}.
+ *
+ * <p>
+ * For each list instance we maintain a secondary index mapping the value vector of each constraint to the list entry
+ * which holds it. The index is attached to the immutable {@link MapNode} backing the list's {@link TreeNode} and is
+ * held in persistent maps (see {@link MapAdaptor}), so that a modification touching only a few entries derives the
+ * index of the resulting node from the index of the current node in time proportional to the number of changed
+ * entries, not the size of the list. Indices are built from scratch only when the list is written as a whole or when
+ * the index of the current node has been garbage-collected.
+ */
+final class UniqueValidation extends SchemaAwareApplyOperation {
+    private static final Logger LOG = LoggerFactory.getLogger(UniqueValidation.class);
+
+    // Weak keys imply identity comparison, which is exactly what we want: an index is valid only for a particular
+    // instance of the list data.
+    private final Cache<NormalizedNode<?, ?>, List<Map<List<Object>, NodeIdentifierWithPredicates>>> indices =
+            CacheBuilder.newBuilder().weakKeys().build();
+    private final SchemaAwareApplyOperation delegate;
+    private final List<UniqueValidator> validators;
+
+    private UniqueValidation(final SchemaAwareApplyOperation delegate, final List<UniqueValidator> validators) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.validators = Preconditions.checkNotNull(validators);
+    }
+
+    static SchemaAwareApplyOperation from(final SchemaAwareApplyOperation delegate, final ListSchemaNode schema,
+            final DataTreeConfiguration treeConfig) {
+        if (!treeConfig.isUniqueIndexEnabled()) {
+            return delegate;
+        }
+
+        final Collection<UniqueConstraint> constraints = schema.getUniqueConstraints();
+        if (constraints.isEmpty()) {
+            return delegate;
+        }
+
+        final ImmutableList.Builder<UniqueValidator> builder = ImmutableList.builder();
+        for (final UniqueConstraint constraint : constraints) {
+            builder.add(UniqueValidator.create(schema, constraint));
+        }
+        return new UniqueValidation(delegate, builder.build());
+    }
+
+    private void checkUnique(final YangInstanceIdentifier path, final NodeModification nodeMod,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        if (!(nodeMod instanceof ModifiedNode)) {
+            LOG.debug("Could not validate {}, does not implement expected class {}", nodeMod, ModifiedNode.class);
+            return;
+        }
+
+        final ModifiedNode modification = (ModifiedNode) nodeMod;
+
+        // Same as with MinMaxElementsValidation, we need the actual result to deal with merges sanely.
+        final Optional<TreeNode> maybeApplied = delegate.apply(modification, current, version);
+        Verify.verify(maybeApplied.isPresent());
+
+        final TreeNode applied = maybeApplied.get();
+        final NormalizedNode<?, ?> data = applied.getData();
+        if (data instanceof MapNode && indices.getIfPresent(data) == null) {
+            indices.put(data, createIndex(path, modification, current, (MapNode) data));
+        }
+
+        // Stash the result, so we do not have to recompute it (and its index) during apply
+        modification.setValidatedNode(this, current, applied);
+    }
+
+    private List<Map<List<Object>, NodeIdentifierWithPredicates>> createIndex(final YangInstanceIdentifier path,
+            final ModifiedNode modification, final Optional<TreeNode> current, final MapNode data)
+                    throws DataValidationFailedException {
+        if (current.isPresent() && modification.getOperation() != LogicalOperation.WRITE) {
+            final NormalizedNode<?, ?> currentData = current.get().getData();
+            if (currentData instanceof MapNode) {
+                final List<Map<List<Object>, NodeIdentifierWithPredicates>> currentIndex =
+                        indices.getIfPresent(currentData);
+                if (currentIndex != null) {
+                    return updateIndex(path, currentIndex, (MapNode) currentData, data, modification.getChildren());
+                }
+            }
+        }
+
+        LOG.debug("Building unique index for {}", path);
+        final List<Map<List<Object>, NodeIdentifierWithPredicates>> maps = new ArrayList<>(validators.size());
+        for (int i = 0; i < validators.size(); ++i) {
+            maps.add(MapAdaptor.getDefaultInstance().initialSnapshot(data.getValue().size()));
+        }
+        for (final MapEntryNode entry : data.getValue()) {
+            indexEntry(path, maps, entry);
+        }
+        return optimize(maps);
+    }
+
+    private List<Map<List<Object>, NodeIdentifierWithPredicates>> updateIndex(final YangInstanceIdentifier path,
+            final List<Map<List<Object>, NodeIdentifierWithPredicates>> currentIndex, final MapNode currentData,
+            final MapNode data, final Collection<ModifiedNode> children) throws DataValidationFailedException {
+        final List<Map<List<Object>, NodeIdentifierWithPredicates>> maps = new ArrayList<>(currentIndex.size());
+        for (final Map<List<Object>, NodeIdentifierWithPredicates> map : currentIndex) {
+            maps.add(MapAdaptor.getDefaultInstance().takeSnapshot(map));
+        }
+
+        // Unindex all previous states first, so that entries swapping their values within a single transaction do not
+        // trigger a false positive.
+        for (final ModifiedNode child : children) {
+            final PathArgument id = child.getIdentifier();
+            if (id instanceof NodeIdentifierWithPredicates) {
+                final Optional<MapEntryNode> before = currentData.getChild((NodeIdentifierWithPredicates) id);
+                if (before.isPresent()) {
+                    unindexEntry(maps, before.get());
+                }
+            }
+        }
+        for (final ModifiedNode child : children) {
+            final PathArgument id = child.getIdentifier();
+            if (id instanceof NodeIdentifierWithPredicates) {
+                final Optional<MapEntryNode> after = data.getChild((NodeIdentifierWithPredicates) id);
+                if (after.isPresent()) {
+                    indexEntry(path, maps, after.get());
+                }
+            }
+        }
+
+        return optimize(maps);
+    }
+
+    private void indexEntry(final YangInstanceIdentifier path,
+            final List<Map<List<Object>, NodeIdentifierWithPredicates>> maps, final MapEntryNode entry)
+                    throws DataValidationFailedException {
+        for (int i = 0; i < validators.size(); ++i) {
+            final UniqueValidator validator = validators.get(i);
+            final List<Object> values = validator.extractValues(entry);
+            if (values != null) {
+                final NodeIdentifierWithPredicates prev = maps.get(i).putIfAbsent(values, entry.getIdentifier());
+                if (prev != null && !prev.equals(entry.getIdentifier())) {
+                    throw new DataValidationFailedException(path, String.format(
+                        "%s violates unique constraint on %s with values %s, which are already used by %s",
+                        entry.getIdentifier(), validator.getLeafPaths(), values, prev));
+                }
+            }
+        }
+    }
+
+    private void unindexEntry(final List<Map<List<Object>, NodeIdentifierWithPredicates>> maps,
+            final MapEntryNode entry) {
+        for (int i = 0; i < validators.size(); ++i) {
+            final List<Object> values = validators.get(i).extractValues(entry);
+            if (values != null) {
+                maps.get(i).remove(values, entry.getIdentifier());
+            }
+        }
+    }
+
+    private static List<Map<List<Object>, NodeIdentifierWithPredicates>> optimize(
+            final List<Map<List<Object>, NodeIdentifierWithPredicates>> maps) {
+        final ImmutableList.Builder<Map<List<Object>, NodeIdentifierWithPredicates>> builder = ImmutableList.builder();
+        for (final Map<List<Object>, NodeIdentifierWithPredicates> map : maps) {
+            builder.add(MapAdaptor.getDefaultInstance().optimize(map));
+        }
+        return builder.build();
+    }
+
+    @Override
+    protected void checkTouchApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        delegate.checkTouchApplicable(path, modification, current, version);
+        checkUnique(path, modification, current, version);
+    }
+
+    @Override
+    protected void checkMergeApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        delegate.checkMergeApplicable(path, modification, current, version);
+        checkUnique(path, modification, current, version);
+    }
+
+    @Override
+    protected void checkWriteApplicable(final YangInstanceIdentifier path, final NodeModification modification,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        delegate.checkWriteApplicable(path, modification, current, version);
+        checkUnique(path, modification, current, version);
+    }
+
+    @Override
+    public Optional<ModificationApplyOperation> getChild(final PathArgument child) {
+        return delegate.getChild(child);
+    }
+
+    @Override
+    protected void verifyStructure(final NormalizedNode<?, ?> modification, final boolean verifyChildren) {
+        delegate.verifyStructure(modification, verifyChildren);
+    }
+
+    @Override
+    protected TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta, final Version version) {
+        final TreeNode validated = modification.getValidatedNode(this, Optional.of(currentMeta));
+        return validated != null ? validated : delegate.applyMerge(modification, currentMeta, version);
+    }
+
+    @Override
+    protected TreeNode applyTouch(final ModifiedNode modification, final TreeNode currentMeta, final Version version) {
+        final TreeNode validated = modification.getValidatedNode(this, Optional.of(currentMeta));
+        return validated != null ? validated : delegate.applyTouch(modification, currentMeta, version);
+    }
+
+    @Override
+    protected TreeNode applyWrite(final ModifiedNode modification, final Optional<TreeNode> currentMeta,
+            final Version version) {
+        final TreeNode validated = modification.getValidatedNode(this, currentMeta);
+        return validated != null ? validated : delegate.applyWrite(modification, currentMeta, version);
+    }
+
+    @Override
+    protected ChildTrackingPolicy getChildPolicy() {
+        return delegate.getChildPolicy();
+    }
+
+    @Override
+    void mergeIntoModifiedNode(final ModifiedNode node, final NormalizedNode<?, ?> value, final Version version) {
+        delegate.mergeIntoModifiedNode(node, value, version);
+    }
+
+    @Override
+    void recursivelyVerifyStructure(final NormalizedNode<?, ?> value) {
+        delegate.recursivelyVerifyStructure(value);
+    }
+
+    @Override
+    public String toString() {
+        return "UniqueValidation [delegate=" + delegate + ", validators=" + validators + "]";
+    }
+}
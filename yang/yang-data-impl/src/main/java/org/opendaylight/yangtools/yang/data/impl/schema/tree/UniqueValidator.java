@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.SchemaUtils;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.UniqueConstraint;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Relative;
+
+/**
+ * A single YANG 'unique' constraint, resolved against the list schema into data tree paths of the leaves it
+ * references. Instances are able to extract the value vector of a particular list entry, which is then used as the
+ * key in the secondary index maintained by {@link UniqueValidation}.
+ */
+final class UniqueValidator implements Immutable {
+    private final List<YangInstanceIdentifier> leafPaths;
+    private final UniqueConstraint constraint;
+
+    private UniqueValidator(final UniqueConstraint constraint, final List<YangInstanceIdentifier> leafPaths) {
+        this.constraint = constraint;
+        this.leafPaths = leafPaths;
+    }
+
+    static UniqueValidator create(final ListSchemaNode schema, final UniqueConstraint constraint) {
+        final ImmutableList.Builder<YangInstanceIdentifier> builder = ImmutableList.builder();
+        for (final Relative tag : constraint.getTag()) {
+            builder.add(resolveLeafPath(schema, tag));
+        }
+        return new UniqueValidator(constraint, builder.build());
+    }
+
+    /**
+     * Extract the values of leaves referenced by this constraint from a list entry.
+     *
+     * @param entry List entry
+     * @return Value vector, or null if any of the referenced leaves is not present, in which case the entry does not
+     *         participate in this constraint.
+     */
+    List<Object> extractValues(final MapEntryNode entry) {
+        final Object[] values = new Object[leafPaths.size()];
+        int offset = 0;
+        for (final YangInstanceIdentifier leafPath : leafPaths) {
+            final Optional<NormalizedNode<?, ?>> leaf = NormalizedNodes.findNode(entry, leafPath);
+            if (!leaf.isPresent() || !(leaf.get() instanceof LeafNode)) {
+                return null;
+            }
+            values[offset++] = leaf.get().getValue();
+        }
+        return ImmutableList.copyOf(values);
+    }
+
+    List<YangInstanceIdentifier> getLeafPaths() {
+        return leafPaths;
+    }
+
+    private static YangInstanceIdentifier resolveLeafPath(final ListSchemaNode schema, final Relative tag) {
+        final List<PathArgument> path = new ArrayList<>();
+        DataSchemaNode current = schema;
+        for (final QName qname : tag.getPathFromRoot()) {
+            checkArgument(current instanceof DataNodeContainer || current instanceof ChoiceSchemaNode,
+                "Unique constraint %s of %s traverses non-container node %s", tag, schema.getQName(), current);
+
+            if (current instanceof ChoiceSchemaNode) {
+                // Cases are not represented in the data tree, they just select the next container to look into
+                final ChoiceCaseNode caze = ((ChoiceSchemaNode) current).getCaseNodeByName(qname);
+                checkArgument(caze != null, "Unique constraint %s of %s references unknown case %s", tag,
+                    schema.getQName(), qname);
+                current = caze;
+                continue;
+            }
+
+            final DataSchemaNode child = ((DataNodeContainer) current).getDataChildByName(qname);
+            checkArgument(child != null, "Unique constraint %s of %s references unknown node %s", tag,
+                schema.getQName(), qname);
+            if (child.isAugmenting()) {
+                final AugmentationSchemaNode augment = SchemaUtils.findCorrespondingAugment(current, child);
+                if (augment != null) {
+                    path.add(SchemaUtils.getNodeIdentifierForAugmentation(augment));
+                }
+            }
+
+            path.add(NodeIdentifier.create(qname));
+            current = child;
+        }
+
+        checkArgument(current instanceof LeafSchemaNode, "Unique constraint %s of %s does not reference a leaf",
+            tag, schema.getQName());
+        return YangInstanceIdentifier.create(path);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("constraint", constraint).add("paths", leafPaths).toString();
+    }
+}
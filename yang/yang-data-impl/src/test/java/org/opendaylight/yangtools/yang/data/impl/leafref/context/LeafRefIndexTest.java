@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.leafref.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TipProducingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefContext;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefDataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.leafref.LeafRefIndex;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class LeafRefIndexTest {
+    private static final QName THINGS = QName.create("leafref.index", "things");
+    private static final QName THING = QName.create(THINGS, "thing");
+    private static final QName NAME = QName.create(THINGS, "name");
+    private static final QName REFS = QName.create(THINGS, "refs");
+    private static final QName REF = QName.create(THINGS, "ref");
+    private static final QName ID = QName.create(THINGS, "id");
+    private static final QName REF_THING = QName.create(THINGS, "thing-ref");
+    private static final YangInstanceIdentifier THING_PATH = YangInstanceIdentifier.of(THINGS).node(THING);
+    private static final YangInstanceIdentifier REF_PATH = YangInstanceIdentifier.of(REFS).node(REF);
+
+    private static SchemaContext schemaContext;
+    private static LeafRefContext rootLeafRefContext;
+
+    private TipProducingDataTree dataTree;
+    private LeafRefIndex index;
+
+    @BeforeClass
+    public static void init() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/leafref-index");
+        rootLeafRefContext = LeafRefContext.create(schemaContext);
+    }
+
+    @Before
+    public void setup() throws LeafRefDataValidationFailedException {
+        dataTree = InMemoryDataTreeFactory.getInstance().create(DataTreeConfiguration.DEFAULT_CONFIGURATION);
+        dataTree.setSchemaContext(schemaContext);
+        index = LeafRefIndex.create(rootLeafRefContext);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(YangInstanceIdentifier.of(THINGS), ImmutableNodes.containerNode(THINGS));
+        mod.write(THING_PATH, ImmutableNodes.mapNodeBuilder(THING).build());
+        mod.write(YangInstanceIdentifier.of(REFS), ImmutableNodes.containerNode(REFS));
+        mod.write(REF_PATH, ImmutableNodes.mapNodeBuilder(REF).build());
+        for (int i = 0; i < 4; ++i) {
+            mod.write(thingPath("thing" + i), ImmutableNodes.mapEntry(THING, NAME, "thing" + i));
+            mod.write(refPath(i), refEntry(i, "thing" + i % 2));
+        }
+        commit(mod);
+    }
+
+    @Test
+    public void testDeleteUnreferencedTarget() throws LeafRefDataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(thingPath("thing3"));
+        commit(mod);
+    }
+
+    @Test
+    public void testDeleteReferencedTarget() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(thingPath("thing1"));
+        assertValidationErrors(1, mod);
+    }
+
+    @Test
+    public void testDeleteTargetWithReferences() throws LeafRefDataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(thingPath("thing1"));
+        mod.delete(refPath(1));
+        mod.delete(refPath(3));
+        commit(mod);
+    }
+
+    @Test
+    public void testDanglingReference() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(refPath(5), refEntry(5, "thing5"));
+        assertValidationErrors(1, mod);
+    }
+
+    @Test
+    public void testReplaceTarget() throws LeafRefDataValidationFailedException {
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(refPath(1));
+        mod.delete(refPath(3));
+        mod.write(refPath(3), refEntry(3, "thing3"));
+        commit(mod);
+
+        mod = dataTree.takeSnapshot().newModification();
+        mod.delete(thingPath("thing1"));
+        commit(mod);
+
+        mod = dataTree.takeSnapshot().newModification();
+        mod.delete(thingPath("thing3"));
+        assertValidationErrors(1, mod);
+    }
+
+    @Test
+    public void testPopulatedIndex() {
+        index = LeafRefIndex.create(rootLeafRefContext,
+            dataTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY).get());
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.delete(thingPath("thing0"));
+        assertValidationErrors(1, mod);
+    }
+
+    @Test
+    public void testDataTreeValidation() throws DataValidationFailedException {
+        final DataTree validatingTree = InMemoryDataTreeFactory.getInstance().create(
+            new DataTreeConfiguration.Builder(TreeType.CONFIGURATION).setLeafRefValidation(true).build());
+        validatingTree.setSchemaContext(schemaContext);
+
+        DataTreeModification mod = validatingTree.takeSnapshot().newModification();
+        mod.write(YangInstanceIdentifier.EMPTY, dataTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY).get());
+        mod.delete(thingPath("thing3"));
+        mod.ready();
+        validatingTree.validate(mod);
+        validatingTree.commit(validatingTree.prepare(mod));
+
+        mod = validatingTree.takeSnapshot().newModification();
+        mod.write(refPath(5), refEntry(5, "thing3"));
+        mod.ready();
+        try {
+            validatingTree.validate(mod);
+            fail("Validation of " + mod + " should have failed");
+        } catch (DataValidationFailedException e) {
+            assertTrue(e.getCause() instanceof LeafRefDataValidationFailedException);
+        }
+
+        mod = validatingTree.takeSnapshot().newModification();
+        mod.delete(thingPath("thing0"));
+        mod.ready();
+        try {
+            validatingTree.validate(mod);
+            fail("Validation of " + mod + " should have failed");
+        } catch (DataValidationFailedException e) {
+            assertEquals(1, ((LeafRefDataValidationFailedException) e.getCause()).getValidationsErrorsCount());
+        }
+    }
+
+    private void commit(final DataTreeModification mod) throws LeafRefDataValidationFailedException {
+        mod.ready();
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        index.validate(candidate);
+        dataTree.commit(candidate);
+        index.apply(candidate);
+    }
+
+    private void assertValidationErrors(final int expected, final DataTreeModification mod) {
+        mod.ready();
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        try {
+            index.validate(candidate);
+            fail("Validation of " + candidate + " should have failed");
+        } catch (LeafRefDataValidationFailedException e) {
+            assertEquals(expected, e.getValidationsErrorsCount());
+        }
+    }
+
+    private static YangInstanceIdentifier thingPath(final String name) {
+        return THING_PATH.node(new NodeIdentifierWithPredicates(THING, NAME, name));
+    }
+
+    private static YangInstanceIdentifier refPath(final int id) {
+        return REF_PATH.node(new NodeIdentifierWithPredicates(REF, ID, id));
+    }
+
+    private static MapEntryNode refEntry(final int id, final String thing) {
+        return Builders.mapEntryBuilder().withNodeIdentifier(new NodeIdentifierWithPredicates(REF, ID, id))
+                .withChild(ImmutableNodes.leafNode(ID, id))
+                .withChild(ImmutableNodes.leafNode(REF_THING, thing))
+                .build();
+    }
+}
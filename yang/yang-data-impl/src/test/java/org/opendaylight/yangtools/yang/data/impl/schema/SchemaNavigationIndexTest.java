@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceCaseNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class SchemaNavigationIndexTest {
+    private static final String NS = "urn:opendaylight:params:xml:ns:yang:controller:md:sal:dom:store:test";
+    private static final String REV = "2014-03-13";
+
+    private static SchemaContext schemaContext;
+    private static ChoiceSchemaNode choice;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResource("/case-augment-test.yang");
+        final ContainerSchemaNode test = (ContainerSchemaNode) schemaContext.getDataChildByName(qN("test"));
+        choice = (ChoiceSchemaNode) test.getDataChildByName(qN("choice1"));
+    }
+
+    @Test
+    public void testSharedIndex() {
+        final SchemaNavigationIndex index = SchemaNavigationIndex.from(schemaContext);
+        assertSame(index, SchemaNavigationIndex.from(schemaContext));
+        assertSame(schemaContext, index.getSchemaContext());
+    }
+
+    @Test
+    public void testChoiceChildren() {
+        final SchemaNavigationIndex index = SchemaNavigationIndex.from(schemaContext);
+        final ChoiceCaseNode case1 = choice.getCaseNodeByName(qN("case1"));
+        final ChoiceCaseNode case2 = choice.getCaseNodeByName(qN("case2"));
+
+        assertEquals(Optional.of(case1), index.findCaseByChild(choice, qN("case1-leaf1")));
+        assertEquals(Optional.of(case1), index.findCaseByChild(choice, qN("case1-leaf2")));
+        assertEquals(Optional.of(case2), index.findCaseByChild(choice, qN("case2-leaf1")));
+        assertFalse(index.findCaseByChild(choice, qN("case1")).isPresent());
+
+        assertEquals(Optional.of(case2.getDataChildByName(qN("case2-leaf1"))),
+            index.findChild(choice, qN("case2-leaf1")));
+        assertFalse(index.findChild(choice, qN("unknown")).isPresent());
+    }
+
+    @Test
+    public void testAugmentations() {
+        final SchemaNavigationIndex index = SchemaNavigationIndex.from(schemaContext);
+        final ChoiceCaseNode case1 = choice.getCaseNodeByName(qN("case1"));
+        final Set<QName> childNames = ImmutableSet.of(qN("case1-leaf2"), qN("case1-leaf3"));
+
+        final Optional<AugmentationSchemaNode> augmentation = index.findAugmentation(case1, childNames);
+        assertTrue(augmentation.isPresent());
+        assertSame(SchemaUtils.findSchemaForAugment(case1, childNames), augmentation.get());
+        assertFalse(index.findAugmentation(case1, ImmutableSet.of(qN("case1-leaf2"))).isPresent());
+
+        final Optional<AugmentationSchemaNode> resolved = index.findResolvedAugmentation(case1, childNames);
+        assertTrue(resolved.isPresent());
+        assertSame(resolved.get(), index.findResolvedAugmentation(case1, childNames).get());
+        for (final DataSchemaNode child : resolved.get().getChildNodes()) {
+            assertSame(case1.getDataChildByName(child.getQName()), child);
+        }
+        assertEquals(2, resolved.get().getChildNodes().size());
+    }
+
+    private static QName qN(final String localName) {
+        return QName.create(NS, REV, localName);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class ParallelApplyTest {
+    private static final QName ONE_QNAME = QName.create(TestModel.TEST_QNAME, "one");
+    private static final int ENTRY_COUNT = 1000;
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = TestModel.createTestContext();
+        assertNotNull("Schema context must not be null.", schemaContext);
+    }
+
+    private static DataTree createDataTree(final int parallelApplyThreshold) throws DataValidationFailedException {
+        final DataTree dataTree = InMemoryDataTreeFactory.getInstance().create(
+            new DataTreeConfiguration.Builder(TreeType.CONFIGURATION).setParallelApplyThreshold(parallelApplyThreshold)
+            .build());
+        dataTree.setSchemaContext(schemaContext);
+
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        modification.write(TestModel.OUTER_LIST_PATH,
+            ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            modification.write(entryPath(i), entry(i, ONE_QNAME, "initial"));
+        }
+        modification.ready();
+        dataTree.validate(modification);
+        dataTree.commit(dataTree.prepare(modification));
+        return dataTree;
+    }
+
+    private static YangInstanceIdentifier entryPath(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(entryId(id));
+    }
+
+    private static NodeIdentifierWithPredicates entryId(final int id) {
+        return new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+
+    private static MapEntryNode entry(final int id, final QName leaf, final String value) {
+        final ChoiceNode choice = Builders.choiceBuilder()
+                .withNodeIdentifier(NodeIdentifier.create(TestModel.OUTER_CHOICE_QNAME))
+                .withChild(ImmutableNodes.leafNode(leaf, value)).build();
+        return Builders.mapEntryBuilder().withNodeIdentifier(entryId(id))
+                .withChild(ImmutableNodes.leafNode(TestModel.ID_QNAME, id))
+                .withChild(choice).build();
+    }
+
+    private static DataTreeCandidate applyMixedModification(final DataTree dataTree)
+            throws DataValidationFailedException {
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            switch (i % 4) {
+                case 0:
+                    modification.delete(entryPath(i));
+                    break;
+                case 1:
+                    modification.merge(entryPath(i), entry(i, ONE_QNAME, "merged"));
+                    break;
+                case 2:
+                    modification.write(entryPath(i), entry(i, TestModel.TWO_QNAME, "written"));
+                    break;
+                default:
+                    // Merge of an unchanged entry
+                    modification.merge(entryPath(i), ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME,
+                        TestModel.ID_QNAME, i));
+                    break;
+            }
+        }
+        for (int i = ENTRY_COUNT; i < ENTRY_COUNT + 100; ++i) {
+            modification.write(entryPath(i), entry(i, ONE_QNAME, "new"));
+        }
+
+        modification.ready();
+        dataTree.validate(modification);
+        final DataTreeCandidate candidate = dataTree.prepare(modification);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+
+    private static void assertSameCandidate(final DataTreeCandidateNode expected,
+            final DataTreeCandidateNode actual) {
+        assertEquals(expected.getModificationType(), actual.getModificationType());
+        assertEquals(expected.getDataBefore(), actual.getDataBefore());
+        assertEquals(expected.getDataAfter(), actual.getDataAfter());
+        assertEquals(expected.getChildNodes().size(), actual.getChildNodes().size());
+        for (final DataTreeCandidateNode expectedChild : expected.getChildNodes()) {
+            final DataTreeCandidateNode actualChild = actual.getModifiedChild(expectedChild.getIdentifier());
+            assertNotNull(actualChild);
+            assertSameCandidate(expectedChild, actualChild);
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSerial() throws DataValidationFailedException {
+        final DataTree serial = createDataTree(0);
+        final DataTree parallel = createDataTree(16);
+
+        final DataTreeCandidate serialCandidate = applyMixedModification(serial);
+        final DataTreeCandidate parallelCandidate = applyMixedModification(parallel);
+
+        assertSameCandidate(serialCandidate.getRootNode(), parallelCandidate.getRootNode());
+        assertEquals(serial.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY),
+            parallel.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeThreshold() {
+        new DataTreeConfiguration.Builder(TreeType.CONFIGURATION).setParallelApplyThreshold(-1);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class UniqueConstraintTest {
+    private static final QName TASK_CONTAINER = QName.create(
+        "urn:opendaylight:params:xml:ns:yang:unique-constraint-test", "2017-10-11", "task-container");
+    private static final QName TASK = QName.create(TASK_CONTAINER, "task");
+    private static final QName TASK_ID = QName.create(TASK_CONTAINER, "task-id");
+    private static final QName TASK_NAME = QName.create(TASK_CONTAINER, "task-name");
+    private static final QName DESC = QName.create(TASK_CONTAINER, "desc");
+    private static final QName NAME = QName.create(TASK_CONTAINER, "name");
+
+    private static final YangInstanceIdentifier TASK_CONTAINER_PATH = YangInstanceIdentifier.of(TASK_CONTAINER);
+    private static final YangInstanceIdentifier TASK_PATH = TASK_CONTAINER_PATH.node(TASK);
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = TestModel.createTestContext("/unique-constraint-test.yang");
+        assertNotNull("Schema context must not be null.", schemaContext);
+    }
+
+    private static DataTree initDataTree(final boolean uniqueIndex) throws DataValidationFailedException {
+        final DataTree inMemoryDataTree = InMemoryDataTreeFactory.getInstance().create(
+            new DataTreeConfiguration.Builder(TreeType.CONFIGURATION).setUniqueIndexes(uniqueIndex).build());
+        inMemoryDataTree.setSchemaContext(schemaContext);
+
+        final DataTreeModification modification = inMemoryDataTree.takeSnapshot().newModification();
+        modification.write(TASK_CONTAINER_PATH, ImmutableNodes.containerNode(TASK_CONTAINER));
+        modification.write(TASK_PATH, ImmutableNodes.mapNodeBuilder(TASK).build());
+        commit(inMemoryDataTree, modification);
+        return inMemoryDataTree;
+    }
+
+    private static void commit(final DataTree dataTree, final DataTreeModification modification)
+            throws DataValidationFailedException {
+        modification.ready();
+        dataTree.validate(modification);
+        dataTree.commit(dataTree.prepare(modification));
+    }
+
+    private static void assertViolation(final DataTree dataTree, final DataTreeModification modification) {
+        modification.ready();
+        try {
+            dataTree.validate(modification);
+            fail("Unique constraint violation should have been detected");
+        } catch (DataValidationFailedException e) {
+            assertTrue(e.getMessage().contains("violates unique constraint"));
+        }
+    }
+
+    private static NodeIdentifierWithPredicates taskId(final String id) {
+        return new NodeIdentifierWithPredicates(TASK, TASK_ID, id);
+    }
+
+    private static MapEntryNode task(final String id, final String taskName, final String descName) {
+        return Builders.mapEntryBuilder().withNodeIdentifier(taskId(id))
+                .withChild(ImmutableNodes.leafNode(TASK_ID, id))
+                .withChild(ImmutableNodes.leafNode(TASK_NAME, taskName))
+                .withChild(Builders.containerBuilder().withNodeIdentifier(NodeIdentifier.create(DESC))
+                    .withChild(ImmutableNodes.leafNode(NAME, descName)).build())
+                .build();
+    }
+
+    private static MapEntryNode taskWithoutDesc(final String id, final String taskName) {
+        return Builders.mapEntryBuilder().withNodeIdentifier(taskId(id))
+                .withChild(ImmutableNodes.leafNode(TASK_ID, id))
+                .withChild(ImmutableNodes.leafNode(TASK_NAME, taskName))
+                .build();
+    }
+
+    @Test
+    public void testDistinctValues() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TASK_PATH, ImmutableNodes.mapNodeBuilder(TASK)
+            .withChild(task("1", "foo", "bar"))
+            .withChild(task("2", "foo", "baz"))
+            .withChild(task("3", "bar", "bar")).build());
+        commit(dataTree, modification);
+    }
+
+    @Test
+    public void testListWriteViolation() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TASK_PATH, ImmutableNodes.mapNodeBuilder(TASK)
+            .withChild(task("1", "foo", "bar"))
+            .withChild(task("2", "foo", "bar")).build());
+        assertViolation(dataTree, modification);
+    }
+
+    @Test
+    public void testEntryWriteViolation() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+        final DataTreeModification mod1 = dataTree.takeSnapshot().newModification();
+        mod1.write(TASK_PATH.node(taskId("1")), task("1", "foo", "bar"));
+        mod1.write(TASK_PATH.node(taskId("2")), task("2", "foo", "baz"));
+        commit(dataTree, mod1);
+
+        final DataTreeModification mod2 = dataTree.takeSnapshot().newModification();
+        mod2.write(TASK_PATH.node(taskId("3")), task("3", "foo", "baz"));
+        assertViolation(dataTree, mod2);
+    }
+
+    @Test
+    public void testLeafModificationViolation() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+        final DataTreeModification mod1 = dataTree.takeSnapshot().newModification();
+        mod1.write(TASK_PATH.node(taskId("1")), task("1", "foo", "bar"));
+        mod1.write(TASK_PATH.node(taskId("2")), task("2", "foo", "baz"));
+        commit(dataTree, mod1);
+
+        final DataTreeModification mod2 = dataTree.takeSnapshot().newModification();
+        mod2.write(TASK_PATH.node(taskId("2")).node(DESC).node(NAME), ImmutableNodes.leafNode(NAME, "bar"));
+        assertViolation(dataTree, mod2);
+    }
+
+    @Test
+    public void testValueSwap() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+        final DataTreeModification mod1 = dataTree.takeSnapshot().newModification();
+        mod1.write(TASK_PATH.node(taskId("1")), task("1", "foo", "bar"));
+        mod1.write(TASK_PATH.node(taskId("2")), task("2", "foo", "baz"));
+        commit(dataTree, mod1);
+
+        final DataTreeModification mod2 = dataTree.takeSnapshot().newModification();
+        mod2.merge(TASK_PATH.node(taskId("1")), task("1", "foo", "baz"));
+        mod2.merge(TASK_PATH.node(taskId("2")), task("2", "foo", "bar"));
+        commit(dataTree, mod2);
+
+        // Old values must have been released from the index
+        final DataTreeModification mod3 = dataTree.takeSnapshot().newModification();
+        mod3.delete(TASK_PATH.node(taskId("1")));
+        mod3.write(TASK_PATH.node(taskId("3")), task("3", "foo", "baz"));
+        commit(dataTree, mod3);
+    }
+
+    @Test
+    public void testMissingLeafNotIndexed() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TASK_PATH.node(taskId("1")), taskWithoutDesc("1", "foo"));
+        modification.write(TASK_PATH.node(taskId("2")), taskWithoutDesc("2", "foo"));
+        commit(dataTree, modification);
+    }
+
+    @Test
+    public void testDisabledIndex() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(false);
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.write(TASK_PATH.node(taskId("1")), task("1", "foo", "bar"));
+        modification.write(TASK_PATH.node(taskId("2")), task("2", "foo", "bar"));
+        commit(dataTree, modification);
+    }
+}
@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.data.jaxen;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ListIterator;
 import java.util.Optional;
 import org.jaxen.expr.AllNodeStep;
 import org.jaxen.expr.BinaryExpr;
@@ -62,13 +63,17 @@ final class ExprWalker {
             final Optional<StepListener> maybeListener = listener.enterLocationPath(path);
             if (maybeListener.isPresent()) {
                 final StepListener l = maybeListener.get();
-                for (Object step : path.getSteps()) {
+                // Steps are visited through a ListIterator, so that they can be replaced by the listener
+                @SuppressWarnings("unchecked")
+                final ListIterator<Object> it = path.getSteps().listIterator();
+                while (it.hasNext()) {
+                    final Object step = it.next();
                     if (step instanceof AllNodeStep) {
                         l.onAll((AllNodeStep) step);
                     } else if (step instanceof CommentNodeStep) {
                         l.onComment((CommentNodeStep) step);
                     } else if (step instanceof NameStep) {
-                        l.onName((NameStep) step);
+                        l.onName((NameStep) step).ifPresent(it::set);
                     } else if (step instanceof ProcessingInstructionNodeStep) {
                         l.onProcessingInstruction((ProcessingInstructionNodeStep) step);
                     } else if (step instanceof TextNodeStep) {
@@ -20,6 +20,8 @@ import org.jaxen.BaseXPath;
 import org.jaxen.ContextSupport;
 import org.jaxen.JaxenException;
 import org.jaxen.expr.Expr;
+import org.jaxen.expr.LocationPath;
+import org.jaxen.expr.NameStep;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.xpath.XPathBooleanResult;
@@ -36,6 +38,16 @@ import org.slf4j.LoggerFactory;
 final class JaxenXPath implements XPathExpression {
     private static final Logger LOG = LoggerFactory.getLogger(JaxenXPath.class);
 
+    /**
+     * Rewrites steps with equality predicates on list keys into direct lookups, see {@link KeyedNameStep}.
+     */
+    private static final StepListener KEYED_STEP_LISTENER = new StepListener() {
+        @Override
+        Optional<NameStep> onName(final NameStep step) {
+            return KeyedNameStep.forStep(step);
+        }
+    };
+
     private final Converter<String, QNameModule> converter;
     private final SchemaPath schemaPath;
     private final BaseXPath xpath;
@@ -63,6 +75,10 @@ final class JaxenXPath implements XPathExpression {
 
         new ExprWalker(new ExprListener() {
             // FIXME: perform expression introspection to understand things like apex, etc.
+            @Override
+            Optional<StepListener> enterLocationPath(final LocationPath path) {
+                return Optional.of(KEYED_STEP_LISTENER);
+            }
         }).walk(expr);
 
         return new JaxenXPath(converter, schemaPath, compiled);
@@ -99,6 +115,10 @@ final class JaxenXPath implements XPathExpression {
         }
     }
 
+    Expr getRootExpr() {
+        return xpath.getRootExpr();
+    }
+
     @Nonnull
     @Override
     public SchemaPath getEvaluationPath() {
@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.jaxen;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import org.jaxen.Context;
+import org.jaxen.ContextSupport;
+import org.jaxen.JaxenException;
+import org.jaxen.UnsupportedAxisException;
+import org.jaxen.expr.EqualityExpr;
+import org.jaxen.expr.Expr;
+import org.jaxen.expr.LiteralExpr;
+import org.jaxen.expr.LocationPath;
+import org.jaxen.expr.NameStep;
+import org.jaxen.expr.Predicate;
+import org.jaxen.expr.PredicateSet;
+import org.jaxen.saxpath.Axis;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.codec.TypeDefinitionAwareCodec;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.DecimalTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.IntegerTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnsignedIntegerTypeDefinition;
+
+/**
+ * A child axis {@link NameStep} whose predicates are all equality comparisons of a child leaf with a string literal,
+ * such as {@code interface[name='eth0']}. When the step selects a list whose keys are exactly the compared leaves, it
+ * looks up the matching entry via {@link MapNode#getChild(PathArgument)} instead of filtering all entries. In all
+ * other cases, as well as for key types whose values cannot be unambiguously reconstructed from their string form,
+ * evaluation is delegated to the original step.
+ */
+final class KeyedNameStep implements NameStep {
+    private static final long serialVersionUID = 1L;
+
+    private final NameStep delegate;
+    private final List<KeyPredicate> predicates;
+
+    private KeyedNameStep(final NameStep delegate, final List<KeyPredicate> predicates) {
+        this.delegate = requireNonNull(delegate);
+        this.predicates = ImmutableList.copyOf(predicates);
+    }
+
+    /**
+     * Create a replacement for a step, if it is eligible for keyed lookups.
+     *
+     * @param step Original step
+     * @return Replacement step, or empty if the step is not eligible
+     */
+    static Optional<NameStep> forStep(final NameStep step) {
+        if (step instanceof KeyedNameStep || step.getAxis() != Axis.CHILD || "*".equals(step.getLocalName())) {
+            return Optional.empty();
+        }
+
+        final List<?> stepPredicates = step.getPredicates();
+        if (stepPredicates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final List<KeyPredicate> keys = new ArrayList<>(stepPredicates.size());
+        for (Object predicate : stepPredicates) {
+            final KeyPredicate key = KeyPredicate.forExpr(((Predicate) predicate).getExpr());
+            if (key == null) {
+                return Optional.empty();
+            }
+            keys.add(key);
+        }
+
+        return Optional.of(new KeyedNameStep(step, keys));
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public List evaluate(final Context context) throws JaxenException {
+        final ContextSupport support = context.getContextSupport();
+        if (support instanceof NormalizedNodeContextSupport) {
+            final List<NormalizedNodeContext> result = lookup((NormalizedNodeContextSupport) support,
+                context.getNodeSet());
+            if (result != null) {
+                return result;
+            }
+        }
+
+        return delegate.evaluate(context);
+    }
+
+    @Override
+    public String getPrefix() {
+        return delegate.getPrefix();
+    }
+
+    @Override
+    public String getLocalName() {
+        return delegate.getLocalName();
+    }
+
+    @Override
+    public boolean matches(final Object node, final ContextSupport contextSupport) throws JaxenException {
+        return delegate.matches(node, contextSupport);
+    }
+
+    @Override
+    public String getText() {
+        return delegate.getText();
+    }
+
+    @Override
+    public void simplify() {
+        delegate.simplify();
+    }
+
+    @Override
+    public int getAxis() {
+        return delegate.getAxis();
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Iterator axisIterator(final Object contextNode, final ContextSupport support)
+            throws UnsupportedAxisException {
+        return delegate.axisIterator(contextNode, support);
+    }
+
+    @Override
+    public void addPredicate(final Predicate predicate) {
+        throw new UnsupportedOperationException("Keyed step " + this + " cannot be modified");
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public List getPredicates() {
+        return delegate.getPredicates();
+    }
+
+    @Override
+    public PredicateSet getPredicateSet() {
+        return delegate.getPredicateSet();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    /**
+     * Look up matching entries for all context nodes.
+     *
+     * @return Matching entries, or null if a lookup is not possible
+     */
+    @Nullable
+    private List<NormalizedNodeContext> lookup(final NormalizedNodeContextSupport support, final List<?> nodeSet) {
+        final NormalizedNodeNavigator navigator = support.getNavigator();
+        final List<NormalizedNodeContext> result = new ArrayList<>(nodeSet.size());
+
+        for (Object obj : nodeSet) {
+            if (!(obj instanceof NormalizedNodeContext)) {
+                return null;
+            }
+
+            final NormalizedNodeContext ctx = (NormalizedNodeContext) obj;
+            final NormalizedNode<?, ?> node = ctx.getNode();
+            if (!(node instanceof DataContainerNode)) {
+                // No children, hence no matches
+                continue;
+            }
+
+            final QName qname = navigator.resolveQName(node, Strings.nullToEmpty(getPrefix()), getLocalName());
+            @SuppressWarnings({ "unchecked", "rawtypes" })
+            final Optional<NormalizedNode<?, ?>> maybeChild = ((DataContainerNode) node).getChild(
+                new NodeIdentifier(qname));
+            if (!maybeChild.isPresent()) {
+                continue;
+            }
+
+            final NormalizedNode<?, ?> child = maybeChild.get();
+            if (!(child instanceof MapNode)) {
+                return null;
+            }
+
+            final Map<QName, Object> keyValues = keyValues(support, navigator, ctx, (MapNode) child);
+            if (keyValues == null) {
+                return null;
+            }
+
+            // An empty map indicates there can be no matching entry
+            if (!keyValues.isEmpty()) {
+                final Optional<MapEntryNode> entry = ((MapNode) child).getChild(
+                    new NodeIdentifierWithPredicates(child.getNodeType(), keyValues));
+                if (entry.isPresent()) {
+                    result.add(ctx.apply(entry.get()));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Convert predicates into key values of a particular list.
+     *
+     * @return Key values, empty if no entry can match the predicates, or null if a lookup is not possible
+     */
+    @Nullable
+    private Map<QName, Object> keyValues(final NormalizedNodeContextSupport support,
+            final NormalizedNodeNavigator navigator, final NormalizedNodeContext parent, final MapNode map) {
+        final ListSchemaNode list = listSchema(support.getSchemaContext(), parent, map);
+        if (list == null || list.getKeyDefinition().size() != predicates.size()) {
+            return null;
+        }
+
+        final Map<QName, Object> ret = new HashMap<>();
+        boolean match = true;
+        for (KeyPredicate predicate : predicates) {
+            final QName qname = navigator.resolveQName(map, predicate.prefix, predicate.localName);
+            final DataSchemaNode child = list.getDataChildByName(qname);
+            if (!(child instanceof LeafSchemaNode)) {
+                return null;
+            }
+
+            final TypeDefinition<?> type = ((LeafSchemaNode) child).getType();
+            if (!isLookupSafe(type)) {
+                return null;
+            }
+
+            final Object value;
+            try {
+                value = TypeDefinitionAwareCodec.from(type).deserialize(predicate.literal);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+
+            // XPath compares string values, hence the literal needs to be the canonical representation of the value
+            if (!predicate.literal.equals(String.valueOf(value))) {
+                match = false;
+            }
+            if (ret.put(qname, value) != null) {
+                // Duplicate predicate
+                return null;
+            }
+        }
+
+        if (!new HashSet<>(list.getKeyDefinition()).equals(ret.keySet())) {
+            return null;
+        }
+        return match ? ret : ImmutableMap.of();
+    }
+
+    /**
+     * Determine whether values of a type have a single string representation produced by {@link String#valueOf(Object)}
+     * and are parsed into the same class by {@link TypeDefinitionAwareCodec}.
+     */
+    private static boolean isLookupSafe(final TypeDefinition<?> type) {
+        return type instanceof StringTypeDefinition || type instanceof EnumTypeDefinition
+                || type instanceof BooleanTypeDefinition || type instanceof DecimalTypeDefinition
+                || type instanceof IntegerTypeDefinition || type instanceof UnsignedIntegerTypeDefinition;
+    }
+
+    @Nullable
+    private static ListSchemaNode listSchema(final SchemaContext schemaContext, final NormalizedNodeContext parent,
+            final MapNode map) {
+        final Deque<PathArgument> path = new ArrayDeque<>();
+        path.addFirst(map.getIdentifier());
+
+        for (NormalizedNodeContext ctx = parent; ctx != null; ctx = ctx.getParent()) {
+            final NormalizedNode<?, ?> node = ctx.getNode();
+            final NormalizedNodeContext ctxParent = ctx.getParent();
+            if (ctxParent == null && SchemaContext.NAME.equals(node.getNodeType())) {
+                // Datastore root
+                break;
+            }
+
+            path.addFirst(node.getIdentifier());
+            // Navigation steps skip over MapNodes, whereas contexts created from a YangInstanceIdentifier do not
+            if (node instanceof MapEntryNode && (ctxParent == null || !(ctxParent.getNode() instanceof MapNode))) {
+                path.addFirst(new NodeIdentifier(node.getNodeType()));
+            }
+        }
+
+        DataSchemaContextNode<?> current = DataSchemaContextTree.from(schemaContext).getRoot();
+        for (PathArgument arg : path) {
+            current = current.getChild(arg);
+            if (current == null) {
+                return null;
+            }
+        }
+
+        final DataSchemaNode schema = current.getDataSchemaNode();
+        return schema instanceof ListSchemaNode ? (ListSchemaNode) schema : null;
+    }
+
+    private static final class KeyPredicate implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final String prefix;
+        final String localName;
+        final String literal;
+
+        private KeyPredicate(final String prefix, final String localName, final String literal) {
+            this.prefix = requireNonNull(prefix);
+            this.localName = requireNonNull(localName);
+            this.literal = requireNonNull(literal);
+        }
+
+        /**
+         * Match a {@code leaf = 'literal'} or {@code 'literal' = leaf} expression.
+         *
+         * @return A KeyPredicate, or null if the expression does not match
+         */
+        @Nullable
+        static KeyPredicate forExpr(final Expr expr) {
+            if (!(expr instanceof EqualityExpr)) {
+                return null;
+            }
+
+            final EqualityExpr equality = (EqualityExpr) expr;
+            if (!"=".equals(equality.getOperator())) {
+                return null;
+            }
+
+            final Expr lhs = equality.getLHS();
+            final Expr rhs = equality.getRHS();
+            if (lhs instanceof LiteralExpr) {
+                return forOperands(rhs, (LiteralExpr) lhs);
+            }
+            if (rhs instanceof LiteralExpr) {
+                return forOperands(lhs, (LiteralExpr) rhs);
+            }
+            return null;
+        }
+
+        @Nullable
+        private static KeyPredicate forOperands(final Expr expr, final LiteralExpr literal) {
+            if (!(expr instanceof LocationPath)) {
+                return null;
+            }
+
+            final LocationPath path = (LocationPath) expr;
+            if (path.isAbsolute() || path.getSteps().size() != 1) {
+                return null;
+            }
+
+            final Object step = path.getSteps().get(0);
+            if (!(step instanceof NameStep)) {
+                return null;
+            }
+
+            final NameStep name = (NameStep) step;
+            if (name.getAxis() != Axis.CHILD || !name.getPredicates().isEmpty() || "*".equals(name.getLocalName())) {
+                return null;
+            }
+
+            return new KeyPredicate(Strings.nullToEmpty(name.getPrefix()), name.getLocalName(), literal.getLiteral());
+        }
+    }
+}
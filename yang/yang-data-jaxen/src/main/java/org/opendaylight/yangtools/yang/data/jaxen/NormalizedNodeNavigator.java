@@ -63,7 +63,7 @@ final class NormalizedNodeNavigator extends DefaultNavigator implements NamedAcc
         return cast(context).getNode();
     }
 
-    private QName resolveQName(final NormalizedNode<?, ?> node, final String prefix, final String localName) {
+    QName resolveQName(final NormalizedNode<?, ?> node, final String prefix, final String localName) {
         final QNameModule module;
         if (prefix.isEmpty()) {
             module = node.getNodeType().getModule();
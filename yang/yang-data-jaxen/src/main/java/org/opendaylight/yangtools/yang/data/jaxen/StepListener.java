@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.data.jaxen;
 
+import java.util.Optional;
 import org.jaxen.expr.AllNodeStep;
 import org.jaxen.expr.CommentNodeStep;
 import org.jaxen.expr.NameStep;
@@ -23,8 +24,15 @@ abstract class StepListener {
 
     }
 
-    void onName(final NameStep step) {
-
+    /**
+     * Invoked for each {@link NameStep}. Implementations may return a replacement step, which will be used instead of
+     * the original step when the expression is evaluated.
+     *
+     * @param step Step being visited
+     * @return Replacement step, or empty if the step should be retained
+     */
+    Optional<NameStep> onName(final NameStep step) {
+        return Optional.empty();
     }
 
     void onProcessingInstruction(final ProcessingInstructionNodeStep step) {
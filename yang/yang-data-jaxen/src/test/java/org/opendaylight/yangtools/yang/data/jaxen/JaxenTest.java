@@ -9,6 +9,7 @@
 package org.opendaylight.yangtools.yang.data.jaxen;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -18,6 +19,7 @@ import com.google.common.base.Converter;
 import com.google.common.base.VerifyException;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import java.io.IOException;
 import java.net.URI;
@@ -25,14 +27,18 @@ import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.xml.xpath.XPathExpressionException;
 import org.jaxen.Context;
 import org.jaxen.Function;
 import org.jaxen.FunctionCallException;
 import org.jaxen.UnresolvableException;
 import org.jaxen.UnsupportedAxisException;
+import org.jaxen.expr.Expr;
+import org.jaxen.expr.LocationPath;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -140,6 +146,48 @@ public class JaxenTest {
         assertEquals("two", value);
     }
 
+    @Test
+    public void testXpathWithKeyPredicates() throws XPathExpressionException {
+        assertEquals(ImmutableList.of("one"), evaluateValues("/list-a[leaf-a='bar']/list-b[leaf-b='one']/leaf-b"));
+        assertEquals(ImmutableList.of("two"), evaluateValues("/list-a['bar'=leaf-a]/list-b['two'=leaf-b]/leaf-b"));
+        assertEquals(ImmutableList.of("foo"), evaluateValues("/list-a[leaf-a='foo']/leaf-a"));
+        assertEquals(ImmutableList.of(), evaluateValues("/list-a[leaf-a='baz']/leaf-a"));
+        assertEquals(ImmutableList.of(), evaluateValues("/list-a[leaf-a='foo']/list-b[leaf-b='one']/leaf-b"));
+        assertEquals(2, evaluateValues("/list-a[leaf-a='bar']/list-b/leaf-b").size());
+    }
+
+    @Test
+    public void testKeyPredicateStepsRewritten() throws XPathExpressionException {
+        List<?> steps = compileSteps("/list-a[leaf-a='bar']/list-b['one'=leaf-b]/leaf-b");
+        assertEquals(3, steps.size());
+        assertTrue(steps.get(0) instanceof KeyedNameStep);
+        assertTrue(steps.get(1) instanceof KeyedNameStep);
+        assertFalse(steps.get(2) instanceof KeyedNameStep);
+
+        steps = compileSteps("/list-a[leaf-a='bar']/list-b/leaf-b");
+        assertTrue(steps.get(0) instanceof KeyedNameStep);
+        assertFalse(steps.get(1) instanceof KeyedNameStep);
+
+        steps = compileSteps("/list-a[leaf-a!='bar']/list-b[leaf-b=../leaf-a]/leaf-b");
+        assertFalse(steps.get(0) instanceof KeyedNameStep);
+        assertFalse(steps.get(1) instanceof KeyedNameStep);
+    }
+
+    private List<?> compileSteps(final String xpath) throws XPathExpressionException {
+        final Expr expr = ((JaxenXPath) xpathSchemaContext.compileExpression(createSchemaPath(), createPrefixes(),
+            xpath)).getRootExpr();
+        assertTrue(expr instanceof LocationPath);
+        return ((LocationPath) expr).getSteps();
+    }
+
+    private List<Object> evaluateValues(final String xpath) throws XPathExpressionException {
+        final Optional<? extends XPathResult<?>> result = xpathSchemaContext.compileExpression(createSchemaPath(),
+            createPrefixes(), xpath).evaluate(xpathDocument, YangInstanceIdentifier.EMPTY);
+        assertTrue(result.isPresent());
+        return ((XPathNodesetResult) result.get()).getValue().stream().<Object>map(NormalizedNode::getValue)
+                .collect(Collectors.toList());
+    }
+
     @Test(expected = VerifyException.class)
     public void testIsMethodsInNodeNavigator() {
         assertTrue(navigator.isDocument("test"));
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamAttributeWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.YangModeledAnyXmlSchemaNode;
+
+/**
+ * Utility class used for tracking parser state as needed by a StAX-like parser operating in streaming mode.
+ * This class is to be used only by respective XML and JSON parsers in yang-data-codec-xml and yang-data-codec-gson.
+ *
+ * <p>
+ * Represents a container, list entry or YANG-modeled anyxml node whose events are emitted into a
+ * {@link NormalizedNodeStreamWriter} as soon as possible. Children which can be emitted in input order are streamed
+ * directly by the parser, while children of choices and augmentations are buffered as
+ * {@link AbstractNodeDataWithSchema} subtrees until this node ends. A keyed list entry cannot be started before all
+ * of its keys are known, hence all of its children are buffered until the last key leaf has been seen.
+ */
+@Beta
+public final class StreamingCompositeNode {
+    private final NormalizedNodeStreamWriter writer;
+    private final CompositeNodeDataWithSchema buffer;
+    private final Map<QName, String> attributes;
+    private final Map<QName, LeafNodeDataWithSchema> pendingKeys;
+    private final boolean visible;
+    private boolean started;
+
+    private StreamingCompositeNode(final NormalizedNodeStreamWriter writer, final DataSchemaNode schema,
+            final Map<QName, String> attributes, final boolean started, final boolean visible) {
+        this.writer = requireNonNull(writer);
+        this.buffer = new CompositeNodeDataWithSchema(schema);
+        this.attributes = attributes;
+        this.started = started;
+        this.visible = visible;
+        this.pendingKeys = started ? null : new LinkedHashMap<>();
+    }
+
+    /**
+     * Create a node which emits its children, but does not emit any events for itself. This is useful for
+     * parsing the content of a node whose events are emitted by the caller, such as the root of a parsed document.
+     *
+     * @param writer Target writer
+     * @param schema Schema of the node
+     * @return A new streaming node
+     */
+    public static StreamingCompositeNode startInvisible(final NormalizedNodeStreamWriter writer,
+            final DataSchemaNode schema) {
+        return new StreamingCompositeNode(writer, schema, null, true, false);
+    }
+
+    /**
+     * Start a composite node. Events for containers, unkeyed list entries and YANG-modeled anyxml nodes are emitted
+     * immediately, keyed list entries are started once all their keys have been seen.
+     *
+     * @param writer Target writer
+     * @param schema Schema of the node, for list entries this is the list schema
+     * @param attributes Node attributes, may be null
+     * @return A new streaming node
+     * @throws IOException reported when thrown by the writer.
+     * @throws IllegalArgumentException if the schema does not describe a composite node
+     */
+    public static StreamingCompositeNode start(final NormalizedNodeStreamWriter writer, final DataSchemaNode schema,
+            final Map<QName, String> attributes) throws IOException {
+        if (schema instanceof ListSchemaNode) {
+            if (!((ListSchemaNode) schema).getKeyDefinition().isEmpty()) {
+                return new StreamingCompositeNode(writer, schema, attributes, false, true);
+            }
+
+            writer.nextDataSchemaNode(schema);
+            writer.startUnkeyedListItem(NodeIdentifier.create(schema.getQName()),
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else if (schema instanceof ContainerSchemaNode) {
+            writer.nextDataSchemaNode(schema);
+            if (writer instanceof NormalizedNodeStreamAttributeWriter && attributes != null) {
+                ((NormalizedNodeStreamAttributeWriter) writer).startContainerNode(
+                    NodeIdentifier.create(schema.getQName()), NormalizedNodeStreamWriter.UNKNOWN_SIZE, attributes);
+            } else {
+                writer.startContainerNode(NodeIdentifier.create(schema.getQName()),
+                    NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            }
+        } else if (schema instanceof YangModeledAnyXmlSchemaNode) {
+            writer.nextDataSchemaNode(schema);
+            if (writer instanceof NormalizedNodeStreamAttributeWriter && attributes != null) {
+                ((NormalizedNodeStreamAttributeWriter) writer).startYangModeledAnyXmlNode(
+                    NodeIdentifier.create(schema.getQName()), NormalizedNodeStreamWriter.UNKNOWN_SIZE, attributes);
+            } else {
+                writer.startYangModeledAnyXmlNode(NodeIdentifier.create(schema.getQName()),
+                    NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported composite node schema " + schema);
+        }
+
+        return new StreamingCompositeNode(writer, schema, attributes, true, true);
+    }
+
+    /**
+     * Emit the start of a list node. Its entries are expected to be started via
+     * {@link #start(NormalizedNodeStreamWriter, DataSchemaNode, Map)}, followed by
+     * {@link NormalizedNodeStreamWriter#endNode()}.
+     *
+     * @param writer Target writer
+     * @param schema List schema
+     * @throws IOException reported when thrown by the writer.
+     */
+    public static void startList(final NormalizedNodeStreamWriter writer, final ListSchemaNode schema)
+            throws IOException {
+        writer.nextDataSchemaNode(schema);
+        final NodeIdentifier identifier = NodeIdentifier.create(schema.getQName());
+        if (schema.getKeyDefinition().isEmpty()) {
+            writer.startUnkeyedList(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else if (schema.isUserOrdered()) {
+            writer.startOrderedMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            writer.startMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        }
+    }
+
+    /**
+     * Emit the start of a leaf-list node. Its entries are expected to be written via
+     * {@link LeafListEntryNodeDataWithSchema#write(NormalizedNodeStreamWriter)}, followed by
+     * {@link NormalizedNodeStreamWriter#endNode()}.
+     *
+     * @param writer Target writer
+     * @param schema Leaf-list schema
+     * @throws IOException reported when thrown by the writer.
+     */
+    public static void startLeafSet(final NormalizedNodeStreamWriter writer, final LeafListSchemaNode schema)
+            throws IOException {
+        writer.nextDataSchemaNode(schema);
+        if (schema.isUserOrdered()) {
+            writer.startOrderedLeafSet(NodeIdentifier.create(schema.getQName()),
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            writer.startLeafSet(NodeIdentifier.create(schema.getQName()), NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        }
+    }
+
+    /**
+     * Return the associated schema node.
+     *
+     * @return Associated schema node.
+     */
+    public DataSchemaNode getSchema() {
+        return buffer.getSchema();
+    }
+
+    /**
+     * Determine whether a child identified by a schema stack, as returned by
+     * {@link ParserStreamUtils#findSchemaNodeByNameAndNamespace(DataSchemaNode, String, java.net.URI)}, can be
+     * streamed directly into the writer. If this method returns false, the child needs to be parsed into the node
+     * returned by {@link #bufferChild(Deque)}.
+     *
+     * @param schemas Schema stack of the child
+     * @return True if the child can be streamed.
+     * @throws IOException reported when thrown by the writer.
+     */
+    public boolean isStreamable(final Deque<DataSchemaNode> schemas) throws IOException {
+        checkArgument(!schemas.isEmpty(), "Expecting at least one schema");
+        tryStart();
+        return started && schemas.size() == 1 && !schemas.peek().isAugmenting();
+    }
+
+    /**
+     * Add a buffered child identified by a schema stack. The returned node needs to be populated by the parser
+     * and will be emitted when this node ends.
+     *
+     * @param schemas Schema stack of the child
+     * @return Child node to be populated
+     * @throws IOException reported when thrown by the writer.
+     */
+    public AbstractNodeDataWithSchema bufferChild(final Deque<DataSchemaNode> schemas) throws IOException {
+        checkArgument(!schemas.isEmpty(), "Expecting at least one schema");
+        tryStart();
+        if (!started && schemas.size() == 1) {
+            final DataSchemaNode schema = schemas.peek();
+            if (schema instanceof LeafSchemaNode && isKey(schema.getQName())) {
+                final LeafNodeDataWithSchema key = new LeafNodeDataWithSchema(schema);
+                checkState(pendingKeys.putIfAbsent(schema.getQName(), key) == null, "Duplicate key %s in %s",
+                    schema.getQName(), getSchema().getQName());
+                return key;
+            }
+        }
+
+        return buffer.addChild(schemas);
+    }
+
+    /**
+     * Emit any buffered children and end this node, unless it was created by
+     * {@link #startInvisible(NormalizedNodeStreamWriter, DataSchemaNode)}.
+     *
+     * @throws IOException reported when thrown by the writer.
+     * @throws IllegalStateException if this is a keyed list entry and some of its keys have not been seen
+     */
+    public void end() throws IOException {
+        tryStart();
+        checkState(started, "Input is missing some of the keys of %s", getSchema().getQName());
+        buffer.write(writer);
+        if (visible) {
+            writer.endNode();
+        }
+    }
+
+    private boolean isKey(final QName qname) {
+        return ((ListSchemaNode) getSchema()).getKeyDefinition().contains(qname);
+    }
+
+    private void tryStart() throws IOException {
+        if (started) {
+            return;
+        }
+
+        final Collection<QName> keyDef = ((ListSchemaNode) getSchema()).getKeyDefinition();
+        if (pendingKeys.size() != keyDef.size()) {
+            return;
+        }
+
+        // Need to restore schema order...
+        final Map<QName, Object> predicates = new LinkedHashMap<>();
+        for (QName qname : keyDef) {
+            predicates.put(qname, pendingKeys.get(qname).getValue());
+        }
+
+        final NodeIdentifierWithPredicates identifier = new NodeIdentifierWithPredicates(getSchema().getQName(),
+            predicates);
+        writer.nextDataSchemaNode(getSchema());
+        if (writer instanceof NormalizedNodeStreamAttributeWriter && attributes != null) {
+            ((NormalizedNodeStreamAttributeWriter) writer).startMapEntryNode(identifier,
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE, attributes);
+        } else {
+            writer.startMapEntryNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        }
+        started = true;
+
+        for (LeafNodeDataWithSchema key : pendingKeys.values()) {
+            key.write(writer);
+        }
+        pendingKeys.clear();
+    }
+}
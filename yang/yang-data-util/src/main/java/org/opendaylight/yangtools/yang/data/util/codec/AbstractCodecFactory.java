@@ -125,15 +125,10 @@ public abstract class AbstractCodecFactory<T extends TypeAwareCodec<?, ?, ?>> {
     protected abstract T unknownCodec(UnknownTypeDefinition type);
 
     private T getSimpleCodecFor(final TypeDefinition<?> type) {
-        // These types are expected to be fully-shared
-        if (type instanceof EmptyTypeDefinition) {
-            return emptyCodec((EmptyTypeDefinition) type);
-        } else if (type instanceof UnknownTypeDefinition) {
-            return unknownCodec((UnknownTypeDefinition) type);
-        }
-
         // Now deal with simple types. Note we consider union composed of purely simple types a simple type itself.
-        // The checks here are optimized for common types.
+        // The checks here are optimized for common types. Empty, unknown and instance-identifier codecs are expected
+        // to be fully-shared, but we still record them in the cache, as precomputed caches can only serve codecs they
+        // have seen.
         final T ret;
         if (type instanceof StringTypeDefinition) {
             ret = stringCodec((StringTypeDefinition) type);
@@ -158,7 +153,11 @@ public abstract class AbstractCodecFactory<T extends TypeAwareCodec<?, ?, ?>> {
         } else if (type instanceof BinaryTypeDefinition) {
             ret = binaryCodec((BinaryTypeDefinition) type);
         } else if (type instanceof InstanceIdentifierTypeDefinition) {
-            return instanceIdentifierCodec((InstanceIdentifierTypeDefinition) type);
+            ret = instanceIdentifierCodec((InstanceIdentifierTypeDefinition) type);
+        } else if (type instanceof EmptyTypeDefinition) {
+            ret = emptyCodec((EmptyTypeDefinition) type);
+        } else if (type instanceof UnknownTypeDefinition) {
+            ret = unknownCodec((UnknownTypeDefinition) type);
         } else {
             return null;
         }
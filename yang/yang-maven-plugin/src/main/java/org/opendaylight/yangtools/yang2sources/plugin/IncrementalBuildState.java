@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang2sources.plugin;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.Collection;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import javax.annotation.concurrent.NotThreadSafe;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.opendaylight.yangtools.yang2sources.plugin.ConfigArg.CodeGeneratorArg;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * State of a previous build, persisted in the project's build directory. It records a fingerprint of the inputs
+ * to each code generator and to the META-INF/yang copy, so that work whose inputs have not changed can be skipped.
+ *
+ * <p>
+ * Input fingerprints are computed from the content of YANG files in the project and from the size and modification
+ * time of dependency files. Generator fingerprints additionally include the generator configuration, so changing
+ * configuration of one generator does not cause the others to run, and the version of this plugin and the code
+ * implementing the generator, so upgrading either causes the generator to run again.
+ */
+@NotThreadSafe
+final class IncrementalBuildState {
+    private static final Logger LOG = LoggerFactory.getLogger(IncrementalBuildState.class);
+    private static final String STATE_FILE_NAME = "yang-build-state.properties";
+    private static final String META_INF_KEY = "meta-inf";
+    private static final String PLUGIN_VERSION = loadPluginVersion();
+
+    private final Properties state;
+    private final File file;
+
+    private IncrementalBuildState(final File file, final Properties state) {
+        this.file = file;
+        this.state = requireNonNull(state);
+    }
+
+    /**
+     * Load the state of the previous build of a project. If the project does not have a build directory,
+     * the returned state never reports anything as up to date and is not persisted.
+     *
+     * @param project Maven project
+     * @return Build state
+     */
+    static IncrementalBuildState load(final MavenProject project) {
+        final Build build = project.getBuild();
+        if (build == null || build.getDirectory() == null) {
+            LOG.debug("{} Project has no build directory, incremental build disabled",
+                YangToSourcesProcessor.LOG_PREFIX);
+            return new IncrementalBuildState(null, new Properties());
+        }
+
+        final File file = new File(build.getDirectory(), STATE_FILE_NAME);
+        final Properties state = new Properties();
+        if (file.isFile()) {
+            try (InputStream is = Files.newInputStream(file.toPath())) {
+                state.load(is);
+            } catch (IOException | IllegalArgumentException e) {
+                LOG.warn("{} Failed to read build state {}, performing a full build", YangToSourcesProcessor.LOG_PREFIX,
+                    file, e);
+                state.clear();
+            }
+        }
+        return new IncrementalBuildState(file, state);
+    }
+
+    /**
+     * Compute the fingerprint of build inputs.
+     *
+     * @param projectFiles YANG files in the project
+     * @param dependencyFiles Dependency files containing YANG files
+     * @return Input fingerprint
+     * @throws IOException if a project file cannot be read
+     */
+    static String inputFingerprint(final Collection<File> projectFiles, final Collection<File> dependencyFiles)
+            throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (File f : sorted(projectFiles)) {
+            hasher.putString(f.getPath(), StandardCharsets.UTF_8)
+                .putBytes(com.google.common.io.Files.asByteSource(f).hash(Hashing.sha256()).asBytes());
+        }
+
+        // Dependencies are typically jars, which are not modified in place, hence size and timestamp are sufficient
+        for (File f : sorted(dependencyFiles)) {
+            hasher.putString(f.getPath(), StandardCharsets.UTF_8).putLong(f.length()).putLong(f.lastModified());
+        }
+        return hasher.hash().toString();
+    }
+
+    boolean isMetaInfUpToDate(final String inputs, final File yangDir) {
+        return inputs.equals(state.getProperty(META_INF_KEY)) && yangDir.isDirectory();
+    }
+
+    void setMetaInfGenerated(final String inputs) {
+        state.setProperty(META_INF_KEY, inputs);
+    }
+
+    boolean isUpToDate(final String inputs, final CodeGeneratorArg generator, final MavenProject project) {
+        final Optional<String> key = generatorKey(generator, project);
+        if (!key.isPresent()) {
+            return false;
+        }
+
+        final String stored = state.getProperty(key.get());
+        return stored != null && stored.equals(generatorFingerprint(inputs, generator, project))
+                && generator.getOutputBaseDir(project).isDirectory();
+    }
+
+    void setGenerated(final String inputs, final CodeGeneratorArg generator, final MavenProject project) {
+        generatorKey(generator, project).ifPresent(
+            key -> state.setProperty(key, generatorFingerprint(inputs, generator, project)));
+    }
+
+    void invalidate(final CodeGeneratorArg generator, final MavenProject project) {
+        generatorKey(generator, project).ifPresent(state::remove);
+    }
+
+    /**
+     * Persist this state. The state file is replaced atomically, so an interrupted build cannot leave a partially
+     * written state behind.
+     */
+    void store() {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            final Path dir = file.getParentFile().toPath();
+            Files.createDirectories(dir);
+            final Path tmp = Files.createTempFile(dir, STATE_FILE_NAME, ".tmp");
+            try {
+                try (OutputStream os = Files.newOutputStream(tmp)) {
+                    state.store(os, "yang-maven-plugin incremental build state");
+                }
+                Files.move(tmp, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOG.warn("{} Failed to store build state {}, next build will not be incremental",
+                YangToSourcesProcessor.LOG_PREFIX, file, e);
+        }
+    }
+
+    private static Optional<String> generatorKey(final CodeGeneratorArg generator, final MavenProject project) {
+        final String generatorClass = generator.getCodeGeneratorClass();
+        final File outputDir = generator.getOutputBaseDir(project);
+        return generatorClass == null || outputDir == null ? Optional.empty()
+                : Optional.of("generator." + generatorClass + "@" + outputDir.getAbsolutePath());
+    }
+
+    private static String generatorFingerprint(final String inputs, final CodeGeneratorArg generator,
+            final MavenProject project) {
+        final Hasher hasher = Hashing.sha256().newHasher().putString(inputs, StandardCharsets.UTF_8)
+                .putString(PLUGIN_VERSION, StandardCharsets.UTF_8)
+                .putString(generator.getCodeGeneratorClass(), StandardCharsets.UTF_8)
+                .putString(generator.getResourceBaseDir(project).getAbsolutePath(), StandardCharsets.UTF_8);
+        putCodeSource(hasher, IncrementalBuildState.class);
+        try {
+            putCodeSource(hasher, Class.forName(generator.getCodeGeneratorClass(), false,
+                IncrementalBuildState.class.getClassLoader()));
+        } catch (ClassNotFoundException e) {
+            // Generation will fail, too, and the fingerprint will not be recorded
+            LOG.debug("{} Failed to load generator {}", YangToSourcesProcessor.LOG_PREFIX,
+                generator.getCodeGeneratorClass(), e);
+        }
+        for (Entry<String, String> entry : new TreeMap<>(generator.getAdditionalConfiguration()).entrySet()) {
+            hasher.putString(entry.getKey(), StandardCharsets.UTF_8).putByte((byte) 0)
+                .putString(String.valueOf(entry.getValue()), StandardCharsets.UTF_8).putByte((byte) 0);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Add the location of the code of a class to a fingerprint. Jars are not modified in place, hence their size and
+     * timestamp are sufficient. For a directory, such as the output of another module in the same reactor build,
+     * the newest timestamp of any file in it is used.
+     */
+    private static void putCodeSource(final Hasher hasher, final Class<?> clazz) {
+        final CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return;
+        }
+
+        final File location;
+        try {
+            location = new File(codeSource.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            hasher.putString(codeSource.getLocation().toString(), StandardCharsets.UTF_8);
+            return;
+        }
+
+        hasher.putString(location.getPath(), StandardCharsets.UTF_8);
+        if (location.isDirectory()) {
+            try (Stream<Path> files = Files.walk(location.toPath())) {
+                hasher.putLong(files.mapToLong(path -> path.toFile().lastModified()).max().orElse(0));
+            } catch (IOException | UncheckedIOException e) {
+                LOG.debug("{} Failed to scan {}", YangToSourcesProcessor.LOG_PREFIX, location, e);
+                // Make sure the fingerprint does not match
+                hasher.putLong(System.nanoTime());
+            }
+        } else {
+            hasher.putLong(location.length()).putLong(location.lastModified());
+        }
+    }
+
+    private static String loadPluginVersion() {
+        final String resource = "/META-INF/maven/" + YangToSourcesMojo.PLUGIN_NAME.replace(':', '/')
+                + "/pom.properties";
+        try (InputStream is = IncrementalBuildState.class.getResourceAsStream(resource)) {
+            if (is != null) {
+                final Properties props = new Properties();
+                props.load(is);
+                final String version = props.getProperty("version");
+                if (version != null) {
+                    return version;
+                }
+            }
+        } catch (IOException e) {
+            LOG.debug("{} Failed to read {}", YangToSourcesProcessor.LOG_PREFIX, resource, e);
+        }
+
+        // Not packaged by Maven, the code source fingerprint has to suffice
+        return "";
+    }
+
+    private static Collection<File> sorted(final Collection<File> files) {
+        final TreeMap<String, File> ret = new TreeMap<>();
+        for (File f : files) {
+            ret.put(f.getPath(), f);
+        }
+        return ret.values();
+    }
+}
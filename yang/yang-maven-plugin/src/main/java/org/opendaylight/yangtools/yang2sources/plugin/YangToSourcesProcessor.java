@@ -27,7 +27,6 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -97,12 +96,50 @@ class YangToSourcesProcessor {
     }
 
     void conditionalExecute(final boolean skip) throws MojoExecutionException, MojoFailureException {
-        final Optional<ProcessorModuleReactor> optReactor = createReactor();
-        if (!optReactor.isPresent()) {
+        final Collection<File> yangFilesInProject = collectProjectFiles();
+        final Collection<File> dependencyFiles = inspectDependencies ? Util.findYangFilesInDependencies(project)
+                : ImmutableList.of();
+
+        final Collection<File> allFiles = new ArrayList<>(yangFilesInProject);
+        allFiles.addAll(dependencyFiles);
+        if (allFiles.isEmpty()) {
+            LOG.info("{} No input files found", LOG_PREFIX);
             return;
         }
 
-        final ProcessorModuleReactor reactor = optReactor.get();
+        /*
+         * Check if any of the listed files changed. If no changes occurred,
+         * simply return, which indicates end of execution.
+         */
+        if (!allFiles.stream().anyMatch(buildContext::hasDelta)) {
+            LOG.info("{} None of {} input files changed", LOG_PREFIX, allFiles.size());
+            return;
+        }
+
+        /*
+         * Check whether the previous build has processed the same inputs with the same configuration. If so, there
+         * is no need to assemble the SchemaContext, we just need to re-attach the outputs to the project.
+         */
+        final IncrementalBuildState state = IncrementalBuildState.load(project);
+        final String inputs;
+        try {
+            inputs = IncrementalBuildState.inputFingerprint(yangFilesInProject, dependencyFiles);
+        } catch (IOException e) {
+            throw new MojoExecutionException(LOG_PREFIX + " Unable to read YANG files from " + yangFilesRootDir, e);
+        }
+        final GeneratedDirectories generatedDirectories = new GeneratedDirectories(project);
+        final boolean metaInfUpToDate = state.isMetaInfUpToDate(inputs, generatedDirectories.getYangDir());
+        if (!skip && metaInfUpToDate
+                && codeGenerators.stream().allMatch(arg -> state.isUpToDate(inputs, arg, project))) {
+            LOG.info("{} None of {} input files nor generator configuration changed, skipping generation",
+                LOG_PREFIX, allFiles.size());
+            codeGenerators.forEach(this::attachGeneratorOutput);
+            YangProvider.setResource(generatedDirectories.getYangDir(), project);
+            attachServicesDir(generatedDirectories);
+            return;
+        }
+
+        final ProcessorModuleReactor reactor = createReactor(yangFilesInProject);
         if (!skip) {
             final ContextHolder holder;
 
@@ -114,7 +151,11 @@ class YangToSourcesProcessor {
                 throw new MojoExecutionException("Failed to read reactor " + reactor, e);
             }
 
-            generateSources(holder);
+            try {
+                generateSources(holder, state, inputs);
+            } finally {
+                state.store();
+            }
         } else {
             LOG.info("Skipping YANG code generation because property yang.skip is true");
         }
@@ -126,16 +167,24 @@ class YangToSourcesProcessor {
         } catch (IOException e) {
             throw new MojoExecutionException("Failed write model files for " + models, e);
         }
+        if (!skip && !metaInfUpToDate) {
+            state.setMetaInfGenerated(inputs);
+            state.store();
+        }
 
+        attachServicesDir(generatedDirectories);
+    }
+
+    private void attachServicesDir(final GeneratedDirectories generatedDirectories) {
         // add META_INF/services
-        File generatedServicesDir = new GeneratedDirectories(project).getYangServicesDir();
+        File generatedServicesDir = generatedDirectories.getYangServicesDir();
         YangProvider.setResource(generatedServicesDir, project);
         LOG.debug("{} Yang services files from: {} marked as resources: {}", LOG_PREFIX, generatedServicesDir,
             META_INF_YANG_SERVICES_STRING_JAR);
     }
 
     @SuppressWarnings("checkstyle:illegalCatch")
-    private Optional<ProcessorModuleReactor> createReactor() throws MojoExecutionException {
+    private Collection<File> collectProjectFiles() throws MojoExecutionException {
         LOG.info("{} Inspecting {}", LOG_PREFIX, yangFilesRootDir);
         try {
             /*
@@ -143,27 +192,19 @@ class YangToSourcesProcessor {
              * files in current project and optionally any jars/files in the
              * dependencies.
              */
-            final Collection<File> yangFilesInProject = listFiles(yangFilesRootDir, excludedFiles);
-
-            final Collection<File> allFiles = new ArrayList<>(yangFilesInProject);
-            if (inspectDependencies) {
-                allFiles.addAll(Util.findYangFilesInDependencies(project));
-            }
-
-            if (allFiles.isEmpty()) {
-                LOG.info("{} No input files found", LOG_PREFIX);
-                return Optional.empty();
-            }
-
-            /*
-             * Check if any of the listed files changed. If no changes occurred,
-             * simply return null, which indicates and of execution.
-             */
-            if (!allFiles.stream().anyMatch(buildContext::hasDelta)) {
-                LOG.info("{} None of {} input files changed", LOG_PREFIX, allFiles.size());
-                return Optional.empty();
-            }
+            return listFiles(yangFilesRootDir, excludedFiles);
+        } catch (Exception e) {
+            // MojoExecutionException is thrown since execution cannot continue
+            LOG.error("{} Unable to list YANG files in {}", LOG_PREFIX, yangFilesRootDir, e);
+            throw new MojoExecutionException(LOG_PREFIX + " Unable to list YANG files in " + yangFilesRootDir,
+                Throwables.getRootCause(e));
+        }
+    }
 
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private ProcessorModuleReactor createReactor(final Collection<File> yangFilesInProject)
+            throws MojoExecutionException {
+        try {
             final YangTextSchemaContextResolver resolver = YangTextSchemaContextResolver.create("maven-plugin");
             for (final File f : yangFilesInProject) {
                 resolver.registerSource(YangTextSchemaSource.forFile(f));
@@ -174,7 +215,7 @@ class YangToSourcesProcessor {
 
             final ProcessorModuleReactor reactor = new ProcessorModuleReactor(resolver);
             LOG.debug("Initialized reactor {}", reactor, yangFilesInProject);
-            return Optional.of(reactor);
+            return reactor;
         } catch (Exception e) {
             // MojoExecutionException is thrown since execution cannot continue
             LOG.error("{} Unable to parse YANG files from {}", LOG_PREFIX, yangFilesRootDir, e);
@@ -232,10 +273,12 @@ class YangToSourcesProcessor {
     }
 
     /**
-     * Call generate on every generator from plugin configuration.
+     * Call generate on every generator from plugin configuration, whose inputs or configuration have changed since
+     * the previous build.
      */
     @SuppressWarnings("checkstyle:illegalCatch")
-    private void generateSources(final ContextHolder context) throws MojoFailureException {
+    private void generateSources(final ContextHolder context, final IncrementalBuildState state,
+            final String inputs) throws MojoFailureException {
         if (codeGenerators.size() == 0) {
             LOG.warn("{} No code generators provided", LOG_PREFIX);
             return;
@@ -243,8 +286,17 @@ class YangToSourcesProcessor {
 
         final Map<String, String> thrown = new HashMap<>();
         for (CodeGeneratorArg codeGenerator : codeGenerators) {
+            if (state.isUpToDate(inputs, codeGenerator, project)) {
+                LOG.info("{} Sources generated by {} are up to date", LOG_PREFIX,
+                    codeGenerator.getCodeGeneratorClass());
+                attachGeneratorOutput(codeGenerator);
+                continue;
+            }
+
+            state.invalidate(codeGenerator, project);
             try {
                 generateSourcesWithOneGenerator(context, codeGenerator);
+                state.setGenerated(inputs, codeGenerator, project);
             } catch (Exception e) {
                 // try other generators, exception will be thrown after
                 LOG.error("{} Unable to generate sources with {} generator", LOG_PREFIX, codeGenerator
@@ -260,6 +312,14 @@ class YangToSourcesProcessor {
         }
     }
 
+    /**
+     * Attach the output of a generator, which has not been run, to the project.
+     */
+    private void attachGeneratorOutput(final CodeGeneratorArg codeGeneratorCfg) {
+        project.addCompileSourceRoot(codeGeneratorCfg.getOutputBaseDir(project).getAbsolutePath());
+        YangProvider.setResource(codeGeneratorCfg.getResourceBaseDir(project), project);
+    }
+
     /**
      * Instantiate generator from class and call required method.
      */
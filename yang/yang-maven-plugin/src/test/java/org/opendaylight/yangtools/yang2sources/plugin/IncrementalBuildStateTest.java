@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang2sources.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang2sources.plugin.ConfigArg.CodeGeneratorArg;
+
+public class IncrementalBuildStateTest {
+    private MavenProject project;
+    private File yangFile;
+    private File outputDir;
+
+    @Before
+    public void setUp() throws Exception {
+        final File baseDir = Files.createTempDir();
+        final Build build = new Build();
+        build.setDirectory(new File(baseDir, "target").getPath());
+        project = mock(MavenProject.class);
+        doReturn(build).when(project).getBuild();
+        doReturn(baseDir).when(project).getBasedir();
+
+        yangFile = new File(baseDir, "foo.yang");
+        Files.write("module foo { }", yangFile, StandardCharsets.UTF_8);
+        outputDir = new File(baseDir, "generated");
+    }
+
+    @Test
+    public void testGeneratorUpToDate() throws Exception {
+        final String inputs = IncrementalBuildState.inputFingerprint(ImmutableList.of(yangFile), ImmutableList.of());
+        final CodeGeneratorArg arg = new CodeGeneratorArg("foo.Generator", outputDir.getPath());
+
+        IncrementalBuildState state = IncrementalBuildState.load(project);
+        assertFalse(state.isUpToDate(inputs, arg, project));
+        state.setGenerated(inputs, arg, project);
+        state.store();
+
+        // Output directory is missing
+        state = IncrementalBuildState.load(project);
+        assertFalse(state.isUpToDate(inputs, arg, project));
+
+        assertTrue(outputDir.mkdirs());
+        assertTrue(state.isUpToDate(inputs, arg, project));
+
+        // Configuration change affects only the reconfigured generator
+        final CodeGeneratorArg other = new CodeGeneratorArg("foo.Generator", outputDir.getPath());
+        other.getAdditionalConfiguration().put("key", "value");
+        assertFalse(state.isUpToDate(inputs, other, project));
+
+        state.invalidate(arg, project);
+        assertFalse(state.isUpToDate(inputs, arg, project));
+    }
+
+    @Test
+    public void testLoadableGeneratorUpToDate() throws Exception {
+        final String inputs = IncrementalBuildState.inputFingerprint(ImmutableList.of(yangFile), ImmutableList.of());
+        final CodeGeneratorArg arg = new CodeGeneratorArg(IncrementalBuildStateTest.class.getName(),
+            outputDir.getPath());
+        assertTrue(outputDir.mkdirs());
+
+        // Fingerprint of the generator's code source is stable
+        final IncrementalBuildState state = IncrementalBuildState.load(project);
+        state.setGenerated(inputs, arg, project);
+        assertTrue(state.isUpToDate(inputs, arg, project));
+        assertFalse(state.isUpToDate(inputs, new CodeGeneratorArg("foo.Generator", outputDir.getPath()), project));
+    }
+
+    @Test
+    public void testInputFingerprint() throws Exception {
+        final String inputs = IncrementalBuildState.inputFingerprint(ImmutableList.of(yangFile), ImmutableList.of());
+        assertEquals(inputs, IncrementalBuildState.inputFingerprint(ImmutableList.of(yangFile), ImmutableList.of()));
+
+        Files.write("module foo { prefix f; }", yangFile, StandardCharsets.UTF_8);
+        assertNotEquals(inputs, IncrementalBuildState.inputFingerprint(ImmutableList.of(yangFile),
+            ImmutableList.of()));
+    }
+
+    @Test
+    public void testMetaInfUpToDate() throws Exception {
+        final String inputs = IncrementalBuildState.inputFingerprint(ImmutableList.of(yangFile), ImmutableList.of());
+        final File yangDir = new GeneratedDirectories(project).getYangDir();
+
+        IncrementalBuildState state = IncrementalBuildState.load(project);
+        state.setMetaInfGenerated(inputs);
+        state.store();
+        assertTrue(yangDir.mkdirs());
+
+        state = IncrementalBuildState.load(project);
+        assertTrue(state.isMetaInfUpToDate(inputs, yangDir));
+        assertFalse(state.isMetaInfUpToDate("other", yangDir));
+    }
+}
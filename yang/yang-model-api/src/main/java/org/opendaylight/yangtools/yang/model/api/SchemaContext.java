@@ -144,6 +144,27 @@ public interface SchemaContext extends ContainerSchemaNode {
         return Sets.filter(getModules(), m -> namespace.equals(m.getNamespace()));
     }
 
+    /**
+     * Returns the rpc definition with specified name, as defined directly in one of the YANG modules in the context.
+     *
+     * @param qname RPC name
+     * @return RPC definition, or empty if no such RPC exists
+     */
+    default Optional<RpcDefinition> findRpc(final QName qname) {
+        return getOperations().stream().filter(rpc -> qname.equals(rpc.getQName())).findAny();
+    }
+
+    /**
+     * Returns the notification definition with specified name, as defined directly in one of the YANG modules in the
+     * context.
+     *
+     * @param qname Notification name
+     * @return Notification definition, or empty if no such notification exists
+     */
+    default Optional<NotificationDefinition> findNotification(final QName qname) {
+        return getNotifications().stream().filter(notif -> qname.equals(notif.getQName())).findAny();
+    }
+
     @Override
     default Set<ActionDefinition> getActions() {
         return ImmutableSet.of();
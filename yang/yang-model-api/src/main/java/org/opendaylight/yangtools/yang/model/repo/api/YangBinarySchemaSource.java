@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.repo.api;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.io.ByteSource;
+import java.io.InputStream;
+import javax.annotation.Nonnull;
+
+/**
+ * YANG binary schema source representation. Exposes a compact binary encoding of the declared statement tree of
+ * an RFC6020 or RFC7950 source as an {@link InputStream}. Unlike {@link YangTextSchemaSource}, this representation
+ * does not require lexing and parsing before its statements can be processed. The format of the encoding is defined
+ * by the parser implementation which produces it.
+ */
+@Beta
+public abstract class YangBinarySchemaSource extends ByteSource implements YangSchemaSourceRepresentation {
+    private final SourceIdentifier identifier;
+
+    protected YangBinarySchemaSource(final SourceIdentifier identifier) {
+        this.identifier = requireNonNull(identifier);
+    }
+
+    /**
+     * Create a new YangBinarySchemaSource with a specific source identifier and backed by ByteSource, which provides
+     * the actual InputStreams.
+     *
+     * @param identifier SourceIdentifier of the resulting schema source
+     * @param delegate Backing ByteSource instance
+     * @return A new YangBinarySchemaSource
+     */
+    public static YangBinarySchemaSource delegateForByteSource(final SourceIdentifier identifier,
+            final ByteSource delegate) {
+        return new DelegatedYangBinarySchemaSource(identifier, delegate);
+    }
+
+    @Override
+    public final SourceIdentifier getIdentifier() {
+        return identifier;
+    }
+
+    @Nonnull
+    @Override
+    public Class<? extends YangBinarySchemaSource> getType() {
+        return YangBinarySchemaSource.class;
+    }
+
+    @Override
+    public final String toString() {
+        return addToStringAttributes(MoreObjects.toStringHelper(this).add("identifier", identifier)).toString();
+    }
+
+    /**
+     * Add subclass-specific attributes to the output {@link #toString()} output. Since
+     * subclasses are prevented from overriding {@link #toString()} for consistency
+     * reasons, they can add their specific attributes to the resulting string by attaching
+     * attributes to the supplied {@link ToStringHelper}.
+     *
+     * @param toStringHelper ToStringHelper onto the attributes can be added
+     * @return ToStringHelper supplied as input argument.
+     */
+    protected abstract ToStringHelper addToStringAttributes(ToStringHelper toStringHelper);
+}
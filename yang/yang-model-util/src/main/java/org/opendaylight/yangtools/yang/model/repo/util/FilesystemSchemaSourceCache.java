@@ -10,41 +10,64 @@ package org.opendaylight.yangtools.yang.model.repo.util;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.base.MoreObjects.ToStringHelper;
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Striped;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.format.DateTimeParseException;
 import java.util.Collections;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.common.YangConstants;
 import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangBinarySchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource.Costs;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistration;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Cache implementation that stores schemas in form of files under provided folder.
+ *
+ * <p>
+ * This class is thread-safe and does not serialize accesses to different sources. Cached sources are served from
+ * memory-mapped files and are stored by atomically renaming a fully-written temporary file. The names of cached files
+ * are recorded in an index file, which allows the cache to be restored without scanning the storage directory. The
+ * index is trusted as long as it is present: indexed files which have been removed are expunged once they are
+ * requested, and files which are not indexed are adopted once their source is offered again. Removing the index forces
+ * the storage directory to be scanned on the next start.
+ *
+ * <p>
+ * Each representation is stored in files with a distinct extension and has its own index, hence caches of different
+ * representations can share a storage directory.
  */
 public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentation>
         extends AbstractSchemaSourceCache<T> {
@@ -53,13 +76,20 @@ public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentat
 
     // Init storage adapters
     private static final Map<Class<? extends SchemaSourceRepresentation>,
-            StorageAdapter<? extends SchemaSourceRepresentation>> STORAGE_ADAPTERS = Collections.singletonMap(
-                    YangTextSchemaSource.class, new YangTextSchemaStorageAdapter());
+            StorageAdapter<? extends SchemaSourceRepresentation>> STORAGE_ADAPTERS = ImmutableMap.of(
+                    YangTextSchemaSource.class, new YangTextSchemaStorageAdapter(),
+                    YangBinarySchemaSource.class, new YangBinarySchemaStorageAdapter());
 
     private static final Pattern CACHED_FILE_PATTERN =
             Pattern.compile("(?<moduleName>[^@]+)" + "(@(?<revision>" + Revision.STRING_FORMAT_PATTERN + "))?");
 
+    private static final String INDEX_FILE_NAME = ".index";
+
+    private final Map<String, SchemaSourceRegistration<T>> cachedFiles = new ConcurrentHashMap<>();
+    private final Striped<Lock> fileLocks = Striped.lazyWeakLock(64);
+    private final Object indexLock = new Object();
     private final Class<T> representation;
+    private final StorageAdapter<?> storageAdapter;
     private final File storageDirectory;
 
     public FilesystemSchemaSourceCache(
@@ -69,6 +99,7 @@ public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentat
         this.storageDirectory = requireNonNull(storageDirectory);
 
         checkSupportedRepresentation(representation);
+        storageAdapter = STORAGE_ADAPTERS.get(representation);
 
         if (!storageDirectory.exists()) {
             checkArgument(storageDirectory.mkdirs(), "Unable to create cache directory at %s", storageDirectory);
@@ -94,11 +125,27 @@ public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentat
     }
 
     /**
-     * Restore cache state.
+     * Restore cache state, preferably from the index file. The index is trusted without listing the storage directory,
+     * so that the cost of a start does not depend on the size of the directory. Differences between the index and the
+     * directory are reconciled lazily, when sources are requested or offered. If there is no index, the storage
+     * directory is scanned and the index is recreated.
      */
     private void init() {
+        final Optional<Set<String>> indexed = readIndex();
+        if (indexed.isPresent()) {
+            for (final String fileName : indexed.get()) {
+                final Optional<SourceIdentifier> si = CachedModulesFileVisitor.getSourceIdentifier(
+                    stripExtension(fileName));
+                if (si.isPresent() && !cachedFiles.containsKey(fileName)) {
+                    LOG.trace("Restoring indexed file {} as {}", fileName, si.get());
+                    cachedFiles.put(fileName, register(si.get()));
+                }
+            }
+            return;
+        }
 
-        final CachedModulesFileVisitor fileVisitor = new CachedModulesFileVisitor();
+        LOG.debug("Cache index not present in {}, scanning it", storageDirectory);
+        final CachedModulesFileVisitor fileVisitor = new CachedModulesFileVisitor(storageAdapter.fileExtension);
         try {
             Files.walkFileTree(storageDirectory.toPath(), fileVisitor);
         } catch (final IOException e) {
@@ -106,60 +153,161 @@ public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentat
             return;
         }
 
-        for (final SourceIdentifier cachedSchema : fileVisitor.getCachedSchemas()) {
-            register(cachedSchema);
+        for (final Entry<String, SourceIdentifier> cachedSchema : fileVisitor.getCachedSchemas().entrySet()) {
+            cachedFiles.put(cachedSchema.getKey(), register(cachedSchema.getValue()));
+        }
+        writeIndex();
+    }
+
+    private Optional<Set<String>> readIndex() {
+        final Path index = indexFile();
+        if (!Files.isReadable(index)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new LinkedHashSet<>(Files.readAllLines(index, StandardCharsets.UTF_8)));
+        } catch (final IOException e) {
+            LOG.warn("Unable to read cache index {}", index, e);
+            return Optional.empty();
         }
     }
 
     @Override
-    public synchronized ListenableFuture<? extends T> getSource(
-            final SourceIdentifier sourceIdentifier) {
-        final File file = sourceIdToFile(sourceIdentifier, storageDirectory);
+    public ListenableFuture<? extends T> getSource(final SourceIdentifier sourceIdentifier) {
+        final File file = sourceIdToFile(sourceIdentifier, storageDirectory, storageAdapter.fileExtension);
         if (file.exists() && file.canRead()) {
             LOG.trace("Source {} found in cache as {}", sourceIdentifier, file);
-            final SchemaSourceRepresentation restored = STORAGE_ADAPTERS.get(representation).restore(sourceIdentifier,
-                    file);
+            final SchemaSourceRepresentation restored = storageAdapter.restore(sourceIdentifier, file);
             return Futures.immediateFuture(representation.cast(restored));
         }
 
         LOG.debug("Source {} not found in cache as {}", sourceIdentifier, file);
+        expunge(file);
         return Futures.immediateFailedFuture(new MissingSchemaSourceException("Source not found", sourceIdentifier));
     }
 
+    /**
+     * Expunge a file which is indexed, but has been removed from the storage directory.
+     *
+     * @param file Missing file
+     */
+    private void expunge(final File file) {
+        final String fileName = file.getName();
+        final SchemaSourceRegistration<T> reg;
+        final Lock lock = fileLocks.get(fileName);
+        lock.lock();
+        try {
+            if (file.exists()) {
+                // Stored concurrently
+                return;
+            }
+            reg = cachedFiles.remove(fileName);
+        } finally {
+            lock.unlock();
+        }
+
+        if (reg != null) {
+            LOG.debug("Indexed file {} has been removed, expunging it from cache", file);
+            reg.close();
+            writeIndex();
+        }
+    }
+
     @Override
-    protected synchronized void offer(final T source) {
+    protected void offer(final T source) {
         LOG.trace("Source {} offered to cache", source.getIdentifier());
         final File file = sourceIdToFile(source);
-        if (file.exists()) {
-            LOG.debug("Source {} already in cache as {}", source.getIdentifier(), file);
-            return;
+        final String fileName = file.getName();
+
+        // Concurrent offers of the same source wait for it to be stored, so it is available once offer() returns
+        final Lock lock = fileLocks.get(fileName);
+        lock.lock();
+        try {
+            if (cachedFiles.containsKey(fileName)) {
+                LOG.debug("Source {} already in cache as {}", source.getIdentifier(), file);
+                return;
+            }
+
+            if (file.exists()) {
+                // Stored, but not indexed, for example because we have crashed before updating the index
+                LOG.debug("Source {} found in cache as {}", source.getIdentifier(), file);
+            } else {
+                storeSource(file, source);
+                LOG.trace("Source {} stored in cache as {}", source.getIdentifier(), file);
+            }
+            cachedFiles.put(fileName, register(source.getIdentifier()));
+        } finally {
+            lock.unlock();
         }
 
-        storeSource(file, source);
-        register(source.getIdentifier());
-        LOG.trace("Source {} stored in cache as {}", source.getIdentifier(), file);
+        appendToIndex(fileName);
+    }
+
+    private Path indexFile() {
+        return new File(storageDirectory, INDEX_FILE_NAME + storageAdapter.fileExtension).toPath();
+    }
+
+    private void writeIndex() {
+        synchronized (indexLock) {
+            final Path index = indexFile();
+            try {
+                final Path tmp = Files.createTempFile(storageDirectory.toPath(), INDEX_FILE_NAME, ".tmp");
+                try {
+                    Files.write(tmp, cachedFiles.keySet(), StandardCharsets.UTF_8);
+                    Files.move(tmp, index, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (final IOException e) {
+                LOG.warn("Unable to write cache index {}", index, e);
+            }
+        }
+    }
+
+    private void appendToIndex(final String fileName) {
+        synchronized (indexLock) {
+            final Path index = indexFile();
+            try {
+                Files.write(index, Collections.singletonList(fileName), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (final IOException e) {
+                LOG.warn("Unable to update cache index {}, removing it", index, e);
+                try {
+                    Files.deleteIfExists(index);
+                } catch (final IOException ex) {
+                    LOG.warn("Unable to remove cache index {}", index, ex);
+                }
+            }
+        }
     }
 
     private File sourceIdToFile(final T source) {
-        return sourceIdToFile(source.getIdentifier(), storageDirectory);
+        return sourceIdToFile(source.getIdentifier(), storageDirectory, storageAdapter.fileExtension);
     }
 
     static File sourceIdToFile(final SourceIdentifier identifier, final File storageDirectory) {
+        return sourceIdToFile(identifier, storageDirectory, YangConstants.RFC6020_YANG_FILE_EXTENSION);
+    }
+
+    static File sourceIdToFile(final SourceIdentifier identifier, final File storageDirectory,
+            final String fileExtension) {
         final Optional<Revision> rev = identifier.getRevision();
         final File file;
         if (!rev.isPresent()) {
             // FIXME: this does not look right
-            file = findFileWithNewestRev(identifier, storageDirectory);
+            file = findFileWithNewestRev(identifier, storageDirectory, fileExtension);
         } else {
-            file = new File(storageDirectory, identifier.toYangFilename());
+            file = new File(storageDirectory, identifier.getName() + '@' + rev.get() + fileExtension);
         }
         return file;
     }
 
-    private static File findFileWithNewestRev(final SourceIdentifier identifier, final File storageDirectory) {
+    private static File findFileWithNewestRev(final SourceIdentifier identifier, final File storageDirectory,
+            final String fileExtension) {
         File[] files = storageDirectory.listFiles(new FilenameFilter() {
             final Pattern pat = Pattern.compile(Pattern.quote(identifier.getName())
-                    + "(\\.yang|@\\d\\d\\d\\d-\\d\\d-\\d\\d.yang)");
+                    + "(@\\d\\d\\d\\d-\\d\\d-\\d\\d)?" + Pattern.quote(fileExtension));
 
             @Override
             public boolean accept(final File dir, final String name) {
@@ -168,7 +316,7 @@ public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentat
         });
 
         if (files.length == 0) {
-            return new File(storageDirectory, identifier.toYangFilename());
+            return new File(storageDirectory, identifier.getName() + fileExtension);
         }
         if (files.length == 1) {
             return files[0];
@@ -201,15 +349,44 @@ public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentat
     }
 
     private void storeSource(final File file, final T schemaRepresentation) {
-        STORAGE_ADAPTERS.get(representation).store(file, schemaRepresentation);
+        // Write to a temporary file first, so concurrent readers never observe a partially-written file
+        try {
+            final Path tmp = Files.createTempFile(storageDirectory.toPath(), "." + file.getName(), ".tmp");
+            try {
+                storageAdapter.store(tmp.toFile(), schemaRepresentation);
+                try {
+                    Files.move(tmp, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } catch (final FileSystemException e) {
+                    // The source has been stored concurrently and the file may be in use, for example mapped by
+                    // a reader, which prevents it from being replaced on some platforms. It holds the same source.
+                    if (!file.exists()) {
+                        throw e;
+                    }
+                    LOG.debug("Source {} has already been stored as {}, not replacing it",
+                        schemaRepresentation.getIdentifier(), file, e);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot store schema source " + schemaRepresentation.getIdentifier()
+                + " to " + file, e);
+        }
+    }
+
+    private static String stripExtension(final String fileName) {
+        final int dot = fileName.lastIndexOf('.');
+        return dot == -1 ? fileName : fileName.substring(0, dot);
     }
 
     private abstract static class StorageAdapter<T extends SchemaSourceRepresentation> {
 
         private final Class<T> supportedType;
+        final String fileExtension;
 
-        protected StorageAdapter(final Class<T> supportedType) {
+        protected StorageAdapter(final Class<T> supportedType, final String fileExtension) {
             this.supportedType = supportedType;
+            this.fileExtension = requireNonNull(fileExtension);
         }
 
         void store(final File file, final SchemaSourceRepresentation schemaSourceRepresentation) {
@@ -235,7 +412,7 @@ public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentat
     private static final class YangTextSchemaStorageAdapter extends StorageAdapter<YangTextSchemaSource> {
 
         protected YangTextSchemaStorageAdapter() {
-            super(YangTextSchemaSource.class);
+            super(YangTextSchemaSource.class, YangConstants.RFC6020_YANG_FILE_EXTENSION);
         }
 
         @Override
@@ -250,34 +427,56 @@ public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentat
 
         @Override
         public YangTextSchemaSource restoreAsType(final SourceIdentifier sourceIdentifier, final File cachedSource) {
-            return new YangTextSchemaSource(sourceIdentifier) {
+            return YangTextSchemaSource.delegateForByteSource(sourceIdentifier,
+                new MappedByteSource(cachedSource.toPath()));
+        }
+    }
 
-                @Override
-                protected ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
-                    return toStringHelper;
-                }
+    private static final class YangBinarySchemaStorageAdapter extends StorageAdapter<YangBinarySchemaSource> {
 
-                @Override
-                public InputStream openStream() throws IOException {
-                    return Files.newInputStream(cachedSource.toPath());
-                }
-            };
+        protected YangBinarySchemaStorageAdapter() {
+            super(YangBinarySchemaSource.class, ".yangb");
+        }
+
+        @Override
+        protected void storeAsType(final File file, final YangBinarySchemaSource cast) {
+            try {
+                cast.copyTo(com.google.common.io.Files.asByteSink(file));
+            } catch (final IOException e) {
+                throw new IllegalStateException("Cannot store schema source " + cast.getIdentifier() + " to " + file,
+                        e);
+            }
+        }
+
+        @Override
+        public YangBinarySchemaSource restoreAsType(final SourceIdentifier sourceIdentifier, final File cachedSource) {
+            return YangBinarySchemaSource.delegateForByteSource(sourceIdentifier,
+                new MappedByteSource(cachedSource.toPath()));
         }
     }
 
     private static final class CachedModulesFileVisitor extends SimpleFileVisitor<Path> {
-        private final List<SourceIdentifier> cachedSchemas = Lists.newArrayList();
+        private final Map<String, SourceIdentifier> cachedSchemas = new LinkedHashMap<>();
+        private final String fileExtension;
+
+        CachedModulesFileVisitor(final String fileExtension) {
+            this.fileExtension = requireNonNull(fileExtension);
+        }
 
         @Override
         public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
             final FileVisitResult fileVisitResult = super.visitFile(file, attrs);
-            String fileName = file.toFile().getName();
-            fileName = com.google.common.io.Files.getNameWithoutExtension(fileName);
+            final String name = file.toFile().getName();
+            if (name.startsWith(".") || !name.endsWith(fileExtension)) {
+                // Index and temporary files, and files holding other representations
+                return fileVisitResult;
+            }
+            final String fileName = stripExtension(name);
 
             final Optional<SourceIdentifier> si = getSourceIdentifier(fileName);
             if (si.isPresent()) {
                 LOG.trace("Restoring cached file {} as {}", file, si.get());
-                cachedSchemas.add(si.get());
+                cachedSchemas.put(name, si.get());
             } else {
                 LOG.debug("Skipping cached file {}, cannot restore source identifier from filename: {},"
                         + " does not match {}", file, fileName, CACHED_FILE_PATTERN);
@@ -301,7 +500,7 @@ public final class FilesystemSchemaSourceCache<T extends SchemaSourceRepresentat
             return FileVisitResult.CONTINUE;
         }
 
-        public List<SourceIdentifier> getCachedSchemas() {
+        public Map<String, SourceIdentifier> getCachedSchemas() {
             return cachedSchemas;
         }
     }
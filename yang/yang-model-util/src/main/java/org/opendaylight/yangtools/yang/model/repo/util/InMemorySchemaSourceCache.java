@@ -7,35 +7,58 @@
  */
 package org.opendaylight.yangtools.yang.model.repo.util;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
 import com.google.common.base.FinalizablePhantomReference;
 import com.google.common.base.FinalizableReferenceQueue;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.io.ByteSource;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource.Costs;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistration;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * A {@link AbstractSchemaSourceCache} holding sources in memory. Sources are evicted based on the policy of the
+ * supplied {@link CacheBuilder}, at which point their registration is withdrawn.
+ *
+ * @param <T> Cached schema source representation
+ */
 @Beta
 public class InMemorySchemaSourceCache<T extends SchemaSourceRepresentation> extends AbstractSchemaSourceCache<T>
         implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(InMemorySchemaSourceCache.class);
+
     private final List<FinalizablePhantomReference<T>> regs = Collections.synchronizedList(new ArrayList<>());
     private final FinalizableReferenceQueue queue = new FinalizableReferenceQueue();
+    private final ConcurrentMap<SourceIdentifier, SchemaSourceRegistration<T>> registrations =
+            new ConcurrentHashMap<>();
     private final Cache<SourceIdentifier, T> cache;
 
     protected InMemorySchemaSourceCache(final SchemaSourceRegistry consumer, final Class<T> representation,
             final CacheBuilder<Object, Object> builder) {
         super(consumer, representation, Costs.IMMEDIATE);
-        cache = builder.build();
+        cache = builder.recordStats().removalListener(this::sourceRemoved).build();
     }
 
     public static <R extends SchemaSourceRepresentation> InMemorySchemaSourceCache<R> createSoftCache(
@@ -50,6 +73,73 @@ public class InMemorySchemaSourceCache<T extends SchemaSourceRepresentation> ext
                 .expireAfterAccess(lifetime, units));
     }
 
+    /**
+     * Create a cache bounded by the total weight of the sources it holds. Each source's weight is determined by
+     * the supplied function, for example its size in bytes (see {@link #sourceSize(SchemaSourceRepresentation)}) or
+     * the number of nodes in its AST, and is then discounted by the cost of re-acquiring the source once it has been
+     * evicted. Caches of representations which are expensive to rebuild therefore retain more sources within
+     * the same maximum weight than caches of cheap representations.
+     *
+     * @param consumer Registry to which sources are advertised
+     * @param representation Cached representation
+     * @param maximumWeight Maximum total weight of cached sources
+     * @param weigher Function computing the weight of a source
+     * @param rebuildCost Cost of re-acquiring an evicted source
+     * @return A new cache
+     * @throws IllegalArgumentException if maximumWeight is negative
+     */
+    public static <R extends SchemaSourceRepresentation> InMemorySchemaSourceCache<R> createWeightedCache(
+            final SchemaSourceRegistry consumer, final Class<R> representation, final long maximumWeight,
+            final ToIntFunction<? super R> weigher, final Costs rebuildCost) {
+        requireNonNull(weigher);
+        final int divisor = rebuildCost.getValue() + 1;
+        return new InMemorySchemaSourceCache<>(consumer, representation, CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((final Object key, final Object value) -> {
+                    @SuppressWarnings("unchecked")
+                    final int weight = weigher.applyAsInt((R) value);
+                    return Math.max(1, weight / divisor);
+                }));
+    }
+
+    /**
+     * Estimate the size of a source in bytes. This is accurate for representations backed by a {@link ByteSource},
+     * such as {@link YangTextSchemaSource}, all other sources are assigned a size of 1.
+     *
+     * @param source Schema source
+     * @return Size estimate, saturated to {@link Integer#MAX_VALUE}
+     */
+    public static int sourceSize(final SchemaSourceRepresentation source) {
+        if (!(source instanceof ByteSource)) {
+            return 1;
+        }
+
+        final ByteSource bytes = (ByteSource) source;
+        final com.google.common.base.Optional<Long> known = bytes.sizeIfKnown();
+        long size;
+        if (known.isPresent()) {
+            size = known.get();
+        } else {
+            try {
+                size = bytes.size();
+            } catch (IOException e) {
+                LOG.debug("Failed to determine size of {}, assuming 1", source, e);
+                size = 1;
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return statistics of this cache. Hit and miss counts reflect source lookups, eviction count includes sources
+     * evicted due to size, expiry and garbage collection.
+     *
+     * @return Cache statistics
+     */
+    public CacheStats getStatistics() {
+        return cache.stats();
+    }
+
     @Override
     public ListenableFuture<? extends T> getSource(final SourceIdentifier sourceIdentifier) {
         final T present = cache.getIfPresent(sourceIdentifier);
@@ -62,14 +152,26 @@ public class InMemorySchemaSourceCache<T extends SchemaSourceRepresentation> ext
 
     @Override
     protected void offer(final T source) {
-        final T present = cache.getIfPresent(source.getIdentifier());
-        if (present == null) {
-            cache.put(source.getIdentifier(), source);
+        // Do not use getIfPresent(), as that would count towards cache misses
+        final SourceIdentifier identifier = source.getIdentifier();
+        if (cache.asMap().putIfAbsent(identifier, source) == null) {
+            final SchemaSourceRegistration<T> reg = register(identifier);
+            final SchemaSourceRegistration<T> prev = registrations.put(identifier, reg);
+            if (prev != null) {
+                prev.close();
+            }
+            if (cache.asMap().get(identifier) != source) {
+                // The source has been evicted before we have recorded its registration
+                if (registrations.remove(identifier, reg)) {
+                    reg.close();
+                }
+                return;
+            }
 
-            final SchemaSourceRegistration<T> reg = register(source.getIdentifier());
             final FinalizablePhantomReference<T> ref = new FinalizablePhantomReference<T>(source, queue) {
                 @Override
                 public void finalizeReferent() {
+                    registrations.remove(identifier, reg);
                     reg.close();
                     regs.remove(this);
                 }
@@ -79,6 +181,19 @@ public class InMemorySchemaSourceCache<T extends SchemaSourceRepresentation> ext
         }
     }
 
+    private void sourceRemoved(final RemovalNotification<Object, Object> notification) {
+        // Sources collected by GC are handled through their phantom references, but sources evicted due to size or
+        // expiry may still be reachable, hence we need to withdraw their registration
+        final RemovalCause cause = notification.getCause();
+        if (cause == RemovalCause.SIZE || cause == RemovalCause.EXPIRED) {
+            final SchemaSourceRegistration<T> reg = registrations.remove(notification.getKey());
+            if (reg != null) {
+                LOG.debug("Source {} evicted due to {}", notification.getKey(), cause);
+                reg.close();
+            }
+        }
+    }
+
     @Override
     public void close() {
         while (!regs.isEmpty()) {
@@ -87,6 +202,7 @@ public class InMemorySchemaSourceCache<T extends SchemaSourceRepresentation> ext
         }
 
         cache.invalidateAll();
+        registrations.clear();
         queue.close();
     }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.repo.util;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link ByteSource} backed by a memory-mapped file, so reads do not copy file contents onto the heap. Each opened
+ * stream maps the file and drops the mapping when it is closed, so that it can be reclaimed. No mapping is retained
+ * by the source itself, hence a file which is not being read is not kept mapped.
+ */
+final class MappedByteSource extends ByteSource {
+    private final Path path;
+
+    MappedByteSource(final Path path) {
+        this.path = requireNonNull(path);
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedInputStream(channel.map(MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    @Override
+    public long size() throws IOException {
+        return Files.size(path);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedByteSource(" + path + ")";
+    }
+
+    private static final class MappedInputStream extends InputStream {
+        // Cleared on close, so the mapping can be reclaimed even if this stream remains reachable
+        private ByteBuffer buffer;
+
+        MappedInputStream(final ByteBuffer buffer) {
+            this.buffer = requireNonNull(buffer);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final ByteBuffer local = buffer();
+            return local.hasRemaining() ? local.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) throws IOException {
+            final ByteBuffer local = buffer();
+            if (len == 0) {
+                return 0;
+            }
+            if (!local.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, local.remaining());
+            local.get(bytes, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final ByteBuffer local = buffer();
+            final int count = (int) Math.max(0, Math.min(n, local.remaining()));
+            local.position(local.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return buffer().remaining();
+        }
+
+        @Override
+        public void close() {
+            buffer = null;
+        }
+
+        private ByteBuffer buffer() throws IOException {
+            final ByteBuffer local = buffer;
+            if (local == null) {
+                throw new IOException("Stream closed");
+            }
+            return local;
+        }
+    }
+}
@@ -11,6 +11,7 @@ package org.opendaylight.yangtools.yang.model.util;
 import com.google.common.collect.SetMultimap;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -31,6 +32,7 @@ import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
 import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.Status;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
@@ -200,13 +202,30 @@ public abstract class AbstractSchemaContext implements SchemaContext {
 
     @Override
     public DataSchemaNode getDataChildByName(final QName name) {
-        for (Module module : getModules()) {
-            final DataSchemaNode result = module.getDataChildByName(name);
-            if (result != null) {
-                return result;
+        // Top-level nodes are always defined in the module matching their namespace and revision
+        final Optional<Module> module = findModule(name.getModule());
+        return module.isPresent() ? module.get().getDataChildByName(name) : null;
+    }
+
+    @Override
+    public Optional<RpcDefinition> findRpc(final QName qname) {
+        final Optional<Module> module = findModule(qname.getModule());
+        return module.isPresent() ? tryFind(module.get().getRpcs(), qname) : Optional.empty();
+    }
+
+    @Override
+    public Optional<NotificationDefinition> findNotification(final QName qname) {
+        final Optional<Module> module = findModule(qname.getModule());
+        return module.isPresent() ? tryFind(module.get().getNotifications(), qname) : Optional.empty();
+    }
+
+    private static <T extends SchemaNode> Optional<T> tryFind(final Collection<T> nodes, final QName qname) {
+        for (T node : nodes) {
+            if (qname.equals(node.getQName())) {
+                return Optional.of(node);
             }
         }
-        return null;
+        return Optional.empty();
     }
 
     @Override
@@ -250,12 +250,8 @@ public final class SchemaContextUtil {
             @Nonnull final SchemaPath path) {
         Preconditions.checkNotNull(schema, "Schema context must not be null.");
         Preconditions.checkNotNull(path, "Schema path must not be null.");
-        for (final NotificationDefinition potential : schema.getNotifications()) {
-            if (path.equals(potential.getPath())) {
-                return potential;
-            }
-        }
-        return null;
+        final Optional<NotificationDefinition> potential = schema.findNotification(path.getLastComponent());
+        return potential.isPresent() && path.equals(potential.get().getPath()) ? potential.get() : null;
     }
 
     /**
@@ -276,12 +272,8 @@ public final class SchemaContextUtil {
         final QName rpcName = it.next();
         Preconditions.checkArgument(it.hasNext(), "input or output must be part of path.");
         final QName inOrOut = it.next();
-        for (final RpcDefinition potential : schema.getOperations()) {
-            if (rpcName.equals(potential.getQName())) {
-                return SchemaNodeUtils.getRpcDataSchema(potential, inOrOut);
-            }
-        }
-        return null;
+        final Optional<RpcDefinition> potential = schema.findRpc(rpcName);
+        return potential.isPresent() ? SchemaNodeUtils.getRpcDataSchema(potential.get(), inOrOut) : null;
     }
 
     /**
@@ -10,14 +10,26 @@ package org.opendaylight.yangtools.yang.model.util;
 import com.google.common.annotations.Beta;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 
 /**
  * Simple subclass of {@link AbstractSchemaContext} which performs some amount of indexing to speed up common
@@ -28,8 +40,18 @@ import org.opendaylight.yangtools.yang.model.api.Module;
 public class SimpleSchemaContext extends AbstractSchemaContext {
     private final SetMultimap<URI, Module> namespaceToModules;
     private final SetMultimap<String, Module> nameToModules;
+    private final Map<QNameModule, Module> moduleMap;
     private final Set<Module> modules;
 
+    /*
+     * RPC and notification lookups are performed by QName, which identifies the defining module. With hundreds of
+     * modules a linear scan is way too slow, hence we index the module's RPCs and notifications on first lookup.
+     * Modules are not otherwise touched until they are looked up, which allows them to be materialized lazily.
+     */
+    private final ConcurrentMap<QNameModule, Map<QName, RpcDefinition>> rpcs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<QNameModule, Map<QName, NotificationDefinition>> notifications =
+            new ConcurrentHashMap<>();
+
     protected SimpleSchemaContext(final Set<Module> modules) {
         /*
          * Instead of doing this on each invocation of getModules(), pre-compute
@@ -56,6 +78,20 @@ public class SimpleSchemaContext extends AbstractSchemaContext {
 
         namespaceToModules = ImmutableSetMultimap.copyOf(nsMap);
         nameToModules = ImmutableSetMultimap.copyOf(nameMap);
+
+        final Map<QNameModule, Module> modMap = new LinkedHashMap<>();
+        for (Module m : this.modules) {
+            modMap.putIfAbsent(m.getQNameModule(), m);
+        }
+        moduleMap = ImmutableMap.copyOf(modMap);
+    }
+
+    private static <T extends SchemaNode> Map<QName, T> index(final Iterable<? extends T> nodes) {
+        final Map<QName, T> map = new LinkedHashMap<>();
+        for (T node : nodes) {
+            map.putIfAbsent(node.getQName(), node);
+        }
+        return ImmutableMap.copyOf(map);
     }
 
     /**
@@ -71,6 +107,29 @@ public class SimpleSchemaContext extends AbstractSchemaContext {
         return modules;
     }
 
+    @Override
+    public final Optional<Module> findModule(final QNameModule qnameModule) {
+        return Optional.ofNullable(moduleMap.get(qnameModule));
+    }
+
+    @Override
+    public final DataSchemaNode getDataChildByName(final QName name) {
+        final Module module = moduleMap.get(name.getModule());
+        return module == null ? null : module.getDataChildByName(name);
+    }
+
+    @Override
+    public final Optional<RpcDefinition> findRpc(final QName qname) {
+        return findModule(qname.getModule()).map(module -> rpcs.computeIfAbsent(module.getQNameModule(),
+            key -> index(module.getRpcs())).get(qname));
+    }
+
+    @Override
+    public final Optional<NotificationDefinition> findNotification(final QName qname) {
+        return findModule(qname.getModule()).map(module -> notifications.computeIfAbsent(module.getQNameModule(),
+            key -> index(module.getNotifications())).get(qname));
+    }
+
     @Override
     public final String toString() {
         return addToStringAttributes(MoreObjects.toStringHelper(this)).toString();
@@ -12,8 +12,11 @@ import static org.hamcrest.CoreMatchers.both;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.either;
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
@@ -21,6 +24,7 @@ import static org.mockito.Mockito.verify;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Collections2;
+import com.google.common.io.ByteSource;
 import com.google.common.io.Files;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.io.ByteArrayInputStream;
@@ -28,18 +32,25 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangBinarySchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceProvider;
@@ -99,6 +110,138 @@ public class FilesystemSchemaSourceCacheTest {
         assertEquals(2, storedFilesAfterNewCache.size());
     }
 
+    @Test
+    public void testCacheAndRestoreBinary() throws Exception {
+        final FilesystemSchemaSourceCache<YangBinarySchemaSource> cache
+                = new FilesystemSchemaSourceCache<>(this.registry, YangBinarySchemaSource.class, this.storageDir);
+
+        final byte[] content = { 0x59, 0x41, 0x4E, 0x47, 0x01, 0x00 };
+        final SourceIdentifier sourceIdentifier = RevisionSourceIdentifier.create("test",
+            Revision.of("2012-12-12"));
+        cache.offer(YangBinarySchemaSource.delegateForByteSource(sourceIdentifier, ByteSource.wrap(content)));
+
+        assertEquals(1, getFilesFromCache().size());
+
+        final YangBinarySchemaSource restored = cache.getSource(sourceIdentifier).get();
+        assertEquals(sourceIdentifier, restored.getIdentifier());
+        Assert.assertArrayEquals(content, restored.read());
+    }
+
+    @Test
+    public void testTextAndBinaryShareDirectory() throws Exception {
+        final FilesystemSchemaSourceCache<YangTextSchemaSource> textCache
+                = new FilesystemSchemaSourceCache<>(this.registry, YangTextSchemaSource.class, this.storageDir);
+        final FilesystemSchemaSourceCache<YangBinarySchemaSource> binaryCache
+                = new FilesystemSchemaSourceCache<>(this.registry, YangBinarySchemaSource.class, this.storageDir);
+
+        final SourceIdentifier sourceIdentifier = RevisionSourceIdentifier.create("test",
+            Revision.of("2012-12-12"));
+        final byte[] content = { 0x59, 0x41, 0x4E, 0x47, 0x01, 0x00 };
+        textCache.offer(new TestingYangSource("test", "2012-12-12", "content1"));
+        binaryCache.offer(YangBinarySchemaSource.delegateForByteSource(sourceIdentifier, ByteSource.wrap(content)));
+
+        assertTrue(new File(this.storageDir, "test@2012-12-12.yang").isFile());
+        assertTrue(new File(this.storageDir, "test@2012-12-12.yangb").isFile());
+        assertTrue(new File(this.storageDir, ".index.yang").isFile());
+        assertTrue(new File(this.storageDir, ".index.yangb").isFile());
+
+        assertEquals("content1", textCache.getSource(sourceIdentifier).get().asCharSource(StandardCharsets.UTF_8)
+            .read());
+        Assert.assertArrayEquals(content, binaryCache.getSource(sourceIdentifier).get().read());
+
+        verify(this.registry, times(2)).registerSchemaSource(any(SchemaSourceProvider.class),
+            any(PotentialSchemaSource.class));
+
+        // Each restored cache registers only its own representation
+        new FilesystemSchemaSourceCache<>(this.registry, YangBinarySchemaSource.class, this.storageDir);
+        verify(this.registry, times(3)).registerSchemaSource(any(SchemaSourceProvider.class),
+            any(PotentialSchemaSource.class));
+        new FilesystemSchemaSourceCache<>(this.registry, YangTextSchemaSource.class, this.storageDir);
+        verify(this.registry, times(4)).registerSchemaSource(any(SchemaSourceProvider.class),
+            any(PotentialSchemaSource.class));
+    }
+
+    @Test
+    public void testRestoreFromIndex() throws Exception {
+        final FilesystemSchemaSourceCache<YangTextSchemaSource> cache
+                = new FilesystemSchemaSourceCache<>(this.registry, YangTextSchemaSource.class, this.storageDir);
+        cache.offer(new TestingYangSource("test", "2012-12-12", "content1"));
+        cache.offer(new TestingYangSource("test2", null, "content2"));
+        assertTrue(new File(this.storageDir, ".index.yang").isFile());
+
+        verify(this.registry, times(2)).registerSchemaSource(any(SchemaSourceProvider.class),
+            any(PotentialSchemaSource.class));
+
+        // The index is trusted, indexed files which have disappeared are expunged once requested
+        assertTrue(new File(this.storageDir, "test2.yang").delete());
+        final FilesystemSchemaSourceCache<YangTextSchemaSource> restored = new FilesystemSchemaSourceCache<>(
+            this.registry, YangTextSchemaSource.class, this.storageDir);
+        verify(this.registry, times(4)).registerSchemaSource(any(SchemaSourceProvider.class),
+            any(PotentialSchemaSource.class));
+        try {
+            restored.getSource(RevisionSourceIdentifier.create("test2")).get();
+            fail("Removed source should not be available");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(MissingSchemaSourceException.class));
+        }
+        verify(this.registration).close();
+        assertEquals(Collections.singletonList("test@2012-12-12.yang"),
+            Files.readLines(new File(this.storageDir, ".index.yang"), StandardCharsets.UTF_8));
+
+        // Without an index the directory is scanned and the index is recreated
+        assertTrue(new File(this.storageDir, ".index.yang").delete());
+        new FilesystemSchemaSourceCache<>(this.registry, YangTextSchemaSource.class, this.storageDir);
+        verify(this.registry, times(5)).registerSchemaSource(any(SchemaSourceProvider.class),
+            any(PotentialSchemaSource.class));
+        assertTrue(new File(this.storageDir, ".index.yang").isFile());
+
+        // Files which are not indexed are adopted once their source is offered
+        Files.write("content3", new File(this.storageDir, "test3.yang"), StandardCharsets.UTF_8);
+        final FilesystemSchemaSourceCache<YangTextSchemaSource> adopting = new FilesystemSchemaSourceCache<>(
+            this.registry, YangTextSchemaSource.class, this.storageDir);
+        verify(this.registry, times(6)).registerSchemaSource(any(SchemaSourceProvider.class),
+            any(PotentialSchemaSource.class));
+        adopting.offer(new TestingYangSource("test3", null, "content3"));
+        verify(this.registry, times(7)).registerSchemaSource(any(SchemaSourceProvider.class),
+            any(PotentialSchemaSource.class));
+        assertThat(Files.readLines(new File(this.storageDir, ".index.yang"), StandardCharsets.UTF_8),
+            hasItem("test3.yang"));
+    }
+
+    @Test
+    public void testConcurrentOfferAndGetSource() throws Exception {
+        final FilesystemSchemaSourceCache<YangTextSchemaSource> cache
+                = new FilesystemSchemaSourceCache<>(this.registry, YangTextSchemaSource.class, this.storageDir);
+
+        final int sources = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < sources * 4; ++i) {
+                final String name = "test" + i % sources;
+                final SourceIdentifier sourceIdentifier = RevisionSourceIdentifier.create(name,
+                    Revision.of("2012-12-12"));
+                futures.add(executor.submit(() -> {
+                    cache.offer(new TestingYangSource(name, "2012-12-12", name));
+                    // Once offered, the source must be available in its entirety
+                    assertEquals(name, cache.getSource(sourceIdentifier).get().asCharSource(StandardCharsets.UTF_8)
+                        .read());
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(sources, getFilesFromCache().size());
+        verify(this.registry, times(sources)).registerSchemaSource(any(SchemaSourceProvider.class),
+            any(PotentialSchemaSource.class));
+        assertEquals(sources, Files.readLines(new File(this.storageDir, ".index.yang"), StandardCharsets.UTF_8).size());
+    }
+
     private static Collection<String> filesToFilenamesWithoutRevision(final List<File> storedFiles) {
         return Collections2.transform(storedFiles, input -> Files.getNameWithoutExtension(input.getName()));
     }
@@ -150,7 +293,7 @@ public class FilesystemSchemaSourceCacheTest {
         final FilesystemSchemaSourceCache<YangTextSchemaSource> cache = new FilesystemSchemaSourceCache<>(this.registry,
                 YangTextSchemaSource.class, sourceIdToFile);
         Assert.assertNotNull(cache);
-        final List<File> storedFiles = Arrays.asList(sourceIdToFile.listFiles());
+        final List<File> storedFiles = listCachedFiles(sourceIdToFile);
         assertEquals(0, storedFiles.size());
     }
 
@@ -166,7 +309,7 @@ public class FilesystemSchemaSourceCacheTest {
         final File sourceIdToFile = FilesystemSchemaSourceCache.sourceIdToFile(sourceIdentifier,
                 this.storageDir);
         Assert.assertNotNull(sourceIdToFile);
-        final List<File> storedFiles = Arrays.asList(this.storageDir.listFiles());
+        final List<File> storedFiles = listCachedFiles(this.storageDir);
         assertEquals(1, storedFiles.size());
     }
 
@@ -183,7 +326,7 @@ public class FilesystemSchemaSourceCacheTest {
         final SourceIdentifier sourceIdentifier = RevisionSourceIdentifier.create("test");
         final File sourceIdToFile = FilesystemSchemaSourceCache.sourceIdToFile(sourceIdentifier, this.storageDir);
         Assert.assertNotNull(sourceIdToFile);
-        final List<File> storedFiles = Arrays.asList(this.storageDir.listFiles());
+        final List<File> storedFiles = listCachedFiles(this.storageDir);
         assertEquals(2, storedFiles.size());
     }
 
@@ -218,7 +361,12 @@ public class FilesystemSchemaSourceCacheTest {
     }
 
     private List<File> getFilesFromCache() {
-        return Arrays.asList(this.storageDir.listFiles());
+        return listCachedFiles(this.storageDir);
+    }
+
+    private static List<File> listCachedFiles(final File dir) {
+        // Ignore the index and any temporary files
+        return Arrays.asList(dir.listFiles(file -> !file.getName().startsWith(".")));
     }
 
     private class TestingYangSource extends YangTextSchemaSource {
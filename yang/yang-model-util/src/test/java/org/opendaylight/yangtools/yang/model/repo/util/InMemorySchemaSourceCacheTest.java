@@ -9,8 +9,10 @@ package org.opendaylight.yangtools.yang.model.repo.util;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.cache.CacheStats;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -25,12 +27,14 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.YangSchemaSourceRepresentation;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource.Costs;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceProvider;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistration;
 import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
@@ -123,6 +127,49 @@ public class InMemorySchemaSourceCacheTest {
         inMemorySchemaSourceCache2.close();
     }
 
+    @Test
+    public void inMemorySchemaSourceCacheWeightedTest() throws Exception {
+        final InMemorySchemaSourceCache<YangSchemaSourceRepresentation> inMemorySchemaSourceCache =
+            InMemorySchemaSourceCache.createWeightedCache(this.registry, REPRESENTATION, 1024,
+                InMemorySchemaSourceCache::sourceSize, Costs.COMPUTATION);
+
+        final YangTextSchemaSource source = new TestingYangSource("test", "2012-12-12", "content");
+        Assert.assertEquals(7, InMemorySchemaSourceCache.sourceSize(source));
+        inMemorySchemaSourceCache.offer(source);
+        inMemorySchemaSourceCache.offer(source);
+
+        final SourceIdentifier sourceIdentifier = RevisionSourceIdentifier.create("test", Revision.of("2012-12-12"));
+        Assert.assertEquals(source, inMemorySchemaSourceCache.getSource(sourceIdentifier).get());
+        Assert.assertEquals(1, inMemorySchemaSourceCache.getStatistics().hitCount());
+        Assert.assertEquals(0, inMemorySchemaSourceCache.getStatistics().missCount());
+        verify(this.registry).registerSchemaSource(any(SchemaSourceProvider.class), any(PotentialSchemaSource.class));
+        inMemorySchemaSourceCache.close();
+    }
+
+    @Test
+    public void inMemorySchemaSourceCacheEvictionTest() throws Exception {
+        final InMemorySchemaSourceCache<YangSchemaSourceRepresentation> inMemorySchemaSourceCache =
+            InMemorySchemaSourceCache.createWeightedCache(this.registry, REPRESENTATION, 0,
+                InMemorySchemaSourceCache::sourceSize, Costs.IMMEDIATE);
+
+        inMemorySchemaSourceCache.offer(new TestingYangSource("test", "2012-12-12", "content"));
+
+        // The source does not fit, hence it has to be evicted and its registration closed
+        final SourceIdentifier sourceIdentifier = RevisionSourceIdentifier.create("test", Revision.of("2012-12-12"));
+        try {
+            inMemorySchemaSourceCache.getSource(sourceIdentifier).get();
+            Assert.fail("Source should have been evicted");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof MissingSchemaSourceException);
+        }
+        verify(this.registration).close();
+
+        final CacheStats stats = inMemorySchemaSourceCache.getStatistics();
+        Assert.assertEquals(1, stats.evictionCount());
+        Assert.assertEquals(1, stats.missCount());
+        inMemorySchemaSourceCache.close();
+    }
+
     private class TestingYangSource extends YangTextSchemaSource {
 
         private final String content;
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.model.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.ImmutableSet;
+import java.net.URI;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class SimpleSchemaContextTest {
+    private static final Revision REVISION = Revision.of("2017-10-11");
+
+    @Test
+    public void testIndexedLookups() {
+        final Module foo = mockModule("foo");
+        final Module bar = mockModule("bar");
+        final SchemaContext context = SimpleSchemaContext.forModules(ImmutableSet.of(foo, bar));
+
+        // Modules are not inspected beyond their identity and imports until they are looked up
+        verify(foo, never()).getChildNodes();
+        verify(foo, never()).getRpcs();
+        verify(foo, never()).getNotifications();
+
+        assertSame(foo, context.findModule(foo.getQNameModule()).get());
+        assertSame(bar, context.findModule(bar.getQNameModule()).get());
+        assertFalse(context.findModule(QNameModule.create(URI.create("urn:baz"), REVISION)).isPresent());
+
+        final QName fooCont = QName.create(foo.getQNameModule(), "cont");
+        final QName barCont = QName.create(bar.getQNameModule(), "cont");
+        assertEquals(fooCont, context.getDataChildByName(fooCont).getQName());
+        assertEquals(barCont, context.getDataChildByName(barCont).getQName());
+        assertNull(context.getDataChildByName(QName.create(foo.getQNameModule(), "rpc")));
+
+        final QName fooRpc = QName.create(foo.getQNameModule(), "rpc");
+        assertEquals(fooRpc, context.findRpc(fooRpc).get().getQName());
+        assertFalse(context.findRpc(fooCont).isPresent());
+        verify(foo, times(1)).getRpcs();
+        verify(bar, never()).getRpcs();
+
+        final QName barNotif = QName.create(bar.getQNameModule(), "notif");
+        assertEquals(barNotif, context.findNotification(barNotif).get().getQName());
+        assertFalse(context.findNotification(fooRpc).isPresent());
+    }
+
+    private static Module mockModule(final String name) {
+        final QNameModule qnameModule = QNameModule.create(URI.create("urn:" + name), REVISION);
+        final Module module = mock(Module.class);
+        doReturn(name).when(module).getName();
+        doReturn(qnameModule.getNamespace()).when(module).getNamespace();
+        doReturn(Optional.of(REVISION)).when(module).getRevision();
+        doReturn(qnameModule).when(module).getQNameModule();
+        doReturn(ImmutableSet.of()).when(module).getImports();
+        doReturn(ImmutableSet.of()).when(module).getSubmodules();
+        doReturn(qnameModule.toString()).when(module).toString();
+
+        final ContainerSchemaNode cont = mock(ContainerSchemaNode.class);
+        doReturn(QName.create(qnameModule, "cont")).when(cont).getQName();
+        doReturn(ImmutableSet.of(cont)).when(module).getChildNodes();
+        doReturn(cont).when(module).getDataChildByName(QName.create(qnameModule, "cont"));
+
+        final RpcDefinition rpc = mock(RpcDefinition.class);
+        doReturn(QName.create(qnameModule, "rpc")).when(rpc).getQName();
+        doReturn(ImmutableSet.of(rpc)).when(module).getRpcs();
+
+        final NotificationDefinition notif = mock(NotificationDefinition.class);
+        doReturn(QName.create(qnameModule, "notif")).when(notif).getQName();
+        doReturn(ImmutableSet.of(notif)).when(module).getNotifications();
+        return module;
+    }
+}
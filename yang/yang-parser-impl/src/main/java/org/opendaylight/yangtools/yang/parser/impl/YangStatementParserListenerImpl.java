@@ -127,8 +127,9 @@ public class YangStatementParserListenerImpl extends YangStatementParserBaseList
      * @param keywordText statement keyword text to parse from source
      * @param ref Source reference
      * @return valid QName for declared statement to be written, or null
+     * @throws SourceException if the keyword is malformed
      */
-    private static QName getValidStatementDefinition(final PrefixToModule prefixes,
+    public static QName getValidStatementDefinition(final PrefixToModule prefixes,
             final QNameToStatementDefinition stmtDef, final String keywordText, final StatementSourceReference ref) {
         final int firstColon = keywordText.indexOf(':');
         if (firstColon == -1) {
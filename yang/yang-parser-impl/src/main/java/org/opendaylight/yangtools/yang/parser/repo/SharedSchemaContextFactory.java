@@ -35,12 +35,15 @@ import org.opendaylight.yangtools.util.concurrent.ExceptionMapper;
 import org.opendaylight.yangtools.util.concurrent.ReflectiveExceptionMapper;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactory;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceFilter;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.StatementParserMode;
+import org.opendaylight.yangtools.yang.model.repo.api.YangBinarySchemaSource;
 import org.opendaylight.yangtools.yang.parser.impl.util.YangModelDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangBinaryToASTTransformer;
 import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangStatementStreamSource;
 import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
 import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor;
@@ -120,7 +123,23 @@ final class SharedSchemaContextFactory implements SchemaContextFactory {
     }
 
     private ListenableFuture<ASTSchemaSource> requestSource(final SourceIdentifier identifier) {
-        return repository.getSchemaSource(identifier, ASTSchemaSource.class);
+        // Sources which are available only in their binary encoding, for example when restored from
+        // a FilesystemSchemaSourceCache, are rebuilt into a tree without parsing any text
+        return Futures.catchingAsync(repository.getSchemaSource(identifier, ASTSchemaSource.class),
+            MissingSchemaSourceException.class, missing -> requestBinarySource(identifier, missing),
+            MoreExecutors.directExecutor());
+    }
+
+    private ListenableFuture<ASTSchemaSource> requestBinarySource(final SourceIdentifier identifier,
+            final MissingSchemaSourceException missing) {
+        final ListenableFuture<ASTSchemaSource> binary = Futures.transformAsync(
+            repository.getSchemaSource(identifier, YangBinarySchemaSource.class),
+            input -> Futures.immediateFuture(YangBinaryToASTTransformer.transformSource(input)),
+            MoreExecutors.directExecutor());
+
+        // Report the original failure if the binary encoding is not available either
+        return Futures.catchingAsync(binary, MissingSchemaSourceException.class,
+            ignored -> Futures.immediateFailedFuture(missing), MoreExecutors.directExecutor());
     }
 
     /**
@@ -211,6 +230,9 @@ final class SharedSchemaContextFactory implements SchemaContextFactory {
                         res.getResolvedSources(), res.getUnsatisfiedImports());
             }
 
+            // FIXME: every SchemaContext is rebuilt through all reactor phases, even on restart with unchanged sources.
+            //        Consulting a persisted snapshot here, keyed by source identifiers and content hashes, requires
+            //        a serialized form of effective statements which can be materialized on first access.
             final CrossSourceStatementReactor.BuildAction reactor = YangInferencePipeline.RFC6020_REACTOR.newBuild(
                 statementParserMode);
             if (supportedFeatures.isPresent()) {
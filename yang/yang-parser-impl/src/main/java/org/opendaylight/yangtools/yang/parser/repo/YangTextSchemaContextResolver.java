@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -26,6 +27,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nonnull;
@@ -69,11 +71,12 @@ public final class YangTextSchemaContextResolver implements AutoCloseable, Schem
     private volatile Object version = new Object();
     private volatile Object contextVersion = version;
 
-    private YangTextSchemaContextResolver(final SchemaRepository repository, final SchemaSourceRegistry registry) {
+    private YangTextSchemaContextResolver(final SchemaRepository repository, final SchemaSourceRegistry registry,
+            final Executor parseExecutor) {
         this.repository = Preconditions.checkNotNull(repository);
         this.registry = Preconditions.checkNotNull(registry);
 
-        final TextToASTTransformer t = TextToASTTransformer.create(repository, registry);
+        final TextToASTTransformer t = TextToASTTransformer.create(repository, registry, parseExecutor);
         transReg = registry.registerSchemaSourceListener(t);
 
         cache = InMemorySchemaSourceCache.createSoftCache(registry, ASTSchemaSource.class, SOURCE_LIFETIME_SECONDS,
@@ -81,8 +84,22 @@ public final class YangTextSchemaContextResolver implements AutoCloseable, Schem
     }
 
     public static YangTextSchemaContextResolver create(final String name) {
+        return create(name, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Create a new resolver, which parses sources required by its SchemaContext using specified executor. Since
+     * parsing is CPU-bound, the executor should be bounded to a number of threads matching the available processors.
+     * The executor is not shut down when this resolver is closed.
+     *
+     * @param name Name of the underlying schema repository
+     * @param parseExecutor Executor to use for parsing
+     * @return A new resolver
+     * @throws NullPointerException if any argument is null
+     */
+    public static YangTextSchemaContextResolver create(final String name, final Executor parseExecutor) {
         final SharedSchemaRepository sharedRepo = new SharedSchemaRepository(name);
-        return new YangTextSchemaContextResolver(sharedRepo, sharedRepo);
+        return new YangTextSchemaContextResolver(sharedRepo, sharedRepo, Preconditions.checkNotNull(parseExecutor));
     }
 
     /**
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc6020.repo;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.parser.spi.source.DeclarationInTextSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementSourceReference;
+
+/**
+ * Definition of the binary encoding used by {@link YangBinaryStatementStreamSource}. The encoding consists of:
+ * <ul>
+ *   <li>a header, comprised of a magic int and a version byte,</li>
+ *   <li>the source name, prefixed by a presence byte,</li>
+ *   <li>a table of strings, holding each distinct keyword and argument exactly once,</li>
+ *   <li>the root statement, recursively encoded as keyword index, number of argument strings (zero indicating
+ *       an absent argument) followed by their indices, line, column and number of substatements, followed by
+ *       the substatements.</li>
+ * </ul>
+ * All integers except the magic are encoded as unsigned variable-length quantities, strings are encoded as their
+ * UTF-8 byte length followed by the bytes.
+ */
+final class YangBinaryFormat {
+    /**
+     * A statement as stored in the binary encoding. Its argument is kept as the strings which make it up in the source
+     * text, including their quotes, as unquoting and validating them depends on the YANG version in effect when
+     * the statement is emitted.
+     */
+    static final class BinaryStatement {
+        private final List<BinaryStatement> substatements;
+        private final StatementSourceReference ref;
+        private final String sourceName;
+        private final String keyword;
+        private final List<String> argumentStrings;
+        private final int line;
+        private final int column;
+
+        BinaryStatement(final String sourceName, final String keyword, final List<String> argumentStrings,
+                final int line, final int column, final List<BinaryStatement> substatements) {
+            this.sourceName = sourceName;
+            this.keyword = requireNonNull(keyword);
+            this.argumentStrings = argumentStrings == null ? null : ImmutableList.copyOf(argumentStrings);
+            this.line = line;
+            this.column = column;
+            this.substatements = ImmutableList.copyOf(substatements);
+            this.ref = DeclarationInTextSource.atPosition(sourceName, line, column);
+        }
+
+        String keyword() {
+            return keyword;
+        }
+
+        /**
+         * Return the strings making up the argument of this statement.
+         *
+         * @return Argument strings, or null if this statement does not have an argument
+         */
+        List<String> argumentStrings() {
+            return argumentStrings;
+        }
+
+        int line() {
+            return line;
+        }
+
+        int column() {
+            return column;
+        }
+
+        /**
+         * Return the name of the source this statement was read from.
+         *
+         * @return Source name, or null if it is not known
+         */
+        String sourceName() {
+            return sourceName;
+        }
+
+        StatementSourceReference ref() {
+            return ref;
+        }
+
+        List<BinaryStatement> substatements() {
+            return substatements;
+        }
+    }
+
+    private static final int MAGIC = 0x59414E47;
+    private static final byte VERSION = 2;
+
+    private YangBinaryFormat() {
+        throw new UnsupportedOperationException();
+    }
+
+    static void write(final DataOutput out, final String sourceName, final BinaryStatement root) throws IOException {
+        final Map<String, Integer> strings = new LinkedHashMap<>();
+        internStrings(strings, root);
+
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        if (sourceName != null) {
+            out.writeBoolean(true);
+            writeString(out, sourceName);
+        } else {
+            out.writeBoolean(false);
+        }
+
+        writeVarInt(out, strings.size());
+        for (String str : strings.keySet()) {
+            writeString(out, str);
+        }
+        writeStatement(out, strings, root);
+    }
+
+    static BinaryStatement read(final DataInput in) throws IOException {
+        final int magic = in.readInt();
+        if (magic != MAGIC) {
+            throw new IOException(String.format("Unrecognized magic %08x", magic));
+        }
+        final byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version);
+        }
+
+        final String sourceName = in.readBoolean() ? readString(in) : null;
+        final String[] strings = new String[readVarInt(in)];
+        for (int i = 0; i < strings.length; ++i) {
+            strings[i] = readString(in);
+        }
+        return readStatement(in, sourceName, strings);
+    }
+
+    private static void internStrings(final Map<String, Integer> strings, final BinaryStatement stmt) {
+        strings.putIfAbsent(stmt.keyword, strings.size());
+        if (stmt.argumentStrings != null) {
+            for (String str : stmt.argumentStrings) {
+                strings.putIfAbsent(str, strings.size());
+            }
+        }
+        for (BinaryStatement substatement : stmt.substatements) {
+            internStrings(strings, substatement);
+        }
+    }
+
+    private static void writeStatement(final DataOutput out, final Map<String, Integer> strings,
+            final BinaryStatement stmt) throws IOException {
+        writeVarInt(out, strings.get(stmt.keyword));
+        if (stmt.argumentStrings == null) {
+            writeVarInt(out, 0);
+        } else {
+            writeVarInt(out, stmt.argumentStrings.size());
+            for (String str : stmt.argumentStrings) {
+                writeVarInt(out, strings.get(str));
+            }
+        }
+        writeVarInt(out, stmt.line);
+        writeVarInt(out, stmt.column);
+        writeVarInt(out, stmt.substatements.size());
+        for (BinaryStatement substatement : stmt.substatements) {
+            writeStatement(out, strings, substatement);
+        }
+    }
+
+    private static BinaryStatement readStatement(final DataInput in, final String sourceName, final String[] strings)
+            throws IOException {
+        final String keyword = lookupString(strings, readVarInt(in));
+        final int argSize = readVarInt(in);
+        final List<String> argumentStrings;
+        if (argSize == 0) {
+            argumentStrings = null;
+        } else {
+            final String[] array = new String[argSize];
+            for (int i = 0; i < argSize; ++i) {
+                array[i] = lookupString(strings, readVarInt(in));
+            }
+            argumentStrings = Arrays.asList(array);
+        }
+        final int line = readVarInt(in);
+        final int column = readVarInt(in);
+
+        final int size = readVarInt(in);
+        final BinaryStatement[] substatements = new BinaryStatement[size];
+        for (int i = 0; i < size; ++i) {
+            substatements[i] = readStatement(in, sourceName, strings);
+        }
+        return new BinaryStatement(sourceName, keyword, argumentStrings, line, column,
+            ImmutableList.copyOf(substatements));
+    }
+
+    private static String lookupString(final String[] strings, final int index) throws IOException {
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("Invalid string index " + index);
+        }
+        return strings[index];
+    }
+
+    private static void writeString(final DataOutput out, final String str) throws IOException {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInput in) throws IOException {
+        final byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(final DataOutput out, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte(remaining & 0x7F | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    private static int readVarInt(final DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Invalid variable-length integer " + Integer.toUnsignedString(value));
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc6020.repo;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.YangVersion;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangBinarySchemaSource;
+import org.opendaylight.yangtools.yang.parser.impl.YangStatementParserListenerImpl;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangBinaryFormat.BinaryStatement;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ModelProcessingPhase;
+import org.opendaylight.yangtools.yang.parser.spi.source.PrefixToModule;
+import org.opendaylight.yangtools.yang.parser.spi.source.QNameToStatementDefinition;
+import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementWriter;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.Utils;
+
+/**
+ * This class represents implementation of StatementStreamSource in order to emit YANG statements stored in
+ * a {@link YangBinarySchemaSource} using supplied StatementWriter. The binary encoding holds the statement tree,
+ * hence no lexing or parsing is performed when a source is loaded. Statement arguments are unquoted and validated
+ * in each phase, using the same YANG version as {@link YangStatementParserListenerImpl} would. Instances are
+ * created from YANG text by {@link YangTextToBinaryTransformer}.
+ */
+@Beta
+public final class YangBinaryStatementStreamSource implements StatementStreamSource {
+    private final SourceIdentifier identifier;
+    private final BinaryStatement root;
+
+    private YangBinaryStatementStreamSource(final SourceIdentifier identifier, final BinaryStatement root) {
+        this.identifier = requireNonNull(identifier);
+        this.root = requireNonNull(root);
+    }
+
+    public static YangBinaryStatementStreamSource create(final YangBinarySchemaSource source) throws IOException {
+        final BinaryStatement root;
+        try (InputStream stream = source.openStream()) {
+            root = YangBinaryFormat.read(new DataInputStream(new BufferedInputStream(stream)));
+        }
+        return new YangBinaryStatementStreamSource(source.getIdentifier(), root);
+    }
+
+    @Override
+    public void writePreLinkage(final StatementWriter writer, final QNameToStatementDefinition stmtDef) {
+        writeStatement(writer, stmtDef, null, null, 0, root);
+    }
+
+    @Override
+    public void writeLinkage(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+            final PrefixToModule preLinkagePrefixes) {
+        writeStatement(writer, stmtDef, preLinkagePrefixes, null, 0, root);
+    }
+
+    @Override
+    public void writeLinkage(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+            final PrefixToModule preLinkagePrefixes, final YangVersion yangVersion) {
+        writeStatement(writer, stmtDef, preLinkagePrefixes, yangVersion, 0, root);
+    }
+
+    @Override
+    public void writeLinkageAndStatementDefinitions(final StatementWriter writer,
+            final QNameToStatementDefinition stmtDef, final PrefixToModule prefixes) {
+        writeStatement(writer, stmtDef, prefixes, null, 0, root);
+    }
+
+    @Override
+    public void writeLinkageAndStatementDefinitions(final StatementWriter writer,
+            final QNameToStatementDefinition stmtDef, final PrefixToModule prefixes, final YangVersion yangVersion) {
+        writeStatement(writer, stmtDef, prefixes, yangVersion, 0, root);
+    }
+
+    @Override
+    public void writeFull(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+            final PrefixToModule prefixes) {
+        writeStatement(writer, stmtDef, prefixes, null, 0, root);
+    }
+
+    @Override
+    public void writeFull(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+            final PrefixToModule prefixes, final YangVersion yangVersion) {
+        writeStatement(writer, stmtDef, prefixes, yangVersion, 0, root);
+    }
+
+    @Override
+    public SourceIdentifier getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", getIdentifier()).toString();
+    }
+
+    /*
+     * Mirrors what YangStatementParserListenerImpl does for a parse tree: statements which cannot be resolved in
+     * the current phase are skipped along with all their substatements, but still count towards child identifiers.
+     * The YANG version is not known before linkage, in which case arguments are not subject to YANG 1.1 checks.
+     */
+    private static void writeStatement(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+            final PrefixToModule prefixes, final YangVersion yangVersion, final int childId,
+            final BinaryStatement stmt) {
+        final QName name = YangStatementParserListenerImpl.getValidStatementDefinition(prefixes, stmtDef,
+            stmt.keyword(), stmt.ref());
+        if (name == null) {
+            SourceException.throwIf(writer.getPhase() == ModelProcessingPhase.FULL_DECLARATION, stmt.ref(),
+                "%s is not a YANG statement or use of extension.", stmt.keyword());
+            return;
+        }
+
+        final List<String> argumentStrings = stmt.argumentStrings();
+        final String argument = argumentStrings == null ? null
+                : Utils.stringFromStrings(argumentStrings, yangVersion, stmt.ref());
+        writer.startStatement(childId, name, argument, stmt.ref());
+        final List<BinaryStatement> substatements = stmt.substatements();
+        for (int i = 0; i < substatements.size(); ++i) {
+            writeStatement(writer, stmtDef, prefixes, yangVersion, i, substatements.get(i));
+        }
+        writer.endStatement(stmt.ref());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc6020.repo;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNodeImpl;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.ArgumentContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.KeywordContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.StatementContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
+import org.opendaylight.yangtools.yang.model.repo.api.YangBinarySchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
+import org.opendaylight.yangtools.yang.model.repo.util.SchemaSourceTransformer;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangBinaryFormat.BinaryStatement;
+import org.opendaylight.yangtools.yang.parser.util.ASTSchemaSource;
+
+/**
+ * A {@link SchemaSourceTransformer} which handles translation of models from {@link YangBinarySchemaSource}
+ * representation into {@link ASTSchemaSource}. The statement tree is rebuilt from the binary encoding without lexing
+ * or parsing any text, retaining keywords, argument strings and statement positions, so that sources stored by
+ * {@link YangTextToBinaryTransformer} can be assembled into a SchemaContext by
+ * {@link org.opendaylight.yangtools.yang.parser.repo.SharedSchemaContextFactory}.
+ *
+ * <p>
+ * The rebuilt tree holds only the tokens the statement reactor and dependency resolution examine. Separators and
+ * statement terminators are not present.
+ */
+@Beta
+public final class YangBinaryToASTTransformer
+        extends SchemaSourceTransformer<YangBinarySchemaSource, ASTSchemaSource> {
+    private YangBinaryToASTTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer) {
+        super(provider, YangBinarySchemaSource.class, consumer, ASTSchemaSource.class,
+            input -> Futures.immediateFuture(transformSource(input)));
+    }
+
+    public static YangBinaryToASTTransformer create(final SchemaRepository provider,
+            final SchemaSourceRegistry consumer) {
+        return new YangBinaryToASTTransformer(provider, consumer);
+    }
+
+    public static ASTSchemaSource transformSource(final YangBinarySchemaSource source) throws IOException,
+            YangSyntaxErrorException {
+        final BinaryStatement root;
+        try (InputStream stream = source.openStream()) {
+            root = YangBinaryFormat.read(new DataInputStream(new BufferedInputStream(stream)));
+        }
+
+        final StatementContext ast = toAST(null, root);
+        final String symbolicName = root.sourceName();
+        return symbolicName != null ? ASTSchemaSource.create(symbolicName, source.getIdentifier(), ast)
+                : ASTSchemaSource.create(source.getIdentifier(), ast);
+    }
+
+    private static StatementContext toAST(final ParserRuleContext parent, final BinaryStatement stmt) {
+        final StatementContext ctx = new StatementContext(parent, -1);
+        final ImmutableList.Builder<ParseTree> children = ImmutableList.builder();
+        children.add(keyword(ctx, stmt));
+
+        final List<String> argumentStrings = stmt.argumentStrings();
+        if (argumentStrings != null) {
+            children.add(argument(ctx, stmt, argumentStrings));
+        }
+        for (BinaryStatement substatement : stmt.substatements()) {
+            children.add(toAST(ctx, substatement));
+        }
+
+        // The keyword is the first token of a statement, hence its position is the position of the statement
+        setPosition(ctx, token(YangStatementParser.IDENTIFIER, stmt.keyword(), stmt));
+        ctx.children = children.build();
+        return ctx;
+    }
+
+    private static KeywordContext keyword(final StatementContext parent, final BinaryStatement stmt) {
+        final KeywordContext ctx = new KeywordContext(parent, -1);
+        // The lexer emits a prefixed keyword as a single IDENTIFIER token
+        final String keyword = stmt.keyword();
+        ctx.children = ImmutableList.of(terminal(ctx, YangStatementParser.IDENTIFIER, keyword, stmt));
+        setPosition(ctx, token(YangStatementParser.IDENTIFIER, keyword, stmt));
+        return ctx;
+    }
+
+    private static ArgumentContext argument(final StatementContext parent, final BinaryStatement stmt,
+            final List<String> argumentStrings) {
+        // Utils.stringFromStringContext() treats a single unquoted string the same regardless of its token type,
+        // hence all argument strings are represented as STRING tokens, concatenated by PLUS tokens
+        final ArgumentContext ctx = new ArgumentContext(parent, -1);
+        final ImmutableList.Builder<ParseTree> children = ImmutableList.builder();
+        for (int i = 0; i < argumentStrings.size(); ++i) {
+            if (i != 0) {
+                children.add(terminal(ctx, YangStatementParser.PLUS, "+", stmt));
+            }
+            children.add(terminal(ctx, YangStatementParser.STRING, argumentStrings.get(i), stmt));
+        }
+        ctx.children = children.build();
+        setPosition(ctx, token(YangStatementParser.STRING, argumentStrings.get(0), stmt));
+        return ctx;
+    }
+
+    private static TerminalNodeImpl terminal(final ParserRuleContext parent, final int type, final String text,
+            final BinaryStatement stmt) {
+        final TerminalNodeImpl node = new TerminalNodeImpl(token(type, text, stmt));
+        node.parent = parent;
+        return node;
+    }
+
+    private static Token token(final int type, final String text, final BinaryStatement stmt) {
+        final CommonToken token = new CommonToken(type, text);
+        token.setLine(stmt.line());
+        token.setCharPositionInLine(stmt.column());
+        return token;
+    }
+
+    private static void setPosition(final ParserRuleContext ctx, final Token token) {
+        ctx.start = token;
+        ctx.stop = token;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc6020.repo;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Verify;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.Futures;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.ArgumentContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.KeywordContext;
+import org.opendaylight.yangtools.antlrv4.code.gen.YangStatementParser.StatementContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangBinarySchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.spi.SchemaSourceRegistry;
+import org.opendaylight.yangtools.yang.model.repo.util.SchemaSourceTransformer;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangBinaryFormat.BinaryStatement;
+
+/**
+ * A {@link SchemaSourceTransformer} which handles translation of models from {@link YangTextSchemaSource}
+ * representation into {@link YangBinarySchemaSource}. The text is parsed once, statement arguments are retained as the
+ * strings which make them up, so they are unquoted and validated exactly as the text would be. Combined with
+ * a {@link org.opendaylight.yangtools.yang.model.repo.util.FilesystemSchemaSourceCache}, this allows subsequent
+ * startups to load sources through {@link YangBinaryStatementStreamSource} without parsing text.
+ */
+@Beta
+public final class YangTextToBinaryTransformer
+        extends SchemaSourceTransformer<YangTextSchemaSource, YangBinarySchemaSource> {
+    private YangTextToBinaryTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer) {
+        super(provider, YangTextSchemaSource.class, consumer, YangBinarySchemaSource.class,
+            input -> Futures.immediateFuture(transformSource(input)));
+    }
+
+    public static YangTextToBinaryTransformer create(final SchemaRepository provider,
+            final SchemaSourceRegistry consumer) {
+        return new YangTextToBinaryTransformer(provider, consumer);
+    }
+
+    public static YangBinarySchemaSource transformSource(final YangTextSchemaSource source) throws IOException,
+            YangSyntaxErrorException {
+        final YangStatementStreamSource parsed = YangStatementStreamSource.create(source);
+        return transformAST(source.getIdentifier(), (StatementContext) parsed.getYangAST(),
+            source.getSymbolicName().orElse(null));
+    }
+
+    public static YangBinarySchemaSource transformAST(final SourceIdentifier identifier,
+            final StatementContext context, final String symbolicName) throws IOException {
+        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        YangBinaryFormat.write(out, symbolicName, toBinary(context, symbolicName));
+        return YangBinarySchemaSource.delegateForByteSource(identifier, ByteSource.wrap(out.toByteArray()));
+    }
+
+    private static BinaryStatement toBinary(final StatementContext ctx, final String sourceName) {
+        final List<StatementContext> children = ctx.getRuleContexts(StatementContext.class);
+        final List<BinaryStatement> substatements = new ArrayList<>(children.size());
+        for (StatementContext child : children) {
+            substatements.add(toBinary(child, sourceName));
+        }
+
+        return new BinaryStatement(sourceName, keyword(ctx), argumentStrings(ctx), ctx.getStart().getLine(),
+            ctx.getStart().getCharPositionInLine(), substatements);
+    }
+
+    private static List<String> argumentStrings(final StatementContext ctx) {
+        final ArgumentContext argCtx = ctx.getChild(ArgumentContext.class, 0);
+        if (argCtx == null) {
+            return null;
+        }
+
+        // Same selection as Utils.stringFromStringContext()
+        final List<TerminalNode> strings = argCtx.STRING();
+        return strings.isEmpty() ? ImmutableList.of(argCtx.IDENTIFIER().getText())
+                : Lists.transform(strings, TerminalNode::getText);
+    }
+
+    private static String keyword(final StatementContext ctx) {
+        return Verify.verifyNotNull(ctx.getChild(KeywordContext.class, 0)).getText();
+    }
+}
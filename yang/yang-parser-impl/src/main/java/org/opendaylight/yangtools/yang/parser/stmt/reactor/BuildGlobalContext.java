@@ -8,6 +8,7 @@
 package org.opendaylight.yangtools.yang.parser.stmt.reactor;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.base.Verify;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableList;
@@ -17,7 +18,6 @@ import com.google.common.collect.Table;
 import com.google.common.collect.TreeBasedTable;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -27,16 +27,23 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.util.RecursiveObjectLeaker;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.common.YangVersion;
+import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.ModuleIdentifier;
 import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.IdentifierNamespace;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleStatement;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.StatementParserMode;
 import org.opendaylight.yangtools.yang.parser.spi.meta.DerivedNamespaceBehaviour;
@@ -51,11 +58,13 @@ import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
 import org.opendaylight.yangtools.yang.parser.spi.meta.SomeModifiersUnresolvedException;
 import org.opendaylight.yangtools.yang.parser.spi.meta.StatementSupport;
 import org.opendaylight.yangtools.yang.parser.spi.meta.StatementSupportBundle;
+import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
 import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContextUtils;
 import org.opendaylight.yangtools.yang.parser.spi.source.ModulesDeviatedByModules;
 import org.opendaylight.yangtools.yang.parser.spi.source.ModulesDeviatedByModules.SupportedModules;
 import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
 import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementWriter;
 import org.opendaylight.yangtools.yang.parser.spi.source.SupportedFeaturesNamespace;
 import org.opendaylight.yangtools.yang.parser.spi.source.SupportedFeaturesNamespace.SupportedFeatures;
 import org.opendaylight.yangtools.yang.parser.spi.validation.ValidationBundlesNamespace;
@@ -73,8 +82,9 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
             .add(ModelProcessingPhase.FULL_DECLARATION).add(ModelProcessingPhase.EFFECTIVE_MODEL).build();
 
     private final Table<YangVersion, QName, StatementDefinitionContext<?, ?, ?>> definitions = HashBasedTable.create();
-    private final Map<QName, StatementDefinitionContext<?, ?, ?>> modelDefinedStmtDefs = new HashMap<>();
-    private final Map<Class<?>, NamespaceBehaviourWithListeners<?, ?, ?>> supportedNamespaces = new HashMap<>();
+    private final Map<QName, StatementDefinitionContext<?, ?, ?>> modelDefinedStmtDefs = new ConcurrentHashMap<>();
+    private final Map<Class<?>, NamespaceBehaviourWithListeners<?, ?, ?>> supportedNamespaces =
+            new ConcurrentHashMap<>();
     private final List<MutableStatement> mutableStatementsToSeal = new ArrayList<>();
     private final Map<ModelProcessingPhase, StatementSupportBundle> supports;
     private final Set<SourceSpecificContext> sources = new HashSet<>();
@@ -82,6 +92,8 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
     private final boolean enabledSemanticVersions;
 
     private Set<SourceSpecificContext> libSources = new HashSet<>();
+    private Executor sourceExecutor;
+    private boolean lazyEffectiveModel;
     private ModelProcessingPhase currentPhase = ModelProcessingPhase.INIT;
     private ModelProcessingPhase finishedPhase = ModelProcessingPhase.INIT;
 
@@ -133,6 +145,18 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
                     ImmutableSet.copyOf(supportedFeatures));
     }
 
+    void setSourceExecutor(final Executor executor) {
+        Preconditions.checkState(currentPhase == ModelProcessingPhase.INIT,
+                "Source executor can be set in ModelProcessingPhase.INIT only");
+        sourceExecutor = executor;
+    }
+
+    void setLazyEffectiveModel(final boolean lazyEffectiveModel) {
+        Preconditions.checkState(currentPhase == ModelProcessingPhase.INIT,
+                "Lazy effective model can be set in ModelProcessingPhase.INIT only");
+        this.lazyEffectiveModel = lazyEffectiveModel;
+    }
+
     void setModulesDeviatedByModules(final Map<QNameModule, Set<QNameModule>> modulesDeviatedByModules) {
         addToNs(ModulesDeviatedByModules.class, SupportedModules.SUPPORTED_MODULES,
                     ImmutableMap.copyOf(modulesDeviatedByModules));
@@ -158,14 +182,7 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
             final Class<N> type) {
         NamespaceBehaviourWithListeners<?, ?, ?> potential = supportedNamespaces.get(type);
         if (potential == null) {
-            final NamespaceBehaviour<K, V, N> potentialRaw = supports.get(currentPhase).getNamespaceBehaviour(type);
-            if (potentialRaw != null) {
-                potential = createNamespaceContext(potentialRaw);
-                supportedNamespaces.put(type, potential);
-            } else {
-                throw new NamespaceNotAvailableException("Namespace " + type + " is not available in phase "
-                        + currentPhase);
-            }
+            potential = loadNamespaceBehaviour(type);
         }
 
         Verify.verify(type.equals(potential.getIdentifier()));
@@ -176,6 +193,26 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         return (NamespaceBehaviourWithListeners<K, V, N>) potential;
     }
 
+    /*
+     * Sources may be loading their statements concurrently, hence we need to make sure only a single behaviour gets
+     * instantiated. This method is reentrant, as derived namespaces need their base namespace.
+     */
+    private synchronized <K, V, N extends IdentifierNamespace<K, V>> NamespaceBehaviourWithListeners<?, ?, ?>
+            loadNamespaceBehaviour(final Class<N> type) {
+        NamespaceBehaviourWithListeners<?, ?, ?> potential = supportedNamespaces.get(type);
+        if (potential == null) {
+            final NamespaceBehaviour<K, V, N> potentialRaw = supports.get(currentPhase).getNamespaceBehaviour(type);
+            if (potentialRaw == null) {
+                throw new NamespaceNotAvailableException("Namespace " + type + " is not available in phase "
+                        + currentPhase);
+            }
+
+            potential = createNamespaceContext(potentialRaw);
+            supportedNamespaces.put(type, potential);
+        }
+        return potential;
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private <K, V, N extends IdentifierNamespace<K, V>> NamespaceBehaviourWithListeners<K, V, N> createNamespaceContext(
             final NamespaceBehaviour<K, V, N> potentialRaw) {
@@ -189,7 +226,8 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         return new SimpleNamespaceContext<>(potentialRaw);
     }
 
-    StatementDefinitionContext<?, ?, ?> getStatementDefinition(final YangVersion version, final QName name) {
+    synchronized StatementDefinitionContext<?, ?, ?> getStatementDefinition(final YangVersion version,
+            final QName name) {
         StatementDefinitionContext<?, ?, ?> potential = definitions.get(version, name);
         if (potential == null) {
             final StatementSupport<?, ?, ?> potentialRaw = supports.get(currentPhase).getStatementDefinition(version,
@@ -206,8 +244,38 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         return modelDefinedStmtDefs.get(name);
     }
 
-    void putModelDefinedStatementDefinition(final QName name, final StatementDefinitionContext<?, ?, ?> def) {
-        modelDefinedStmtDefs.put(name, def);
+    StatementDefinitionContext<?, ?, ?> putModelDefinedStatementDefinition(final QName name,
+            final StatementDefinitionContext<?, ?, ?> def) {
+        final StatementDefinitionContext<?, ?, ?> existing = modelDefinedStmtDefs.putIfAbsent(name, def);
+        return existing != null ? existing : def;
+    }
+
+    /*
+     * Global storage is accessed by all sources, which may be loading their statements concurrently. While doing so
+     * they do not add anything to namespaces, but they do populate QNameCacheNamespace.
+     */
+    @Override
+    public synchronized <K, V, N extends IdentifierNamespace<K, V>> V getFromLocalStorage(final Class<N> type,
+            final K key) {
+        return super.getFromLocalStorage(type, key);
+    }
+
+    @Override
+    public synchronized <K, V, N extends IdentifierNamespace<K, V>> Map<K, V> getAllFromLocalStorage(
+            final Class<N> type) {
+        return super.getAllFromLocalStorage(type);
+    }
+
+    @Override
+    public synchronized <K, V, N extends IdentifierNamespace<K, V>> V putToLocalStorage(final Class<N> type,
+            final K key, final V value) {
+        return super.putToLocalStorage(type, key, value);
+    }
+
+    @Override
+    public synchronized <K, V, N extends IdentifierNamespace<K, V>> V putToLocalStorageIfAbsent(final Class<N> type,
+            final K key, final V value) {
+        return super.putToLocalStorageIfAbsent(type, key, value);
     }
 
     private void executePhases() throws ReactorException {
@@ -257,6 +325,10 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
     @SuppressWarnings("checkstyle:illegalCatch")
     private EffectiveSchemaContext transformEffective() throws ReactorException {
         Preconditions.checkState(finishedPhase == ModelProcessingPhase.EFFECTIVE_MODEL);
+        if (lazyEffectiveModel) {
+            return transformLazyEffective();
+        }
+
         final List<DeclaredStatement<?>> rootStatements = new ArrayList<>(sources.size());
         final List<EffectiveStatement<?, ?>> rootEffectiveStatements = new ArrayList<>(sources.size());
 
@@ -278,6 +350,55 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         return EffectiveSchemaContext.create(rootStatements, rootEffectiveStatements);
     }
 
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private EffectiveSchemaContext transformLazyEffective() throws ReactorException {
+        final List<DeclaredStatement<?>> rootStatements = new ArrayList<>(sources.size());
+        final List<RootStatementContext<?, ?, ?>> roots = new ArrayList<>(sources.size());
+        final Set<Module> modules = new HashSet<>();
+
+        for (final SourceSpecificContext source : sources) {
+            final RootStatementContext<?, ?, ?> root = source.getRoot();
+            final DeclaredStatement<?> declared;
+            try {
+                declared = root.buildDeclared();
+            } catch (final RuntimeException ex) {
+                throw propagateException(source, ex);
+            }
+
+            rootStatements.add(declared);
+            roots.add(root);
+            // Submodules are materialized by the module which includes them
+            if (declared instanceof ModuleStatement) {
+                modules.add(new LazyEffectiveModule(this, root));
+            }
+        }
+
+        return EffectiveSchemaContext.createLazy(rootStatements, modules, () -> {
+            final List<EffectiveStatement<?, ?>> ret = new ArrayList<>(roots.size());
+            for (final RootStatementContext<?, ?, ?> root : roots) {
+                ret.add(buildEffectiveLazily(root));
+            }
+            return ret;
+        });
+    }
+
+    /**
+     * Build the effective statement of a statement after the reactor has finished. Building a statement may
+     * involve statements from other sources, hence concurrent builds are serialized on this context.
+     *
+     * @param stmt Statement context
+     * @return Effective statement
+     */
+    synchronized EffectiveStatement<?, ?> buildEffectiveLazily(final StmtContext<?, ?, ?> stmt) {
+        try {
+            final EffectiveStatement<?, ?> ret = stmt.buildEffective();
+            sealMutableStatements();
+            return ret;
+        } finally {
+            RecursiveObjectLeaker.cleanup();
+        }
+    }
+
     private void startPhase(final ModelProcessingPhase phase) {
         Preconditions.checkState(Objects.equals(finishedPhase, phase.getPreviousPhase()));
         startPhaseFor(phase, sources);
@@ -299,8 +420,16 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         loadPhaseStatementsFor(libSources);
     }
 
-    @SuppressWarnings("checkstyle:illegalCatch")
     private void loadPhaseStatementsFor(final Set<SourceSpecificContext> sources) throws ReactorException {
+        if (sourceExecutor != null && sources.size() > 1 && currentPhase != ModelProcessingPhase.SOURCE_PRE_LINKAGE) {
+            loadPhaseStatementsConcurrently(sources);
+        } else {
+            loadPhaseStatementsSequentially(sources);
+        }
+    }
+
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private void loadPhaseStatementsSequentially(final Set<SourceSpecificContext> sources) throws ReactorException {
         for (final SourceSpecificContext source : sources) {
             try {
                 source.loadStatements();
@@ -310,6 +439,62 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
         }
     }
 
+    /*
+     * Sources create their statement contexts independently of each other, hence we let them do that concurrently.
+     * Declaration callbacks of statement supports interact with other sources through namespaces and inference
+     * actions, hence each source defers them and we run them on this thread once all sources have been loaded, in the
+     * same order in which sequential loading would invoke them. This keeps inference ordering deterministic.
+     *
+     * SOURCE_PRE_LINKAGE is always loaded sequentially: it creates the root statement and the 'yang-version' callback
+     * affects how the rest of the source is interpreted.
+     */
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private void loadPhaseStatementsConcurrently(final Set<SourceSpecificContext> sources) throws ReactorException {
+        final ModelProcessingPhase phase = currentPhase;
+        final List<SourceSpecificContext> order = new ArrayList<>(sources.size());
+        final List<CompletableFuture<Void>> loads = new ArrayList<>(sources.size());
+        for (final SourceSpecificContext source : sources) {
+            final Consumer<StatementWriter> statements;
+            try {
+                statements = source.prepareStatements();
+            } catch (final RuntimeException ex) {
+                throw propagateException(source, ex);
+            }
+
+            order.add(source);
+            loads.add(CompletableFuture.runAsync(() -> source.loadStatementsDeferred(statements, phase),
+                sourceExecutor));
+        }
+
+        // Wait for all sources before touching the reactor
+        final List<RuntimeException> failures = new ArrayList<>(order.size());
+        for (final CompletableFuture<Void> load : loads) {
+            RuntimeException failure = null;
+            try {
+                load.join();
+            } catch (final CompletionException ex) {
+                final Throwable cause = ex.getCause();
+                Throwables.throwIfInstanceOf(cause, Error.class);
+                failure = (RuntimeException) cause;
+            }
+            failures.add(failure);
+        }
+
+        for (int i = 0; i < order.size(); ++i) {
+            final SourceSpecificContext source = order.get(i);
+            final RuntimeException failure = failures.get(i);
+            if (failure != null) {
+                throw propagateException(source, failure);
+            }
+
+            try {
+                source.runDeferredCallbacks();
+            } catch (final RuntimeException ex) {
+                throw propagateException(source, ex);
+            }
+        }
+    }
+
     private SomeModifiersUnresolvedException addSourceExceptions(final List<SourceSpecificContext> sourcesToProgress) {
         boolean addedCause = false;
         SomeModifiersUnresolvedException buildFailure = null;
@@ -494,9 +679,13 @@ class BuildGlobalContext extends NamespaceStorageSupport implements Registry {
     }
 
     void sealMutableStatements() {
-        for (final MutableStatement mutableStatement : mutableStatementsToSeal) {
-            mutableStatement.seal();
+        // Sealing a statement may cause further statements to be built, which may need sealing as well
+        while (!mutableStatementsToSeal.isEmpty()) {
+            final List<MutableStatement> toSeal = new ArrayList<>(mutableStatementsToSeal);
+            mutableStatementsToSeal.clear();
+            for (final MutableStatement mutableStatement : toSeal) {
+                mutableStatement.seal();
+            }
         }
-        mutableStatementsToSeal.clear();
     }
 }
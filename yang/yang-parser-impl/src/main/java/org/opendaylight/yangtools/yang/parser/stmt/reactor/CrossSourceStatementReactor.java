@@ -16,6 +16,7 @@ import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import javax.annotation.Nonnull;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
@@ -91,6 +92,7 @@ public final class CrossSourceStatementReactor {
         private final BuildGlobalContext context;
         private boolean supportedFeaturesSet = false;
         private boolean modulesDeviatedByModulesSet = false;
+        private boolean sourceExecutorSet = false;
 
         BuildAction(@Nonnull final StatementParserMode statementParserMode) {
             this.context = new BuildGlobalContext(supportedTerminology, supportedValidation,
@@ -172,6 +174,43 @@ public final class CrossSourceStatementReactor {
             modulesDeviatedByModulesSet = true;
         }
 
+        /**
+         * Set the executor used to process individual sources concurrently. By default all processing is performed on
+         * the thread invoking {@link #build()} or {@link #buildEffective()}. When an executor is set, sources are
+         * parsed into statement contexts concurrently on it, while declaration callbacks and cross-source inference
+         * remain on the invoking thread and retain deterministic ordering.
+         * {@link java.util.concurrent.ForkJoinPool#commonPool()} is a suitable choice unless the caller needs to bound
+         * the resources used.
+         *
+         * @param executor
+         *            Executor to use for per-source processing
+         */
+        public void setSourceExecutor(@Nonnull final Executor executor) {
+            checkState(!sourceExecutorSet, "Source executor should be set only once.");
+            context.setSourceExecutor(requireNonNull(executor));
+            sourceExecutorSet = true;
+        }
+
+        /**
+         * Request the effective model to be materialized lazily. By default {@link #buildEffective()} builds effective
+         * statements of all sources before returning. When lazy materialization is requested, the resulting
+         * SchemaContext contains modules which build their effective statements when they are first accessed, beyond
+         * their name, namespace, revision, YANG version and imports. This lowers the cost of building a SchemaContext
+         * from a large set of sources when only a few of them are used, at the cost of retaining the reactor state and
+         * of reporting errors detected while building effective statements only upon access, as unchecked
+         * exceptions.
+         *
+         * <p>
+         * Materialization is performed for whole modules, including their submodules. Materialized modules are
+         * retained by the SchemaContext for as long as it is in use.
+         *
+         * @param lazyEffectiveModel
+         *            True if the effective model should be materialized lazily
+         */
+        public void setLazyEffectiveModel(final boolean lazyEffectiveModel) {
+            context.setLazyEffectiveModel(lazyEffectiveModel);
+        }
+
         /**
          * Build the effective model context.
          */
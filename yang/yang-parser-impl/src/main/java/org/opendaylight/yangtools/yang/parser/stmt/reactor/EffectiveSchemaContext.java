@@ -7,7 +7,11 @@
  */
 package org.opendaylight.yangtools.yang.parser.stmt.reactor;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.base.Verify;
 import com.google.common.collect.ImmutableList;
 import java.util.HashSet;
@@ -23,13 +27,13 @@ import org.opendaylight.yangtools.yang.model.util.SimpleSchemaContext;
 @VisibleForTesting
 public final class EffectiveSchemaContext extends SimpleSchemaContext {
     private final List<DeclaredStatement<?>> rootDeclaredStatements;
-    private final List<EffectiveStatement<?, ?>> rootEffectiveStatements;
+    private final Supplier<List<EffectiveStatement<?, ?>>> rootEffectiveStatements;
 
     private EffectiveSchemaContext(final Set<Module> modules, final List<DeclaredStatement<?>> rootDeclaredStatements,
-            final List<EffectiveStatement<?, ?>> rootEffectiveStatements) {
+            final Supplier<List<EffectiveStatement<?, ?>>> rootEffectiveStatements) {
         super(modules);
         this.rootDeclaredStatements = ImmutableList.copyOf(rootDeclaredStatements);
-        this.rootEffectiveStatements = ImmutableList.copyOf(rootEffectiveStatements);
+        this.rootEffectiveStatements = requireNonNull(rootEffectiveStatements);
     }
 
     static EffectiveSchemaContext create(final List<DeclaredStatement<?>> rootDeclaredStatements,
@@ -42,7 +46,22 @@ public final class EffectiveSchemaContext extends SimpleSchemaContext {
             }
         }
 
-        return new EffectiveSchemaContext(modules, rootDeclaredStatements, rootEffectiveStatements);
+        return new EffectiveSchemaContext(modules, rootDeclaredStatements,
+            Suppliers.ofInstance(ImmutableList.copyOf(rootEffectiveStatements)));
+    }
+
+    /**
+     * Create a SchemaContext whose modules are materialized on first access.
+     *
+     * @param rootDeclaredStatements Declared root statements
+     * @param modules Lazily-materialized modules
+     * @param rootEffectiveStatements Supplier of effective root statements, invoked on first access
+     * @return A new SchemaContext
+     */
+    static EffectiveSchemaContext createLazy(final List<DeclaredStatement<?>> rootDeclaredStatements,
+            final Set<Module> modules, final Supplier<List<EffectiveStatement<?, ?>>> rootEffectiveStatements) {
+        return new EffectiveSchemaContext(modules, rootDeclaredStatements,
+            Suppliers.memoize(rootEffectiveStatements));
     }
 
     /**
@@ -62,6 +81,6 @@ public final class EffectiveSchemaContext extends SimpleSchemaContext {
 
     @VisibleForTesting
     public List<EffectiveStatement<?, ?>> getRootEffectiveStatements() {
-        return rootEffectiveStatements;
+        return rootEffectiveStatements.get();
     }
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Verify;
+import com.google.common.collect.ImmutableSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.opendaylight.yangtools.concepts.SemVer;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.YangVersion;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Deviation;
+import org.opendaylight.yangtools.yang.model.api.ExtensionDefinition;
+import org.opendaylight.yangtools.yang.model.api.FeatureDefinition;
+import org.opendaylight.yangtools.yang.model.api.GroupingDefinition;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.UnknownSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.UsesNode;
+import org.opendaylight.yangtools.yang.model.api.YangStmtMapping;
+import org.opendaylight.yangtools.yang.parser.spi.meta.StmtContext;
+import org.opendaylight.yangtools.yang.parser.spi.source.ModuleCtxToModuleQName;
+
+/**
+ * A {@link Module} whose effective model is materialized from its {@link RootStatementContext} on first access.
+ * Module identity, i.e. its name, namespace, revision and YANG version, is available without the effective model
+ * being built, so the module can be indexed in a SchemaContext. Imports are built from their statements alone, so that
+ * modules can be sorted by their dependencies without being materialized.
+ */
+final class LazyEffectiveModule implements Module {
+    private final BuildGlobalContext globalContext;
+    private final RootStatementContext<?, ?, ?> root;
+    private final String name;
+    private final QNameModule qnameModule;
+    private final YangVersion yangVersion;
+
+    private volatile Set<ModuleImport> imports;
+    private volatile Module delegate;
+
+    LazyEffectiveModule(final BuildGlobalContext globalContext, final RootStatementContext<?, ?, ?> root) {
+        this.globalContext = requireNonNull(globalContext);
+        this.root = requireNonNull(root);
+        this.name = (String) root.getStatementArgument();
+        this.qnameModule = Verify.verifyNotNull(root.getFromNamespace(ModuleCtxToModuleQName.class, root));
+        this.yangVersion = root.getRootVersion();
+    }
+
+    private Module delegate() {
+        Module local = delegate;
+        if (local == null) {
+            local = (Module) globalContext.buildEffectiveLazily(root);
+            delegate = local;
+        }
+        return local;
+    }
+
+    @VisibleForTesting
+    boolean isMaterialized() {
+        return delegate != null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public QNameModule getQNameModule() {
+        return qnameModule;
+    }
+
+    @Override
+    public YangVersion getYangVersion() {
+        return yangVersion;
+    }
+
+    @Override
+    public Optional<SemVer> getSemanticVersion() {
+        return delegate().getSemanticVersion();
+    }
+
+    @Override
+    public String getPrefix() {
+        return delegate().getPrefix();
+    }
+
+    @Override
+    public String getDescription() {
+        return delegate().getDescription();
+    }
+
+    @Override
+    public String getReference() {
+        return delegate().getReference();
+    }
+
+    @Override
+    public List<UnknownSchemaNode> getUnknownSchemaNodes() {
+        return delegate().getUnknownSchemaNodes();
+    }
+
+    @Override
+    public String getOrganization() {
+        return delegate().getOrganization();
+    }
+
+    @Override
+    public String getContact() {
+        return delegate().getContact();
+    }
+
+    @Override
+    public Set<ModuleImport> getImports() {
+        final Module local = delegate;
+        if (local != null) {
+            return local.getImports();
+        }
+
+        Set<ModuleImport> ret = imports;
+        if (ret == null) {
+            final ImmutableSet.Builder<ModuleImport> builder = ImmutableSet.builder();
+            for (StmtContext<?, ?, ?> stmt : root.declaredSubstatements()) {
+                if (YangStmtMapping.IMPORT.equals(stmt.getPublicDefinition())) {
+                    builder.add((ModuleImport) globalContext.buildEffectiveLazily(stmt));
+                }
+            }
+            ret = builder.build();
+            imports = ret;
+        }
+        return ret;
+    }
+
+    @Override
+    public Set<Module> getSubmodules() {
+        return delegate().getSubmodules();
+    }
+
+    @Override
+    public Set<FeatureDefinition> getFeatures() {
+        return delegate().getFeatures();
+    }
+
+    @Override
+    public Set<NotificationDefinition> getNotifications() {
+        return delegate().getNotifications();
+    }
+
+    @Override
+    public Set<AugmentationSchemaNode> getAugmentations() {
+        return delegate().getAugmentations();
+    }
+
+    @Override
+    public Set<RpcDefinition> getRpcs() {
+        return delegate().getRpcs();
+    }
+
+    @Override
+    public Set<Deviation> getDeviations() {
+        return delegate().getDeviations();
+    }
+
+    @Override
+    public Set<IdentitySchemaNode> getIdentities() {
+        return delegate().getIdentities();
+    }
+
+    @Override
+    public List<ExtensionDefinition> getExtensionSchemaNodes() {
+        return delegate().getExtensionSchemaNodes();
+    }
+
+    @Override
+    public Set<TypeDefinition<?>> getTypeDefinitions() {
+        return delegate().getTypeDefinitions();
+    }
+
+    @Override
+    public Collection<DataSchemaNode> getChildNodes() {
+        return delegate().getChildNodes();
+    }
+
+    @Override
+    public Set<GroupingDefinition> getGroupings() {
+        return delegate().getGroupings();
+    }
+
+    @Override
+    public DataSchemaNode getDataChildByName(final QName childName) {
+        return delegate().getDataChildByName(childName);
+    }
+
+    @Override
+    public Set<UsesNode> getUses() {
+        return delegate().getUses();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, yangVersion, qnameModule);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LazyEffectiveModule)) {
+            return false;
+        }
+        final LazyEffectiveModule other = (LazyEffectiveModule) obj;
+        return name.equals(other.name) && qnameModule.equals(other.qnameModule)
+                && Objects.equals(yangVersion, other.yangVersion);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).omitNullValues()
+                .add("name", name)
+                .add("namespace", getNamespace())
+                .add("revision", getRevision().orElse(null))
+                .add("yangVersion", yangVersion)
+                .add("materialized", isMaterialized())
+                .toString();
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Mutable;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -57,6 +58,7 @@ import org.opendaylight.yangtools.yang.parser.spi.source.QNameToStatementDefinit
 import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
 import org.opendaylight.yangtools.yang.parser.spi.source.StatementSourceReference;
 import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -86,6 +88,12 @@ public class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeh
     private ModelProcessingPhase inProgressPhase;
     private RootStatementContext<?, ?, ?> root;
 
+    /*
+     * Declaration callbacks deferred while this source is loading its statements concurrently with other sources,
+     * null when callbacks are invoked immediately.
+     */
+    private List<Runnable> deferredCallbacks;
+
     SourceSpecificContext(final BuildGlobalContext currentContext, final StatementStreamSource source) {
         this.currentContext = Preconditions.checkNotNull(currentContext);
         this.source = Preconditions.checkNotNull(source);
@@ -118,8 +126,8 @@ public class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeh
             if (def == null) {
                 final StatementSupport<?, ?, ?> extension = qnameToStmtDefMap.get(name);
                 if (extension != null) {
-                    def = new StatementDefinitionContext<>(extension);
-                    currentContext.putModelDefinedStatementDefinition(name, def);
+                    def = currentContext.putModelDefinedStatementDefinition(name,
+                        new StatementDefinitionContext<>(extension));
                 }
             }
         } else if (current != null && StmtContextUtils.isUnrecognizedStatement(current)) {
@@ -361,26 +369,82 @@ public class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeh
     }
 
     void loadStatements() throws SourceException {
+        prepareStatements().accept(new StatementContextWriter(this, inProgressPhase));
+    }
+
+    /**
+     * Load statements prepared by {@link #prepareStatements()}, deferring all declaration callbacks until
+     * {@link #runDeferredCallbacks()} is invoked. Creating statement contexts only touches state owned by this source,
+     * so this method can run concurrently with the same method of other sources, as long as nothing else is modifying
+     * the reactor.
+     *
+     * @param statements Prepared statements
+     * @param phase Phase being loaded
+     */
+    void loadStatementsDeferred(final Consumer<StatementWriter> statements, final ModelProcessingPhase phase) {
+        deferredCallbacks = new ArrayList<>();
+        statements.accept(new StatementContextWriter(this, phase));
+    }
+
+    /**
+     * Run declaration callbacks deferred by {@link #loadStatementsDeferred(Consumer, ModelProcessingPhase)}, in the
+     * order in which they would have been invoked by {@link #loadStatements()}.
+     */
+    void runDeferredCallbacks() {
+        final List<Runnable> callbacks = Verify.verifyNotNull(deferredCallbacks);
+        deferredCallbacks = null;
+        callbacks.forEach(Runnable::run);
+    }
+
+    /**
+     * Invoke a statement support callback notifying it about a statement being declared. If this source is loading its
+     * statements concurrently with other sources, the callback is deferred, as it may interact with them.
+     *
+     * @param callback Callback to invoke
+     */
+    void invokeDeclarationCallback(final Runnable callback) {
+        if (deferredCallbacks != null) {
+            deferredCallbacks.add(callback);
+        } else {
+            callback.run();
+        }
+    }
+
+    /**
+     * Prepare loading of statements for current phase. All interactions with the reactor needed to set up the load are
+     * performed by this method, so that the returned consumer only needs to write the statements emitted by the source
+     * to a {@link StatementWriter}.
+     *
+     * @return Consumer emitting this source's statements for current phase into a writer
+     */
+    Consumer<StatementWriter> prepareStatements() {
         LOG.trace("Source {} loading statements for phase {}", source, inProgressPhase);
 
         switch (inProgressPhase) {
-            case SOURCE_PRE_LINKAGE:
-                source.writePreLinkage(new StatementContextWriter(this, inProgressPhase), stmtDef());
-                break;
-            case SOURCE_LINKAGE:
-                source.writeLinkage(new StatementContextWriter(this, inProgressPhase), stmtDef(), preLinkagePrefixes(),
-                    getRootVersion());
-                break;
-            case STATEMENT_DEFINITION:
-                source.writeLinkageAndStatementDefinitions(new StatementContextWriter(this, inProgressPhase), stmtDef(),
-                    prefixes(), getRootVersion());
-                break;
-            case FULL_DECLARATION:
-                source.writeFull(new StatementContextWriter(this, inProgressPhase), stmtDef(), prefixes(),
-                    getRootVersion());
-                break;
+            case SOURCE_PRE_LINKAGE: {
+                final QNameToStatementDefinition stmtDef = stmtDef();
+                return writer -> source.writePreLinkage(writer, stmtDef);
+            }
+            case SOURCE_LINKAGE: {
+                final QNameToStatementDefinition stmtDef = stmtDef();
+                final PrefixToModule prefixes = preLinkagePrefixes();
+                final YangVersion version = getRootVersion();
+                return writer -> source.writeLinkage(writer, stmtDef, prefixes, version);
+            }
+            case STATEMENT_DEFINITION: {
+                final QNameToStatementDefinition stmtDef = stmtDef();
+                final PrefixToModule prefixes = prefixes();
+                final YangVersion version = getRootVersion();
+                return writer -> source.writeLinkageAndStatementDefinitions(writer, stmtDef, prefixes, version);
+            }
+            case FULL_DECLARATION: {
+                final QNameToStatementDefinition stmtDef = stmtDef();
+                final PrefixToModule prefixes = prefixes();
+                final YangVersion version = getRootVersion();
+                return writer -> source.writeFull(writer, stmtDef, prefixes, version);
+            }
             default:
-                break;
+                return writer -> { };
         }
     }
 
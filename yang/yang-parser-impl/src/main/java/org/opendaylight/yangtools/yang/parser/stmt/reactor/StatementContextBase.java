@@ -413,7 +413,8 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
             StatementContextBase<CA, CD, CE> createSubstatement(final int offset,
                     final StatementDefinitionContext<CA, CD, CE> def, final StatementSourceReference ref,
                     final String argument) {
-        final ModelProcessingPhase inProgressPhase = getRoot().getSourceContext().getInProgressPhase();
+        final SourceSpecificContext sourceContext = getRoot().getSourceContext();
+        final ModelProcessingPhase inProgressPhase = sourceContext.getInProgressPhase();
         Preconditions.checkState(inProgressPhase != ModelProcessingPhase.EFFECTIVE_MODEL,
                 "Declared statement cannot be added in effective phase at: %s", getStatementSourceReference());
 
@@ -425,7 +426,7 @@ public abstract class StatementContextBase<A, D extends DeclaredStatement<A>, E
 
         final StatementContextBase<CA, CD, CE> ret = new SubstatementContext<>(this, def, ref, argument);
         substatements = substatements.put(offset, ret);
-        def.onStatementAdded(ret);
+        sourceContext.invokeDeclarationCallback(() -> def.onStatementAdded(ret));
         return ret;
     }
 
@@ -36,15 +36,19 @@ final class StatementContextWriter implements StatementWriter {
     @Override
     public void endStatement(@Nonnull final StatementSourceReference ref) {
         Preconditions.checkState(current != null);
-        current.endDeclared(ref, phase);
+        endDeclared(current, ref);
         StatementContextBase<?, ?, ?> parentContext = current.getParentContext();
         while (parentContext != null && StatementSource.CONTEXT == parentContext.getStatementSource()) {
-            parentContext.endDeclared(ref, phase);
+            endDeclared(parentContext, ref);
             parentContext = parentContext.getParentContext();
         }
         current = parentContext;
     }
 
+    private void endDeclared(final StatementContextBase<?, ?, ?> stmt, final StatementSourceReference ref) {
+        ctx.invokeDeclarationCallback(() -> stmt.endDeclared(ref, phase));
+    }
+
     @Nonnull
     @Override
     public ModelProcessingPhase getPhase() {
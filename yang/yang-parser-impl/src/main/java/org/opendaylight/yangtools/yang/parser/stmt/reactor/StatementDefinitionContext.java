@@ -114,7 +114,7 @@ public class StatementDefinitionContext<A, D extends DeclaredStatement<A>, E ext
     }
 
     @Nonnull
-    StatementDefinitionContext<?, ?, ?> getSubDefinitionSpecificForArgument(final String argument) {
+    synchronized StatementDefinitionContext<?, ?, ?> getSubDefinitionSpecificForArgument(final String argument) {
         if (!hasArgumentSpecificSubDefinitions()) {
             return this;
         }
@@ -138,7 +138,7 @@ public class StatementDefinitionContext<A, D extends DeclaredStatement<A>, E ext
         return support.internArgument(rawArgument);
     }
 
-    StatementDefinitionContext<?, ?, ?> getAsUnknownStatementDefinition(
+    synchronized StatementDefinitionContext<?, ?, ?> getAsUnknownStatementDefinition(
             final StatementDefinitionContext<?, ?, ?> yangStmtDef) {
         if (unknownStmtDefsOfYangStmts != null) {
             final StatementDefinitionContext<?, ?, ?> existing = unknownStmtDefsOfYangStmts.get(yangStmtDef);
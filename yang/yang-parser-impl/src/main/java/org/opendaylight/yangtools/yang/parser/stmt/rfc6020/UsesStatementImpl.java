@@ -201,6 +201,9 @@ public class UsesStatementImpl extends AbstractDeclaredStatement<QName> implemen
     static void copyFromSourceToTarget(final Mutable<?, ?, ?> sourceGrpStmtCtx,
             final StatementContextBase<?, ?, ?> targetCtx,
             final Mutable<QName, UsesStatement, EffectiveStatement<QName, UsesStatement>> usesNode) {
+        // FIXME: every use site gets its own deep copy of the grouping. Sharing contexts and effective statements
+        //        until a refine, augment, deviate or namespace change touches them needs copy-on-write statement
+        //        contexts whose schema paths and config inheritance are resolved per placement.
         final Collection<? extends Mutable<?, ?, ?>> declared = sourceGrpStmtCtx.mutableDeclaredSubstatements();
         final Collection<? extends Mutable<?, ?, ?>> effective = sourceGrpStmtCtx.mutableEffectiveSubstatements();
         final Collection<Mutable<?, ?, ?>> buffer = new ArrayList<>(declared.size() + effective.size());
@@ -14,6 +14,7 @@ import com.google.common.base.CharMatcher;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -205,13 +206,27 @@ public final class Utils {
 
     public static String stringFromStringContext(final YangStatementParser.ArgumentContext context,
             final YangVersion yangVersion, final StatementSourceReference ref) {
-        final StringBuilder sb = new StringBuilder();
         List<TerminalNode> strings = context.STRING();
         if (strings.isEmpty()) {
             strings = Collections.singletonList(context.IDENTIFIER());
         }
-        for (final TerminalNode stringNode : strings) {
-            final String str = stringNode.getText();
+        return stringFromStrings(Lists.transform(strings, TerminalNode::getText), yangVersion, ref);
+    }
+
+    /**
+     * Concatenate the strings making up a statement argument, as they appear in YANG source text. Quoted strings are
+     * unquoted and unescaped, and all strings are validated according to the specified YANG version.
+     *
+     * @param strings Strings making up the argument, including their quotes
+     * @param yangVersion YANG version to apply, null if not known yet
+     * @param ref Source reference
+     * @return Argument value
+     * @throws SourceException if a string is not valid in the specified YANG version
+     */
+    public static String stringFromStrings(final List<String> strings, @Nullable final YangVersion yangVersion,
+            final StatementSourceReference ref) {
+        final StringBuilder sb = new StringBuilder();
+        for (final String str : strings) {
             final char firstChar = str.charAt(0);
             final char lastChar = str.charAt(str.length() - 1);
             if (firstChar == '"' && lastChar == '"') {
@@ -10,10 +10,13 @@ package org.opendaylight.yangtools.yang.parser.util;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation;
@@ -38,6 +41,9 @@ public final class ASTSchemaSource implements SchemaSourceRepresentation {
     private final SourceIdentifier id;
     private final String symbolicName;
 
+    // Lazily computed, races are benign as the value is always the same
+    private int nodeCount;
+
     private ASTSchemaSource(@Nonnull final SourceIdentifier id, @Nonnull final SemVerSourceIdentifier semVerId,
             @Nonnull final ParserRuleContext tree, @Nonnull final YangModelDependencyInfo depInfo,
             @Nullable final String symbolicName) {
@@ -130,6 +136,30 @@ public final class ASTSchemaSource implements SchemaSourceRepresentation {
         return tree;
     }
 
+    /**
+     * Return the number of nodes in the underlying abstract syntax tree. This is a measure of the memory retained
+     * by this source, suitable for weighing it in an
+     * {@link org.opendaylight.yangtools.yang.model.repo.util.InMemorySchemaSourceCache}.
+     *
+     * @return Number of AST nodes
+     */
+    public int getNodeCount() {
+        int local = nodeCount;
+        if (local == 0) {
+            final Deque<ParseTree> queue = new ArrayDeque<>();
+            queue.push(tree);
+            while (!queue.isEmpty()) {
+                final ParseTree node = queue.pop();
+                local++;
+                for (int i = 0; i < node.getChildCount(); ++i) {
+                    queue.push(node.getChild(i));
+                }
+            }
+            nodeCount = local;
+        }
+        return local;
+    }
+
     /**
      * Return the dependency information as extracted from the AST.
      *
@@ -8,10 +8,18 @@
 
 package org.opendaylight.yangtools.yang.parser.util;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
-import com.google.common.util.concurrent.Futures;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaRepository;
@@ -26,18 +34,56 @@ import org.slf4j.LoggerFactory;
 /**
  * A {@link SchemaSourceTransformer} which handles translation of models from
  * {@link YangTextSchemaSource} representation into {@link ASTSchemaSource}.
+ *
+ * <p>
+ * Each transformer instance maintains a cache of parsed trees, keyed by a hash of the source text, so that requests
+ * for a source which has already been parsed, for example when building a number of SchemaContexts with overlapping
+ * sets of sources, do not need to parse it again. The cache holds trees through soft references.
+ *
+ * <p>
+ * Note that ANTLR parse trees are mutable. A cached tree is shared by all {@link ASTSchemaSource}s produced for the
+ * same text, which is safe as long as their users only read it, as the statement reactor does. Users must not modify
+ * the tree returned by {@link ASTSchemaSource#getAST()}.
  */
 @Beta
 public final class TextToASTTransformer extends SchemaSourceTransformer<YangTextSchemaSource, ASTSchemaSource> {
     private static final Logger LOG = LoggerFactory.getLogger(TextToASTTransformer.class);
 
-    private TextToASTTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer) {
-        super(provider, YangTextSchemaSource.class, consumer, ASTSchemaSource.class,
-            input -> Futures.immediateFuture(transformText(input)));
+    private TextToASTTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer,
+            final Executor executor, final Cache<HashCode, ParserRuleContext> cache) {
+        super(provider, YangTextSchemaSource.class, consumer, ASTSchemaSource.class, input -> {
+            final ListenableFutureTask<ASTSchemaSource> task = ListenableFutureTask.create(
+                () -> transformText(input, cache));
+            executor.execute(task);
+            return task;
+        });
     }
 
+    /**
+     * Create a new transformer, which performs the transformation in the thread requesting it.
+     *
+     * @param provider Provider of {@link YangTextSchemaSource}s
+     * @param consumer Registry of the resulting {@link ASTSchemaSource}s
+     * @return A new transformer
+     */
     public static TextToASTTransformer create(final SchemaRepository provider, final SchemaSourceRegistry consumer) {
-        return new TextToASTTransformer(provider, consumer);
+        return create(provider, consumer, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Create a new transformer, which performs the transformation using specified executor. This allows multiple
+     * sources to be parsed concurrently, as is the case when a SchemaContext is being assembled. Since parsing is
+     * CPU-bound, the executor should be bounded to a number of threads matching the available processors.
+     *
+     * @param provider Provider of {@link YangTextSchemaSource}s
+     * @param consumer Registry of the resulting {@link ASTSchemaSource}s
+     * @param executor Executor to use for parsing
+     * @return A new transformer
+     */
+    public static TextToASTTransformer create(final SchemaRepository provider, final SchemaSourceRegistry consumer,
+            final Executor executor) {
+        return new TextToASTTransformer(provider, consumer, requireNonNull(executor),
+            CacheBuilder.newBuilder().softValues().build());
     }
 
     public static ASTSchemaSource transformText(final YangTextSchemaSource text) throws SchemaSourceException,
@@ -48,10 +94,28 @@ public final class TextToASTTransformer extends SchemaSourceTransformer<YangText
 
         // TODO: missing validation (YangModelBasicValidationListener should be re-implemented to new parser)
 
-        final Optional<String> opt = text.getSymbolicName();
-        final ASTSchemaSource result = opt.isPresent() ? ASTSchemaSource.create(opt.get(), text.getIdentifier(), ctx)
-                : ASTSchemaSource.create(text.getIdentifier(), ctx);
+        return createSource(text, ctx);
+    }
+
+    private static ASTSchemaSource transformText(final YangTextSchemaSource text,
+            final Cache<HashCode, ParserRuleContext> cache) throws SchemaSourceException, IOException,
+            YangSyntaxErrorException {
+        final HashCode hash = text.hash(Hashing.sha256());
+        final ParserRuleContext cached = cache.getIfPresent(hash);
+        if (cached != null) {
+            LOG.debug("Model {} found in cache", text);
+            return createSource(text, cached);
+        }
 
+        final ASTSchemaSource result = transformText(text);
+        cache.put(hash, result.getAST());
         return result;
     }
+
+    private static ASTSchemaSource createSource(final YangTextSchemaSource text, final ParserRuleContext ctx)
+            throws YangSyntaxErrorException {
+        final Optional<String> opt = text.getSymbolicName();
+        return opt.isPresent() ? ASTSchemaSource.create(opt.get(), text.getIdentifier(), ctx)
+                : ASTSchemaSource.create(text.getIdentifier(), ctx);
+    }
 }
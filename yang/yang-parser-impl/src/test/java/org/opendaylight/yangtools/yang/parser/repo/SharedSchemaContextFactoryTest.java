@@ -7,25 +7,35 @@
  */
 package org.opendaylight.yangtools.yang.parser.repo;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.repo.api.MissingSchemaSourceException;
 import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceFilter;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.YangBinarySchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
 import org.opendaylight.yangtools.yang.model.repo.spi.PotentialSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangTextToBinaryTransformer;
 import org.opendaylight.yangtools.yang.parser.util.ASTSchemaSource;
 import org.opendaylight.yangtools.yang.parser.util.TextToASTTransformer;
+import org.opendaylight.yangtools.yang.stmt.StmtTestUtils;
 
 public class SharedSchemaContextFactoryTest {
 
@@ -33,6 +43,8 @@ public class SharedSchemaContextFactoryTest {
 
     @Mock
     private SchemaSourceFilter filter;
+    private YangTextSchemaSource source1;
+    private YangTextSchemaSource source2;
     private SourceIdentifier s1;
     private SourceIdentifier s2;
 
@@ -40,8 +52,8 @@ public class SharedSchemaContextFactoryTest {
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
 
-        final YangTextSchemaSource source1 = YangTextSchemaSource.forResource("/ietf/ietf-inet-types@2010-09-24.yang");
-        final YangTextSchemaSource source2 = YangTextSchemaSource.forResource("/ietf/iana-timezones@2012-07-09.yang");
+        source1 = YangTextSchemaSource.forResource("/ietf/ietf-inet-types@2010-09-24.yang");
+        source2 = YangTextSchemaSource.forResource("/ietf/iana-timezones@2012-07-09.yang");
         s1 = RevisionSourceIdentifier.create("ietf-inet-types", Revision.of("2010-09-24"));
         s2 = RevisionSourceIdentifier.create("iana-timezones", Revision.of("2012-07-09"));
 
@@ -64,6 +76,62 @@ public class SharedSchemaContextFactoryTest {
         assertNotNull(schemaContext.get());
     }
 
+    @Test
+    public void testConcurrentParsingWithCache() throws Exception {
+        final SharedSchemaRepository concurrentRepository = new SharedSchemaRepository("concurrent");
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            concurrentRepository.registerSchemaSourceListener(TextToASTTransformer.create(concurrentRepository,
+                concurrentRepository, executor));
+            concurrentRepository.registerSchemaSource(sourceIdentifier -> Futures.immediateFuture(source1),
+                PotentialSchemaSource.create(s1, YangTextSchemaSource.class, 1));
+            concurrentRepository.registerSchemaSource(sourceIdentifier -> Futures.immediateFuture(source2),
+                PotentialSchemaSource.create(s2, YangTextSchemaSource.class, 1));
+
+            final SharedSchemaContextFactory sharedSchemaContextFactory = new SharedSchemaContextFactory(
+                concurrentRepository, filter);
+            assertNotNull(sharedSchemaContextFactory.createSchemaContext(Arrays.asList(s1)).get());
+            assertNotNull(sharedSchemaContextFactory.createSchemaContext(Arrays.asList(s1, s2)).get());
+
+            // Unchanged text is not parsed again. The first source holds the cached tree strongly, hence the
+            // soft-valued cache cannot drop it before the second lookup.
+            final ASTSchemaSource first = concurrentRepository.getSchemaSource(s1, ASTSchemaSource.class).get();
+            final ASTSchemaSource second = concurrentRepository.getSchemaSource(s1, ASTSchemaSource.class).get();
+            assertSame(first.getAST(), second.getAST());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCreateSchemaContextFromBinarySources() throws Exception {
+        final SharedSchemaRepository binaryRepository = new SharedSchemaRepository("binary");
+        for (YangTextSchemaSource source : Arrays.asList(source1, source2)) {
+            final YangBinarySchemaSource binary = YangTextToBinaryTransformer.transformSource(source);
+            binaryRepository.registerSchemaSource(sourceIdentifier -> Futures.immediateFuture(binary),
+                PotentialSchemaSource.create(binary.getIdentifier(), YangBinarySchemaSource.class, 1));
+        }
+
+        final SchemaContext expected = new SharedSchemaContextFactory(repository, filter)
+                .createSchemaContext(Arrays.asList(s1, s2)).get();
+        final SchemaContext actual = new SharedSchemaContextFactory(binaryRepository, filter)
+                .createSchemaContext(Arrays.asList(s1, s2)).get();
+        StmtTestUtils.assertModulesEquivalent(expected, actual);
+    }
+
+    @Test
+    public void testCreateSchemaContextWithMissingSource() throws Exception {
+        final SharedSchemaContextFactory sharedSchemaContextFactory = new SharedSchemaContextFactory(repository,
+            filter);
+        try {
+            sharedSchemaContextFactory.createSchemaContext(Arrays.asList(s1,
+                RevisionSourceIdentifier.create("missing"))).get();
+            fail("Missing source should have been reported");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(MissingSchemaSourceException.class));
+        }
+    }
+
     @Test
     public void testSourceRegisteredWithDifferentSI() throws Exception {
         final YangTextSchemaSource source1 = YangTextSchemaSource.forResource("/ietf/ietf-inet-types@2010-09-24.yang");
@@ -18,6 +18,8 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -98,4 +100,21 @@ public class YangTextSchemaContextResolverTest {
         schemaContext = schemaContextOptional.get();
         assertEquals(0, schemaContext.getModules().size());
     }
+
+    @Test
+    public void testParseExecutor() throws SchemaSourceException, IOException, YangSyntaxErrorException {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (YangTextSchemaContextResolver resolver = YangTextSchemaContextResolver.create("test-executor",
+                executor)) {
+            resolver.registerSource(getClass().getResource("/yang-text-schema-context-resolver-test/foo.yang"));
+            resolver.registerSource(getClass().getResource("/yang-text-schema-context-resolver-test/bar.yang"));
+            resolver.registerSource(getClass().getResource("/yang-text-schema-context-resolver-test/baz.yang"));
+
+            final Optional<SchemaContext> schemaContext = resolver.getSchemaContext();
+            assertTrue(schemaContext.isPresent());
+            assertEquals(3, schemaContext.get().getModules().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+import org.opendaylight.yangtools.yang.stmt.StmtTestUtils;
+
+public class LazyEffectiveModelTest {
+
+    @Test
+    public void testLazyEffectiveModel() throws ReactorException {
+        final EffectiveSchemaContext actual = buildEffective(true);
+        final Map<String, LazyEffectiveModule> modules = new HashMap<>();
+        for (Module module : actual.getModules()) {
+            modules.put(module.getName(), (LazyEffectiveModule) module);
+        }
+        assertEquals(3, modules.size());
+
+        // Neither indexing modules nor sorting them by their imports materializes them
+        assertEquals(2, modules.get("foo").getImports().size());
+        assertEquals(1, modules.get("baz").getImports().size());
+        assertTrue(actual.findModule(modules.get("foo").getQNameModule()).isPresent());
+        assertUnmaterialized(modules.values());
+
+        final LazyEffectiveModule foo = modules.get("foo");
+        assertNotNull(actual.getDataChildByName(QName.create(foo.getQNameModule(), "int32-leaf")));
+        assertTrue(foo.isMaterialized());
+        assertFalse(modules.get("bar").isMaterialized());
+        assertFalse(modules.get("baz").isMaterialized());
+
+        StmtTestUtils.assertModulesEquivalent(buildEffective(false), actual);
+
+        // Submodules are part of root statements, too
+        assertEquals(4, actual.getRootEffectiveStatements().size());
+    }
+
+    private static void assertUnmaterialized(final Iterable<LazyEffectiveModule> modules) {
+        for (LazyEffectiveModule module : modules) {
+            assertFalse(module.toString(), module.isMaterialized());
+        }
+    }
+
+    private static EffectiveSchemaContext buildEffective(final boolean lazyEffectiveModel) throws ReactorException {
+        final BuildAction build = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        build.setLazyEffectiveModel(lazyEffectiveModel);
+        build.addSources(StmtTestUtils.sourceForResource("/model/bar.yang"),
+            StmtTestUtils.sourceForResource("/model/baz.yang"), StmtTestUtils.sourceForResource("/model/foo.yang"),
+            StmtTestUtils.sourceForResource("/model/subfoo.yang"));
+        return build.buildEffective();
+    }
+}
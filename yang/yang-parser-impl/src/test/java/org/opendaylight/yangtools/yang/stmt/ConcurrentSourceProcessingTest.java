@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.stmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.spi.meta.SomeModifiersUnresolvedException;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+
+public class ConcurrentSourceProcessingTest {
+    private static final StatementStreamSource BAR = StmtTestUtils.sourceForResource("/model/bar.yang");
+    private static final StatementStreamSource BAZ = StmtTestUtils.sourceForResource("/model/baz.yang");
+    private static final StatementStreamSource FOO = StmtTestUtils.sourceForResource("/model/foo.yang");
+    private static final StatementStreamSource SUBFOO = StmtTestUtils.sourceForResource("/model/subfoo.yang");
+
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentBuild() throws ReactorException {
+        final BuildAction sequential = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        sequential.addSources(BAR, BAZ, FOO, SUBFOO);
+        final SchemaContext expected = sequential.buildEffective();
+
+        final BuildAction concurrent = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        concurrent.setSourceExecutor(executor);
+        concurrent.addSources(BAR, BAZ, FOO, SUBFOO);
+        final SchemaContext actual = concurrent.buildEffective();
+
+        StmtTestUtils.assertModulesEquivalent(expected, actual);
+    }
+
+    @Test
+    public void testConcurrentBuildWithExtensions() throws ReactorException, URISyntaxException, IOException,
+            YangSyntaxErrorException {
+        final File dir = new File(ConcurrentSourceProcessingTest.class.getResource("/sal-broker-impl").toURI());
+        final List<StatementStreamSource> sources = new ArrayList<>();
+        for (File file : dir.listFiles(StmtTestUtils.YANG_FILE_FILTER)) {
+            sources.add(YangStatementStreamSource.create(YangTextSchemaSource.forFile(file)));
+        }
+
+        final BuildAction sequential = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        sequential.addSources(sources);
+        final SchemaContext expected = sequential.buildEffective();
+
+        final BuildAction concurrent = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        concurrent.setSourceExecutor(executor);
+        concurrent.addSources(sources);
+        final SchemaContext actual = concurrent.buildEffective();
+
+        StmtTestUtils.assertModulesEquivalent(expected, actual);
+        assertEquals(expected.getExtensions().size(), actual.getExtensions().size());
+    }
+
+    @Test
+    public void testConcurrentBuildFailure() {
+        final BuildAction concurrent = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        concurrent.setSourceExecutor(executor);
+        concurrent.addSources(BAZ, FOO, SUBFOO);
+
+        try {
+            concurrent.buildEffective();
+            fail("Build should fail due to missing import");
+        } catch (ReactorException e) {
+            assertEquals(SomeModifiersUnresolvedException.class, e.getClass());
+        }
+    }
+}
@@ -8,6 +8,9 @@
 
 package org.opendaylight.yangtools.yang.stmt;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import com.google.common.io.Files;
 import java.io.File;
 import java.io.FileFilter;
@@ -18,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.YangConstants;
@@ -275,4 +279,28 @@ public class StmtTestUtils {
         return context.findModule(requestedModuleImport.getModuleName(), requestedModuleImport.getRevision())
                 .orElse(null);
     }
+
+    /**
+     * Assert that two schema contexts built from the same sources by different means contain equivalent modules.
+     *
+     * @param expected Reference schema context
+     * @param actual Schema context to check
+     */
+    public static void assertModulesEquivalent(final SchemaContext expected, final SchemaContext actual) {
+        assertEquals(expected.getModules().size(), actual.getModules().size());
+        for (final Module module : expected.getModules()) {
+            final Optional<Module> optOther = actual.findModule(module.getQNameModule());
+            assertTrue("Missing module " + module.getName(), optOther.isPresent());
+
+            final Module other = optOther.get();
+            assertEquals(module.getName(), other.getName());
+            assertEquals(module.getPrefix(), other.getPrefix());
+            assertEquals(module.getDescription(), other.getDescription());
+            assertEquals(module.getChildNodes().size(), other.getChildNodes().size());
+            assertEquals(module.getTypeDefinitions().size(), other.getTypeDefinitions().size());
+            assertEquals(module.getGroupings().size(), other.getGroupings().size());
+            assertEquals(module.getAugmentations().size(), other.getAugmentations().size());
+            assertEquals(module.getSubmodules().size(), other.getSubmodules().size());
+        }
+    }
 }
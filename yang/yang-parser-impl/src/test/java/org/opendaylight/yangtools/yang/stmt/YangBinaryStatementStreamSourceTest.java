@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.stmt;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangBinarySchemaSource;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangBinaryStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangStatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.rfc6020.repo.YangTextToBinaryTransformer;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+import org.opendaylight.yangtools.yang.parser.stmt.rfc6020.YangInferencePipeline;
+
+public class YangBinaryStatementStreamSourceTest {
+    private static final String[] RESOURCES = {
+        "/model/bar.yang", "/model/baz.yang", "/model/foo.yang", "/model/subfoo.yang"
+    };
+
+    @Test
+    public void testBinaryBuild() throws IOException, ReactorException, YangSyntaxErrorException {
+        final BuildAction text = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        final BuildAction binary = YangInferencePipeline.RFC6020_REACTOR.newBuild();
+        for (String resource : RESOURCES) {
+            final YangTextSchemaSource source = YangTextSchemaSource.forResource(resource);
+            text.addSource(YangStatementStreamSource.create(source));
+
+            final YangBinarySchemaSource encoded = YangTextToBinaryTransformer.transformSource(source);
+            assertEquals(source.getIdentifier(), encoded.getIdentifier());
+            binary.addSource(YangBinaryStatementStreamSource.create(encoded));
+        }
+
+        final SchemaContext expected = text.buildEffective();
+        final SchemaContext actual = binary.buildEffective();
+
+        StmtTestUtils.assertModulesEquivalent(expected, actual);
+    }
+}